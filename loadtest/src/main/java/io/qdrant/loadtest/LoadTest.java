@@ -0,0 +1,248 @@
+package io.qdrant.loadtest;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.qdrant.client.FakeQdrantServer;
+import io.qdrant.client.PointsUploader;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.QdrantGrpcClient;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.SearchParams;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link QdrantClient} with a mix of queries, batch queries, upserts, scrolls and
+ * retrievals, and reports latency percentiles, throughput and the recall of approximate search.
+ *
+ * <p>In closed loop mode, a fixed number of workers each issue a request as soon as their previous
+ * one completes, so throughput adapts to the server. In open loop mode, requests are issued at a
+ * fixed rate and their latency is measured from when they were due rather than when they were
+ * sent, so that a slow server is not hidden by requests waiting to be issued.
+ *
+ * <p>Recall@k compares the nearest {@code k} points of approximate queries with those of exact
+ * queries, for random query vectors.
+ */
+public final class LoadTest {
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    Options options = Options.parse(args);
+
+    FakeQdrantServer server = null;
+    QdrantGrpcClient grpcClient;
+    if (options.inProcess) {
+      server = FakeQdrantServer.newBuilder().withSeed(options.seed).build();
+      grpcClient = QdrantGrpcClient.newBuilder(server.newChannel(), true, false).build();
+    } else {
+      QdrantGrpcClient.Builder builder =
+          QdrantGrpcClient.newBuilder(options.host, options.port, options.tls);
+      if (!options.apiKey.isEmpty()) {
+        builder.withApiKey(options.apiKey);
+      }
+      grpcClient = builder.build();
+    }
+
+    try (QdrantClient client = new QdrantClient(grpcClient)) {
+      Workload workload = new Workload(client, options);
+      prepare(client, workload, options);
+
+      System.out.printf(
+          "Running %s loop with %s for %ds after %ds of warmup%n",
+          options.mode.name().toLowerCase(),
+          options.mode == Options.Mode.OPEN
+              ? options.rate + " requests/s and at most " + options.concurrency + " in flight"
+              : options.concurrency + " workers",
+          options.duration.getSeconds(),
+          options.warmup.getSeconds());
+      if (!options.warmup.isZero()) {
+        run(workload, options, options.warmup, new Results());
+      }
+      Results results = new Results();
+      long start = System.nanoTime();
+      run(workload, options, options.duration, results);
+      results.print(System.out, Duration.ofNanos(System.nanoTime() - start));
+
+      if (options.recallQueries > 0) {
+        System.out.printf(
+            "recall@%d over %d queries: %.4f%n",
+            options.k, options.recallQueries, recall(client, workload, options));
+      }
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+    }
+  }
+
+  private static void prepare(QdrantClient client, Workload workload, Options options)
+      throws ExecutionException, InterruptedException {
+    boolean exists = client.collectionExistsAsync(options.collection).get();
+    if (exists && options.recreate) {
+      client.deleteCollectionAsync(options.collection).get();
+      exists = false;
+    }
+    if (!exists) {
+      client
+          .createCollectionAsync(
+              options.collection,
+              VectorParams.newBuilder()
+                  .setSize(options.dimensions)
+                  .setDistance(options.distance)
+                  .build())
+          .get();
+    }
+    if (!options.skipLoad) {
+      long start = System.nanoTime();
+      long uploaded =
+          PointsUploader.newBuilder(client, options.collection)
+              .build()
+              .upload(workload.dataset())
+              .get();
+      System.out.printf(
+          "Uploaded %d points in %.1fs%n", uploaded, (System.nanoTime() - start) / 1e9);
+    }
+  }
+
+  private static void run(Workload workload, Options options, Duration duration, Results results)
+      throws ExecutionException, InterruptedException {
+    if (options.mode == Options.Mode.OPEN) {
+      runOpenLoop(workload, options, duration, results);
+    } else {
+      runClosedLoop(workload, options, duration, results);
+    }
+  }
+
+  private static void runClosedLoop(
+      Workload workload, Options options, Duration duration, Results results)
+      throws ExecutionException, InterruptedException {
+    long end = System.nanoTime() + duration.toNanos();
+    ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+    try {
+      List<Future<?>> futures = new ArrayList<>(options.concurrency);
+      for (int i = 0; i < options.concurrency; i++) {
+        futures.add(
+            workers.submit(
+                () -> {
+                  Random random = ThreadLocalRandom.current();
+                  while (System.nanoTime() < end) {
+                    Operation operation = workload.next(random);
+                    long start = System.nanoTime();
+                    try {
+                      workload.issue(operation, random).get();
+                      results.recordSuccess(operation, System.nanoTime() - start);
+                    } catch (ExecutionException | RuntimeException e) {
+                      results.recordFailure(operation);
+                    }
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private static void runOpenLoop(
+      Workload workload, Options options, Duration duration, Results results)
+      throws InterruptedException {
+    Semaphore inFlight = new Semaphore(options.concurrency);
+    Random random = new Random(options.seed);
+    long interval = TimeUnit.SECONDS.toNanos(1) / options.rate;
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    for (long i = 0; ; i++) {
+      long due = start + i * interval;
+      if (due >= end) {
+        break;
+      }
+      long delay = due - System.nanoTime();
+      if (delay > 0) {
+        LockSupport.parkNanos(delay);
+      }
+      if (!inFlight.tryAcquire()) {
+        results.recordDropped();
+        continue;
+      }
+
+      Operation operation = workload.next(random);
+      ListenableFuture<?> future;
+      try {
+        future = workload.issue(operation, random);
+      } catch (RuntimeException e) {
+        inFlight.release();
+        results.recordFailure(operation);
+        continue;
+      }
+      Futures.addCallback(
+          future,
+          new FutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+              results.recordSuccess(operation, System.nanoTime() - due);
+              inFlight.release();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+              results.recordFailure(operation);
+              inFlight.release();
+            }
+          },
+          MoreExecutors.directExecutor());
+    }
+    // wait for the requests still in flight
+    if (!inFlight.tryAcquire(options.concurrency, 1, TimeUnit.MINUTES)) {
+      System.err.println("Requests still in flight after waiting a minute");
+    }
+  }
+
+  private static double recall(QdrantClient client, Workload workload, Options options)
+      throws ExecutionException, InterruptedException {
+    Random random = new Random(options.seed + 1);
+    SearchParams exact = SearchParams.newBuilder().setExact(true).build();
+    double total = 0;
+    int queries = 0;
+    for (int i = 0; i < options.recallQueries; i++) {
+      float[] vector = workload.randomVector(random);
+      List<ScoredPoint> approximate =
+          client.queryAsync(workload.query(vector, workload.approximate())).get();
+      List<ScoredPoint> expected = client.queryAsync(workload.query(vector, exact)).get();
+      if (expected.isEmpty()) {
+        continue;
+      }
+      Set<PointId> expectedIds = new HashSet<>();
+      for (ScoredPoint point : expected) {
+        expectedIds.add(point.getId());
+      }
+      int found = 0;
+      for (ScoredPoint point : approximate) {
+        if (expectedIds.contains(point.getId())) {
+          found++;
+        }
+      }
+      total += found / (double) expectedIds.size();
+      queries++;
+    }
+    return queries == 0 ? 0 : total / queries;
+  }
+}
@@ -0,0 +1,30 @@
+package io.qdrant.loadtest;
+
+/** Client operations the load test can issue. */
+enum Operation {
+  /** A single nearest neighbour query of {@code k} points. */
+  QUERY("query"),
+  /** A batch of {@code batch-size} nearest neighbour queries. */
+  QUERY_BATCH("queryBatch"),
+  /** An upsert of {@code batch-size} points, overwriting existing ids. */
+  UPSERT("upsert"),
+  /** A page of {@code k} points scrolled from a random offset. */
+  SCROLL("scroll"),
+  /** A retrieval of {@code k} random points by id. */
+  RETRIEVE("retrieve");
+
+  final String label;
+
+  Operation(String label) {
+    this.label = label;
+  }
+
+  static Operation of(String label) {
+    for (Operation operation : values()) {
+      if (operation.label.equals(label)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation " + label);
+  }
+}
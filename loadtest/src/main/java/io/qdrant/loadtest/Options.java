@@ -0,0 +1,159 @@
+package io.qdrant.loadtest;
+
+import io.qdrant.client.grpc.Collections.Distance;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Command line options of {@link LoadTest}, given as {@code --name=value}. */
+final class Options {
+  /** How requests are issued. */
+  enum Mode {
+    /** A fixed number of workers, each issuing the next request when the previous completes. */
+    CLOSED,
+    /** Requests issued at a fixed rate, regardless of how fast earlier requests complete. */
+    OPEN
+  }
+
+  String host = "localhost";
+  int port = 6334;
+  boolean tls;
+  String apiKey = "";
+  boolean inProcess;
+
+  String collection = "loadtest";
+  int dimensions = 128;
+  Distance distance = Distance.Cosine;
+  int points = 10_000;
+  boolean recreate;
+  boolean skipLoad;
+
+  Map<Operation, Integer> mix = parseMix("query:70,queryBatch:5,upsert:10,scroll:5,retrieve:10");
+  Mode mode = Mode.CLOSED;
+  int concurrency = 16;
+  int rate = 1_000;
+  Duration warmup = Duration.ofSeconds(10);
+  Duration duration = Duration.ofSeconds(60);
+  int batchSize = 16;
+  int k = 10;
+  Long hnswEf;
+  int recallQueries = 100;
+  long seed = 42;
+
+  static Options parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException("Unexpected argument " + arg);
+      }
+      int separator = arg.indexOf('=');
+      if (separator < 0) {
+        values.put(arg.substring(2), "true");
+      } else {
+        values.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+    }
+
+    Options options = new Options();
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      String value = entry.getValue();
+      switch (entry.getKey()) {
+        case "host":
+          options.host = value;
+          break;
+        case "port":
+          options.port = Integer.parseInt(value);
+          break;
+        case "tls":
+          options.tls = Boolean.parseBoolean(value);
+          break;
+        case "api-key":
+          options.apiKey = value;
+          break;
+        case "in-process":
+          options.inProcess = Boolean.parseBoolean(value);
+          break;
+        case "collection":
+          options.collection = value;
+          break;
+        case "dimensions":
+          options.dimensions = Integer.parseInt(value);
+          break;
+        case "distance":
+          options.distance = Distance.valueOf(value);
+          break;
+        case "points":
+          options.points = Integer.parseInt(value);
+          break;
+        case "recreate":
+          options.recreate = Boolean.parseBoolean(value);
+          break;
+        case "skip-load":
+          options.skipLoad = Boolean.parseBoolean(value);
+          break;
+        case "mix":
+          options.mix = parseMix(value);
+          break;
+        case "mode":
+          options.mode = Mode.valueOf(value.toUpperCase());
+          break;
+        case "concurrency":
+          options.concurrency = Integer.parseInt(value);
+          break;
+        case "rate":
+          options.rate = Integer.parseInt(value);
+          break;
+        case "warmup":
+          options.warmup = Duration.ofSeconds(Long.parseLong(value));
+          break;
+        case "duration":
+          options.duration = Duration.ofSeconds(Long.parseLong(value));
+          break;
+        case "batch-size":
+          options.batchSize = Integer.parseInt(value);
+          break;
+        case "k":
+          options.k = Integer.parseInt(value);
+          break;
+        case "hnsw-ef":
+          options.hnswEf = Long.parseLong(value);
+          break;
+        case "recall-queries":
+          options.recallQueries = Integer.parseInt(value);
+          break;
+        case "seed":
+          options.seed = Long.parseLong(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+      }
+    }
+
+    if (options.concurrency < 1 || options.rate < 1 || options.batchSize < 1 || options.k < 1) {
+      throw new IllegalArgumentException(
+          "Concurrency, rate, batch size and k must be greater than 0");
+    }
+    return options;
+  }
+
+  /** Parses an operation mix given as comma separated {@code operation:weight} pairs. */
+  static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected operation:weight but got " + entry);
+      }
+      int weight = Integer.parseInt(parts[1]);
+      if (weight < 0) {
+        throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+      }
+      weights.put(Operation.of(parts[0]), weight);
+    }
+    if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+      throw new IllegalArgumentException("Mix must include at least one operation");
+    }
+    return weights;
+  }
+}
@@ -0,0 +1,85 @@
+package io.qdrant.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/** Latencies and failures of the requests issued during a phase of the load test. */
+final class Results {
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+  private final LongAdder dropped = new LongAdder();
+
+  Results() {
+    for (Operation operation : Operation.values()) {
+      // latencies in microseconds with 3 significant digits, resized as needed
+      latencies.put(operation, new ConcurrentHistogram(3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  void recordSuccess(Operation operation, long latencyNanos) {
+    latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+  }
+
+  void recordFailure(Operation operation) {
+    errors.get(operation).increment();
+  }
+
+  /** Records a request not issued in open loop mode because too many were in flight. */
+  void recordDropped() {
+    dropped.increment();
+  }
+
+  void print(PrintStream out, Duration elapsed) {
+    double seconds = elapsed.toNanos() / 1e9;
+    out.printf(
+        "%-12s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+        "operation",
+        "count",
+        "errors",
+        "ops/s",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms");
+    Histogram total = new Histogram(3);
+    long totalErrors = 0;
+    for (Operation operation : Operation.values()) {
+      Histogram histogram = latencies.get(operation).copy();
+      long failed = errors.get(operation).sum();
+      if (histogram.getTotalCount() == 0 && failed == 0) {
+        continue;
+      }
+      print(out, operation.label, histogram, failed, seconds);
+      total.add(histogram);
+      totalErrors += failed;
+    }
+    print(out, "total", total, totalErrors, seconds);
+    if (dropped.sum() > 0) {
+      out.printf("%d requests dropped with too many requests in flight%n", dropped.sum());
+    }
+  }
+
+  private static void print(
+      PrintStream out, String label, Histogram histogram, long failed, double seconds) {
+    out.printf(
+        "%-12s %10d %8d %10.1f",
+        label,
+        histogram.getTotalCount(),
+        failed,
+        histogram.getTotalCount() / seconds);
+    for (double percentile : PERCENTILES) {
+      out.printf(" %10.3f", histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+    out.printf(" %10.3f%n", histogram.getMaxValue() / 1000.0);
+  }
+}
@@ -0,0 +1,150 @@
+package io.qdrant.loadtest;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.SearchParams;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Builds and issues the requests of the load test. Points have numeric ids from 0 up to the
+ * number of points and random vectors, so upserts overwrite existing points and the size of the
+ * collection stays the same.
+ */
+final class Workload {
+  private final QdrantClient client;
+  private final Options options;
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+
+  Workload(QdrantClient client, Options options) {
+    this.client = client;
+    this.options = options;
+    this.operations = new Operation[options.mix.size()];
+    this.cumulativeWeights = new int[options.mix.size()];
+    int i = 0;
+    int total = 0;
+    for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+      total += entry.getValue();
+      operations[i] = entry.getKey();
+      cumulativeWeights[i] = total;
+      i++;
+    }
+  }
+
+  /** Picks the next operation according to the weights of the mix. */
+  Operation next(Random random) {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    throw new IllegalStateException("Weights do not cover " + value);
+  }
+
+  ListenableFuture<?> issue(Operation operation, Random random) {
+    switch (operation) {
+      case QUERY:
+        return client.queryAsync(query(randomVector(random), approximate()));
+      case QUERY_BATCH:
+        List<QueryPoints> queries = new ArrayList<>(options.batchSize);
+        for (int i = 0; i < options.batchSize; i++) {
+          queries.add(query(randomVector(random), approximate()));
+        }
+        return client.queryBatchAsync(options.collection, queries);
+      case UPSERT:
+        UpsertPoints.Builder upsert =
+            UpsertPoints.newBuilder().setCollectionName(options.collection).setWait(true);
+        for (int i = 0; i < options.batchSize; i++) {
+          upsert.addPoints(point(random.nextInt(options.points), random));
+        }
+        return client.upsertAsync(upsert.build());
+      case SCROLL:
+        return client.scrollAsync(
+            ScrollPoints.newBuilder()
+                .setCollectionName(options.collection)
+                .setOffset(id(random.nextInt(options.points)))
+                .setLimit(options.k)
+                .build());
+      case RETRIEVE:
+        List<PointId> ids = new ArrayList<>(options.k);
+        for (int i = 0; i < options.k; i++) {
+          ids.add(id(random.nextInt(options.points)));
+        }
+        return client.retrieveAsync(options.collection, ids, true, false, null);
+      default:
+        throw new IllegalArgumentException("Unsupported operation " + operation);
+    }
+  }
+
+  /** Builds a query for the nearest {@code k} points with the given search parameters. */
+  QueryPoints query(float[] vector, SearchParams params) {
+    return QueryPoints.newBuilder()
+        .setCollectionName(options.collection)
+        .setQuery(nearest(vector))
+        .setParams(params)
+        .setLimit(options.k)
+        .build();
+  }
+
+  /** Search parameters of the measured queries, approximate unless overridden. */
+  SearchParams approximate() {
+    SearchParams.Builder params = SearchParams.newBuilder();
+    if (options.hnswEf != null) {
+      params.setHnswEf(options.hnswEf);
+    }
+    return params.build();
+  }
+
+  /** Generates the initial points of the collection, reproducibly from the seed. */
+  Iterator<PointStruct> dataset() {
+    Random random = new Random(options.seed);
+    return new Iterator<PointStruct>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < options.points;
+      }
+
+      @Override
+      public PointStruct next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return point(next++, random);
+      }
+    };
+  }
+
+  float[] randomVector(Random random) {
+    float[] vector = new float[options.dimensions];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = random.nextFloat() * 2 - 1;
+    }
+    return vector;
+  }
+
+  private PointStruct point(long id, Random random) {
+    return PointStruct.newBuilder()
+        .setId(id(id))
+        .setVectors(vectors(randomVector(random)))
+        .putPayload("group", value(id % 100))
+        .build();
+  }
+}
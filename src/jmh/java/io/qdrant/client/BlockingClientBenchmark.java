@@ -0,0 +1,96 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the latency of a call made with {@link QdrantBlockingClient} against waiting on the
+ * future of {@link QdrantClient}. The in-process server answers on its own executor, so the caller
+ * waits for the response as it would for a remote server. Run with {@code -t} to measure
+ * contended callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BlockingClientBenchmark {
+  private Server server;
+  private QdrantGrpcClient grpcClient;
+  private QdrantClient client;
+  private QdrantBlockingClient blockingClient;
+  private QueryPoints query;
+
+  @Setup
+  public void setup() throws IOException {
+    QueryResponse response =
+        QueryResponse.newBuilder()
+            .addResult(ScoredPoint.newBuilder().setId(id(1)).setScore(1.0f).build())
+            .build();
+    query =
+        QueryPoints.newBuilder()
+            .setCollectionName("benchmark")
+            .setQuery(nearest(0.1f, 0.2f, 0.3f, 0.4f))
+            .setLimit(1)
+            .build();
+
+    String name = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(name).addService(new CannedPoints(response)).build();
+    server.start();
+    ManagedChannel channel = InProcessChannelBuilder.forName(name).build();
+    grpcClient = QdrantGrpcClient.newBuilder(channel, true, false).build();
+    client = new QdrantClient(grpcClient);
+    blockingClient = new QdrantBlockingClient(grpcClient);
+  }
+
+  @TearDown
+  public void teardown() throws InterruptedException {
+    grpcClient.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public List<ScoredPoint> futureGet() throws ExecutionException, InterruptedException {
+    return client.queryAsync(query).get();
+  }
+
+  @Benchmark
+  public List<ScoredPoint> blocking() {
+    return blockingClient.query(query);
+  }
+
+  /** Points service answering every query with the same response. */
+  private static final class CannedPoints extends PointsGrpc.PointsImplBase {
+    private final QueryResponse response;
+
+    CannedPoints(QueryResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void query(QueryPoints request, StreamObserver<QueryResponse> responseObserver) {
+      responseObserver.onNext(response);
+      responseObserver.onCompleted();
+    }
+  }
+}
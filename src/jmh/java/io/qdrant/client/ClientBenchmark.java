@@ -0,0 +1,145 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.ValueFactory.value;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.SearchBatchPoints;
+import io.qdrant.client.grpc.Points.SearchBatchResponse;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how {@link QdrantClient} assembles requests and transforms responses, against an
+ * in-process server returning canned responses. Both sides run on the calling thread, so the
+ * results include encoding and decoding of the messages but no network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClientBenchmark {
+  private static final int DIMENSIONS = 768;
+
+  @Param({"16"})
+  public int batchSize;
+
+  @Param({"10", "100"})
+  public int limit;
+
+  private Server server;
+  private QdrantClient client;
+  private List<SearchPoints> searches;
+  private QueryPoints query;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(42);
+    float[] vector = new float[DIMENSIONS];
+    for (int i = 0; i < DIMENSIONS; i++) {
+      vector[i] = random.nextFloat();
+    }
+
+    List<ScoredPoint> points = new ArrayList<>(limit);
+    for (int i = 0; i < limit; i++) {
+      points.add(
+          ScoredPoint.newBuilder()
+              .setId(id(i))
+              .setScore(1.0f - i / (float) limit)
+              .putPayload("category", value("benchmark"))
+              .build());
+    }
+    BatchResult batchResult = BatchResult.newBuilder().addAllResult(points).build();
+    SearchBatchResponse.Builder searchBatchResponse = SearchBatchResponse.newBuilder();
+    for (int i = 0; i < batchSize; i++) {
+      searchBatchResponse.addResult(batchResult);
+    }
+    CannedPoints service =
+        new CannedPoints(
+            searchBatchResponse.build(), QueryResponse.newBuilder().addAllResult(points).build());
+
+    searches = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      SearchPoints.Builder search = SearchPoints.newBuilder().setLimit(limit);
+      for (float value : vector) {
+        search.addVector(value);
+      }
+      searches.add(search.build());
+    }
+    query =
+        QueryPoints.newBuilder()
+            .setCollectionName("benchmark")
+            .setQuery(nearest(vector))
+            .setLimit(limit)
+            .build();
+
+    String name = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+    ManagedChannel channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    client = new QdrantClient(QdrantGrpcClient.newBuilder(channel, true, false).build());
+  }
+
+  @TearDown
+  public void teardown() throws InterruptedException {
+    client.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public List<BatchResult> searchBatch() throws ExecutionException, InterruptedException {
+    return client.searchBatchAsync("benchmark", searches, null).get();
+  }
+
+  @Benchmark
+  public List<ScoredPoint> query() throws ExecutionException, InterruptedException {
+    return client.queryAsync(query).get();
+  }
+
+  /** Points service answering every search batch and query with the same response. */
+  private static final class CannedPoints extends PointsGrpc.PointsImplBase {
+    private final SearchBatchResponse searchBatchResponse;
+    private final QueryResponse queryResponse;
+
+    CannedPoints(SearchBatchResponse searchBatchResponse, QueryResponse queryResponse) {
+      this.searchBatchResponse = searchBatchResponse;
+      this.queryResponse = queryResponse;
+    }
+
+    @Override
+    public void searchBatch(
+        SearchBatchPoints request, StreamObserver<SearchBatchResponse> responseObserver) {
+      responseObserver.onNext(searchBatchResponse);
+      responseObserver.onCompleted();
+    }
+
+    @Override
+    public void query(QueryPoints request, StreamObserver<QueryResponse> responseObserver) {
+      responseObserver.onNext(queryResponse);
+      responseObserver.onCompleted();
+    }
+  }
+}
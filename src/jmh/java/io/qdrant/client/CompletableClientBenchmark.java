@@ -0,0 +1,130 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the overhead per call of {@link QdrantCompletableClient} against {@link QdrantClient},
+ * used directly and adapted to a {@link CompletableFuture} as applications built on them do. The
+ * in-process server answers every query with the same small response on the calling thread, so
+ * the results are dominated by the futures and callbacks of each call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompletableClientBenchmark {
+  private Server server;
+  private QdrantGrpcClient grpcClient;
+  private QdrantClient client;
+  private QdrantCompletableClient completableClient;
+  private QueryPoints query;
+
+  @Setup
+  public void setup() throws IOException {
+    QueryResponse response =
+        QueryResponse.newBuilder()
+            .addResult(ScoredPoint.newBuilder().setId(id(1)).setScore(1.0f).build())
+            .build();
+    query =
+        QueryPoints.newBuilder()
+            .setCollectionName("benchmark")
+            .setQuery(nearest(0.1f, 0.2f, 0.3f, 0.4f))
+            .setLimit(1)
+            .build();
+
+    String name = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new CannedPoints(response))
+            .build()
+            .start();
+    ManagedChannel channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    grpcClient = QdrantGrpcClient.newBuilder(channel, true, false).build();
+    client = new QdrantClient(grpcClient);
+    completableClient = new QdrantCompletableClient(grpcClient);
+  }
+
+  @TearDown
+  public void teardown() throws InterruptedException {
+    grpcClient.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public List<ScoredPoint> listenableFuture() throws ExecutionException, InterruptedException {
+    return client.queryAsync(query).get();
+  }
+
+  @Benchmark
+  public List<ScoredPoint> adaptedListenableFuture()
+      throws ExecutionException, InterruptedException {
+    return toCompletableFuture(client.queryAsync(query)).get();
+  }
+
+  @Benchmark
+  public List<ScoredPoint> completableFuture() throws ExecutionException, InterruptedException {
+    return completableClient.queryAsync(query).get();
+  }
+
+  private static <V> CompletableFuture<V> toCompletableFuture(ListenableFuture<V> future) {
+    CompletableFuture<V> completableFuture = new CompletableFuture<>();
+    Futures.addCallback(
+        future,
+        new FutureCallback<V>() {
+          @Override
+          public void onSuccess(V result) {
+            completableFuture.complete(result);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            completableFuture.completeExceptionally(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+    return completableFuture;
+  }
+
+  /** Points service answering every query with the same response. */
+  private static final class CannedPoints extends PointsGrpc.PointsImplBase {
+    private final QueryResponse response;
+
+    CannedPoints(QueryResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void query(QueryPoints request, StreamObserver<QueryResponse> responseObserver) {
+      responseObserver.onNext(response);
+      responseObserver.onCompleted();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+
+import com.google.common.primitives.Floats;
+import io.qdrant.client.grpc.Points.DenseVector;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.Query;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.Vector;
+import io.qdrant.client.grpc.Points.VectorInput;
+import io.qdrant.client.grpc.Points.Vectors;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares building dense vectors from boxed lists of floats with building them from primitive
+ * arrays and buffers. Run with the gc profiler to compare allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DenseVectorBenchmark {
+  @Param({"384", "1536"})
+  public int dimensions;
+
+  private float[] values;
+  private float[] batch;
+  private FloatBuffer directBuffer;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    values = new float[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      values[i] = random.nextFloat();
+    }
+    batch = new float[dimensions * 4];
+    System.arraycopy(values, 0, batch, dimensions, dimensions);
+    directBuffer =
+        ByteBuffer.allocateDirect(dimensions * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+    directBuffer.put(values).flip();
+  }
+
+  @Benchmark
+  public Vector boxedVector() {
+    return Vector.newBuilder()
+        .setDense(DenseVector.newBuilder().addAllData(Floats.asList(values)))
+        .build();
+  }
+
+  @Benchmark
+  public Vector arrayVector() {
+    return VectorFactory.vector(values);
+  }
+
+  @Benchmark
+  public Vector sliceVector() {
+    return VectorFactory.vector(batch, dimensions, dimensions);
+  }
+
+  @Benchmark
+  public Vector directBufferVector() {
+    return VectorFactory.vector(directBuffer);
+  }
+
+  @Benchmark
+  public PointStruct boxedPoint() {
+    return PointStruct.newBuilder()
+        .setId(id(1))
+        .setVectors(Vectors.newBuilder().setVector(boxedVector()))
+        .build();
+  }
+
+  @Benchmark
+  public PointStruct arrayPoint() {
+    return PointStruct.newBuilder().setId(id(1)).setVectors(VectorsFactory.vectors(values)).build();
+  }
+
+  @Benchmark
+  public QueryPoints boxedQuery() {
+    return QueryPoints.newBuilder()
+        .setCollectionName("benchmark")
+        .setQuery(
+            Query.newBuilder()
+                .setNearest(
+                    VectorInput.newBuilder()
+                        .setDense(DenseVector.newBuilder().addAllData(Floats.asList(values)))))
+        .build();
+  }
+
+  @Benchmark
+  public QueryPoints arrayQuery() {
+    return QueryPoints.newBuilder()
+        .setCollectionName("benchmark")
+        .setQuery(QueryFactory.nearest(values))
+        .build();
+  }
+}
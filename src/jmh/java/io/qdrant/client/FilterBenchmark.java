@@ -0,0 +1,80 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.ConditionFactory.filter;
+import static io.qdrant.client.ConditionFactory.hasId;
+import static io.qdrant.client.ConditionFactory.matchKeyword;
+import static io.qdrant.client.ConditionFactory.matchKeywords;
+import static io.qdrant.client.ConditionFactory.matchValues;
+import static io.qdrant.client.ConditionFactory.nested;
+import static io.qdrant.client.ConditionFactory.range;
+import static io.qdrant.client.PointIdFactory.id;
+
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Common.Range;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures building filters with {@link ConditionFactory}, as done for every filtered request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FilterBenchmark {
+  @Param({"16", "256"})
+  public int listSize;
+
+  private List<String> keywords;
+  private List<Long> values;
+  private List<PointId> ids;
+
+  @Setup
+  public void setup() {
+    keywords = new ArrayList<>(listSize);
+    values = new ArrayList<>(listSize);
+    ids = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      keywords.add("keyword-" + i);
+      values.add((long) i);
+      ids.add(id(i));
+    }
+  }
+
+  @Benchmark
+  public Filter simpleFilter() {
+    return Filter.newBuilder()
+        .addMust(matchKeyword("category", "books"))
+        .addMust(range("price", Range.newBuilder().setGte(10).setLt(100).build()))
+        .build();
+  }
+
+  @Benchmark
+  public Filter listFilter() {
+    return Filter.newBuilder()
+        .addMust(matchKeywords("tags", keywords))
+        .addShould(matchValues("year", values))
+        .addMustNot(hasId(ids))
+        .build();
+  }
+
+  @Benchmark
+  public Filter nestedFilter() {
+    Filter inner =
+        Filter.newBuilder()
+            .addMust(matchKeyword("author.country", "NL"))
+            .addMust(range("author.age", Range.newBuilder().setGt(30).build()))
+            .build();
+    return Filter.newBuilder()
+        .addMust(nested("authors", inner))
+        .addShould(filter(Filter.newBuilder().addMust(matchKeywords("tags", keywords)).build()))
+        .build();
+  }
+}
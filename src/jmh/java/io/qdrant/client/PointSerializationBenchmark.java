@@ -0,0 +1,96 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.qdrant.client.grpc.JsonWithInt.Value;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures building an upsert batch of points with dense vectors and payloads, and encoding and
+ * decoding it, which is what an ingestion pipeline spends its client-side CPU on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointSerializationBenchmark {
+  @Param({"64", "256"})
+  public int batchSize;
+
+  @Param({"768"})
+  public int dimensions;
+
+  private float[][] vectors;
+  private Map<String, Value> payload;
+  private UpsertPoints request;
+  private byte[] encoded;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    vectors = new float[batchSize][dimensions];
+    for (float[] vector : vectors) {
+      for (int i = 0; i < dimensions; i++) {
+        vector[i] = random.nextFloat();
+      }
+    }
+    payload = new HashMap<>();
+    payload.put("title", value("A point with a title of moderate length"));
+    payload.put("category", value("benchmark"));
+    payload.put("price", value(12.5));
+    payload.put("stock", value(42));
+    payload.put("available", value(true));
+    request = buildRequest();
+    encoded = request.toByteArray();
+  }
+
+  @Benchmark
+  public UpsertPoints build() {
+    return buildRequest();
+  }
+
+  @Benchmark
+  public byte[] buildAndEncode() {
+    return buildRequest().toByteArray();
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return request.toByteArray();
+  }
+
+  @Benchmark
+  public UpsertPoints decode() throws InvalidProtocolBufferException {
+    return UpsertPoints.parseFrom(encoded);
+  }
+
+  private UpsertPoints buildRequest() {
+    List<PointStruct> points = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      points.add(
+          PointStruct.newBuilder()
+              .setId(id(i))
+              .setVectors(vectors(vectors[i]))
+              .putAllPayload(payload)
+              .build());
+    }
+    return UpsertPoints.newBuilder().setCollectionName("benchmark").addAllPoints(points).build();
+  }
+}
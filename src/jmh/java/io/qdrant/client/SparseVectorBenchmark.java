@@ -0,0 +1,123 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+
+import com.google.common.primitives.Floats;
+import com.google.common.primitives.Ints;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.Vector;
+import io.qdrant.client.grpc.Points.Vectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares building sparse vectors from boxed lists with building them from primitive arrays, as
+ * when ingesting points with a few hundred non-zero terms each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SparseVectorBenchmark {
+  private static final int POINTS = 64;
+
+  @Param({"100", "400"})
+  public int nonZeros;
+
+  private float[] values;
+  private int[] sortedIndices;
+  private int[] shuffledIndices;
+  private List<Float> boxedValues;
+  private List<Integer> boxedIndices;
+
+  private float[] scratchValues;
+  private int[] scratchIndices;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    values = new float[nonZeros];
+    sortedIndices = new int[nonZeros];
+    int index = 0;
+    for (int i = 0; i < nonZeros; i++) {
+      values[i] = random.nextFloat();
+      index += 1 + random.nextInt(100);
+      sortedIndices[i] = index;
+    }
+    shuffledIndices = sortedIndices.clone();
+    for (int i = nonZeros - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = shuffledIndices[i];
+      shuffledIndices[i] = shuffledIndices[j];
+      shuffledIndices[j] = swap;
+    }
+    boxedValues = new ArrayList<>(Floats.asList(values));
+    boxedIndices = new ArrayList<>(Ints.asList(sortedIndices));
+    scratchValues = new float[nonZeros];
+    scratchIndices = new int[nonZeros];
+  }
+
+  @Benchmark
+  public Vector boxedVector() {
+    return VectorFactory.vector(boxedValues, boxedIndices);
+  }
+
+  @Benchmark
+  public Vector arrayVector() {
+    return VectorFactory.vector(values, sortedIndices);
+  }
+
+  @Benchmark
+  public Vector sortedArrayVector() {
+    return VectorFactory.vector(values, sortedIndices, 0, nonZeros, true);
+  }
+
+  @Benchmark
+  public Vector unsortedArrayVector() {
+    System.arraycopy(values, 0, scratchValues, 0, nonZeros);
+    System.arraycopy(shuffledIndices, 0, scratchIndices, 0, nonZeros);
+    return VectorFactory.vector(scratchValues, scratchIndices, 0, nonZeros, true);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<PointStruct> boxedIngestBatch() {
+    List<PointStruct> points = new ArrayList<>(POINTS);
+    for (int i = 0; i < POINTS; i++) {
+      points.add(
+          PointStruct.newBuilder()
+              .setId(id(i))
+              .setVectors(
+                  Vectors.newBuilder()
+                      .setVector(
+                          VectorFactory.vector(
+                              new ArrayList<>(Floats.asList(values)),
+                              new ArrayList<>(Ints.asList(sortedIndices)))))
+              .build());
+    }
+    return points;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<PointStruct> arrayIngestBatch() {
+    List<PointStruct> points = new ArrayList<>(POINTS);
+    for (int i = 0; i < POINTS; i++) {
+      points.add(
+          PointStruct.newBuilder()
+              .setId(id(i))
+              .setVectors(VectorsFactory.vectors(VectorFactory.vector(values, sortedIndices)))
+              .build());
+    }
+    return points;
+  }
+}
@@ -0,0 +1,133 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of queries to a local server over TCP for each transport setting of
+ * {@link QdrantGrpcClient.Builder}. Each invocation keeps a window of queries in flight, and every
+ * response goes through a continuation added with a direct executor, consuming {@code
+ * continuationTokens} of CPU as a heavy application callback would. Compare the settings with and
+ * without continuation work, and with {@code -t} to add calling threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransportBenchmark {
+  private static final int WINDOW = 64;
+
+  @Param({"default", "executor", "eventLoopThreads", "nativeTransport", "pooledDirectBuffers"})
+  public String transport;
+
+  @Param({"0", "10000"})
+  public long continuationTokens;
+
+  private Server server;
+  private ExecutorService executor;
+  private QdrantClient client;
+  private QueryPoints query;
+
+  @Setup
+  public void setup() throws IOException {
+    QueryResponse response =
+        QueryResponse.newBuilder()
+            .addResult(ScoredPoint.newBuilder().setId(id(1)).setScore(1.0f).build())
+            .build();
+    query =
+        QueryPoints.newBuilder()
+            .setCollectionName("benchmark")
+            .setQuery(nearest(0.1f, 0.2f, 0.3f, 0.4f))
+            .setLimit(1)
+            .build();
+
+    server = NettyServerBuilder.forPort(0).addService(new CannedPoints(response)).build().start();
+    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    QdrantGrpcClient.Builder builder =
+        QdrantGrpcClient.newBuilder("localhost", server.getPort(), false, false);
+    switch (transport) {
+      case "executor":
+        builder.withExecutor(executor);
+        break;
+      case "eventLoopThreads":
+        builder.withEventLoopThreads(1);
+        break;
+      case "nativeTransport":
+        builder.withNativeTransport(true);
+        break;
+      case "pooledDirectBuffers":
+        builder.withPooledDirectBuffers(true);
+        break;
+      default:
+        break;
+    }
+    client = new QdrantClient(builder.build());
+  }
+
+  @TearDown
+  public void teardown() throws InterruptedException {
+    client.close();
+    executor.shutdown();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WINDOW)
+  public List<List<ScoredPoint>> query() throws ExecutionException, InterruptedException {
+    List<ListenableFuture<List<ScoredPoint>>> futures = new ArrayList<>(WINDOW);
+    for (int i = 0; i < WINDOW; i++) {
+      futures.add(
+          Futures.transform(
+              client.queryAsync(query),
+              points -> {
+                Blackhole.consumeCPU(continuationTokens);
+                return points;
+              },
+              MoreExecutors.directExecutor()));
+    }
+    return Futures.allAsList(futures).get();
+  }
+
+  /** Points service answering every query with the same response. */
+  private static final class CannedPoints extends PointsGrpc.PointsImplBase {
+    private final QueryResponse response;
+
+    CannedPoints(QueryResponse response) {
+      this.response = response;
+    }
+
+    @Override
+    public void query(QueryPoints request, StreamObserver<QueryResponse> responseObserver) {
+      responseObserver.onNext(response);
+      responseObserver.onCompleted();
+    }
+  }
+}
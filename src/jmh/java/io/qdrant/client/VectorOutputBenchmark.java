@@ -0,0 +1,81 @@
+package io.qdrant.client;
+
+import io.qdrant.client.grpc.Points.DenseVector;
+import io.qdrant.client.grpc.Points.MultiDenseVector;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.VectorOutput;
+import io.qdrant.client.grpc.Points.VectorsOutput;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares extracting vectors from results as messages with {@link VectorOutputHelper} with
+ * extracting them as float arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VectorOutputBenchmark {
+  @Param({"768"})
+  public int dimensions;
+
+  private ScoredPoint point;
+  private VectorOutput multiVector;
+  private float[] buffer;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    DenseVector.Builder dense = DenseVector.newBuilder();
+    for (int i = 0; i < dimensions; i++) {
+      dense.addData(random.nextFloat());
+    }
+    point =
+        ScoredPoint.newBuilder()
+            .setId(PointIdFactory.id(1))
+            .setScore(0.5f)
+            .setVectors(
+                VectorsOutput.newBuilder()
+                    .setVector(VectorOutput.newBuilder().setDense(dense.build())))
+            .build();
+    MultiDenseVector.Builder multiDense = MultiDenseVector.newBuilder();
+    for (int i = 0; i < 32; i++) {
+      multiDense.addVectors(dense.build());
+    }
+    multiVector = VectorOutput.newBuilder().setMultiDense(multiDense).build();
+    buffer = new float[dimensions];
+  }
+
+  @Benchmark
+  public DenseVector denseVector() {
+    return VectorOutputHelper.getDenseVector(point.getVectors().getVector());
+  }
+
+  @Benchmark
+  public float[] denseVectorData() {
+    return VectorOutputHelper.getDenseVectorData(point);
+  }
+
+  @Benchmark
+  public int copyDenseVectorData() {
+    return VectorOutputHelper.copyDenseVectorData(point.getVectors().getVector(), buffer, 0);
+  }
+
+  @Benchmark
+  public MultiDenseVector multiVector() {
+    return VectorOutputHelper.getMultiVector(multiVector);
+  }
+
+  @Benchmark
+  public float[][] multiVectorData() {
+    return VectorOutputHelper.getMultiVectorData(multiVector);
+  }
+}
@@ -0,0 +1,500 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.CodedOutputStream;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.ShardKeySelector;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.WriteOrdering;
+import io.qdrant.client.grpc.Points.WriteOrderingType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accepts single points from any number of threads and upserts them into a collection in batches.
+ *
+ * <p>A batch is sent as soon as it reaches the configured number of points or serialized size, or
+ * when the linger time has elapsed since the first point was added to it. The number of batches in
+ * flight is bounded; when the bound is reached, {@link #add(PointStruct)} blocks until a batch
+ * completes.
+ *
+ * <pre>{@code
+ * try (BulkUpserter upserter = BulkUpserter.newBuilder(client, "my_collection").build()) {
+ *   for (PointStruct point : points) {
+ *     upserter.add(point);
+ *   }
+ * }
+ * }</pre>
+ */
+public class BulkUpserter implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(BulkUpserter.class);
+
+  private final QdrantClient client;
+  private final String collectionName;
+  private final int maxBatchSize;
+  private final long maxBatchBytes;
+  private final long lingerNanos;
+  private final boolean wait;
+  @Nullable private final WriteOrderingType ordering;
+  @Nullable private final ShardKeySelector shardKeySelector;
+  @Nullable private final Duration timeout;
+  private final Semaphore inFlightPermits;
+  private final ScheduledExecutorService scheduler;
+  private final boolean shutdownSchedulerOnClose;
+  private final Set<ListenableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+  private final Queue<Batch> waitingForPermit = new ConcurrentLinkedQueue<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private Batch current = new Batch();
+  @Nullable private ScheduledFuture<?> lingerTask;
+  private boolean closed;
+
+  private BulkUpserter(Builder builder) {
+    this.client = builder.client;
+    this.collectionName = builder.collectionName;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxBatchBytes = builder.maxBatchBytes;
+    this.lingerNanos = builder.linger.toNanos();
+    this.wait = builder.wait;
+    this.ordering = builder.ordering;
+    this.shardKeySelector = builder.shardKeySelector;
+    this.timeout = builder.timeout;
+    this.inFlightPermits = new Semaphore(builder.maxInFlightRequests);
+    if (builder.scheduler != null) {
+      this.scheduler = builder.scheduler;
+      this.shutdownSchedulerOnClose = false;
+    } else {
+      this.scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("qdrant-bulk-upserter-%d")
+                  .build());
+      this.shutdownSchedulerOnClose = true;
+    }
+  }
+
+  /**
+   * Creates a new builder to build a bulk upserter.
+   *
+   * @param client The client used to send upsert requests.
+   * @param collectionName The name of the collection to upsert points into.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, String collectionName) {
+    return new Builder(client, collectionName);
+  }
+
+  /**
+   * Adds a point to the current batch. Blocks if the maximum number of in-flight requests has been
+   * reached and adding the point completes a batch.
+   *
+   * @param point The point to upsert.
+   * @return a future that completes with the {@link UpdateResult} of the batch containing the point
+   * @throws IllegalStateException if the upserter has been closed.
+   */
+  public ListenableFuture<UpdateResult> add(PointStruct point) {
+    SettableFuture<UpdateResult> future = SettableFuture.create();
+    long pointBytes = CodedOutputStream.computeMessageSize(UpsertPoints.POINTS_FIELD_NUMBER, point);
+    Batch full = null;
+    Batch oversized = null;
+
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Bulk upserter has been closed");
+      }
+      if (!current.isEmpty() && current.bytes + pointBytes > maxBatchBytes) {
+        oversized = takeCurrent();
+      }
+      current.add(point, pointBytes, future);
+      if (current.size() >= maxBatchSize || current.bytes >= maxBatchBytes) {
+        full = takeCurrent();
+      } else if (current.size() == 1) {
+        Batch lingering = current;
+        lingerTask =
+            scheduler.schedule(() -> flushLingering(lingering), lingerNanos, TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (oversized != null) {
+      send(oversized);
+    }
+    if (full != null) {
+      send(full);
+    }
+    return future;
+  }
+
+  /**
+   * Sends the current batch, if any, without waiting for it to fill up.
+   *
+   * @return a future that completes when all points added before this call have been processed.
+   *     The future does not fail if a batch fails; failures are reported through the futures
+   *     returned by {@link #add(PointStruct)}.
+   */
+  public ListenableFuture<Void> flush() {
+    Batch batch;
+    lock.lock();
+    try {
+      batch = takeCurrent();
+    } finally {
+      lock.unlock();
+    }
+    if (!batch.isEmpty()) {
+      send(batch);
+    }
+    return Futures.whenAllComplete(new ArrayList<>(inFlight))
+        .call(() -> null, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Gets the number of batches that are full or flushed and not yet completed, including batches
+   * waiting for an in-flight request to complete before being sent.
+   *
+   * @return the number of in-flight batches
+   */
+  public int inFlightBatches() {
+    return inFlight.size();
+  }
+
+  /**
+   * Flushes the current batch and waits for all in-flight batches to complete. Points added after
+   * the upserter is closed are rejected.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      flush().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted while waiting for in-flight upserts into '{}'", collectionName);
+    } catch (ExecutionException e) {
+      logger.warn("Exception thrown while flushing upserts into '{}'", collectionName, e);
+    } finally {
+      if (shutdownSchedulerOnClose) {
+        scheduler.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Flushes a batch whose linger time has elapsed, unless it was already taken, such as when the
+   * task was cancelled while running. Runs on the scheduler, which may be shared, so the batch is
+   * queued without waiting for it to be sent.
+   */
+  private void flushLingering(Batch lingering) {
+    lock.lock();
+    try {
+      if (current != lingering) {
+        return;
+      }
+      lingerTask = null;
+      takeCurrent();
+    } finally {
+      lock.unlock();
+    }
+    waitingForPermit.add(lingering);
+    sendWaiting();
+  }
+
+  /**
+   * Takes the current batch to send it. A non-empty batch is registered as in flight right away, so
+   * that {@link #flush()} waits for it even before it gets a permit. Must hold the lock.
+   */
+  private Batch takeCurrent() {
+    Batch batch = current;
+    current = new Batch();
+    if (lingerTask != null) {
+      lingerTask.cancel(false);
+      lingerTask = null;
+    }
+    if (!batch.isEmpty()) {
+      inFlight.add(batch.done);
+    }
+    return batch;
+  }
+
+  /**
+   * Queues a batch behind the batches already waiting for a permit, and waits until it is sent.
+   * Batches are only sent from the queue, so that they are sent in the order they were taken.
+   */
+  private void send(Batch batch) {
+    waitingForPermit.add(batch);
+    sendWaiting();
+    try {
+      batch.started.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      if (waitingForPermit.remove(batch)) {
+        inFlight.remove(batch.done);
+        batch.fail(e);
+      }
+    }
+  }
+
+  /** Sends queued batches while permits are available, without waiting. */
+  private void sendWaiting() {
+    while (!waitingForPermit.isEmpty() && inFlightPermits.tryAcquire()) {
+      Batch batch = waitingForPermit.poll();
+      if (batch == null) {
+        // another thread took the batch, check again for a batch queued meanwhile
+        inFlightPermits.release();
+        continue;
+      }
+      start(batch);
+    }
+  }
+
+  /** Sends a batch holding a permit, which is released once the batch completes. */
+  private void start(Batch batch) {
+    batch.started.countDown();
+    UpsertPoints.Builder requestBuilder =
+        UpsertPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllPoints(batch.points)
+            .setWait(wait);
+    if (ordering != null) {
+      requestBuilder.setOrdering(WriteOrdering.newBuilder().setType(ordering).build());
+    }
+    if (shardKeySelector != null) {
+      requestBuilder.setShardKeySelector(shardKeySelector);
+    }
+
+    ListenableFuture<UpdateResult> future;
+    try {
+      future = client.upsertAsync(requestBuilder.build(), timeout);
+    } catch (RuntimeException e) {
+      future = Futures.immediateFailedFuture(e);
+    }
+    Futures.addCallback(
+        future,
+        new FutureCallback<UpdateResult>() {
+          @Override
+          public void onSuccess(UpdateResult result) {
+            inFlightPermits.release();
+            batch.complete(result);
+            inFlight.remove(batch.done);
+            sendWaiting();
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            inFlightPermits.release();
+            batch.fail(t);
+            inFlight.remove(batch.done);
+            sendWaiting();
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private static final class Batch {
+    private final List<PointStruct> points = new ArrayList<>();
+    private final List<SettableFuture<UpdateResult>> futures = new ArrayList<>();
+    private final SettableFuture<Void> done = SettableFuture.create();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private long bytes;
+
+    void add(PointStruct point, long pointBytes, SettableFuture<UpdateResult> future) {
+      points.add(point);
+      futures.add(future);
+      bytes += pointBytes;
+    }
+
+    int size() {
+      return points.size();
+    }
+
+    boolean isEmpty() {
+      return points.isEmpty();
+    }
+
+    void complete(UpdateResult result) {
+      for (SettableFuture<UpdateResult> future : futures) {
+        future.set(result);
+      }
+      done.set(null);
+    }
+
+    void fail(Throwable t) {
+      for (SettableFuture<UpdateResult> future : futures) {
+        future.setException(t);
+      }
+      done.set(null);
+    }
+  }
+
+  /** builder for {@link BulkUpserter} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final String collectionName;
+    private int maxBatchSize = 256;
+    private long maxBatchBytes = 4L * 1024 * 1024;
+    private Duration linger = Duration.ofMillis(20);
+    private int maxInFlightRequests = 4;
+    private boolean wait = true;
+    @Nullable private WriteOrderingType ordering;
+    @Nullable private ShardKeySelector shardKeySelector;
+    @Nullable private Duration timeout;
+    @Nullable private ScheduledExecutorService scheduler;
+
+    Builder(QdrantClient client, String collectionName) {
+      Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.collectionName = collectionName;
+    }
+
+    /**
+     * Sets the maximum number of points in a batch. Defaults to 256.
+     *
+     * @param maxBatchSize The maximum number of points.
+     * @return this
+     */
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      Preconditions.checkArgument(maxBatchSize > 0, "Max batch size must be positive");
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum serialized size of the points in a batch. A single point larger than this
+     * size is sent in a batch of its own. Defaults to 4 MiB.
+     *
+     * @param maxBatchBytes The maximum size in bytes.
+     * @return this
+     */
+    public Builder withMaxBatchBytes(long maxBatchBytes) {
+      Preconditions.checkArgument(maxBatchBytes > 0, "Max batch bytes must be positive");
+      this.maxBatchBytes = maxBatchBytes;
+      return this;
+    }
+
+    /**
+     * Sets the maximum time a point waits for its batch to fill up before the batch is sent.
+     * Defaults to 20 milliseconds.
+     *
+     * @param linger The linger time.
+     * @return this
+     */
+    public Builder withLinger(Duration linger) {
+      Preconditions.checkArgument(!linger.isNegative(), "Linger must not be negative");
+      this.linger = linger;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of batches sent and not yet completed. Defaults to 4.
+     *
+     * @param maxInFlightRequests The maximum number of in-flight requests.
+     * @return this
+     */
+    public Builder withMaxInFlightRequests(int maxInFlightRequests) {
+      Preconditions.checkArgument(
+          maxInFlightRequests > 0, "Max in-flight requests must be positive");
+      this.maxInFlightRequests = maxInFlightRequests;
+      return this;
+    }
+
+    /**
+     * Sets whether each request waits for the changes to be applied. Defaults to <code>true</code>.
+     *
+     * @param wait Whether to wait.
+     * @return this
+     */
+    public Builder withWait(boolean wait) {
+      this.wait = wait;
+      return this;
+    }
+
+    /**
+     * Sets the write ordering guarantees of each request.
+     *
+     * @param ordering The write ordering.
+     * @return this
+     */
+    public Builder withOrdering(@Nullable WriteOrderingType ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Sets the shard keys to upsert points into.
+     *
+     * @param shardKeySelector The shard key selector.
+     * @return this
+     */
+    public Builder withShardKeySelector(@Nullable ShardKeySelector shardKeySelector) {
+      this.shardKeySelector = shardKeySelector;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Sets the scheduler used to flush lingering batches. The scheduler is not shutdown by the
+     * upserter and must be managed by the caller. By default, the upserter uses a single daemon
+     * thread of its own.
+     *
+     * @param scheduler The scheduler.
+     * @return this
+     */
+    public Builder withScheduler(ScheduledExecutorService scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link BulkUpserter}
+     *
+     * @return a new instance of {@link BulkUpserter}
+     */
+    public BulkUpserter build() {
+      return new BulkUpserter(this);
+    }
+  }
+}
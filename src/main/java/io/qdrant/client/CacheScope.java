@@ -0,0 +1,52 @@
+package io.qdrant.client;
+
+import io.grpc.CallCredentials;
+import io.grpc.CallOptions;
+import java.util.Collections;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * The principal a cached response is read for: the call credentials of the call, and the headers
+ * attached to it with {@link RequestHeaders}, such as an API key or a JWT. Cached responses are
+ * keyed by scope, so that a response read for one principal is never served to another.
+ */
+final class CacheScope {
+  @Nullable private final CallCredentials credentials;
+  private final Map<String, String> headers;
+
+  private CacheScope(@Nullable CallCredentials credentials, Map<String, String> headers) {
+    this.credentials = credentials;
+    this.headers = headers;
+  }
+
+  /** Gets the scope of a call created in the current context with the given options. */
+  static CacheScope of(CallOptions callOptions) {
+    Map<String, String> headers = RequestHeaders.HEADERS_KEY.get();
+    return new CacheScope(
+        callOptions.getCredentials(), headers != null ? headers : Collections.emptyMap());
+  }
+
+  /** Gets the headers attached to the calls of this scope with {@link RequestHeaders}. */
+  Map<String, String> headers() {
+    return headers;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CacheScope)) {
+      return false;
+    }
+    CacheScope scope = (CacheScope) o;
+    // credentials do not implement equality, calls of the same client share the same instance
+    return credentials == scope.credentials && headers.equals(scope.headers);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * System.identityHashCode(credentials) + headers.hashCode();
+  }
+}
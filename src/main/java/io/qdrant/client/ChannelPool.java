@@ -0,0 +1,115 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Channel} that spreads calls across several channels to the same target. Each call goes
+ * to the channel with the fewest outstanding calls, ties are broken round-robin.
+ */
+final class ChannelPool extends Channel {
+  private final List<ManagedChannel> channels;
+  private final AtomicInteger[] outstanding;
+  private final AtomicInteger next = new AtomicInteger();
+
+  ChannelPool(List<ManagedChannel> channels) {
+    Preconditions.checkArgument(!channels.isEmpty(), "Channels must not be empty");
+    this.channels = new ArrayList<>(channels);
+    this.outstanding = new AtomicInteger[channels.size()];
+    for (int i = 0; i < outstanding.length; i++) {
+      outstanding[i] = new AtomicInteger();
+    }
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    int index = select();
+    return new CountingCall<>(
+        channels.get(index).newCall(method, callOptions), outstanding[index]);
+  }
+
+  @Override
+  public String authority() {
+    return channels.get(0).authority();
+  }
+
+  /**
+   * Gets the number of outstanding calls on each channel.
+   *
+   * @return the outstanding calls, in the order of the channels
+   */
+  int[] outstandingCalls() {
+    int[] counts = new int[outstanding.length];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = outstanding[i].get();
+    }
+    return counts;
+  }
+
+  private int select() {
+    int size = outstanding.length;
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    int best = start;
+    int bestCount = outstanding[start].get();
+    for (int i = 1; i < size && bestCount > 0; i++) {
+      int index = (start + i) % size;
+      int count = outstanding[index].get();
+      if (count < bestCount) {
+        best = index;
+        bestCount = count;
+      }
+    }
+    return best;
+  }
+
+  /** Counts a call as outstanding from start until it is closed. */
+  private static final class CountingCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final AtomicInteger outstanding;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    CountingCall(ClientCall<ReqT, RespT> delegate, AtomicInteger outstanding) {
+      super(delegate);
+      this.outstanding = outstanding;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      outstanding.incrementAndGet();
+      try {
+        super.start(
+            new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                finish();
+                super.onClose(status, trailers);
+              }
+            },
+            headers);
+      } catch (RuntimeException | Error e) {
+        finish();
+        throw e;
+      }
+    }
+
+    private void finish() {
+      if (finished.compareAndSet(false, true)) {
+        outstanding.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package io.qdrant.client;
+
+import io.grpc.Status;
+
+/**
+ * Receives measurements of every gRPC call made by a {@link QdrantGrpcClient}, to record them with
+ * a metrics library. Installed with {@link QdrantGrpcClient.Builder#withMetrics(ClientMetrics)}.
+ *
+ * <p>{@link #callStarted(String)} is followed by exactly one {@link #callCompleted} for the same
+ * call, so the difference between the two counts the calls in flight. Calls that exceeded their
+ * deadline complete with {@link Status.Code#DEADLINE_EXCEEDED}.
+ *
+ * <p>These methods are called for every call, on the thread starting the call and on gRPC threads.
+ * Implementations must be thread-safe and should return quickly without blocking. Exceptions
+ * thrown by implementations are logged and otherwise ignored.
+ *
+ * <p>{@link MicrometerClientMetrics} records the measurements with Micrometer.
+ */
+public interface ClientMetrics {
+  /**
+   * Called when a call starts.
+   *
+   * @param method The full name of the gRPC method, such as {@code qdrant.Points/Query}.
+   */
+  void callStarted(String method);
+
+  /**
+   * Called when a call completes, successfully or not.
+   *
+   * @param method The full name of the gRPC method, such as {@code qdrant.Points/Query}.
+   * @param collectionName The name of the collection of the request, or an empty string if the
+   *     request has no collection.
+   * @param code The status code the call completed with.
+   * @param latencyNanos The time from starting the call to its completion, in nanoseconds.
+   * @param requestBytes The size of the request on the wire, in bytes, summed over attempts.
+   * @param responseBytes The size of the response on the wire, in bytes, summed over attempts.
+   */
+  void callCompleted(
+      String method,
+      String collectionName,
+      Status.Code code,
+      long latencyNanos,
+      long requestBytes,
+      long responseBytes);
+
+  /**
+   * Called when an attempt of a call failed and is retried, according to the {@link RetryPolicy}
+   * of the client. The call still completes once, when its last attempt completes.
+   *
+   * @param method The full name of the gRPC method, such as {@code qdrant.Points/Query}.
+   * @param collectionName The name of the collection of the request, or an empty string if the
+   *     request has no collection.
+   * @param code The status code the attempt failed with.
+   */
+  default void callRetried(String method, String collectionName, Status.Code code) {}
+
+  /**
+   * Called when a request looks up a cache of the client: the {@link QueryCachePolicy query cache},
+   * the {@link PointCachePolicy point cache} or the {@link MetadataCachePolicy metadata cache}. A
+   * hit completes the call without sending it to the server. Retrievals of points look up the point
+   * cache once for each point.
+   *
+   * @param method The full name of the gRPC method, such as {@code qdrant.Points/Query}.
+   * @param collectionName The name of the collection of the request, or an empty string if the
+   *     request has no collection.
+   * @param hit Whether the response or point was found in the cache.
+   */
+  default void cacheAccessed(String method, String collectionName, boolean hit) {}
+}
@@ -0,0 +1,177 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Policy for limiting the number of calls in flight with an adaptive limit. Without a limit, calls
+ * fired faster than the server completes them queue up in the transport and on the server, until
+ * their latency exceeds their deadlines. With a limit, calls beyond the limit wait in a queue of
+ * the client, or are rejected early with {@link io.grpc.Status.Code#RESOURCE_EXHAUSTED} when the
+ * queue is full. Calls still waiting when their deadline passes fail with {@link
+ * io.grpc.Status.Code#DEADLINE_EXCEEDED}, without shrinking the limit.
+ *
+ * <p>The limit adapts to the server with additive increase and multiplicative decrease, once per
+ * window of about one round trip. At the end of a window, it shrinks by the backoff ratio if a call
+ * failed with a status indicating overload, or if the smoothed latency of a method exceeded the
+ * latency tolerance times its lowest recent latency. Otherwise it grows by one if the calls in
+ * flight used at least half of it. Smoothing the latency keeps a single slow call from shrinking
+ * the limit, so the number of calls in flight stays near the point where the server is busy but
+ * latency has not yet grown.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withConcurrencyLimit(ConcurrencyLimitPolicy.newBuilder().withMaxLimit(200).build())
+ *         .build();
+ * }</pre>
+ */
+public final class ConcurrencyLimitPolicy {
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double latencyTolerance;
+  private final int maxQueueSize;
+
+  private ConcurrencyLimitPolicy(Builder builder) {
+    this.initialLimit = builder.initialLimit;
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.backoffRatio = builder.backoffRatio;
+    this.latencyTolerance = builder.latencyTolerance;
+    this.maxQueueSize = builder.maxQueueSize;
+  }
+
+  /**
+   * Creates a new builder to build a concurrency limit policy.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  int initialLimit() {
+    return initialLimit;
+  }
+
+  int minLimit() {
+    return minLimit;
+  }
+
+  int maxLimit() {
+    return maxLimit;
+  }
+
+  double backoffRatio() {
+    return backoffRatio;
+  }
+
+  double latencyTolerance() {
+    return latencyTolerance;
+  }
+
+  int maxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /** builder for {@link ConcurrencyLimitPolicy} */
+  public static class Builder {
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 1000;
+    private double backoffRatio = 0.9;
+    private double latencyTolerance = 2;
+    private int maxQueueSize = 1000;
+
+    Builder() {}
+
+    /**
+     * Sets the limit before any call completes. Defaults to 20.
+     *
+     * @param initialLimit The initial limit, between the min and max limits.
+     * @return this
+     */
+    public Builder withInitialLimit(int initialLimit) {
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /**
+     * Sets the lowest limit. Defaults to 4.
+     *
+     * @param minLimit The min limit, at least 1.
+     * @return this
+     */
+    public Builder withMinLimit(int minLimit) {
+      Preconditions.checkArgument(minLimit >= 1, "Min limit must be at least 1");
+      this.minLimit = minLimit;
+      return this;
+    }
+
+    /**
+     * Sets the highest limit. Defaults to 1000.
+     *
+     * @param maxLimit The max limit.
+     * @return this
+     */
+    public Builder withMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * Sets the factor applied to the limit at the end of a window in which calls were slow or
+     * failed with overload. Defaults to 0.9.
+     *
+     * @param backoffRatio The backoff ratio, at least 0.5 and less than 1.
+     * @return this
+     */
+    public Builder withBackoffRatio(double backoffRatio) {
+      Preconditions.checkArgument(
+          backoffRatio >= 0.5 && backoffRatio < 1,
+          "Backoff ratio must be at least 0.5 and less than 1");
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * Sets how many times the lowest recent latency of a method its smoothed latency can reach
+     * before the limit shrinks. Defaults to 2.
+     *
+     * @param latencyTolerance The latency tolerance, greater than 1.
+     * @return this
+     */
+    public Builder withLatencyTolerance(double latencyTolerance) {
+      Preconditions.checkArgument(latencyTolerance > 1, "Latency tolerance must be greater than 1");
+      this.latencyTolerance = latencyTolerance;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of calls waiting for the calls in flight to drop below the limit.
+     * Calls beyond are rejected with {@link io.grpc.Status.Code#RESOURCE_EXHAUSTED}. Defaults to
+     * 1000.
+     *
+     * @param maxQueueSize The max queue size, 0 to reject calls beyond the limit right away.
+     * @return this
+     */
+    public Builder withMaxQueueSize(int maxQueueSize) {
+      Preconditions.checkArgument(maxQueueSize >= 0, "Max queue size must not be negative");
+      this.maxQueueSize = maxQueueSize;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link ConcurrencyLimitPolicy}
+     *
+     * @return a new instance of {@link ConcurrencyLimitPolicy}
+     */
+    public ConcurrencyLimitPolicy build() {
+      Preconditions.checkArgument(
+          minLimit <= initialLimit && initialLimit <= maxLimit,
+          "Initial limit must be between the min and max limits");
+      return new ConcurrencyLimitPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,288 @@
+package io.qdrant.client;
+
+import com.google.common.collect.ImmutableSet;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Channel} limiting the number of calls in flight according to a {@link
+ * ConcurrencyLimitPolicy}. Calls beyond the limit wait in a queue and start in order as calls
+ * complete, or fail with {@link Status.Code#DEADLINE_EXCEEDED} when their deadline passes first.
+ *
+ * <p>The limit is adapted once per window, which ends when a call started after the previous window
+ * completes, so that a burst of completions of the same round trip counts once.
+ */
+final class ConcurrencyLimitingChannel extends Channel {
+  /** The status codes of failures signalling an overloaded server. */
+  private static final Set<Status.Code> OVERLOAD_CODES =
+      ImmutableSet.of(
+          Status.Code.DEADLINE_EXCEEDED, Status.Code.UNAVAILABLE, Status.Code.RESOURCE_EXHAUSTED);
+
+  /** The number of latencies of a method after which its lowest latency is measured again. */
+  private static final int MIN_LATENCY_WINDOW = 256;
+
+  /** The weight of the latest latency in the smoothed latency of a method. */
+  private static final double SMOOTHING = 0.1;
+
+  private final Channel delegate;
+  private final ConcurrencyLimitPolicy policy;
+  private final ScheduledExecutorService scheduler;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Queue<LimitedCall<?, ?>> queue = new ArrayDeque<>();
+  private final Map<String, Latency> latencies = new HashMap<>();
+  private double limit;
+  private int inFlight;
+  private long windowStartNanos = System.nanoTime();
+  private boolean windowSaturated;
+  private boolean windowCongested;
+
+  ConcurrencyLimitingChannel(
+      Channel delegate, ConcurrencyLimitPolicy policy, ScheduledExecutorService scheduler) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.scheduler = scheduler;
+    this.limit = policy.initialLimit();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    if (method.getType() != MethodDescriptor.MethodType.UNARY) {
+      return delegate.newCall(method, callOptions);
+    }
+    return new LimitedCall<>(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  /** Gets the current limit of calls in flight. */
+  int limit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the permit of a completed call and records its outcome, adapting the limit when the
+   * window ends, then starts the calls waiting for a permit.
+   */
+  private void release(String method, Status status, long startNanos) {
+    List<LimitedCall<?, ?>> started = new ArrayList<>();
+    long nowNanos = System.nanoTime();
+    lock.lock();
+    try {
+      inFlight--;
+      if (OVERLOAD_CODES.contains(status.getCode())) {
+        windowCongested = true;
+      } else if (status.isOk()) {
+        Latency latency = latencies.computeIfAbsent(method, m -> new Latency());
+        latency.record(nowNanos - startNanos);
+        if (latency.smoothed > policy.latencyTolerance() * latency.min) {
+          windowCongested = true;
+        }
+      }
+      if (startNanos - windowStartNanos >= 0) {
+        // a whole round trip elapsed since the window started
+        if (windowCongested) {
+          limit = Math.max(policy.minLimit(), limit * policy.backoffRatio());
+        } else if (windowSaturated) {
+          limit = Math.min(policy.maxLimit(), limit + 1);
+        }
+        windowStartNanos = nowNanos;
+        windowSaturated = false;
+        windowCongested = false;
+      }
+      pollPermitted(started);
+    } finally {
+      lock.unlock();
+    }
+
+    for (LimitedCall<?, ?> call : started) {
+      call.startWithPermit();
+    }
+  }
+
+  /** Releases a permit whose call was cancelled before it was sent, leaving the limit as it is. */
+  private void releaseUnsent() {
+    List<LimitedCall<?, ?>> started = new ArrayList<>();
+    lock.lock();
+    try {
+      inFlight--;
+      pollPermitted(started);
+    } finally {
+      lock.unlock();
+    }
+
+    for (LimitedCall<?, ?> call : started) {
+      call.startWithPermit();
+    }
+  }
+
+  /** Takes the calls waiting in the queue for which there are permits, holding the lock. */
+  private void pollPermitted(List<LimitedCall<?, ?>> started) {
+    while (inFlight < (int) limit && !queue.isEmpty()) {
+      acquire();
+      started.add(queue.poll());
+    }
+  }
+
+  /** Takes a permit, holding the lock. */
+  private void acquire() {
+    inFlight++;
+    if (inFlight * 2 >= limit) {
+      windowSaturated = true;
+    }
+  }
+
+  /** A call starting once the calls in flight drop below the limit. */
+  private final class LimitedCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    @Nullable private final Deadline deadline;
+    @Nullable private ScheduledFuture<?> expiry;
+
+    LimitedCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+      Deadline contextDeadline = Context.current().getDeadline();
+      Deadline callDeadline = callOptions.getDeadline();
+      if (contextDeadline == null || callDeadline == null) {
+        this.deadline = callDeadline != null ? callDeadline : contextDeadline;
+      } else {
+        this.deadline = callDeadline.minimum(contextDeadline);
+      }
+    }
+
+    @Override
+    void onHalfClose() {
+      boolean permitted = false;
+      boolean rejected = false;
+      int currentLimit;
+      lock.lock();
+      try {
+        currentLimit = (int) limit;
+        if (inFlight < currentLimit) {
+          acquire();
+          permitted = true;
+        } else if (queue.size() < policy.maxQueueSize()) {
+          queue.add(this);
+          if (deadline != null) {
+            long remainingNanos = deadline.timeRemaining(TimeUnit.NANOSECONDS);
+            expiry = scheduler.schedule(this::expire, remainingNanos, TimeUnit.NANOSECONDS);
+          }
+        } else {
+          rejected = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+
+      if (permitted) {
+        startWithPermit();
+      } else if (rejected) {
+        abort(
+            Status.RESOURCE_EXHAUSTED.withDescription(
+                "Too many calls in flight and waiting, the concurrency limit is " + currentLimit));
+      }
+    }
+
+    /** Fails the call if it is still waiting for a permit when its deadline passes. */
+    private void expire() {
+      boolean waiting;
+      lock.lock();
+      try {
+        waiting = queue.remove(this);
+      } finally {
+        lock.unlock();
+      }
+      if (waiting) {
+        // the server never saw the call, so it says nothing about overload
+        abort(
+            Status.DEADLINE_EXCEEDED.withDescription(
+                "Deadline exceeded while waiting for the concurrency limit"));
+      }
+    }
+
+    /** Starts the call once it holds a permit, or releases the permit if it was cancelled. */
+    void startWithPermit() {
+      cancelExpiry();
+      if (startAttempt() == null) {
+        // cancelled while waiting in the queue
+        releaseUnsent();
+      }
+    }
+
+    @Override
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      release(methodName(), status, attempt.startNanos);
+      commit(attempt, status, trailers);
+    }
+
+    @Override
+    void onCancel() {
+      lock.lock();
+      try {
+        queue.remove(this);
+      } finally {
+        lock.unlock();
+      }
+      cancelExpiry();
+    }
+
+    private void cancelExpiry() {
+      ScheduledFuture<?> expiry;
+      lock.lock();
+      try {
+        expiry = this.expiry;
+      } finally {
+        lock.unlock();
+      }
+      if (expiry != null) {
+        expiry.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * The latency of a method, smoothed over recent calls and compared with its lowest latency over a
+   * sliding window. The lowest latency is measured again periodically, so that it follows lasting
+   * changes, such as a collection growing.
+   */
+  private static final class Latency {
+    private double smoothed;
+    private long min = Long.MAX_VALUE;
+    private long nextMin = Long.MAX_VALUE;
+    private int count;
+
+    void record(long latencyNanos) {
+      smoothed = count == 0 ? latencyNanos : smoothed + SMOOTHING * (latencyNanos - smoothed);
+      min = Math.min(min, latencyNanos);
+      nextMin = Math.min(nextMin, latencyNanos);
+      if (++count % MIN_LATENCY_WINDOW == 0) {
+        min = nextMin;
+        nextMin = Long.MAX_VALUE;
+      }
+    }
+  }
+}
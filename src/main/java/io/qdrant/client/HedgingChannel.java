@@ -0,0 +1,195 @@
+package io.qdrant.client;
+
+import com.google.common.collect.ImmutableSet;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Channel} hedging the idempotent reads of the points service according to a {@link
+ * HedgingPolicy}. Other calls go straight to the delegate channel.
+ */
+final class HedgingChannel extends Channel {
+  static final Set<String> HEDGED_METHODS =
+      ImmutableSet.of(
+          PointsGrpc.getQueryMethod().getFullMethodName(),
+          PointsGrpc.getQueryBatchMethod().getFullMethodName(),
+          PointsGrpc.getSearchMethod().getFullMethodName(),
+          PointsGrpc.getSearchBatchMethod().getFullMethodName(),
+          PointsGrpc.getGetMethod().getFullMethodName(),
+          PointsGrpc.getCountMethod().getFullMethodName(),
+          PointsGrpc.getScrollMethod().getFullMethodName());
+
+  /** The budget a hedge costs, in thousandths of a hedge. */
+  private static final long HEDGE_COST = 1000;
+
+  /** The largest budget saved up, allowing a burst of this many hedges after a quiet period. */
+  private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+  private final Channel delegate;
+  private final long delayNanos;
+  @Nullable private final Double latencyPercentile;
+  private final long deposit;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+  private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+  HedgingChannel(Channel delegate, HedgingPolicy policy, ScheduledExecutorService scheduler) {
+    this.delegate = delegate;
+    this.delayNanos = policy.delay().toNanos();
+    this.latencyPercentile = policy.latencyPercentile();
+    this.deposit = Math.round(policy.maxHedgeRatio() * HEDGE_COST);
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    if (!HEDGED_METHODS.contains(method.getFullMethodName())) {
+      return delegate.newCall(method, callOptions);
+    }
+    return new HedgingCall<>(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  private long delayNanos(String method) {
+    if (latencyPercentile == null) {
+      return delayNanos;
+    }
+    LatencyWindow window = latencies.get(method);
+    long percentileNanos = window != null ? window.percentileNanos : -1;
+    return percentileNanos >= 0 ? percentileNanos : delayNanos;
+  }
+
+  private void recordLatency(String method, long latencyNanos) {
+    Double percentile = latencyPercentile;
+    if (percentile != null) {
+      latencies.computeIfAbsent(method, m -> new LatencyWindow(percentile)).record(latencyNanos);
+    }
+  }
+
+  private void deposit(long amount) {
+    long current;
+    do {
+      current = budget.get();
+      if (current >= MAX_BUDGET) {
+        return;
+      }
+    } while (!budget.compareAndSet(current, Math.min(MAX_BUDGET, current + amount)));
+  }
+
+  private boolean withdraw() {
+    long current;
+    do {
+      current = budget.get();
+      if (current < HEDGE_COST) {
+        return false;
+      }
+    } while (!budget.compareAndSet(current, current - HEDGE_COST));
+    return true;
+  }
+
+  /** A read sent again when the first attempt is slow, completing with the first response. */
+  private final class HedgingCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    private final long startNanos = System.nanoTime();
+    @Nullable private volatile ScheduledFuture<?> hedge;
+
+    HedgingCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+    }
+
+    @Override
+    void onHalfClose() {
+      deposit(deposit);
+      if (startAttempt() != null) {
+        hedge = scheduler.schedule(this::hedge, delayNanos(methodName()), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void hedge() {
+      if (withdraw() && startAttempt() == null) {
+        // completed in the meantime, the hedge was not needed
+        deposit(HEDGE_COST);
+      }
+    }
+
+    @Override
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      if (status.isOk()) {
+        cancelHedge();
+        recordLatency(methodName(), System.nanoTime() - startNanos);
+        commit(attempt, status, trailers);
+        return;
+      }
+      // the other attempt may still succeed
+      if (hasOtherAttemptsInFlight(attempt)) {
+        return;
+      }
+      cancelHedge();
+      commit(attempt, status, trailers);
+    }
+
+    @Override
+    void onCancel() {
+      cancelHedge();
+    }
+
+    private void cancelHedge() {
+      ScheduledFuture<?> hedge = this.hedge;
+      if (hedge != null) {
+        hedge.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * The latencies of the last requests of a method, and a percentile of them recomputed
+   * periodically.
+   */
+  private static final class LatencyWindow {
+    private static final int SIZE = 256;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(double percentile) {
+      this.percentile = percentile;
+    }
+
+    void record(long latencyNanos) {
+      long recorded = count.getAndIncrement() + 1;
+      samples.set((int) ((recorded - 1) % SIZE), latencyNanos);
+      if (recorded % RECOMPUTE_INTERVAL == 0) {
+        int size = (int) Math.min(recorded, SIZE);
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+          sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        percentileNanos = sorted[Math.max(0, index)];
+      }
+    }
+  }
+}
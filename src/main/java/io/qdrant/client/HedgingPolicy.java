@@ -0,0 +1,111 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+import javax.annotation.Nullable;
+
+/**
+ * Policy for hedging reads. When a read has not completed after the hedging delay, the same request
+ * is sent again, the first response is taken and the other request is cancelled. This cuts the
+ * tail latency caused by occasional slow replicas or pauses on the server, at the cost of extra
+ * requests.
+ *
+ * <p>Only idempotent reads are hedged: query, search, retrieve, count and scroll, and their batch
+ * variants. The delay is either fixed, or a percentile of the recent latencies of each method, so
+ * that only the slowest requests are hedged. Hedges are limited to a fraction of the hedged
+ * requests, so that a slow server is not overloaded with hedges.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withHedging(
+ *             HedgingPolicy.newBuilder(Duration.ofMillis(50)).withLatencyPercentile(95).build())
+ *         .build();
+ * }</pre>
+ */
+public final class HedgingPolicy {
+  private final Duration delay;
+  @Nullable private final Double latencyPercentile;
+  private final double maxHedgeRatio;
+
+  private HedgingPolicy(Builder builder) {
+    this.delay = builder.delay;
+    this.latencyPercentile = builder.latencyPercentile;
+    this.maxHedgeRatio = builder.maxHedgeRatio;
+  }
+
+  /**
+   * Creates a new builder to build a hedging policy.
+   *
+   * @param delay The time to wait for a response before hedging. When hedging at a percentile of
+   *     recent latencies, the delay used until enough latencies are recorded.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(Duration delay) {
+    return new Builder(delay);
+  }
+
+  Duration delay() {
+    return delay;
+  }
+
+  @Nullable
+  Double latencyPercentile() {
+    return latencyPercentile;
+  }
+
+  double maxHedgeRatio() {
+    return maxHedgeRatio;
+  }
+
+  /** builder for {@link HedgingPolicy} */
+  public static class Builder {
+    private final Duration delay;
+    @Nullable private Double latencyPercentile;
+    private double maxHedgeRatio = 0.1;
+
+    Builder(Duration delay) {
+      Preconditions.checkArgument(!delay.isNegative(), "Delay must not be negative");
+      this.delay = delay;
+    }
+
+    /**
+     * Hedges at a percentile of the latencies of the last requests of the same method, instead of
+     * the fixed delay.
+     *
+     * @param latencyPercentile The percentile, greater than 0 and less than 100.
+     * @return this
+     */
+    public Builder withLatencyPercentile(double latencyPercentile) {
+      Preconditions.checkArgument(
+          latencyPercentile > 0 && latencyPercentile < 100,
+          "Latency percentile must be greater than 0 and less than 100");
+      this.latencyPercentile = latencyPercentile;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of hedges, as a fraction of the hedged requests. Hedges are budgeted
+     * with a fraction of a hedge earned by each request, and a small burst of hedges is allowed
+     * after a quiet period. Defaults to 0.1.
+     *
+     * @param maxHedgeRatio The maximum ratio of hedges to requests, between 0 and 1.
+     * @return this
+     */
+    public Builder withMaxHedgeRatio(double maxHedgeRatio) {
+      Preconditions.checkArgument(
+          maxHedgeRatio >= 0 && maxHedgeRatio <= 1, "Max hedge ratio must be between 0 and 1");
+      this.maxHedgeRatio = maxHedgeRatio;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link HedgingPolicy}
+     *
+     * @return a new instance of {@link HedgingPolicy}
+     */
+    public HedgingPolicy build() {
+      return new HedgingPolicy(this);
+    }
+  }
+}
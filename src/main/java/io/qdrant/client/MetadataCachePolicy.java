@@ -0,0 +1,124 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+
+/**
+ * Policy for caching the metadata of collections in the client: collection info, whether
+ * collections exist, the list of collections, and aliases. Identical requests made while an entry
+ * is cached are answered by the client without a call to the server. Requests are only identical
+ * when they are made with the same call credentials and the same headers attached with {@link
+ * RequestHeaders}, so that metadata read with the API key or JWT of one caller is never served to
+ * another.
+ *
+ * <p>An entry served after the refresh interval is refreshed in the background, while the cached
+ * entry is still served, so that metadata requested regularly stays cached. Entries not refreshed
+ * expire after the time to live, and the least recently used entries are evicted when the cache is
+ * full. All entries are invalidated whenever this client creates, updates or deletes a
+ * collection, or changes aliases. Changes made by other clients, and the point counts and status of
+ * cached collection info, are only seen once entries are refreshed.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withMetadataCache(
+ *             MetadataCachePolicy.newBuilder()
+ *                 .withRefreshAfter(Duration.ofSeconds(10))
+ *                 .withTimeToLive(Duration.ofMinutes(1))
+ *                 .build())
+ *         .build();
+ * }</pre>
+ */
+public final class MetadataCachePolicy {
+  private final long maximumSize;
+  private final Duration refreshAfter;
+  private final Duration timeToLive;
+
+  private MetadataCachePolicy(Builder builder) {
+    this.maximumSize = builder.maximumSize;
+    this.refreshAfter = builder.refreshAfter;
+    this.timeToLive = builder.timeToLive;
+  }
+
+  /**
+   * Creates a new builder to build a metadata cache policy.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  long maximumSize() {
+    return maximumSize;
+  }
+
+  Duration refreshAfter() {
+    return refreshAfter;
+  }
+
+  Duration timeToLive() {
+    return timeToLive;
+  }
+
+  /** builder for {@link MetadataCachePolicy} */
+  public static class Builder {
+    private long maximumSize = 1000;
+    private Duration refreshAfter = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofSeconds(60);
+
+    Builder() {}
+
+    /**
+     * Sets the maximum number of cached entries. Defaults to 1000.
+     *
+     * @param maximumSize The maximum number of entries.
+     * @return this
+     */
+    public Builder withMaximumSize(long maximumSize) {
+      Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the time after which an entry is refreshed in the background when it is served.
+     * Defaults to 30 seconds.
+     *
+     * @param refreshAfter The refresh interval of entries.
+     * @return this
+     */
+    public Builder withRefreshAfter(Duration refreshAfter) {
+      Preconditions.checkArgument(
+          !refreshAfter.isNegative() && !refreshAfter.isZero(),
+          "Refresh interval must be positive");
+      this.refreshAfter = refreshAfter;
+      return this;
+    }
+
+    /**
+     * Sets the time after which an entry not refreshed expires. Defaults to 60 seconds.
+     *
+     * @param timeToLive The time to live of entries.
+     * @return this
+     */
+    public Builder withTimeToLive(Duration timeToLive) {
+      Preconditions.checkArgument(
+          !timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link MetadataCachePolicy}
+     *
+     * @return a new instance of {@link MetadataCachePolicy}
+     */
+    public MetadataCachePolicy build() {
+      Preconditions.checkArgument(
+          refreshAfter.compareTo(timeToLive) < 0,
+          "Refresh interval must be less than the time to live");
+      return new MetadataCachePolicy(this);
+    }
+  }
+}
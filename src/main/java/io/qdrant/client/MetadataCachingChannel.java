@@ -0,0 +1,286 @@
+package io.qdrant.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
+import io.grpc.Context;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.stub.ClientCalls;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Channel} caching the metadata of collections according to a {@link
+ * MetadataCachePolicy}, refreshing entries in the background as they are served, and invalidating
+ * them when the client changes collections or aliases.
+ */
+final class MetadataCachingChannel extends Channel {
+  private static final Logger logger = LoggerFactory.getLogger(MetadataCachingChannel.class);
+
+  static final Set<String> CACHED_METHODS =
+      ImmutableSet.of(
+          CollectionsGrpc.getGetMethod().getFullMethodName(),
+          CollectionsGrpc.getListMethod().getFullMethodName(),
+          CollectionsGrpc.getCollectionExistsMethod().getFullMethodName(),
+          CollectionsGrpc.getListCollectionAliasesMethod().getFullMethodName(),
+          CollectionsGrpc.getListAliasesMethod().getFullMethodName());
+
+  private final Channel delegate;
+  /** The delegate, attaching the headers of the scope of an entry to its refresh. */
+  private final Channel refreshChannel;
+  private final long refreshAfterNanos;
+  private final long timeToLiveNanos;
+  @Nullable private final ClientMetrics metrics;
+  private final Cache<Key, Entry> cache;
+  /** Incremented when a change of collections starts or completes, to drop concurrent fills. */
+  private final AtomicLong generation = new AtomicLong();
+
+  MetadataCachingChannel(
+      Channel delegate, MetadataCachePolicy policy, @Nullable ClientMetrics metrics) {
+    this.delegate = delegate;
+    this.refreshChannel = ClientInterceptors.intercept(delegate, RequestHeaders.newInterceptor());
+    this.refreshAfterNanos = policy.refreshAfter().toNanos();
+    this.timeToLiveNanos = policy.timeToLive().toNanos();
+    this.metrics = metrics;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(policy.maximumSize())
+            .expireAfterWrite(timeToLiveNanos, TimeUnit.NANOSECONDS)
+            .build();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    String methodName = method.getFullMethodName();
+    if (CACHED_METHODS.contains(methodName)) {
+      return new MetadataCall<>(method, callOptions);
+    }
+    if (QueryCachingChannel.COLLECTIONS_WRITE_METHODS.contains(methodName)) {
+      return new InvalidatingCall<>(delegate.newCall(method, callOptions));
+    }
+    return delegate.newCall(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /** Caches a response, unless collections changed since it was requested. */
+  private void fill(Key key, long startGeneration, Object response) {
+    if (generation.get() != startGeneration) {
+      return;
+    }
+    cache.put(key, new Entry(response));
+    if (generation.get() != startGeneration) {
+      // a change started while caching, and may not have been seen by the response
+      cache.invalidate(key);
+    }
+  }
+
+  /**
+   * Refreshes an entry in the background, unless it is already refreshing or about to expire. The
+   * refresh is not bound to the context of the call serving the entry, and must complete before the
+   * entry expires. It is sent with the headers of the scope of the entry, as the headers of the
+   * call are only attached above this channel, and completes on the thread delivering its response
+   * rather than on the executor of the call, which may be shut down once the call is served.
+   */
+  private <ReqT, RespT> void refresh(
+      Key key,
+      Entry entry,
+      MethodDescriptor<ReqT, RespT> method,
+      ReqT request,
+      CallOptions callOptions) {
+    long remainingNanos = entry.cachedNanos + timeToLiveNanos - System.nanoTime();
+    if (remainingNanos <= 0 || !entry.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    long startGeneration = generation.get();
+    ListenableFuture<RespT> response;
+    Context context = Context.ROOT.withValue(RequestHeaders.HEADERS_KEY, key.scope.headers());
+    Context previous = context.attach();
+    try {
+      response =
+          ClientCalls.futureUnaryCall(
+              refreshChannel.newCall(
+                  method,
+                  callOptions
+                      .withExecutor(MoreExecutors.directExecutor())
+                      .withDeadlineAfter(remainingNanos, TimeUnit.NANOSECONDS)),
+              request);
+    } finally {
+      context.detach(previous);
+    }
+    Futures.addCallback(
+        response,
+        new FutureCallback<RespT>() {
+          @Override
+          public void onSuccess(RespT result) {
+            fill(key, startGeneration, result);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            // served until it expires, and refreshed again when served
+            entry.refreshing.set(false);
+            logger.debug("Refreshing the result of {} failed", method.getFullMethodName(), t);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private void accessed(String method, @Nullable String collectionName, boolean hit) {
+    if (metrics == null) {
+      return;
+    }
+    try {
+      metrics.cacheAccessed(method, collectionName != null ? collectionName : "", hit);
+    } catch (RuntimeException e) {
+      logger.warn("Recording an access to the metadata cache for {} failed", method, e);
+    }
+  }
+
+  /** A cacheable request, with the method and the scope of the call. */
+  private static final class Key {
+    private final String method;
+    private final ByteString request;
+    private final CacheScope scope;
+
+    Key(String method, ByteString request, CacheScope scope) {
+      this.method = method;
+      this.request = request;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return method.equals(key.method) && request.equals(key.request) && scope.equals(key.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * method.hashCode() + request.hashCode()) + scope.hashCode();
+    }
+  }
+
+  /** A cached response, with the time it was cached at. */
+  private static final class Entry {
+    private final Object response;
+    private final long cachedNanos = System.nanoTime();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    Entry(Object response) {
+      this.response = response;
+    }
+  }
+
+  /** A call answered from the cache when possible, and caching its response otherwise. */
+  private final class MetadataCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final CallOptions callOptions;
+    private final CacheScope scope;
+    @Nullable private volatile Key key;
+    private volatile long startGeneration;
+
+    MetadataCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+      this.method = method;
+      this.callOptions = callOptions;
+      this.scope = CacheScope.of(callOptions);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onHalfClose() {
+      ReqT request = request();
+      if (!(request instanceof Message)) {
+        startAttempt();
+        return;
+      }
+      Key key = new Key(methodName(), QueryCachingChannel.serialize((Message) request), scope);
+      Entry entry = cache.getIfPresent(key);
+      accessed(methodName(), ShardRoutingChannel.collectionName(request), entry != null);
+      if (entry != null) {
+        if (System.nanoTime() - entry.cachedNanos >= refreshAfterNanos) {
+          refresh(key, entry, method, request, callOptions);
+        }
+        complete((RespT) entry.response);
+        return;
+      }
+      this.key = key;
+      this.startGeneration = generation.get();
+      startAttempt();
+    }
+
+    @Override
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      Key key = this.key;
+      RespT response = attempt.response();
+      if (status.isOk() && key != null && response != null) {
+        fill(key, startGeneration, response);
+      }
+      commit(attempt, status, trailers);
+    }
+  }
+
+  /** A change of collections or aliases, invalidating all entries when it starts and ends. */
+  private final class InvalidatingCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    InvalidatingCall(ClientCall<ReqT, RespT> delegate) {
+      super(delegate);
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      super.start(
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              invalidateAll();
+              super.onClose(status, trailers);
+            }
+          },
+          headers);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      invalidateAll();
+      super.sendMessage(message);
+    }
+  }
+}
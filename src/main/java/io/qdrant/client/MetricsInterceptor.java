@@ -0,0 +1,130 @@
+package io.qdrant.client;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures every call and reports it to {@link ClientMetrics}. Wire sizes are counted by a {@link
+ * ClientStreamTracer} for each attempt of the call, so retried attempts are included. The
+ * collection is read from the {@code collection_name} field of the request.
+ */
+final class MetricsInterceptor implements ClientInterceptor {
+  private static final Logger logger = LoggerFactory.getLogger(MetricsInterceptor.class);
+
+  private final ClientMetrics metrics;
+
+  MetricsInterceptor(ClientMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+    WireSizes wireSizes = new WireSizes();
+    return new MeasuredCall<>(
+        next.newCall(method, callOptions.withStreamTracerFactory(wireSizes)),
+        method.getFullMethodName(),
+        wireSizes);
+  }
+
+  /** Sums the wire sizes reported by the tracers of every attempt of a call. */
+  private static final class WireSizes extends ClientStreamTracer.Factory {
+    private static final AtomicLongFieldUpdater<WireSizes> REQUEST_BYTES =
+        AtomicLongFieldUpdater.newUpdater(WireSizes.class, "requestBytes");
+    private static final AtomicLongFieldUpdater<WireSizes> RESPONSE_BYTES =
+        AtomicLongFieldUpdater.newUpdater(WireSizes.class, "responseBytes");
+
+    private volatile long requestBytes;
+    private volatile long responseBytes;
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(
+        ClientStreamTracer.StreamInfo info, Metadata headers) {
+      return new ClientStreamTracer() {
+        @Override
+        public void outboundWireSize(long bytes) {
+          REQUEST_BYTES.addAndGet(WireSizes.this, bytes);
+        }
+
+        @Override
+        public void inboundWireSize(long bytes) {
+          RESPONSE_BYTES.addAndGet(WireSizes.this, bytes);
+        }
+      };
+    }
+  }
+
+  private final class MeasuredCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final String method;
+    private final WireSizes wireSizes;
+    private volatile String collectionName = "";
+    private volatile long startNanos;
+
+    MeasuredCall(ClientCall<ReqT, RespT> delegate, String method, WireSizes wireSizes) {
+      super(delegate);
+      this.method = method;
+      this.wireSizes = wireSizes;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      startNanos = System.nanoTime();
+      try {
+        metrics.callStarted(method);
+      } catch (RuntimeException e) {
+        logger.warn("Recording the start of a call to {} failed", method, e);
+      }
+      try {
+        super.start(
+            new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                responseListener) {
+              @Override
+              public void onClose(Status status, Metadata trailers) {
+                completed(status);
+                super.onClose(status, trailers);
+              }
+            },
+            headers);
+      } catch (RuntimeException e) {
+        // the listener is never closed, record the call as completed with the failure
+        completed(Status.fromThrowable(e));
+        throw e;
+      }
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      String name = ShardRoutingChannel.collectionName(message);
+      if (name != null) {
+        collectionName = name;
+      }
+      super.sendMessage(message);
+    }
+
+    private void completed(Status status) {
+      try {
+        metrics.callCompleted(
+            method,
+            collectionName,
+            status.getCode(),
+            System.nanoTime() - startNanos,
+            wireSizes.requestBytes,
+            wireSizes.responseBytes);
+      } catch (RuntimeException e) {
+        logger.warn("Recording the completion of a call to {} failed", method, e);
+      }
+    }
+  }
+}
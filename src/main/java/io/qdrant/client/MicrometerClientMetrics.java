@@ -0,0 +1,132 @@
+package io.qdrant.client;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the calls of a {@link QdrantGrpcClient} with <a
+ * href="https://micrometer.io">Micrometer</a>. Micrometer is an optional dependency of the client,
+ * and must be added to use this class.
+ *
+ * <ul>
+ *   <li>{@code qdrant.client.calls}: a timer of the latency of calls, with a percentile histogram.
+ *   <li>{@code qdrant.client.calls.active}: a gauge of the calls in flight.
+ *   <li>{@code qdrant.client.request.size} and {@code qdrant.client.response.size}: distribution
+ *       summaries of the sizes of requests and responses on the wire, in bytes.
+ *   <li>{@code qdrant.client.retries}: a counter of the retried attempts of calls, tagged with the
+ *       {@code status} code of the failed attempt.
+ *   <li>{@code qdrant.client.cache.gets}: a counter of the lookups of the query, point and metadata
+ *       caches of the client, tagged with the {@code result}, {@code hit} or {@code miss}. The
+ *       {@code method} tag tells the caches apart.
+ * </ul>
+ *
+ * <p>Meters are tagged with the gRPC {@code method}, and except for the active calls, with the
+ * {@code collection} and the {@code status} code of the call. Calls without a collection are tagged
+ * with an empty collection. Each collection adds time series, which may matter to applications
+ * with many collections.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withMetrics(new MicrometerClientMetrics(registry))
+ *         .build();
+ * }</pre>
+ */
+public final class MicrometerClientMetrics implements ClientMetrics {
+  private final MeterRegistry registry;
+  private final Meter.MeterProvider<Timer> calls;
+  private final Meter.MeterProvider<DistributionSummary> requestSizes;
+  private final Meter.MeterProvider<DistributionSummary> responseSizes;
+  private final Meter.MeterProvider<Counter> retries;
+  private final Meter.MeterProvider<Counter> cacheGets;
+  private final Map<String, AtomicInteger> activeCalls = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance recording to the given registry.
+   *
+   * @param registry The registry to register meters with.
+   */
+  public MicrometerClientMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.calls =
+        Timer.builder("qdrant.client.calls")
+            .description("Latency of calls to Qdrant")
+            .publishPercentileHistogram()
+            .withRegistry(registry);
+    this.requestSizes =
+        DistributionSummary.builder("qdrant.client.request.size")
+            .description("Size of requests to Qdrant on the wire")
+            .baseUnit("bytes")
+            .withRegistry(registry);
+    this.responseSizes =
+        DistributionSummary.builder("qdrant.client.response.size")
+            .description("Size of responses from Qdrant on the wire")
+            .baseUnit("bytes")
+            .withRegistry(registry);
+    this.retries =
+        Counter.builder("qdrant.client.retries")
+            .description("Retried attempts of calls to Qdrant")
+            .withRegistry(registry);
+    this.cacheGets =
+        Counter.builder("qdrant.client.cache.gets")
+            .description("Lookups of the query, point and metadata caches of the Qdrant client")
+            .withRegistry(registry);
+  }
+
+  @Override
+  public void callStarted(String method) {
+    activeCalls(method).incrementAndGet();
+  }
+
+  @Override
+  public void callCompleted(
+      String method,
+      String collectionName,
+      Status.Code code,
+      long latencyNanos,
+      long requestBytes,
+      long responseBytes) {
+    activeCalls(method).decrementAndGet();
+    Tags tags = Tags.of("method", method, "collection", collectionName, "status", code.name());
+    calls.withTags(tags).record(latencyNanos, TimeUnit.NANOSECONDS);
+    requestSizes.withTags(tags).record(requestBytes);
+    responseSizes.withTags(tags).record(responseBytes);
+  }
+
+  @Override
+  public void callRetried(String method, String collectionName, Status.Code code) {
+    retries
+        .withTags(Tags.of("method", method, "collection", collectionName, "status", code.name()))
+        .increment();
+  }
+
+  @Override
+  public void cacheAccessed(String method, String collectionName, boolean hit) {
+    cacheGets
+        .withTags(
+            Tags.of("method", method, "collection", collectionName, "result", hit ? "hit" : "miss"))
+        .increment();
+  }
+
+  private AtomicInteger activeCalls(String method) {
+    AtomicInteger active = activeCalls.get(method);
+    if (active == null) {
+      active =
+          activeCalls.computeIfAbsent(
+              method,
+              m ->
+                  registry.gauge(
+                      "qdrant.client.calls.active", Tags.of("method", m), new AtomicInteger()));
+    }
+    return active;
+  }
+}
@@ -0,0 +1,89 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.buffer.PooledByteBufAllocator;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.ChannelOption;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transport of the channels a client creates to a host: the event loop group shared by
+ * the channels, the type of their sockets, and the allocator of their buffers. With the native
+ * transport, channels share an epoll event loop group of the transport, sized by Netty unless
+ * event loop threads are set. Otherwise, channels share a NIO event loop group of the transport
+ * when event loop threads are set, and the default event loop group of gRPC when they are not.
+ */
+final class NettyTransport {
+  private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+  @Nullable private final EventLoopGroup eventLoopGroup;
+  @Nullable private final Class<? extends Channel> channelType;
+  private final boolean pooledDirectBuffers;
+
+  /**
+   * Creates a transport.
+   *
+   * @param eventLoopThreads The number of event loop threads, or 0 for the default group of gRPC,
+   *     or for the default size of Netty with the native transport.
+   * @param nativeTransport Whether to use the native epoll transport, when available.
+   * @param pooledDirectBuffers Whether to allocate buffers from a pool of direct buffers.
+   */
+  NettyTransport(int eventLoopThreads, boolean nativeTransport, boolean pooledDirectBuffers) {
+    Preconditions.checkArgument(eventLoopThreads >= 0, "Event loop threads must not be negative");
+    ThreadFactory threadFactory = new DefaultThreadFactory("qdrant-client-event-loop", true);
+    if (nativeTransport && Epoll.isAvailable()) {
+      this.eventLoopGroup = new EpollEventLoopGroup(eventLoopThreads, threadFactory);
+      this.channelType = EpollSocketChannel.class;
+    } else {
+      if (nativeTransport) {
+        logger.warn(
+            "Native epoll transport is unavailable, using NIO", Epoll.unavailabilityCause());
+      }
+      this.eventLoopGroup =
+          eventLoopThreads > 0 ? new NioEventLoopGroup(eventLoopThreads, threadFactory) : null;
+      this.channelType = eventLoopGroup != null ? NioSocketChannel.class : null;
+    }
+    this.pooledDirectBuffers = pooledDirectBuffers;
+  }
+
+  /**
+   * Creates a builder of a channel to a host using this transport.
+   *
+   * @param host The host.
+   * @param port The port.
+   * @return a new instance of {@link NettyChannelBuilder}
+   */
+  NettyChannelBuilder newChannelBuilder(String host, int port) {
+    NettyChannelBuilder channelBuilder = NettyChannelBuilder.forAddress(host, port);
+    if (eventLoopGroup != null && channelType != null) {
+      channelBuilder.eventLoopGroup(eventLoopGroup).channelType(channelType);
+    }
+    if (pooledDirectBuffers) {
+      channelBuilder.withOption(ChannelOption.ALLOCATOR, DirectBuffers.ALLOCATOR);
+    }
+    return channelBuilder;
+  }
+
+  /** Shuts down the event loop group. Must be called once the channels are terminated. */
+  void shutdown() {
+    if (eventLoopGroup != null) {
+      eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+    }
+  }
+
+  /** Holds the pool of direct buffers, created once the first channel uses it. */
+  private static final class DirectBuffers {
+    static final PooledByteBufAllocator ALLOCATOR = new PooledByteBufAllocator(true);
+  }
+}
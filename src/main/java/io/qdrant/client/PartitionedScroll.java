@@ -0,0 +1,377 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.qdrant.client.grpc.Collections.ShardKey;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Scrolls a collection as disjoint partitions, several of them concurrently.
+ *
+ * <p>The points matched by the scroll request are split by shard key, by ranges of numeric ids or
+ * by user-supplied filters. Each partition is scrolled with its own {@link ScrollIterator}, either
+ * individually with {@link #partition(int)} or merged into a single stream with {@link #stream()}.
+ *
+ * <pre>{@code
+ * PartitionedScroll scroll =
+ *     PartitionedScroll.newBuilder(client, request)
+ *         .withIdBoundaries(20_000_000, 40_000_000, 60_000_000)
+ *         .withParallelism(4)
+ *         .build();
+ * try (Stream<RetrievedPoint> points = scroll.stream()) {
+ *   points.forEach(this::reembed);
+ * }
+ * }</pre>
+ */
+public class PartitionedScroll {
+  private static final Object PARTITION_DONE = new Object();
+
+  private final QdrantClient client;
+  private final List<Partition> partitions;
+  private final int parallelism;
+  private final int prefetchPages;
+  private final int bufferPages;
+  @Nullable private final Duration timeout;
+
+  private PartitionedScroll(Builder builder, List<Partition> partitions) {
+    this.client = builder.client;
+    this.partitions = partitions;
+    this.parallelism = builder.parallelism;
+    this.prefetchPages = builder.prefetchPages;
+    this.bufferPages = builder.bufferPages;
+    this.timeout = builder.timeout;
+  }
+
+  /**
+   * Creates a new builder to build a partitioned scroll.
+   *
+   * @param client The client used to send scroll requests.
+   * @param request The scroll request. Its limit is the page size.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, ScrollPoints request) {
+    return new Builder(client, request);
+  }
+
+  /**
+   * Gets the number of partitions.
+   *
+   * @return the number of partitions
+   */
+  public int partitionCount() {
+    return partitions.size();
+  }
+
+  /**
+   * Starts scrolling a single partition.
+   *
+   * @param index The index of the partition.
+   * @return a new instance of {@link ScrollIterator}
+   */
+  public ScrollIterator partition(int index) {
+    Partition partition = partitions.get(index);
+    ScrollIterator.Builder builder =
+        ScrollIterator.newBuilder(client, partition.request)
+            .withPrefetchPages(prefetchPages)
+            .withTimeout(timeout);
+    if (partition.endId != null) {
+      builder.withEndId(partition.endId);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Scrolls all partitions, up to the configured parallelism concurrently, and merges their points
+   * into a single stream. Points of different partitions are interleaved. Each partition is
+   * scrolled on a thread of its own; the threads stop when the stream is closed.
+   *
+   * @return a new instance of {@link Stream}
+   */
+  public Stream<RetrievedPoint> stream() {
+    MergingIterator iterator = new MergingIterator();
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+        .onClose(iterator::close);
+  }
+
+  private static final class Partition {
+    private final ScrollPoints request;
+    @Nullable private final Long endId;
+
+    Partition(ScrollPoints request, @Nullable Long endId) {
+      this.request = request;
+      this.endId = endId;
+    }
+  }
+
+  /** A partition that failed to scroll. */
+  private static final class Failure {
+    private final int partition;
+    private final RuntimeException exception;
+
+    Failure(int partition, RuntimeException exception) {
+      this.partition = partition;
+      this.exception = exception;
+    }
+  }
+
+  /** Merges the pages of all partitions, which are scrolled on a pool of threads. */
+  private final class MergingIterator implements Iterator<RetrievedPoint>, AutoCloseable {
+    private final BlockingQueue<Object> pages = new ArrayBlockingQueue<>(bufferPages);
+    private final ExecutorService executor;
+    private int remaining = partitions.size();
+    private Iterator<RetrievedPoint> current = Collections.emptyIterator();
+    private boolean closed;
+
+    MergingIterator() {
+      executor =
+          Executors.newFixedThreadPool(
+              Math.min(parallelism, partitions.size()),
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("qdrant-partitioned-scroll-%d")
+                  .build());
+      for (int i = 0; i < partitions.size(); i++) {
+        int index = i;
+        executor.execute(() -> scroll(index));
+      }
+      executor.shutdown();
+    }
+
+    private void scroll(int index) {
+      try {
+        try (ScrollIterator iterator = partition(index)) {
+          List<RetrievedPoint> page;
+          while ((page = iterator.nextPage()) != null) {
+            pages.put(page);
+          }
+        } catch (RuntimeException e) {
+          pages.put(new Failure(index, e));
+          return;
+        }
+        pages.put(PARTITION_DONE);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        if (closed || remaining == 0) {
+          return false;
+        }
+        Object item;
+        try {
+          item = pages.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          close();
+          throw new QdrantException("Interrupted while waiting for partitioned scroll", e);
+        }
+        if (item == PARTITION_DONE) {
+          remaining--;
+        } else if (item instanceof Failure) {
+          close();
+          Failure failure = (Failure) item;
+          throw new QdrantException(
+              "Scroll of partition " + failure.partition + " failed", failure.exception);
+        } else {
+          @SuppressWarnings("unchecked")
+          List<RetrievedPoint> page = (List<RetrievedPoint>) item;
+          current = page.iterator();
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public RetrievedPoint next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      current = Collections.emptyIterator();
+      executor.shutdownNow();
+    }
+  }
+
+  /** builder for {@link PartitionedScroll} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final ScrollPoints request;
+    @Nullable private List<Partition> partitions;
+    private int parallelism = 4;
+    private int prefetchPages = 2;
+    private int bufferPages = 16;
+    @Nullable private Duration timeout;
+
+    Builder(QdrantClient client, ScrollPoints request) {
+      Preconditions.checkArgument(
+          !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.request = request;
+    }
+
+    /**
+     * Partitions the points by shard key, one partition per shard key. Together, the shard keys
+     * should cover all shards of the collection.
+     *
+     * @param shardKeys The shard keys.
+     * @return this
+     */
+    public Builder withShardKeys(List<ShardKey> shardKeys) {
+      Preconditions.checkArgument(!shardKeys.isEmpty(), "Shard keys must not be empty");
+      List<Partition> partitions = new ArrayList<>(shardKeys.size());
+      for (ShardKey shardKey : shardKeys) {
+        partitions.add(
+            new Partition(
+                request.toBuilder()
+                    .setShardKeySelector(ShardKeySelectorFactory.shardKeySelector(shardKey))
+                    .build(),
+                null));
+      }
+      return withPartitions(partitions);
+    }
+
+    /**
+     * Partitions the points by ranges of numeric ids. The boundaries split the ids into one more
+     * partitions than there are boundaries: ids below the first boundary, ids from each boundary to
+     * the next, and ids from the last boundary on, which includes all UUIDs. Cannot be combined
+     * with an order by.
+     *
+     * @param boundaries The boundaries, in ascending order.
+     * @return this
+     */
+    public Builder withIdBoundaries(long... boundaries) {
+      Preconditions.checkArgument(boundaries.length > 0, "Boundaries must not be empty");
+      Preconditions.checkArgument(
+          !request.hasOrderBy(), "Id boundaries cannot be combined with order by");
+      for (int i = 1; i < boundaries.length; i++) {
+        Preconditions.checkArgument(
+            Long.compareUnsigned(boundaries[i - 1], boundaries[i]) < 0,
+            "Boundaries must be in ascending order");
+      }
+      List<Partition> partitions = new ArrayList<>(boundaries.length + 1);
+      partitions.add(new Partition(request, boundaries[0]));
+      for (int i = 0; i < boundaries.length; i++) {
+        partitions.add(
+            new Partition(
+                request.toBuilder().setOffset(id(boundaries[i])).build(),
+                i + 1 < boundaries.length ? boundaries[i + 1] : null));
+      }
+      return withPartitions(partitions);
+    }
+
+    /**
+     * Partitions the points by filters, one partition per filter. Each filter is combined with the
+     * filter of the request. The filters should be disjoint and, together, cover all points.
+     *
+     * @param filters The filters.
+     * @return this
+     */
+    public Builder withFilters(List<Filter> filters) {
+      Preconditions.checkArgument(!filters.isEmpty(), "Filters must not be empty");
+      List<Partition> partitions = new ArrayList<>(filters.size());
+      for (Filter filter : filters) {
+        Filter.Builder combined =
+            request.hasFilter() ? request.getFilter().toBuilder() : Filter.newBuilder();
+        combined.addMust(ConditionFactory.filter(filter));
+        partitions.add(new Partition(request.toBuilder().setFilter(combined).build(), null));
+      }
+      return withPartitions(partitions);
+    }
+
+    /**
+     * Sets the maximum number of partitions scrolled concurrently. Defaults to 4.
+     *
+     * @param parallelism The number of partitions.
+     * @return this
+     */
+    public Builder withParallelism(int parallelism) {
+      Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of pages fetched ahead in each partition. Defaults to 2.
+     *
+     * @param prefetchPages The number of pages.
+     * @return this
+     */
+    public Builder withPrefetchPages(int prefetchPages) {
+      Preconditions.checkArgument(prefetchPages > 0, "Prefetch pages must be positive");
+      this.prefetchPages = prefetchPages;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of pages waiting to be consumed from the merged stream. Defaults to
+     * 16.
+     *
+     * @param bufferPages The number of pages.
+     * @return this
+     */
+    public Builder withBufferPages(int bufferPages) {
+      Preconditions.checkArgument(bufferPages > 0, "Buffer pages must be positive");
+      this.bufferPages = bufferPages;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each page request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link PartitionedScroll}. Without partitioning, the scroll has a
+     * single partition.
+     *
+     * @return a new instance of {@link PartitionedScroll}
+     */
+    public PartitionedScroll build() {
+      List<Partition> partitions =
+          this.partitions != null
+              ? this.partitions
+              : Collections.singletonList(new Partition(request, null));
+      return new PartitionedScroll(this, partitions);
+    }
+
+    private Builder withPartitions(List<Partition> partitions) {
+      Preconditions.checkState(this.partitions == null, "Partitioning has already been set");
+      this.partitions = partitions;
+      return this;
+    }
+  }
+}
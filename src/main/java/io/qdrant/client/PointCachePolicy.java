@@ -0,0 +1,136 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+
+/**
+ * Policy for caching points retrieved by id in the client. Points already cached are answered by
+ * the client, and only the other points are retrieved from the server. Points are cached per
+ * collection and per selection of payload and vectors, so that retrieving the same points with a
+ * different selection does not return the cached points. Likewise, points are only served to calls
+ * with the same call credentials and the same headers attached with {@link RequestHeaders} as the
+ * call that retrieved them, so that points read with the API key or JWT of one caller are never
+ * served to another.
+ *
+ * <p>Points changed by this client are invalidated, and all points of a collection are invalidated
+ * when this client changes points of the collection by filter, and all points are invalidated
+ * when this client changes collections or aliases. Changes made by other clients are only seen
+ * once points expire, so the time to live bounds how stale points can be. Likewise, points are
+ * cached per name the collection is retrieved through, and points retrieved through an alias are
+ * not invalidated by changes made through the name of the collection, nor the other way round.
+ *
+ * <p>Points can be stored as objects, which are fastest to serve, or serialized, which takes less
+ * memory for points with vectors, on or off the heap. Serialized points are parsed whenever they
+ * are served.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withPointCache(
+ *             PointCachePolicy.newBuilder()
+ *                 .withMaximumSize(100_000)
+ *                 .withStorage(PointCachePolicy.Storage.OFF_HEAP)
+ *                 .build())
+ *         .build();
+ * }</pre>
+ */
+public final class PointCachePolicy {
+  /** How cached points are stored. */
+  public enum Storage {
+    /** Points are stored as objects on the heap. */
+    OBJECTS,
+    /** Points are stored serialized on the heap. */
+    SERIALIZED,
+    /**
+     * Points are stored serialized in direct buffers off the heap. The memory of a point is freed
+     * once the garbage collector collects its evicted entry.
+     */
+    OFF_HEAP
+  }
+
+  private final long maximumSize;
+  private final Duration timeToLive;
+  private final Storage storage;
+
+  private PointCachePolicy(Builder builder) {
+    this.maximumSize = builder.maximumSize;
+    this.timeToLive = builder.timeToLive;
+    this.storage = builder.storage;
+  }
+
+  /**
+   * Creates a new builder to build a point cache policy.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  long maximumSize() {
+    return maximumSize;
+  }
+
+  Duration timeToLive() {
+    return timeToLive;
+  }
+
+  Storage storage() {
+    return storage;
+  }
+
+  /** builder for {@link PointCachePolicy} */
+  public static class Builder {
+    private long maximumSize = 100_000;
+    private Duration timeToLive = Duration.ofSeconds(60);
+    private Storage storage = Storage.OBJECTS;
+
+    Builder() {}
+
+    /**
+     * Sets the maximum number of cached points, counting each point once whatever the selections it
+     * is cached with. Defaults to 100000.
+     *
+     * @param maximumSize The maximum number of points.
+     * @return this
+     */
+    public Builder withMaximumSize(long maximumSize) {
+      Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the time after which a cached point expires. Defaults to 60 seconds.
+     *
+     * @param timeToLive The time to live of points.
+     * @return this
+     */
+    public Builder withTimeToLive(Duration timeToLive) {
+      Preconditions.checkArgument(
+          !timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * Sets how cached points are stored. Defaults to {@link Storage#OBJECTS}.
+     *
+     * @param storage The storage of points.
+     * @return this
+     */
+    public Builder withStorage(Storage storage) {
+      this.storage = storage;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link PointCachePolicy}
+     *
+     * @return a new instance of {@link PointCachePolicy}
+     */
+    public PointCachePolicy build() {
+      return new PointCachePolicy(this);
+    }
+  }
+}
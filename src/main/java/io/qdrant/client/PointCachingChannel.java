@@ -0,0 +1,461 @@
+package io.qdrant.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.ClearPayloadPoints;
+import io.qdrant.client.grpc.Points.DeletePayloadPoints;
+import io.qdrant.client.grpc.Points.DeletePointVectors;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.GetPoints;
+import io.qdrant.client.grpc.Points.GetResponse;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.PointVectors;
+import io.qdrant.client.grpc.Points.PointsSelector;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.SetPayloadPoints;
+import io.qdrant.client.grpc.Points.UpdatePointVectors;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Channel} caching points retrieved by id according to a {@link PointCachePolicy}, and
+ * invalidating them when the client changes them.
+ *
+ * <p>Every collection has two generations. Its write generation is incremented when a change of
+ * the collection starts and when it completes, and points retrieved while it changed are not
+ * cached. Its epoch is incremented when all its points are invalidated, such as by a change of
+ * points selected by filter, and points cached at an earlier epoch are not served.
+ *
+ * <p>A cached point holds its retrievals per selection of payload and vectors and per {@link
+ * CacheScope}, so that invalidating a point drops it for every caller.
+ */
+final class PointCachingChannel extends Channel {
+  private static final Logger logger = LoggerFactory.getLogger(PointCachingChannel.class);
+  private static final String GET_METHOD = PointsGrpc.getGetMethod().getFullMethodName();
+
+  private final Channel delegate;
+  private final PointCachePolicy.Storage storage;
+  @Nullable private final ClientMetrics metrics;
+  private final Cache<PointKey, PointEntry> cache;
+  private final Map<String, Generations> generations = new ConcurrentHashMap<>();
+  private final Generations globalGenerations = new Generations();
+
+  PointCachingChannel(Channel delegate, PointCachePolicy policy, @Nullable ClientMetrics metrics) {
+    this.delegate = delegate;
+    this.storage = policy.storage();
+    this.metrics = metrics;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(policy.maximumSize())
+            .expireAfterWrite(policy.timeToLive().toNanos(), TimeUnit.NANOSECONDS)
+            .build();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    String methodName = method.getFullMethodName();
+    if (GET_METHOD.equals(methodName)) {
+      return new PointsCall<>(method, callOptions);
+    }
+    if (QueryCachingChannel.POINTS_WRITE_METHODS.contains(methodName)
+        || QueryCachingChannel.COLLECTIONS_WRITE_METHODS.contains(methodName)) {
+      return new InvalidatingCall<>(delegate.newCall(method, callOptions), methodName);
+    }
+    return delegate.newCall(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  private Generations generations(String collectionName) {
+    Generations collectionGenerations = generations.get(collectionName);
+    if (collectionGenerations == null) {
+      collectionGenerations = generations.computeIfAbsent(collectionName, c -> new Generations());
+    }
+    return collectionGenerations;
+  }
+
+  /** Invalidates the points changed by a request, when it is sent and when it completes. */
+  private void invalidate(String method, Object request) {
+    if (QueryCachingChannel.COLLECTIONS_WRITE_METHODS.contains(method)) {
+      globalGenerations.writes.incrementAndGet();
+      globalGenerations.epoch.incrementAndGet();
+      return;
+    }
+    String collectionName = ShardRoutingChannel.collectionName(request);
+    if (collectionName == null) {
+      return;
+    }
+    Generations collectionGenerations = generations(collectionName);
+    collectionGenerations.writes.incrementAndGet();
+    List<PointId> ids = pointIds(request);
+    if (ids == null) {
+      collectionGenerations.epoch.incrementAndGet();
+      return;
+    }
+    for (PointId id : ids) {
+      cache.invalidate(new PointKey(collectionName, id));
+    }
+  }
+
+  /** Gets the ids of the points changed by a request, or null if it changes points by filter. */
+  @Nullable
+  static List<PointId> pointIds(Object request) {
+    if (request instanceof UpsertPoints) {
+      List<PointId> ids = new ArrayList<>();
+      for (PointStruct point : ((UpsertPoints) request).getPointsList()) {
+        ids.add(point.getId());
+      }
+      return ids;
+    }
+    if (request instanceof UpdatePointVectors) {
+      List<PointId> ids = new ArrayList<>();
+      for (PointVectors point : ((UpdatePointVectors) request).getPointsList()) {
+        ids.add(point.getId());
+      }
+      return ids;
+    }
+    if (request instanceof DeletePoints) {
+      return ids(((DeletePoints) request).getPoints());
+    }
+    if (request instanceof SetPayloadPoints) {
+      SetPayloadPoints setPayload = (SetPayloadPoints) request;
+      return setPayload.hasPointsSelector() ? ids(setPayload.getPointsSelector()) : null;
+    }
+    if (request instanceof DeletePayloadPoints) {
+      DeletePayloadPoints deletePayload = (DeletePayloadPoints) request;
+      return deletePayload.hasPointsSelector() ? ids(deletePayload.getPointsSelector()) : null;
+    }
+    if (request instanceof ClearPayloadPoints) {
+      return ids(((ClearPayloadPoints) request).getPoints());
+    }
+    if (request instanceof DeletePointVectors) {
+      DeletePointVectors deleteVectors = (DeletePointVectors) request;
+      return deleteVectors.hasPointsSelector() ? ids(deleteVectors.getPointsSelector()) : null;
+    }
+    return null;
+  }
+
+  @Nullable
+  private static List<PointId> ids(PointsSelector selector) {
+    return selector.hasPoints() ? selector.getPoints().getIdsList() : null;
+  }
+
+  private Object encode(RetrievedPoint point) {
+    switch (storage) {
+      case SERIALIZED:
+        return point.toByteString();
+      case OFF_HEAP:
+        ByteBuffer buffer = ByteBuffer.allocateDirect(point.getSerializedSize());
+        buffer.put(point.toByteArray());
+        buffer.flip();
+        return UnsafeByteOperations.unsafeWrap(buffer);
+      default:
+        return point;
+    }
+  }
+
+  private static RetrievedPoint decode(Object point) {
+    if (point instanceof RetrievedPoint) {
+      return (RetrievedPoint) point;
+    }
+    try {
+      return RetrievedPoint.parseFrom((ByteString) point);
+    } catch (InvalidProtocolBufferException e) {
+      throw new IllegalStateException("Parsing a cached point failed", e);
+    }
+  }
+
+  private void accessed(String collectionName, boolean hit) {
+    if (metrics == null) {
+      return;
+    }
+    try {
+      metrics.cacheAccessed(GET_METHOD, collectionName, hit);
+    } catch (RuntimeException e) {
+      logger.warn("Recording an access to the point cache failed", e);
+    }
+  }
+
+  /** The generations of a collection, or of all collections. */
+  private static final class Generations {
+    /** Incremented when a change starts or completes. */
+    private final AtomicLong writes = new AtomicLong();
+    /** Incremented when all points are invalidated. */
+    private final AtomicLong epoch = new AtomicLong();
+  }
+
+  /** A point of a collection, with its id in canonical form. */
+  private static final class PointKey {
+    private final String collectionName;
+    private final PointId id;
+
+    PointKey(String collectionName, PointId id) {
+      this.collectionName = collectionName;
+      this.id = PointIdFactory.canonical(id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PointKey)) {
+        return false;
+      }
+      PointKey key = (PointKey) o;
+      return collectionName.equals(key.collectionName) && id.equals(key.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * collectionName.hashCode() + id.hashCode();
+    }
+  }
+
+  /** A selection of payload and vectors, with the scope of the calls retrieving it. */
+  private static final class Selection {
+    private final ByteString request;
+    private final CacheScope scope;
+
+    Selection(ByteString request, CacheScope scope) {
+      this.request = request;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Selection)) {
+        return false;
+      }
+      Selection selection = (Selection) o;
+      return request.equals(selection.request) && scope.equals(selection.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * request.hashCode() + scope.hashCode();
+    }
+  }
+
+  /**
+   * A cached point, with each selection of payload and vectors it was retrieved with, and the
+   * epochs it was retrieved at.
+   */
+  private static final class PointEntry {
+    private final long epoch;
+    private final long globalEpoch;
+    private final Map<Selection, Object> points;
+
+    PointEntry(long epoch, long globalEpoch, Map<Selection, Object> points) {
+      this.epoch = epoch;
+      this.globalEpoch = globalEpoch;
+      this.points = points;
+    }
+
+    boolean isCurrent(long epoch, long globalEpoch) {
+      return this.epoch == epoch && this.globalEpoch == globalEpoch;
+    }
+
+    /** Merges the selections of a newer entry, dropping this entry if it is from another epoch. */
+    PointEntry merge(PointEntry newer) {
+      if (!newer.isCurrent(epoch, globalEpoch)) {
+        return newer;
+      }
+      Map<Selection, Object> merged = new HashMap<>(points);
+      merged.putAll(newer.points);
+      return new PointEntry(epoch, globalEpoch, merged);
+    }
+  }
+
+  /** A retrieval of points, answered from the cache for the cached points. */
+  private final class PointsCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    private final CacheScope scope;
+    @Nullable private volatile GetPoints request;
+    @Nullable private volatile Selection selection;
+    private volatile Map<PointId, RetrievedPoint> hits = ImmutableMap.of();
+    @Nullable private volatile Generations collectionGenerations;
+    private volatile long writes;
+    private volatile long globalWrites;
+    private volatile long epoch;
+    private volatile long globalEpoch;
+
+    PointsCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+      this.scope = CacheScope.of(callOptions);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onHalfClose() {
+      GetPoints request = (GetPoints) request();
+      String collectionName = request.getCollectionName();
+      Generations collectionGenerations = generations(collectionName);
+      writes = collectionGenerations.writes.get();
+      globalWrites = globalGenerations.writes.get();
+      epoch = collectionGenerations.epoch.get();
+      globalEpoch = globalGenerations.epoch.get();
+      this.request = request;
+      this.collectionGenerations = collectionGenerations;
+      ByteString fields = QueryCachingChannel.serialize(request.toBuilder().clearIds().build());
+      Selection selection = new Selection(fields, scope);
+      this.selection = selection;
+
+      Map<PointId, RetrievedPoint> hits = new HashMap<>();
+      Set<PointId> missing = new LinkedHashSet<>();
+      for (PointId requested : request.getIdsList()) {
+        PointId id = PointIdFactory.canonical(requested);
+        if (hits.containsKey(id) || missing.contains(id)) {
+          continue;
+        }
+        PointEntry entry = cache.getIfPresent(new PointKey(collectionName, id));
+        Object point =
+            entry != null && entry.isCurrent(epoch, globalEpoch)
+                ? entry.points.get(selection)
+                : null;
+        accessed(collectionName, point != null);
+        if (point != null) {
+          hits.put(id, decode(point));
+        } else {
+          missing.add(id);
+        }
+      }
+      if (missing.isEmpty()) {
+        complete((RespT) response(hits, 0));
+        return;
+      }
+      if (!hits.isEmpty()) {
+        this.hits = hits;
+        replaceRequest((ReqT) request.toBuilder().clearIds().addAllIds(missing).build());
+      }
+      startAttempt();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      GetResponse fetched = (GetResponse) attempt.response();
+      if (!status.isOk() || fetched == null) {
+        commit(attempt, status, trailers);
+        return;
+      }
+      for (RetrievedPoint point : fetched.getResultList()) {
+        fill(point);
+      }
+      if (hits.isEmpty()) {
+        commit(attempt, status, trailers);
+        return;
+      }
+      Map<PointId, RetrievedPoint> points = new HashMap<>(hits);
+      for (RetrievedPoint point : fetched.getResultList()) {
+        points.put(PointIdFactory.canonical(point.getId()), point);
+      }
+      complete((RespT) response(points, fetched.getTime()));
+    }
+
+    /** Caches a retrieved point, unless the collection changed since it was requested. */
+    private void fill(RetrievedPoint point) {
+      if (!isUnchanged()) {
+        return;
+      }
+      PointKey key = new PointKey(request.getCollectionName(), point.getId());
+      PointEntry entry =
+          new PointEntry(epoch, globalEpoch, ImmutableMap.of(selection, encode(point)));
+      cache.asMap().merge(key, entry, PointEntry::merge);
+      if (!isUnchanged()) {
+        // a change started while caching, and may not have seen the point yet
+        cache.invalidate(key);
+      }
+    }
+
+    private boolean isUnchanged() {
+      return collectionGenerations.writes.get() == writes
+          && globalGenerations.writes.get() == globalWrites;
+    }
+
+    /**
+     * Builds a response with the given points keyed by canonical id, in the order of the ids of the
+     * request.
+     */
+    private GetResponse response(Map<PointId, RetrievedPoint> points, double time) {
+      GetResponse.Builder response = GetResponse.newBuilder().setTime(time);
+      Set<PointId> added = new LinkedHashSet<>();
+      for (PointId requested : request.getIdsList()) {
+        PointId id = PointIdFactory.canonical(requested);
+        RetrievedPoint point = points.get(id);
+        if (point != null && added.add(id)) {
+          response.addResult(point);
+        }
+      }
+      return response.build();
+    }
+  }
+
+  /** A change of points or collections, invalidating cached points when it starts and ends. */
+  private final class InvalidatingCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final String method;
+    @Nullable private volatile ReqT request;
+
+    InvalidatingCall(ClientCall<ReqT, RespT> delegate, String method) {
+      super(delegate);
+      this.method = method;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      super.start(
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              ReqT request = InvalidatingCall.this.request;
+              if (request != null) {
+                invalidate(method, request);
+              }
+              super.onClose(status, trailers);
+            }
+          },
+          headers);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      request = message;
+      invalidate(method, message);
+      super.sendMessage(message);
+    }
+  }
+}
@@ -26,4 +26,32 @@ public static PointId id(long id) {
   public static PointId id(UUID id) {
     return PointId.newBuilder().setUuid(id.toString()).build();
   }
+
+  /**
+   * Gets a point id in the form the server returns it, so that ids requested and returned can be
+   * compared. UUIDs are returned lowercase and hyphenated, whatever their form in the request.
+   *
+   * @param id The id
+   * @return the id, or a new instance of {@link PointId} with the canonical form of its UUID
+   */
+  static PointId canonical(PointId id) {
+    if (!id.hasUuid()) {
+      return id;
+    }
+    String uuid = id.getUuid();
+    UUID parsed;
+    try {
+      // the simple form without hyphens is accepted by the server too
+      parsed =
+          uuid.length() == 32
+              ? new UUID(
+                  Long.parseUnsignedLong(uuid.substring(0, 16), 16),
+                  Long.parseUnsignedLong(uuid.substring(16), 16))
+              : UUID.fromString(uuid);
+    } catch (IllegalArgumentException e) {
+      // not a UUID the client can read, the server rejects it
+      return id;
+    }
+    return parsed.toString().equals(uuid) ? id : id(parsed);
+  }
 }
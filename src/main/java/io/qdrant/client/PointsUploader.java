@@ -0,0 +1,399 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.Status;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.WriteOrdering;
+import io.qdrant.client.grpc.Points.WriteOrderingType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Uploads points from an {@link Iterator} into a collection, keeping a bounded number of upsert
+ * requests in flight.
+ *
+ * <p>Batches are formed in iterator order and at most {@code parallelism} batches are held in
+ * memory at any time. Batches that fail with a transient error are retried with exponential
+ * backoff. Progress is reported as the number of points in the longest prefix of the iterator that
+ * has been acknowledged by the server, so a failed upload can be resumed from that point.
+ *
+ * <pre>{@code
+ * long uploaded =
+ *     PointsUploader.newBuilder(client, "my_collection")
+ *         .withParallelism(8)
+ *         .withBatchSize(256)
+ *         .withProgressListener(count -> logger.info("{} points uploaded", count))
+ *         .build()
+ *         .upload(points)
+ *         .get();
+ * }</pre>
+ */
+public class PointsUploader {
+  private static final Logger logger = LoggerFactory.getLogger(PointsUploader.class);
+
+  private final QdrantClient client;
+  private final String collectionName;
+  private final int parallelism;
+  private final int batchSize;
+  private final int maxRetries;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final boolean wait;
+  @Nullable private final WriteOrderingType ordering;
+  @Nullable private final Duration timeout;
+  @Nullable private final ProgressListener progressListener;
+
+  private PointsUploader(Builder builder) {
+    this.client = builder.client;
+    this.collectionName = builder.collectionName;
+    this.parallelism = builder.parallelism;
+    this.batchSize = builder.batchSize;
+    this.maxRetries = builder.maxRetries;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.wait = builder.wait;
+    this.ordering = builder.ordering;
+    this.timeout = builder.timeout;
+    this.progressListener = builder.progressListener;
+  }
+
+  /**
+   * Creates a new builder to build a points uploader.
+   *
+   * @param client The client used to send upsert requests.
+   * @param collectionName The name of the collection to upload points into.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, String collectionName) {
+    return new Builder(client, collectionName);
+  }
+
+  /**
+   * Uploads all points of the iterator. The iterator is consumed from a single thread owned by the
+   * upload, so it does not need to be thread-safe. Cancelling the returned future stops consuming
+   * the iterator.
+   *
+   * @param points The points to upload.
+   * @return a future that completes with the number of uploaded points, or fails with the error of
+   *     the first batch that could not be uploaded.
+   */
+  public ListenableFuture<Long> upload(Iterator<PointStruct> points) {
+    Upload upload = new Upload(points);
+    upload.scheduler.execute(upload::fill);
+    return upload.result;
+  }
+
+  /** Receives the progress of an upload. */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * Invoked when the number of acknowledged points increases.
+     *
+     * @param acknowledgedPoints The number of points at the start of the iterator that have all
+     *     been acknowledged by the server.
+     */
+    void onProgress(long acknowledgedPoints);
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    switch (Status.fromThrowable(t).getCode()) {
+      case UNAVAILABLE:
+      case DEADLINE_EXCEEDED:
+      case RESOURCE_EXHAUSTED:
+      case ABORTED:
+      case INTERNAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private long backoffMillis(int attempt) {
+    long max = maxBackoff.toMillis();
+    long delay = Math.min(max, initialBackoff.toMillis() << Math.min(attempt, 30));
+    // equal jitter: half of the delay is fixed, the other half is random
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+
+  /**
+   * State of a single upload. All fields are only accessed from the upload's scheduler thread,
+   * which is also the only thread consuming the iterator.
+   */
+  private final class Upload {
+    private final Iterator<PointStruct> points;
+    private final SettableFuture<Long> result = SettableFuture.create();
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("qdrant-points-uploader-%d")
+                .build());
+    private final Map<Long, Integer> acknowledgedOutOfOrder = new HashMap<>();
+    private long nextSequence;
+    private long nextToAcknowledge;
+    private long acknowledgedPoints;
+    private int inFlight;
+    private boolean exhausted;
+
+    Upload(Iterator<PointStruct> points) {
+      this.points = points;
+    }
+
+    void fill() {
+      try {
+        while (!result.isDone() && inFlight < parallelism && !exhausted) {
+          List<PointStruct> batch = new ArrayList<>(batchSize);
+          while (batch.size() < batchSize && points.hasNext()) {
+            batch.add(points.next());
+          }
+          exhausted = !points.hasNext();
+          if (!batch.isEmpty()) {
+            inFlight++;
+            send(nextSequence++, batch, 0);
+          }
+        }
+      } catch (RuntimeException e) {
+        logger.error("Reading points to upload into '{}' failed", collectionName, e);
+        result.setException(e);
+      }
+      completeIfDone();
+    }
+
+    private void send(long sequence, List<PointStruct> batch, int attempt) {
+      if (result.isDone()) {
+        // cancelled or failed while the retry of the batch was waiting for its backoff
+        inFlight--;
+        completeIfDone();
+        return;
+      }
+      UpsertPoints.Builder requestBuilder =
+          UpsertPoints.newBuilder()
+              .setCollectionName(collectionName)
+              .addAllPoints(batch)
+              .setWait(wait);
+      if (ordering != null) {
+        requestBuilder.setOrdering(WriteOrdering.newBuilder().setType(ordering).build());
+      }
+
+      ListenableFuture<UpdateResult> future;
+      try {
+        future = client.upsertAsync(requestBuilder.build(), timeout);
+      } catch (RuntimeException e) {
+        future = Futures.immediateFailedFuture(e);
+      }
+      Futures.addCallback(
+          future,
+          new FutureCallback<UpdateResult>() {
+            @Override
+            public void onSuccess(UpdateResult updateResult) {
+              acknowledge(sequence, batch.size());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+              if (!result.isDone() && attempt < maxRetries && isRetryable(t)) {
+                long delay = backoffMillis(attempt);
+                logger.warn(
+                    "Upload of batch {} into '{}' failed, retrying in {} ms",
+                    sequence,
+                    collectionName,
+                    delay,
+                    t);
+                scheduler.schedule(
+                    () -> send(sequence, batch, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                return;
+              }
+              inFlight--;
+              result.setException(t);
+              completeIfDone();
+            }
+          },
+          scheduler);
+    }
+
+    private void acknowledge(long sequence, int size) {
+      inFlight--;
+      acknowledgedOutOfOrder.put(sequence, size);
+      long before = acknowledgedPoints;
+      Integer acknowledged;
+      while ((acknowledged = acknowledgedOutOfOrder.remove(nextToAcknowledge)) != null) {
+        acknowledgedPoints += acknowledged;
+        nextToAcknowledge++;
+      }
+      if (acknowledgedPoints != before && progressListener != null && !result.isDone()) {
+        try {
+          progressListener.onProgress(acknowledgedPoints);
+        } catch (RuntimeException e) {
+          logger.warn(
+              "Progress listener of upload into '{}' threw an exception", collectionName, e);
+        }
+      }
+      fill();
+    }
+
+    private void completeIfDone() {
+      if (inFlight > 0) {
+        return;
+      }
+      if (exhausted) {
+        result.set(acknowledgedPoints);
+      }
+      if (result.isDone()) {
+        scheduler.shutdown();
+      }
+    }
+  }
+
+  /** builder for {@link PointsUploader} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final String collectionName;
+    private int parallelism = 4;
+    private int batchSize = 64;
+    private int maxRetries = 3;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+    private boolean wait = true;
+    @Nullable private WriteOrderingType ordering;
+    @Nullable private Duration timeout;
+    @Nullable private ProgressListener progressListener;
+
+    Builder(QdrantClient client, String collectionName) {
+      Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.collectionName = collectionName;
+    }
+
+    /**
+     * Sets the maximum number of batches in flight. Defaults to 4.
+     *
+     * @param parallelism The maximum number of batches in flight.
+     * @return this
+     */
+    public Builder withParallelism(int parallelism) {
+      Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the number of points in each batch. Defaults to 64.
+     *
+     * @param batchSize The number of points.
+     * @return this
+     */
+    public Builder withBatchSize(int batchSize) {
+      Preconditions.checkArgument(batchSize > 0, "Batch size must be positive");
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of times a failed batch is retried. Defaults to 3.
+     *
+     * @param maxRetries The maximum number of retries.
+     * @return this
+     */
+    public Builder withMaxRetries(int maxRetries) {
+      Preconditions.checkArgument(maxRetries >= 0, "Max retries must not be negative");
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Sets the backoff before the first retry of a batch. The backoff doubles with each retry, up
+     * to the maximum backoff. Defaults to 100 milliseconds.
+     *
+     * @param initialBackoff The initial backoff.
+     * @return this
+     */
+    public Builder withInitialBackoff(Duration initialBackoff) {
+      Preconditions.checkArgument(!initialBackoff.isNegative(), "Backoff must not be negative");
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the maximum backoff between retries of a batch. Defaults to 5 seconds.
+     *
+     * @param maxBackoff The maximum backoff.
+     * @return this
+     */
+    public Builder withMaxBackoff(Duration maxBackoff) {
+      Preconditions.checkArgument(!maxBackoff.isNegative(), "Backoff must not be negative");
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets whether each request waits for the changes to be applied. Defaults to <code>true</code>.
+     *
+     * @param wait Whether to wait.
+     * @return this
+     */
+    public Builder withWait(boolean wait) {
+      this.wait = wait;
+      return this;
+    }
+
+    /**
+     * Sets the write ordering guarantees of each request.
+     *
+     * @param ordering The write ordering.
+     * @return this
+     */
+    public Builder withOrdering(@Nullable WriteOrderingType ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Sets the listener receiving the progress of uploads.
+     *
+     * @param progressListener The progress listener.
+     * @return this
+     */
+    public Builder withProgressListener(@Nullable ProgressListener progressListener) {
+      this.progressListener = progressListener;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link PointsUploader}
+     *
+     * @return a new instance of {@link PointsUploader}
+     */
+    public PointsUploader build() {
+      return new PointsUploader(this);
+    }
+  }
+}
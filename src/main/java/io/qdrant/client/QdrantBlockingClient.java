@@ -0,0 +1,692 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import io.qdrant.client.grpc.Collections.CollectionDescription;
+import io.qdrant.client.grpc.Collections.CollectionExistsRequest;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.CollectionOperationResponse;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.DeleteCollection;
+import io.qdrant.client.grpc.Collections.GetCollectionInfoRequest;
+import io.qdrant.client.grpc.Collections.ListCollectionsRequest;
+import io.qdrant.client.grpc.Collections.ListCollectionsResponse;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.CollectionsGrpc.CollectionsBlockingStub;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.GetPoints;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.PointsIdsList;
+import io.qdrant.client.grpc.Points.PointsSelector;
+import io.qdrant.client.grpc.Points.QueryBatchPoints;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ReadConsistency;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import io.qdrant.client.grpc.Points.SearchBatchPoints;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import io.qdrant.client.grpc.Points.WithVectorsSelector;
+import io.qdrant.client.grpc.PointsGrpc;
+import io.qdrant.client.grpc.PointsGrpc.PointsBlockingStub;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckReply;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client for the Qdrant vector database blocking the calling thread until each call completes,
+ * for straight-line code. Calls go through the generated gRPC blocking stubs, with the timeout and
+ * credentials of the {@link QdrantGrpcClient}, and fail with {@link
+ * io.grpc.StatusRuntimeException}.
+ *
+ * <p>A waiting thread is parked rather than blocked in a monitor, and the client holds no monitor
+ * during calls, so virtual threads waiting on calls unmount from their carrier threads. The client
+ * can be called from any number of virtual threads, bounded by a {@link ConcurrencyLimitPolicy} of
+ * the {@link QdrantGrpcClient} if needed.
+ *
+ * <p>The client covers the operations on the hot path of most applications. Other operations are
+ * available on {@link QdrantClient}, which can share the same {@link QdrantGrpcClient}:
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder("localhost").build();
+ * QdrantBlockingClient client = new QdrantBlockingClient(grpcClient);
+ * QdrantClient adminClient = new QdrantClient(grpcClient);
+ * }</pre>
+ */
+public class QdrantBlockingClient implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(QdrantBlockingClient.class);
+  private final QdrantGrpcClient grpcClient;
+
+  /**
+   * Creates a new instance of {@link QdrantBlockingClient}
+   *
+   * @param grpcClient The low-level gRPC client to use.
+   */
+  public QdrantBlockingClient(QdrantGrpcClient grpcClient) {
+    this.grpcClient = grpcClient;
+  }
+
+  /**
+   * Gets the low-level gRPC client.
+   *
+   * @return The low-level gRPC client
+   */
+  public QdrantGrpcClient grpcClient() {
+    return grpcClient;
+  }
+
+  /**
+   * Gets detailed information about the qdrant cluster.
+   *
+   * @return the health check reply
+   */
+  public HealthCheckReply healthCheck() {
+    return healthCheck(null);
+  }
+
+  /**
+   * Gets detailed information about the qdrant cluster.
+   *
+   * @param timeout The timeout for the call.
+   * @return the health check reply
+   */
+  public HealthCheckReply healthCheck(@Nullable Duration timeout) {
+    return grpcClient
+        .newStub(QdrantGrpc::newBlockingStub, timeout)
+        .healthCheck(HealthCheckRequest.getDefaultInstance());
+  }
+
+  // region Collections
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param collectionName The name of the collection.
+   * @param vectorParams The vector parameters
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse createCollection(
+      String collectionName, VectorParams vectorParams) {
+    return createCollection(collectionName, vectorParams, null);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param collectionName The name of the collection.
+   * @param vectorParams The vector parameters
+   * @param timeout The timeout for the call
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse createCollection(
+      String collectionName, VectorParams vectorParams, @Nullable Duration timeout) {
+    return createCollection(
+        CreateCollection.newBuilder()
+            .setCollectionName(collectionName)
+            .setVectorsConfig(VectorsConfig.newBuilder().setParams(vectorParams).build())
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param createCollection The collection creation parameters
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse createCollection(CreateCollection createCollection) {
+    return createCollection(createCollection, null);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param createCollection The collection creation parameters
+   * @param timeout The timeout for the call.
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse createCollection(
+      CreateCollection createCollection, @Nullable Duration timeout) {
+    String collectionName = createCollection.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Create collection '{}'", collectionName);
+    CollectionOperationResponse response = collections(timeout).create(createCollection);
+    if (!response.getResult()) {
+      logger.error("Collection '{}' could not be created", collectionName);
+      throw new QdrantException("Collection '" + collectionName + "' could not be created");
+    }
+    return response;
+  }
+
+  /**
+   * Gets detailed information about an existing collection.
+   *
+   * @param collectionName The name of the collection.
+   * @return the information about the collection
+   */
+  public CollectionInfo getCollectionInfo(String collectionName) {
+    return getCollectionInfo(collectionName, null);
+  }
+
+  /**
+   * Gets detailed information about an existing collection.
+   *
+   * @param collectionName The name of the collection.
+   * @param timeout The timeout for the call.
+   * @return the information about the collection
+   */
+  public CollectionInfo getCollectionInfo(String collectionName, @Nullable Duration timeout) {
+    logger.debug("Get collection info for '{}'", collectionName);
+    return collections(timeout)
+        .get(GetCollectionInfoRequest.newBuilder().setCollectionName(collectionName).build())
+        .getResult();
+  }
+
+  /**
+   * Deletes a collection and all its associated data.
+   *
+   * @param collectionName The name of the collection
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse deleteCollection(String collectionName) {
+    return deleteCollection(collectionName, null);
+  }
+
+  /**
+   * Deletes a collection and all its associated data.
+   *
+   * @param collectionName The name of the collection
+   * @param timeout The timeout for the call.
+   * @return the response of the operation
+   */
+  public CollectionOperationResponse deleteCollection(
+      String collectionName, @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Delete collection '{}'", collectionName);
+    CollectionOperationResponse response =
+        collections(timeout)
+            .delete(DeleteCollection.newBuilder().setCollectionName(collectionName).build());
+    if (!response.getResult()) {
+      logger.error("Collection '{}' could not be deleted", collectionName);
+      throw new QdrantException("Collection '" + collectionName + "' could not be deleted");
+    }
+    return response;
+  }
+
+  /**
+   * Gets the names of all existing collections
+   *
+   * @return the names of the collections
+   */
+  public List<String> listCollections() {
+    return listCollections(null);
+  }
+
+  /**
+   * Gets the names of all existing collections
+   *
+   * @param timeout The timeout for the call.
+   * @return the names of the collections
+   */
+  public List<String> listCollections(@Nullable Duration timeout) {
+    logger.debug("List collections");
+    ListCollectionsResponse response =
+        collections(timeout).list(ListCollectionsRequest.getDefaultInstance());
+    return response.getCollectionsList().stream()
+        .map(CollectionDescription::getName)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Check if a collection exists
+   *
+   * @param collectionName The name of the collection.
+   * @return whether the collection exists
+   */
+  public boolean collectionExists(String collectionName) {
+    return collectionExists(collectionName, null);
+  }
+
+  /**
+   * Check if a collection exists
+   *
+   * @param collectionName The name of the collection.
+   * @param timeout The timeout for the call.
+   * @return whether the collection exists
+   */
+  public boolean collectionExists(String collectionName, @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Collection exists '{}'", collectionName);
+    return collections(timeout)
+        .collectionExists(
+            CollectionExistsRequest.newBuilder().setCollectionName(collectionName).build())
+        .getResult()
+        .getExists();
+  }
+
+  // endregion
+
+  // region Point Management
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be upserted
+   * @return the result of the operation
+   */
+  public UpdateResult upsert(String collectionName, List<PointStruct> points) {
+    return upsert(collectionName, points, null);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be upserted
+   * @param timeout The timeout for the call.
+   * @return the result of the operation
+   */
+  public UpdateResult upsert(
+      String collectionName, List<PointStruct> points, @Nullable Duration timeout) {
+    return upsert(
+        UpsertPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllPoints(points)
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten.
+   *
+   * @param request The upsert points request
+   * @return the result of the operation
+   */
+  public UpdateResult upsert(UpsertPoints request) {
+    return upsert(request, null);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten.
+   *
+   * @param request The upsert points request
+   * @param timeout The timeout for the call.
+   * @return the result of the operation
+   */
+  public UpdateResult upsert(UpsertPoints request, @Nullable Duration timeout) {
+    String collectionName = request.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Upsert {} points into '{}'", request.getPointsList().size(), collectionName);
+    return points(timeout).upsert(request).getResult();
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The ids of points to delete.
+   * @return the result of the operation
+   */
+  public UpdateResult delete(String collectionName, List<PointId> ids) {
+    return delete(collectionName, ids, null);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The ids of points to delete.
+   * @param timeout The timeout for the call.
+   * @return the result of the operation
+   */
+  public UpdateResult delete(
+      String collectionName, List<PointId> ids, @Nullable Duration timeout) {
+    return delete(
+        DeletePoints.newBuilder()
+            .setCollectionName(collectionName)
+            .setPoints(
+                PointsSelector.newBuilder()
+                    .setPoints(PointsIdsList.newBuilder().addAllIds(ids).build())
+                    .build())
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter A filter selecting the points to be deleted.
+   * @return the result of the operation
+   */
+  public UpdateResult delete(String collectionName, Filter filter) {
+    return delete(collectionName, filter, null);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter A filter selecting the points to be deleted.
+   * @param timeout The timeout for the call.
+   * @return the result of the operation
+   */
+  public UpdateResult delete(String collectionName, Filter filter, @Nullable Duration timeout) {
+    return delete(
+        DeletePoints.newBuilder()
+            .setCollectionName(collectionName)
+            .setPoints(PointsSelector.newBuilder().setFilter(filter).build())
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Deletes points.
+   *
+   * @param request The delete points request
+   * @return the result of the operation
+   */
+  public UpdateResult delete(DeletePoints request) {
+    return delete(request, null);
+  }
+
+  /**
+   * Deletes points.
+   *
+   * @param request The delete points request
+   * @param timeout The timeout for the call.
+   * @return the result of the operation
+   */
+  public UpdateResult delete(DeletePoints request, @Nullable Duration timeout) {
+    String collectionName = request.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Delete from '{}'", collectionName);
+    return points(timeout).delete(request).getResult();
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The list of ids of points to retrieve
+   * @param withPayload Whether to include the payload or not.
+   * @param withVectors Whether to include the vectors or not.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @return the retrieved points
+   */
+  public List<RetrievedPoint> retrieve(
+      String collectionName,
+      List<PointId> ids,
+      boolean withPayload,
+      boolean withVectors,
+      @Nullable ReadConsistency readConsistency) {
+    return retrieve(
+        collectionName,
+        ids,
+        WithPayloadSelectorFactory.enable(withPayload),
+        WithVectorsSelectorFactory.enable(withVectors),
+        readConsistency,
+        null);
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The list of ids of points to retrieve
+   * @param payloadSelector Options for specifying which payload to include or not.
+   * @param vectorsSelector Options for specifying which vectors to include into response.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return the retrieved points
+   */
+  public List<RetrievedPoint> retrieve(
+      String collectionName,
+      List<PointId> ids,
+      WithPayloadSelector payloadSelector,
+      WithVectorsSelector vectorsSelector,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    GetPoints.Builder requestBuilder =
+        GetPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllIds(ids)
+            .setWithPayload(payloadSelector)
+            .setWithVectors(vectorsSelector);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    return retrieve(requestBuilder.build(), timeout);
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param request The get points request
+   * @param timeout The timeout for the call.
+   * @return the retrieved points
+   */
+  public List<RetrievedPoint> retrieve(GetPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Retrieve points from '{}'", request.getCollectionName());
+    return points(timeout).get(request).getResultList();
+  }
+
+  /**
+   * Iterates over all or filtered points.
+   *
+   * @param request The scroll request
+   * @return the page of points
+   */
+  public ScrollResponse scroll(ScrollPoints request) {
+    return scroll(request, null);
+  }
+
+  /**
+   * Iterates over all or filtered points.
+   *
+   * @param request The scroll request.
+   * @param timeout The timeout for the call.
+   * @return the page of points
+   */
+  public ScrollResponse scroll(ScrollPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Scroll on '{}'", request.getCollectionName());
+    return points(timeout).scroll(request);
+  }
+
+  /**
+   * Count the points in a collection. The count is exact
+   *
+   * @param collectionName The name of the collection.
+   * @return the number of points
+   */
+  public long count(String collectionName) {
+    return count(collectionName, null, null, null);
+  }
+
+  /**
+   * Count the points in a collection with the given filtering conditions.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter Filter conditions - return only those points that satisfy the specified
+   *     conditions.
+   * @param exact If <code>true</code>, returns the exact count, if <code>false</code>, returns an
+   *     approximate count. Defaults to <code>true</code>.
+   * @param timeout The timeout for the call.
+   * @return the number of points
+   */
+  public long count(
+      String collectionName,
+      @Nullable Filter filter,
+      @Nullable Boolean exact,
+      @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    CountPoints.Builder requestBuilder =
+        CountPoints.newBuilder().setCollectionName(collectionName).setExact(exact == null || exact);
+
+    if (filter != null) {
+      requestBuilder.setFilter(filter);
+    }
+
+    logger.debug("Count on '{}'", collectionName);
+    return points(timeout).count(requestBuilder.build()).getResult().getCount();
+  }
+
+  // endregion
+
+  // region Search and Query
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param request the search request
+   * @return the closest points
+   */
+  public List<ScoredPoint> search(SearchPoints request) {
+    return search(request, null);
+  }
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param request the search request
+   * @param timeout the timeout for the call.
+   * @return the closest points
+   */
+  public List<ScoredPoint> search(SearchPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    Preconditions.checkArgument(!request.getVectorList().isEmpty(), "Vector must not be empty");
+    logger.debug("Search on '{}'", request.getCollectionName());
+    return points(timeout).search(request).getResultList();
+  }
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param collectionName The name of the collection
+   * @param searches The searches to be performed in the batch.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return the closest points of each search
+   */
+  public List<BatchResult> searchBatch(
+      String collectionName,
+      List<SearchPoints> searches,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    // TODO: Workaround for https://github.com/qdrant/qdrant/issues/2880
+    searches =
+        Lists.transform(
+            searches,
+            searchPoints -> searchPoints.toBuilder().setCollectionName(collectionName).build());
+
+    SearchBatchPoints.Builder requestBuilder =
+        SearchBatchPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllSearchPoints(searches);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    logger.debug("Search batch on '{}'", collectionName);
+    return points(timeout).searchBatch(requestBuilder.build()).getResultList();
+  }
+
+  /**
+   * Universally query points. Covers all capabilities of search, recommend, discover, filters. Also
+   * enables hybrid and multi-stage queries.
+   *
+   * @param request the query request
+   * @return the points found
+   */
+  public List<ScoredPoint> query(QueryPoints request) {
+    return query(request, null);
+  }
+
+  /**
+   * Universally query points. Covers all capabilities of search, recommend, discover, filters. Also
+   * enables hybrid and multi-stage queries.
+   *
+   * @param request the query request
+   * @param timeout the timeout for the call.
+   * @return the points found
+   */
+  public List<ScoredPoint> query(QueryPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Query on '{}'", request.getCollectionName());
+    return points(timeout).query(request).getResultList();
+  }
+
+  /**
+   * Universally query points in batch. Covers all capabilities of search, recommend, discover,
+   * filters. Also enables hybrid and multi-stage queries.
+   *
+   * @param collectionName The name of the collection
+   * @param queries The queries to be performed in the batch.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return the points found by each query
+   */
+  public List<BatchResult> queryBatch(
+      String collectionName,
+      List<QueryPoints> queries,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    QueryBatchPoints.Builder requestBuilder =
+        QueryBatchPoints.newBuilder().setCollectionName(collectionName).addAllQueryPoints(queries);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    logger.debug("Query batch on '{}'", collectionName);
+    return points(timeout).queryBatch(requestBuilder.build()).getResultList();
+  }
+
+  // endregion
+
+  @Override
+  public void close() {
+    grpcClient.close();
+  }
+
+  private CollectionsBlockingStub collections(@Nullable Duration timeout) {
+    return grpcClient.newStub(CollectionsGrpc::newBlockingStub, timeout);
+  }
+
+  private PointsBlockingStub points(@Nullable Duration timeout) {
+    return grpcClient.newStub(PointsGrpc::newBlockingStub, timeout);
+  }
+}
@@ -125,10 +125,12 @@
 import io.qdrant.client.grpc.SnapshotsService.ListSnapshotsResponse;
 import io.qdrant.client.grpc.SnapshotsService.SnapshotDescription;
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -1029,6 +1031,51 @@ public ListenableFuture<UpdateResult> upsertAsync(
         future, PointsOperationResponse::getResult, MoreExecutors.directExecutor());
   }
 
+  /**
+   * Uploads points from an iterator in batches, keeping up to {@code parallelism} batches in
+   * flight. Batches failing with a transient error are retried. Each batch waits for the changes to
+   * be applied. Use {@link PointsUploader} for more options.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be uploaded.
+   * @param parallelism The maximum number of batches in flight.
+   * @param batchSize The number of points in each batch.
+   * @return a new instance of {@link ListenableFuture} that completes with the number of uploaded
+   *     points
+   */
+  public ListenableFuture<Long> uploadPointsAsync(
+      String collectionName, Iterator<PointStruct> points, int parallelism, int batchSize) {
+    return uploadPointsAsync(collectionName, points, parallelism, batchSize, null);
+  }
+
+  /**
+   * Uploads points from an iterator in batches, keeping up to {@code parallelism} batches in
+   * flight. Batches failing with a transient error are retried. Each batch waits for the changes to
+   * be applied. Use {@link PointsUploader} for more options.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be uploaded.
+   * @param parallelism The maximum number of batches in flight.
+   * @param batchSize The number of points in each batch.
+   * @param progressListener Receives the number of points at the start of the iterator that have
+   *     all been acknowledged.
+   * @return a new instance of {@link ListenableFuture} that completes with the number of uploaded
+   *     points
+   */
+  public ListenableFuture<Long> uploadPointsAsync(
+      String collectionName,
+      Iterator<PointStruct> points,
+      int parallelism,
+      int batchSize,
+      @Nullable PointsUploader.ProgressListener progressListener) {
+    return PointsUploader.newBuilder(this, collectionName)
+        .withParallelism(parallelism)
+        .withBatchSize(batchSize)
+        .withProgressListener(progressListener)
+        .build()
+        .upload(points);
+  }
+
   /**
    * Deletes points. The call waits for the changes to be applied.
    *
@@ -2542,6 +2589,30 @@ public ListenableFuture<ScrollResponse> scrollAsync(
     return future;
   }
 
+  /**
+   * Iterates over all or filtered points, fetching the next page while the current one is
+   * consumed. The limit of the request is the page size. Use {@link ScrollIterator} for more
+   * options.
+   *
+   * @param request The scroll request.
+   * @return a new instance of {@link ScrollIterator}
+   */
+  public ScrollIterator scrollIterator(ScrollPoints request) {
+    return ScrollIterator.newBuilder(this, request).build();
+  }
+
+  /**
+   * Streams all or filtered points, fetching the next page while the current one is consumed. The
+   * limit of the request is the page size. The stream should be closed if it is not fully
+   * consumed.
+   *
+   * @param request The scroll request.
+   * @return a new instance of {@link Stream}
+   */
+  public Stream<RetrievedPoint> scrollStream(ScrollPoints request) {
+    return scrollIterator(request).stream();
+  }
+
   /**
    * Look for the points which are closer to stored positive examples and at the same time further
    * to negative examples.
@@ -0,0 +1,817 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
+import io.qdrant.client.grpc.Collections.CollectionDescription;
+import io.qdrant.client.grpc.Collections.CollectionExistsRequest;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.CollectionOperationResponse;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.DeleteCollection;
+import io.qdrant.client.grpc.Collections.GetCollectionInfoRequest;
+import io.qdrant.client.grpc.Collections.GetCollectionInfoResponse;
+import io.qdrant.client.grpc.Collections.ListCollectionsRequest;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.GetPoints;
+import io.qdrant.client.grpc.Points.GetResponse;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.PointsIdsList;
+import io.qdrant.client.grpc.Points.PointsOperationResponse;
+import io.qdrant.client.grpc.Points.PointsSelector;
+import io.qdrant.client.grpc.Points.QueryBatchPoints;
+import io.qdrant.client.grpc.Points.QueryBatchResponse;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ReadConsistency;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import io.qdrant.client.grpc.Points.SearchBatchPoints;
+import io.qdrant.client.grpc.Points.SearchBatchResponse;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.Points.SearchResponse;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import io.qdrant.client.grpc.Points.WithVectorsSelector;
+import io.qdrant.client.grpc.PointsGrpc;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckReply;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client for the Qdrant vector database returning {@link CompletableFuture}s, for applications
+ * built on them. Each future is completed by the observer of its gRPC call, without adapting a
+ * {@link com.google.common.util.concurrent.ListenableFuture}, so a call allocates one future and
+ * its dependent stages run right after the response is received.
+ *
+ * <p>The client covers the operations on the hot path of most applications. Other operations are
+ * available on {@link QdrantClient}, which can share the same {@link QdrantGrpcClient}:
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder("localhost").build();
+ * QdrantCompletableClient client = new QdrantCompletableClient(grpcClient);
+ * QdrantClient adminClient = new QdrantClient(grpcClient);
+ * }</pre>
+ */
+public class QdrantCompletableClient implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(QdrantCompletableClient.class);
+  private final QdrantGrpcClient grpcClient;
+
+  /**
+   * Creates a new instance of {@link QdrantCompletableClient}
+   *
+   * @param grpcClient The low-level gRPC client to use.
+   */
+  public QdrantCompletableClient(QdrantGrpcClient grpcClient) {
+    this.grpcClient = grpcClient;
+  }
+
+  /**
+   * Gets the low-level gRPC client.
+   *
+   * @return The low-level gRPC client
+   */
+  public QdrantGrpcClient grpcClient() {
+    return grpcClient;
+  }
+
+  /**
+   * Gets detailed information about the qdrant cluster.
+   *
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<HealthCheckReply> healthCheckAsync() {
+    return healthCheckAsync(null);
+  }
+
+  /**
+   * Gets detailed information about the qdrant cluster.
+   *
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<HealthCheckReply> healthCheckAsync(@Nullable Duration timeout) {
+    return call(
+        QdrantGrpc.getHealthCheckMethod(),
+        HealthCheckRequest.getDefaultInstance(),
+        timeout,
+        Function.identity(),
+        "Health check");
+  }
+
+  // region Collections
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param collectionName The name of the collection.
+   * @param vectorParams The vector parameters
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> createCollectionAsync(
+      String collectionName, VectorParams vectorParams) {
+    return createCollectionAsync(collectionName, vectorParams, null);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param collectionName The name of the collection.
+   * @param vectorParams The vector parameters
+   * @param timeout The timeout for the call
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> createCollectionAsync(
+      String collectionName, VectorParams vectorParams, @Nullable Duration timeout) {
+    return createCollectionAsync(
+        CreateCollection.newBuilder()
+            .setCollectionName(collectionName)
+            .setVectorsConfig(VectorsConfig.newBuilder().setParams(vectorParams).build())
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param createCollection The collection creation parameters
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> createCollectionAsync(
+      CreateCollection createCollection) {
+    return createCollectionAsync(createCollection, null);
+  }
+
+  /**
+   * Creates a new collection with the given parameters
+   *
+   * @param createCollection The collection creation parameters
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> createCollectionAsync(
+      CreateCollection createCollection, @Nullable Duration timeout) {
+    String collectionName = createCollection.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Create collection '{}'", collectionName);
+    return call(
+        CollectionsGrpc.getCreateMethod(),
+        createCollection,
+        timeout,
+        response -> {
+          if (!response.getResult()) {
+            logger.error("Collection '{}' could not be created", collectionName);
+            throw new QdrantException("Collection '" + collectionName + "' could not be created");
+          }
+          return response;
+        },
+        "Create collection");
+  }
+
+  /**
+   * Gets detailed information about an existing collection.
+   *
+   * @param collectionName The name of the collection.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionInfo> getCollectionInfoAsync(String collectionName) {
+    return getCollectionInfoAsync(collectionName, null);
+  }
+
+  /**
+   * Gets detailed information about an existing collection.
+   *
+   * @param collectionName The name of the collection.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionInfo> getCollectionInfoAsync(
+      String collectionName, @Nullable Duration timeout) {
+    logger.debug("Get collection info for '{}'", collectionName);
+    return call(
+        CollectionsGrpc.getGetMethod(),
+        GetCollectionInfoRequest.newBuilder().setCollectionName(collectionName).build(),
+        timeout,
+        GetCollectionInfoResponse::getResult,
+        "Get collection info");
+  }
+
+  /**
+   * Deletes a collection and all its associated data.
+   *
+   * @param collectionName The name of the collection
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> deleteCollectionAsync(
+      String collectionName) {
+    return deleteCollectionAsync(collectionName, null);
+  }
+
+  /**
+   * Deletes a collection and all its associated data.
+   *
+   * @param collectionName The name of the collection
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<CollectionOperationResponse> deleteCollectionAsync(
+      String collectionName, @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Delete collection '{}'", collectionName);
+    return call(
+        CollectionsGrpc.getDeleteMethod(),
+        DeleteCollection.newBuilder().setCollectionName(collectionName).build(),
+        timeout,
+        response -> {
+          if (!response.getResult()) {
+            logger.error("Collection '{}' could not be deleted", collectionName);
+            throw new QdrantException("Collection '" + collectionName + "' could not be deleted");
+          }
+          return response;
+        },
+        "Delete collection");
+  }
+
+  /**
+   * Gets the names of all existing collections
+   *
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<String>> listCollectionsAsync() {
+    return listCollectionsAsync(null);
+  }
+
+  /**
+   * Gets the names of all existing collections
+   *
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<String>> listCollectionsAsync(@Nullable Duration timeout) {
+    logger.debug("List collections");
+    return call(
+        CollectionsGrpc.getListMethod(),
+        ListCollectionsRequest.getDefaultInstance(),
+        timeout,
+        response ->
+            response.getCollectionsList().stream()
+                .map(CollectionDescription::getName)
+                .collect(Collectors.toList()),
+        "List collection");
+  }
+
+  /**
+   * Check if a collection exists
+   *
+   * @param collectionName The name of the collection.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<Boolean> collectionExistsAsync(String collectionName) {
+    return collectionExistsAsync(collectionName, null);
+  }
+
+  /**
+   * Check if a collection exists
+   *
+   * @param collectionName The name of the collection.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<Boolean> collectionExistsAsync(
+      String collectionName, @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Collection exists '{}'", collectionName);
+    return call(
+        CollectionsGrpc.getCollectionExistsMethod(),
+        CollectionExistsRequest.newBuilder().setCollectionName(collectionName).build(),
+        timeout,
+        response -> response.getResult().getExists(),
+        "Collection exists");
+  }
+
+  // endregion
+
+  // region Point Management
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be upserted
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> upsertAsync(
+      String collectionName, List<PointStruct> points) {
+    return upsertAsync(collectionName, points, null);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param points The points to be upserted
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> upsertAsync(
+      String collectionName, List<PointStruct> points, @Nullable Duration timeout) {
+    return upsertAsync(
+        UpsertPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllPoints(points)
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten.
+   *
+   * @param request The upsert points request
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> upsertAsync(UpsertPoints request) {
+    return upsertAsync(request, null);
+  }
+
+  /**
+   * Perform insert and updates on points. If a point with a given ID already exists, it will be
+   * overwritten.
+   *
+   * @param request The upsert points request
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> upsertAsync(
+      UpsertPoints request, @Nullable Duration timeout) {
+    String collectionName = request.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Upsert {} points into '{}'", request.getPointsList().size(), collectionName);
+    return call(
+        PointsGrpc.getUpsertMethod(),
+        request,
+        timeout,
+        PointsOperationResponse::getResult,
+        "Upsert");
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The ids of points to delete.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(String collectionName, List<PointId> ids) {
+    return deleteAsync(collectionName, ids, null);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The ids of points to delete.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(
+      String collectionName, List<PointId> ids, @Nullable Duration timeout) {
+    return deleteAsync(
+        DeletePoints.newBuilder()
+            .setCollectionName(collectionName)
+            .setPoints(
+                PointsSelector.newBuilder()
+                    .setPoints(PointsIdsList.newBuilder().addAllIds(ids).build())
+                    .build())
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter A filter selecting the points to be deleted.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(String collectionName, Filter filter) {
+    return deleteAsync(collectionName, filter, null);
+  }
+
+  /**
+   * Deletes points. The call waits for the changes to be applied.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter A filter selecting the points to be deleted.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(
+      String collectionName, Filter filter, @Nullable Duration timeout) {
+    return deleteAsync(
+        DeletePoints.newBuilder()
+            .setCollectionName(collectionName)
+            .setPoints(PointsSelector.newBuilder().setFilter(filter).build())
+            .setWait(true)
+            .build(),
+        timeout);
+  }
+
+  /**
+   * Deletes points.
+   *
+   * @param request The delete points request
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(DeletePoints request) {
+    return deleteAsync(request, null);
+  }
+
+  /**
+   * Deletes points.
+   *
+   * @param request The delete points request
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<UpdateResult> deleteAsync(
+      DeletePoints request, @Nullable Duration timeout) {
+    String collectionName = request.getCollectionName();
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    logger.debug("Delete from '{}'", collectionName);
+    return call(
+        PointsGrpc.getDeleteMethod(),
+        request,
+        timeout,
+        PointsOperationResponse::getResult,
+        "Delete");
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The list of ids of points to retrieve
+   * @param withPayload Whether to include the payload or not.
+   * @param withVectors Whether to include the vectors or not.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<RetrievedPoint>> retrieveAsync(
+      String collectionName,
+      List<PointId> ids,
+      boolean withPayload,
+      boolean withVectors,
+      @Nullable ReadConsistency readConsistency) {
+    return retrieveAsync(
+        collectionName,
+        ids,
+        WithPayloadSelectorFactory.enable(withPayload),
+        WithVectorsSelectorFactory.enable(withVectors),
+        readConsistency,
+        null);
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The list of ids of points to retrieve
+   * @param payloadSelector Options for specifying which payload to include or not.
+   * @param vectorsSelector Options for specifying which vectors to include into response.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<RetrievedPoint>> retrieveAsync(
+      String collectionName,
+      List<PointId> ids,
+      WithPayloadSelector payloadSelector,
+      WithVectorsSelector vectorsSelector,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    GetPoints.Builder requestBuilder =
+        GetPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllIds(ids)
+            .setWithPayload(payloadSelector)
+            .setWithVectors(vectorsSelector);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    return retrieveAsync(requestBuilder.build(), timeout);
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param request The get points request
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<RetrievedPoint>> retrieveAsync(
+      GetPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Retrieve points from '{}'", request.getCollectionName());
+    return call(
+        PointsGrpc.getGetMethod(), request, timeout, GetResponse::getResultList, "Retrieve");
+  }
+
+  /**
+   * Iterates over all or filtered points.
+   *
+   * @param request The scroll request
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<ScrollResponse> scrollAsync(ScrollPoints request) {
+    return scrollAsync(request, null);
+  }
+
+  /**
+   * Iterates over all or filtered points.
+   *
+   * @param request The scroll request.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<ScrollResponse> scrollAsync(
+      ScrollPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Scroll on '{}'", request.getCollectionName());
+    return call(PointsGrpc.getScrollMethod(), request, timeout, Function.identity(), "Scroll");
+  }
+
+  /**
+   * Count the points in a collection. The count is exact
+   *
+   * @param collectionName The name of the collection.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<Long> countAsync(String collectionName) {
+    return countAsync(collectionName, null, null, null);
+  }
+
+  /**
+   * Count the points in a collection with the given filtering conditions.
+   *
+   * @param collectionName The name of the collection.
+   * @param filter Filter conditions - return only those points that satisfy the specified
+   *     conditions.
+   * @param exact If <code>true</code>, returns the exact count, if <code>false</code>, returns an
+   *     approximate count. Defaults to <code>true</code>.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<Long> countAsync(
+      String collectionName,
+      @Nullable Filter filter,
+      @Nullable Boolean exact,
+      @Nullable Duration timeout) {
+    Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+    CountPoints.Builder requestBuilder =
+        CountPoints.newBuilder().setCollectionName(collectionName).setExact(exact == null || exact);
+
+    if (filter != null) {
+      requestBuilder.setFilter(filter);
+    }
+
+    logger.debug("Count on '{}'", collectionName);
+    return call(
+        PointsGrpc.getCountMethod(),
+        requestBuilder.build(),
+        timeout,
+        response -> response.getResult().getCount(),
+        "Count");
+  }
+
+  // endregion
+
+  // region Search and Query
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param request the search request
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<ScoredPoint>> searchAsync(SearchPoints request) {
+    return searchAsync(request, null);
+  }
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param request the search request
+   * @param timeout the timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<ScoredPoint>> searchAsync(
+      SearchPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    Preconditions.checkArgument(!request.getVectorList().isEmpty(), "Vector must not be empty");
+    logger.debug("Search on '{}'", request.getCollectionName());
+    return call(
+        PointsGrpc.getSearchMethod(), request, timeout, SearchResponse::getResultList, "Search");
+  }
+
+  /**
+   * Retrieves closest points based on vector similarity and the given filtering conditions.
+   *
+   * @param collectionName The name of the collection
+   * @param searches The searches to be performed in the batch.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<BatchResult>> searchBatchAsync(
+      String collectionName,
+      List<SearchPoints> searches,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    // TODO: Workaround for https://github.com/qdrant/qdrant/issues/2880
+    searches =
+        Lists.transform(
+            searches,
+            searchPoints -> searchPoints.toBuilder().setCollectionName(collectionName).build());
+
+    SearchBatchPoints.Builder requestBuilder =
+        SearchBatchPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllSearchPoints(searches);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    logger.debug("Search batch on '{}'", collectionName);
+    return call(
+        PointsGrpc.getSearchBatchMethod(),
+        requestBuilder.build(),
+        timeout,
+        SearchBatchResponse::getResultList,
+        "Search batch");
+  }
+
+  /**
+   * Universally query points. Covers all capabilities of search, recommend, discover, filters. Also
+   * enables hybrid and multi-stage queries.
+   *
+   * @param request the query request
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<ScoredPoint>> queryAsync(QueryPoints request) {
+    return queryAsync(request, null);
+  }
+
+  /**
+   * Universally query points. Covers all capabilities of search, recommend, discover, filters. Also
+   * enables hybrid and multi-stage queries.
+   *
+   * @param request the query request
+   * @param timeout the timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<ScoredPoint>> queryAsync(
+      QueryPoints request, @Nullable Duration timeout) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    logger.debug("Query on '{}'", request.getCollectionName());
+    return call(
+        PointsGrpc.getQueryMethod(), request, timeout, QueryResponse::getResultList, "Query");
+  }
+
+  /**
+   * Universally query points in batch. Covers all capabilities of search, recommend, discover,
+   * filters. Also enables hybrid and multi-stage queries.
+   *
+   * @param collectionName The name of the collection
+   * @param queries The queries to be performed in the batch.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @param timeout The timeout for the call.
+   * @return a new instance of {@link CompletableFuture}
+   */
+  public CompletableFuture<List<BatchResult>> queryBatchAsync(
+      String collectionName,
+      List<QueryPoints> queries,
+      @Nullable ReadConsistency readConsistency,
+      @Nullable Duration timeout) {
+    QueryBatchPoints.Builder requestBuilder =
+        QueryBatchPoints.newBuilder().setCollectionName(collectionName).addAllQueryPoints(queries);
+
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+
+    logger.debug("Query batch on '{}'", collectionName);
+    return call(
+        PointsGrpc.getQueryBatchMethod(),
+        requestBuilder.build(),
+        timeout,
+        QueryBatchResponse::getResultList,
+        "Query batch");
+  }
+
+  // endregion
+
+  @Override
+  public void close() {
+    grpcClient.close();
+  }
+
+  private <ReqT, RespT, T> CompletableFuture<T> call(
+      MethodDescriptor<ReqT, RespT> method,
+      ReqT request,
+      @Nullable Duration timeout,
+      Function<RespT, T> transform,
+      String message) {
+    UnaryFuture<ReqT, RespT, T> future = new UnaryFuture<>(transform, message);
+    ClientCalls.asyncUnaryCall(grpcClient.newCall(method, timeout), request, future);
+    return future;
+  }
+
+  /**
+   * A future completed with the transformed response of a unary call, observing the call itself.
+   * Cancelling the future cancels the call.
+   */
+  private static final class UnaryFuture<ReqT, RespT, T> extends CompletableFuture<T>
+      implements ClientResponseObserver<ReqT, RespT> {
+    private final Function<RespT, T> transform;
+    private final String message;
+    @Nullable private volatile ClientCallStreamObserver<ReqT> requestStream;
+    @Nullable private RespT response;
+
+    UnaryFuture(Function<RespT, T> transform, String message) {
+      this.transform = transform;
+      this.message = message;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+      this.requestStream = requestStream;
+    }
+
+    @Override
+    public void onNext(RespT value) {
+      response = value;
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (completeExceptionally(t)) {
+        logger.error(message + " operation failed", t);
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      T result;
+      try {
+        result = transform.apply(response);
+      } catch (RuntimeException e) {
+        completeExceptionally(e);
+        return;
+      }
+      complete(result);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      ClientCallStreamObserver<ReqT> requestStream = this.requestStream;
+      if (cancelled && requestStream != null) {
+        requestStream.cancel("Cancelled by the caller", null);
+      }
+      return cancelled;
+    }
+  }
+}
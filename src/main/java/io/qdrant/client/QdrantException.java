@@ -10,4 +10,14 @@ public class QdrantException extends RuntimeException {
   public QdrantException(String message) {
     super(message);
   }
+
+  /**
+   * Instantiates a new instance of {@link QdrantException}
+   *
+   * @param message The exception message
+   * @param cause The cause of the exception
+   */
+  public QdrantException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
@@ -1,19 +1,33 @@
 package io.qdrant.client;
 
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.CallCredentials;
+import io.grpc.CallOptions;
 import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
 import io.grpc.ClientInterceptors;
 import io.grpc.Deadline;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.AbstractStub;
 import io.qdrant.client.grpc.*;
 import io.qdrant.client.grpc.CollectionsGrpc.CollectionsFutureStub;
 import io.qdrant.client.grpc.PointsGrpc.PointsFutureStub;
 import io.qdrant.client.grpc.QdrantGrpc.QdrantFutureStub;
 import io.qdrant.client.grpc.SnapshotsGrpc.SnapshotsFutureStub;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,23 +35,98 @@
 /** Low-level gRPC client for qdrant vector database. */
 public class QdrantGrpcClient implements AutoCloseable {
   private static final Logger logger = LoggerFactory.getLogger(QdrantGrpcClient.class);
+  private static final Duration DEFAULT_SHARD_TOPOLOGY_TTL = Duration.ofSeconds(30);
   @Nullable private final CallCredentials callCredentials;
   private final ManagedChannel channel;
+  private final List<ManagedChannel> channels;
+  private final List<ManagedChannel> peerChannels;
   private final Channel interceptedChannel;
   private final boolean shutdownChannelOnClose;
   @Nullable private final Duration timeout;
+  @Nullable private final ScheduledExecutorService scheduler;
+  @Nullable private final Executor executor;
+  @Nullable private final NettyTransport transport;
 
   QdrantGrpcClient(
       ManagedChannel channel,
       boolean shutdownChannelOnClose,
       @Nullable CallCredentials callCredentials,
       @Nullable Duration timeout) {
+    this(
+        new Builder(channel, shutdownChannelOnClose, false).withTimeout(timeout),
+        Collections.singletonList(channel),
+        callCredentials,
+        null);
+  }
+
+  /**
+   * Creates a client with the options of a builder, over the channels and with the credentials and
+   * transport the builder resolved.
+   */
+  private QdrantGrpcClient(
+      Builder builder,
+      List<ManagedChannel> channels,
+      @Nullable CallCredentials callCredentials,
+      @Nullable NettyTransport transport) {
     this.callCredentials = callCredentials;
-    this.channel = channel;
-    this.interceptedChannel =
-        ClientInterceptors.intercept(channel, RequestHeaders.newInterceptor());
-    this.shutdownChannelOnClose = shutdownChannelOnClose;
-    this.timeout = timeout;
+    this.channel = channels.get(0);
+    this.channels = Collections.unmodifiableList(new ArrayList<>(channels));
+    Map<Long, ManagedChannel> peerChannels = builder.peerChannels;
+    this.peerChannels =
+        peerChannels != null ? new ArrayList<>(peerChannels.values()) : Collections.emptyList();
+    Channel baseChannel = channels.size() == 1 ? channel : new ChannelPool(channels);
+    if (peerChannels != null && !peerChannels.isEmpty()) {
+      baseChannel =
+          new ShardRoutingChannel(
+              baseChannel,
+              peerChannels,
+              callCredentials,
+              builder.shardTopologyTtl != null
+                  ? builder.shardTopologyTtl
+                  : DEFAULT_SHARD_TOPOLOGY_TTL);
+    }
+    this.scheduler =
+        builder.hedgingPolicy != null
+                || builder.retryPolicy != null
+                || builder.concurrencyLimitPolicy != null
+            ? Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("qdrant-client-scheduler-%d")
+                    .build())
+            : null;
+    ClientMetrics metrics = builder.metrics;
+    if (builder.hedgingPolicy != null) {
+      baseChannel = new HedgingChannel(baseChannel, builder.hedgingPolicy, scheduler);
+    }
+    if (builder.retryPolicy != null) {
+      // each retry is hedged, and the metrics measure the call across its retries
+      baseChannel = new RetryingChannel(baseChannel, builder.retryPolicy, scheduler, metrics);
+    }
+    if (builder.concurrencyLimitPolicy != null) {
+      baseChannel =
+          new ConcurrencyLimitingChannel(baseChannel, builder.concurrencyLimitPolicy, scheduler);
+    }
+    if (builder.queryCachePolicy != null) {
+      // cache hits take no permit of the concurrency limit
+      baseChannel = new QueryCachingChannel(baseChannel, builder.queryCachePolicy, metrics);
+    }
+    if (builder.pointCachePolicy != null) {
+      baseChannel = new PointCachingChannel(baseChannel, builder.pointCachePolicy, metrics);
+    }
+    if (builder.metadataCachePolicy != null) {
+      baseChannel = new MetadataCachingChannel(baseChannel, builder.metadataCachePolicy, metrics);
+    }
+    List<ClientInterceptor> interceptors = new ArrayList<>();
+    interceptors.add(RequestHeaders.newInterceptor());
+    if (metrics != null) {
+      interceptors.add(new MetricsInterceptor(metrics));
+    }
+    this.interceptedChannel = ClientInterceptors.intercept(baseChannel, interceptors);
+    this.shutdownChannelOnClose = builder.shutdownChannelOnClose;
+    this.timeout = builder.timeout;
+    this.executor = builder.executor;
+    this.transport = transport;
   }
 
   /**
@@ -76,6 +165,18 @@ public static Builder newBuilder(
     return new Builder(channel, shutdownChannelOnClose, checkCompatibility);
   }
 
+  /**
+   * Creates a new builder to build a client that spreads calls across a pool of channels. Each call
+   * goes to the channel with the fewest outstanding calls.
+   *
+   * @param channels The channels for communication, all connected to the same target.
+   * @param shutdownChannelOnClose Whether the channels are shutdown on client close.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(List<ManagedChannel> channels, boolean shutdownChannelOnClose) {
+    return new Builder(channels, shutdownChannelOnClose, true);
+  }
+
   /**
    * Creates a new builder to build a client.
    *
@@ -127,7 +228,8 @@ public static Builder newBuilder(
   }
 
   /**
-   * Gets the channel
+   * Gets the channel. When the client uses a pool of channels, this is the first channel of the
+   * pool.
    *
    * @return the channel
    */
@@ -135,6 +237,15 @@ public ManagedChannel channel() {
     return channel;
   }
 
+  /**
+   * Gets all channels used by the client
+   *
+   * @return the channels
+   */
+  public List<ManagedChannel> channels() {
+    return channels;
+  }
+
   /**
    * Gets the client for qdrant services
    *
@@ -143,6 +254,7 @@ public ManagedChannel channel() {
   public QdrantGrpc.QdrantFutureStub qdrant() {
     return QdrantGrpc.newFutureStub(interceptedChannel)
         .withCallCredentials(callCredentials)
+        .withExecutor(executor)
         .withDeadline(
             timeout != null ? Deadline.after(timeout.toMillis(), TimeUnit.MILLISECONDS) : null);
   }
@@ -155,6 +267,7 @@ public QdrantGrpc.QdrantFutureStub qdrant() {
   public PointsFutureStub points() {
     return PointsGrpc.newFutureStub(interceptedChannel)
         .withCallCredentials(callCredentials)
+        .withExecutor(executor)
         .withDeadline(
             timeout != null ? Deadline.after(timeout.toMillis(), TimeUnit.MILLISECONDS) : null);
   }
@@ -167,6 +280,7 @@ public PointsFutureStub points() {
   public CollectionsFutureStub collections() {
     return CollectionsGrpc.newFutureStub(interceptedChannel)
         .withCallCredentials(callCredentials)
+        .withExecutor(executor)
         .withDeadline(
             timeout != null ? Deadline.after(timeout.toMillis(), TimeUnit.MILLISECONDS) : null);
   }
@@ -179,42 +293,127 @@ public CollectionsFutureStub collections() {
   public SnapshotsFutureStub snapshots() {
     return SnapshotsGrpc.newFutureStub(interceptedChannel)
         .withCallCredentials(callCredentials)
+        .withExecutor(executor)
         .withDeadline(
             timeout != null ? Deadline.after(timeout.toMillis(), TimeUnit.MILLISECONDS) : null);
   }
 
+  /**
+   * Creates a new call with the credentials of the client, without going through a stub.
+   *
+   * @param method The method to call.
+   * @param timeout The timeout for the call, or null to use the timeout of the client.
+   * @return a new instance of {@link ClientCall}
+   */
+  <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, @Nullable Duration timeout) {
+    Duration callTimeout = timeout != null ? timeout : this.timeout;
+    CallOptions callOptions =
+        CallOptions.DEFAULT.withCallCredentials(callCredentials).withExecutor(executor);
+    if (callTimeout != null) {
+      callOptions = callOptions.withDeadlineAfter(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    return interceptedChannel.newCall(method, callOptions);
+  }
+
+  /**
+   * Creates a new stub with the credentials of the client.
+   *
+   * @param newStub The factory of the stub, such as {@code PointsGrpc::newBlockingStub}.
+   * @param timeout The timeout for calls of the stub, or null to use the timeout of the client.
+   * @return a new instance of the stub
+   */
+  <S extends AbstractStub<S>> S newStub(Function<Channel, S> newStub, @Nullable Duration timeout) {
+    Duration callTimeout = timeout != null ? timeout : this.timeout;
+    S stub =
+        newStub
+            .apply(interceptedChannel)
+            .withCallCredentials(callCredentials)
+            .withExecutor(executor);
+    return callTimeout != null
+        ? stub.withDeadlineAfter(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        : stub;
+  }
+
   @Override
   public void close() {
-    if (shutdownChannelOnClose && !channel.isShutdown() && !channel.isTerminated()) {
-      try {
-        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
-      } catch (InterruptedException e) {
-        logger.warn("exception thrown when shutting down channel", e);
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+    if (!shutdownChannelOnClose) {
+      return;
+    }
+    List<ManagedChannel> ownedChannels = new ArrayList<>(channels);
+    ownedChannels.addAll(peerChannels);
+    for (ManagedChannel channel : ownedChannels) {
+      if (!channel.isShutdown() && !channel.isTerminated()) {
+        channel.shutdown();
+      }
+    }
+    try {
+      for (ManagedChannel channel : ownedChannels) {
+        try {
+          channel.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          logger.warn("exception thrown when shutting down channel", e);
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    } finally {
+      if (transport != null) {
+        transport.shutdown();
       }
     }
   }
 
   /** builder for {@link QdrantGrpcClient} */
   public static class Builder {
-    private final ManagedChannel channel;
+    @Nullable private final List<ManagedChannel> channels;
+    @Nullable private final String host;
+    private final int port;
+    private final boolean useTransportLayerSecurity;
     private final boolean shutdownChannelOnClose;
     private final boolean checkCompatibility;
+    private int channelPoolSize = 1;
     @Nullable private String apiKey;
     @Nullable private CallCredentials callCredentials;
     @Nullable private Duration timeout;
     @Nullable private Map<String, String> headers;
+    @Nullable private Map<Long, ManagedChannel> peerChannels;
+    @Nullable private Duration shardTopologyTtl;
+    @Nullable private ClientMetrics metrics;
+    @Nullable private HedgingPolicy hedgingPolicy;
+    @Nullable private RetryPolicy retryPolicy;
+    @Nullable private ConcurrencyLimitPolicy concurrencyLimitPolicy;
+    @Nullable private QueryCachePolicy queryCachePolicy;
+    @Nullable private PointCachePolicy pointCachePolicy;
+    @Nullable private MetadataCachePolicy metadataCachePolicy;
+    @Nullable private Executor executor;
+    private int eventLoopThreads;
+    private boolean nativeTransport;
+    private boolean pooledDirectBuffers;
 
     Builder(ManagedChannel channel, boolean shutdownChannelOnClose, boolean checkCompatibility) {
-      this.channel = channel;
+      this(Collections.singletonList(channel), shutdownChannelOnClose, checkCompatibility);
+    }
+
+    Builder(
+        List<ManagedChannel> channels, boolean shutdownChannelOnClose, boolean checkCompatibility) {
+      Preconditions.checkArgument(!channels.isEmpty(), "Channels must not be empty");
+      this.channels = channels;
+      this.host = null;
+      this.port = 0;
+      this.useTransportLayerSecurity = false;
       this.shutdownChannelOnClose = shutdownChannelOnClose;
       this.checkCompatibility = checkCompatibility;
     }
 
     Builder(String host, int port, boolean useTransportLayerSecurity, boolean checkCompatibility) {
-      String clientVersion = Builder.class.getPackage().getImplementationVersion();
-      String javaVersion = System.getProperty("java.version");
-      String userAgent = "java-client/" + clientVersion + " java/" + javaVersion;
-      this.channel = createChannel(host, port, useTransportLayerSecurity, userAgent);
+      this.channels = null;
+      this.host = host;
+      this.port = port;
+      this.useTransportLayerSecurity = useTransportLayerSecurity;
       this.shutdownChannelOnClose = true;
       this.checkCompatibility = checkCompatibility;
     }
@@ -267,6 +466,208 @@ public Builder withHeaders(Map<String, String> headers) {
       return this;
     }
 
+    /**
+     * Enables routing of requests carrying a shard key selector directly to a peer holding active
+     * replicas of the selected shards. The shard topology of each collection is fetched with the
+     * collection cluster info API and cached. Requests that cannot be routed go to the default
+     * channel.
+     *
+     * <p>Peer ids are those reported by the cluster info of the collection. The peer channels are
+     * shutdown on client close if the client's channel is.
+     *
+     * @param peerChannels The channels to each peer, keyed by peer id.
+     * @return this
+     */
+    public Builder withShardRouting(Map<Long, ManagedChannel> peerChannels) {
+      this.peerChannels = peerChannels;
+      return this;
+    }
+
+    /**
+     * Sets how long the shard topology of a collection is cached when shard routing is enabled.
+     * The topology is also fetched again after a routed request fails with a status indicating a
+     * stale topology. Defaults to 30 seconds.
+     *
+     * @param shardTopologyTtl The time to live of the topology.
+     * @return this
+     */
+    public Builder withShardTopologyTtl(Duration shardTopologyTtl) {
+      Preconditions.checkArgument(!shardTopologyTtl.isNegative(), "TTL must not be negative");
+      this.shardTopologyTtl = shardTopologyTtl;
+      return this;
+    }
+
+    /**
+     * Sets the number of channels the client opens to the host. Calls are spread across the
+     * channels, each call going to the channel with the fewest outstanding calls. Only applies to
+     * builders created from a host. Defaults to 1.
+     *
+     * @param channelPoolSize The number of channels.
+     * @return this
+     */
+    public Builder withChannelPoolSize(int channelPoolSize) {
+      Preconditions.checkArgument(channelPoolSize > 0, "Channel pool size must be positive");
+      Preconditions.checkState(
+          host != null, "Channel pool size can only be set on builders created from a host");
+      this.channelPoolSize = channelPoolSize;
+      return this;
+    }
+
+    /**
+     * Sets the metrics to report every call to, with its method, collection, latency, status code
+     * and request and response sizes on the wire.
+     *
+     * @param metrics The metrics to report calls to.
+     * @return this
+     */
+    public Builder withMetrics(ClientMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Enables hedging of reads: a read that has not completed after the delay of the policy is sent
+     * again, and the first response is taken. Only idempotent reads of points are hedged.
+     *
+     * @param hedgingPolicy The hedging policy.
+     * @return this
+     */
+    public Builder withHedging(HedgingPolicy hedgingPolicy) {
+      this.hedgingPolicy = hedgingPolicy;
+      return this;
+    }
+
+    /**
+     * Enables retries of calls failing with a transient error, such as while a node restarts. Only
+     * calls that are safe to apply twice are retried, and retries end at the deadline of the call.
+     *
+     * @param retryPolicy The retry policy.
+     * @return this
+     */
+    public Builder withRetry(RetryPolicy retryPolicy) {
+      this.retryPolicy = retryPolicy;
+      return this;
+    }
+
+    /**
+     * Limits the number of calls in flight with a limit adapting to the latency of the server.
+     * Calls beyond the limit wait for calls in flight to complete, or are rejected when too many
+     * calls are waiting. The limit applies to calls including their retries.
+     *
+     * @param concurrencyLimitPolicy The concurrency limit policy.
+     * @return this
+     */
+    public Builder withConcurrencyLimit(ConcurrencyLimitPolicy concurrencyLimitPolicy) {
+      this.concurrencyLimitPolicy = concurrencyLimitPolicy;
+      return this;
+    }
+
+    /**
+     * Enables caching of the results of queries, searches and recommendations in the client.
+     * Results of a collection are invalidated when this client changes its points.
+     *
+     * @param queryCachePolicy The query cache policy.
+     * @return this
+     */
+    public Builder withQueryCache(QueryCachePolicy queryCachePolicy) {
+      this.queryCachePolicy = queryCachePolicy;
+      return this;
+    }
+
+    /**
+     * Enables caching of points retrieved by id in the client. Only points missing from the cache
+     * are retrieved from the server, and points are invalidated when this client changes them.
+     *
+     * @param pointCachePolicy The point cache policy.
+     * @return this
+     */
+    public Builder withPointCache(PointCachePolicy pointCachePolicy) {
+      this.pointCachePolicy = pointCachePolicy;
+      return this;
+    }
+
+    /**
+     * Enables caching of collection info, existence and aliases in the client. Entries are
+     * refreshed in the background as they are served, and invalidated when this client changes
+     * collections or aliases.
+     *
+     * @param metadataCachePolicy The metadata cache policy.
+     * @return this
+     */
+    public Builder withMetadataCache(MetadataCachePolicy metadataCachePolicy) {
+      this.metadataCachePolicy = metadataCachePolicy;
+      return this;
+    }
+
+    /**
+     * Sets the executor on which responses are delivered and futures returned by the client
+     * complete, so continuations added with {@link
+     * com.google.common.util.concurrent.MoreExecutors#directExecutor()} run on it. Responses are
+     * never delivered on network threads; without an executor, they are delivered on the shared
+     * cached thread pool of gRPC, or on the executor of the channel when one was set, except for
+     * calls the client completes without a response of the server, such as cache hits and
+     * rejections of the concurrency limit, which then complete on the calling thread. The executor
+     * is not shutdown by the client.
+     *
+     * @param executor The executor.
+     * @return this
+     */
+    public Builder withExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the number of event loop threads reading and writing the sockets of the channels the
+     * client creates. The threads are shared by the channels of the client and stopped on client
+     * close. Only applies to builders created from a host. Defaults to the event loop group shared
+     * by all gRPC channels.
+     *
+     * @param eventLoopThreads The number of threads.
+     * @return this
+     */
+    public Builder withEventLoopThreads(int eventLoopThreads) {
+      Preconditions.checkArgument(eventLoopThreads > 0, "Event loop threads must be positive");
+      Preconditions.checkState(
+          host != null, "Event loop threads can only be set on builders created from a host");
+      this.eventLoopThreads = eventLoopThreads;
+      return this;
+    }
+
+    /**
+     * Sets whether the channels the client creates use the native epoll transport, which makes
+     * fewer system calls and copies than the default NIO transport. Falls back to NIO with a
+     * warning where epoll is unavailable, such as outside Linux. The epoll transport cannot use the
+     * event loop group shared by all gRPC channels, so the client then creates its own, with the
+     * default number of threads of Netty unless {@link #withEventLoopThreads(int)} is set. Only
+     * applies to builders created from a host. Defaults to <code>false</code>.
+     *
+     * @param nativeTransport Whether to use the native transport.
+     * @return this
+     */
+    public Builder withNativeTransport(boolean nativeTransport) {
+      Preconditions.checkState(
+          host != null, "Native transport can only be set on builders created from a host");
+      this.nativeTransport = nativeTransport;
+      return this;
+    }
+
+    /**
+     * Sets whether the channels the client creates allocate their buffers from a pool of direct
+     * buffers, so messages are read and written without copying them to and from the heap, and
+     * buffers are reused instead of being collected. Only applies to builders created from a host.
+     * Defaults to <code>false</code>, using the allocator chosen by gRPC.
+     *
+     * @param pooledDirectBuffers Whether to use pooled direct buffers.
+     * @return this
+     */
+    public Builder withPooledDirectBuffers(boolean pooledDirectBuffers) {
+      Preconditions.checkState(
+          host != null, "Pooled direct buffers can only be set on builders created from a host");
+      this.pooledDirectBuffers = pooledDirectBuffers;
+      return this;
+    }
+
     /**
      * Builds a new instance of {@link QdrantGrpcClient}
      *
@@ -278,17 +679,42 @@ public QdrantGrpcClient build() {
         credentials = new MetadataCredentials(apiKey, headers);
       }
 
+      NettyTransport transport =
+          this.channels == null && (eventLoopThreads > 0 || nativeTransport || pooledDirectBuffers)
+              ? new NettyTransport(eventLoopThreads, nativeTransport, pooledDirectBuffers)
+              : null;
+      List<ManagedChannel> channels =
+          this.channels != null ? this.channels : createChannels(transport);
+
       if (checkCompatibility) {
         String clientVersion = Builder.class.getPackage().getImplementationVersion();
-        checkVersionsCompatibility(clientVersion, credentials);
+        checkVersionsCompatibility(channels.get(0), clientVersion, credentials);
       }
 
-      return new QdrantGrpcClient(channel, shutdownChannelOnClose, credentials, timeout);
+      return new QdrantGrpcClient(this, channels, credentials, transport);
+    }
+
+    private List<ManagedChannel> createChannels(@Nullable NettyTransport transport) {
+      String clientVersion = Builder.class.getPackage().getImplementationVersion();
+      String javaVersion = System.getProperty("java.version");
+      String userAgent = "java-client/" + clientVersion + " java/" + javaVersion;
+      List<ManagedChannel> channels = new ArrayList<>(channelPoolSize);
+      for (int i = 0; i < channelPoolSize; i++) {
+        channels.add(createChannel(host, port, useTransportLayerSecurity, userAgent, transport));
+      }
+      return channels;
     }
 
     private static ManagedChannel createChannel(
-        String host, int port, boolean useTransportLayerSecurity, String userAgent) {
-      ManagedChannelBuilder<?> channelBuilder = ManagedChannelBuilder.forAddress(host, port);
+        String host,
+        int port,
+        boolean useTransportLayerSecurity,
+        String userAgent,
+        @Nullable NettyTransport transport) {
+      ManagedChannelBuilder<?> channelBuilder =
+          transport != null
+              ? transport.newChannelBuilder(host, port)
+              : ManagedChannelBuilder.forAddress(host, port);
 
       if (useTransportLayerSecurity) {
         channelBuilder.useTransportSecurity();
@@ -302,10 +728,10 @@ private static ManagedChannel createChannel(
     }
 
     private void checkVersionsCompatibility(
-        String clientVersion, @Nullable CallCredentials credentials) {
+        ManagedChannel channel, String clientVersion, @Nullable CallCredentials credentials) {
       try {
         String serverVersion =
-            QdrantGrpc.newBlockingStub(this.channel)
+            QdrantGrpc.newBlockingStub(channel)
                 .withCallCredentials(credentials)
                 .healthCheck(QdrantOuterClass.HealthCheckRequest.getDefaultInstance())
                 .getVersion();
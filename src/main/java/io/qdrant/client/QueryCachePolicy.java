@@ -0,0 +1,97 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import java.time.Duration;
+
+/**
+ * Policy for caching the results of queries, searches and recommendations in the client. Identical
+ * requests made while an entry is cached are answered by the client without a call to the server.
+ * Requests are identical when they are equal apart from their timeout, and are made with the same
+ * call credentials and the same headers attached with {@link RequestHeaders}, so that results read
+ * with the API key or JWT of one caller are never served to another. A header that changes with
+ * every request, such as a request id, thus leaves its requests uncached.
+ *
+ * <p>Entries expire after the time to live, and the least recently used entries are evicted when
+ * the cache is full. Entries of a collection are invalidated whenever this client changes its
+ * points, and all entries are invalidated whenever this client changes collections or aliases.
+ * Changes made by other clients are only seen once entries expire, so the time to live bounds how
+ * stale results can be. Likewise, results are cached per name the collection is queried through,
+ * and results of requests made through an alias are not invalidated by changes made through the
+ * name of the collection, nor the other way round.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withQueryCache(
+ *             QueryCachePolicy.newBuilder().withTimeToLive(Duration.ofSeconds(5)).build())
+ *         .build();
+ * }</pre>
+ */
+public final class QueryCachePolicy {
+  private final long maximumSize;
+  private final Duration timeToLive;
+
+  private QueryCachePolicy(Builder builder) {
+    this.maximumSize = builder.maximumSize;
+    this.timeToLive = builder.timeToLive;
+  }
+
+  /**
+   * Creates a new builder to build a query cache policy.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  long maximumSize() {
+    return maximumSize;
+  }
+
+  Duration timeToLive() {
+    return timeToLive;
+  }
+
+  /** builder for {@link QueryCachePolicy} */
+  public static class Builder {
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofSeconds(10);
+
+    Builder() {}
+
+    /**
+     * Sets the maximum number of cached results. Defaults to 10000.
+     *
+     * @param maximumSize The maximum number of entries.
+     * @return this
+     */
+    public Builder withMaximumSize(long maximumSize) {
+      Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the time after which a cached result expires. Defaults to 10 seconds.
+     *
+     * @param timeToLive The time to live of entries.
+     * @return this
+     */
+    public Builder withTimeToLive(Duration timeToLive) {
+      Preconditions.checkArgument(
+          !timeToLive.isNegative() && !timeToLive.isZero(), "Time to live must be positive");
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link QueryCachePolicy}
+     *
+     * @return a new instance of {@link QueryCachePolicy}
+     */
+    public QueryCachePolicy build() {
+      return new QueryCachePolicy(this);
+    }
+  }
+}
@@ -0,0 +1,287 @@
+package io.qdrant.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Channel} caching the responses of queries, searches and recommendations according to a
+ * {@link QueryCachePolicy}, and invalidating them when the client changes points or collections.
+ *
+ * <p>Invalidation is lazy: every collection has a generation, incremented when a change of the
+ * collection starts and when it completes. A response is cached with the generation of its
+ * collection when its request started, and is only served while the generation is unchanged, so
+ * a response read before or during a change is never served after it.
+ */
+final class QueryCachingChannel extends Channel {
+  private static final Logger logger = LoggerFactory.getLogger(QueryCachingChannel.class);
+  private static final String TIMEOUT_FIELD = "timeout";
+
+  static final Set<String> CACHED_METHODS =
+      ImmutableSet.of(
+          PointsGrpc.getQueryMethod().getFullMethodName(),
+          PointsGrpc.getQueryBatchMethod().getFullMethodName(),
+          PointsGrpc.getSearchMethod().getFullMethodName(),
+          PointsGrpc.getSearchBatchMethod().getFullMethodName(),
+          PointsGrpc.getRecommendMethod().getFullMethodName(),
+          PointsGrpc.getRecommendBatchMethod().getFullMethodName());
+
+  /** The methods changing the points of the collection of their request. */
+  static final Set<String> POINTS_WRITE_METHODS =
+      ImmutableSet.of(
+          PointsGrpc.getUpsertMethod().getFullMethodName(),
+          PointsGrpc.getDeleteMethod().getFullMethodName(),
+          PointsGrpc.getUpdateVectorsMethod().getFullMethodName(),
+          PointsGrpc.getDeleteVectorsMethod().getFullMethodName(),
+          PointsGrpc.getSetPayloadMethod().getFullMethodName(),
+          PointsGrpc.getOverwritePayloadMethod().getFullMethodName(),
+          PointsGrpc.getDeletePayloadMethod().getFullMethodName(),
+          PointsGrpc.getClearPayloadMethod().getFullMethodName(),
+          PointsGrpc.getUpdateBatchMethod().getFullMethodName(),
+          PointsGrpc.getDeleteVectorNameMethod().getFullMethodName());
+
+  /** The methods changing collections or aliases, which may change any cached response. */
+  static final Set<String> COLLECTIONS_WRITE_METHODS =
+      ImmutableSet.of(
+          CollectionsGrpc.getCreateMethod().getFullMethodName(),
+          CollectionsGrpc.getUpdateMethod().getFullMethodName(),
+          CollectionsGrpc.getDeleteMethod().getFullMethodName(),
+          CollectionsGrpc.getUpdateAliasesMethod().getFullMethodName(),
+          CollectionsGrpc.getCreateShardKeyMethod().getFullMethodName(),
+          CollectionsGrpc.getDeleteShardKeyMethod().getFullMethodName());
+
+  private final Channel delegate;
+  @Nullable private final ClientMetrics metrics;
+  private final Cache<Key, Entry> cache;
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  private final AtomicLong globalGeneration = new AtomicLong();
+
+  QueryCachingChannel(Channel delegate, QueryCachePolicy policy, @Nullable ClientMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(policy.maximumSize())
+            .expireAfterWrite(policy.timeToLive().toNanos(), TimeUnit.NANOSECONDS)
+            .build();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    String methodName = method.getFullMethodName();
+    if (CACHED_METHODS.contains(methodName)) {
+      return new CachingCall<>(method, callOptions);
+    }
+    if (POINTS_WRITE_METHODS.contains(methodName)
+        || COLLECTIONS_WRITE_METHODS.contains(methodName)) {
+      return new InvalidatingCall<>(delegate.newCall(method, callOptions), methodName);
+    }
+    return delegate.newCall(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  private AtomicLong generation(String collectionName) {
+    AtomicLong generation = generations.get(collectionName);
+    if (generation == null) {
+      generation = generations.computeIfAbsent(collectionName, c -> new AtomicLong());
+    }
+    return generation;
+  }
+
+  private void invalidate(String method, @Nullable String collectionName) {
+    if (COLLECTIONS_WRITE_METHODS.contains(method)) {
+      globalGeneration.incrementAndGet();
+    } else if (collectionName != null) {
+      generation(collectionName).incrementAndGet();
+    }
+  }
+
+  private void accessed(String method, String collectionName, boolean hit) {
+    if (metrics == null) {
+      return;
+    }
+    try {
+      metrics.cacheAccessed(method, collectionName, hit);
+    } catch (RuntimeException e) {
+      logger.warn("Recording an access to the query cache for {} failed", method, e);
+    }
+  }
+
+  /**
+   * Serializes a request without its timeout, deterministically so that equal requests with maps
+   * are serialized alike.
+   */
+  static ByteString serialize(Message request) {
+    Descriptors.FieldDescriptor timeout =
+        request.getDescriptorForType().findFieldByName(TIMEOUT_FIELD);
+    if (timeout != null && request.hasField(timeout)) {
+      request = request.toBuilder().clearField(timeout).build();
+    }
+    byte[] bytes = new byte[request.getSerializedSize()];
+    CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+    output.useDeterministicSerialization();
+    try {
+      request.writeTo(output);
+    } catch (IOException e) {
+      throw new IllegalStateException("Serializing a request to a byte array failed", e);
+    }
+    output.checkNoSpaceLeft();
+    return ByteString.copyFrom(bytes);
+  }
+
+  /** A cacheable request, with the method and the scope of the call. */
+  private static final class Key {
+    private final String method;
+    private final ByteString request;
+    private final CacheScope scope;
+
+    Key(String method, ByteString request, CacheScope scope) {
+      this.method = method;
+      this.request = request;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return method.equals(key.method) && request.equals(key.request) && scope.equals(key.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * method.hashCode() + request.hashCode()) + scope.hashCode();
+    }
+  }
+
+  /** A cached response, with the generations it was read at. */
+  private static final class Entry {
+    private final Object response;
+    private final long generation;
+    private final long globalGeneration;
+
+    Entry(Object response, long generation, long globalGeneration) {
+      this.response = response;
+      this.generation = generation;
+      this.globalGeneration = globalGeneration;
+    }
+  }
+
+  /** A call answered from the cache when possible, and caching its response otherwise. */
+  private final class CachingCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    private final CacheScope scope;
+    @Nullable private volatile Key key;
+    private volatile long generation;
+    private volatile long startGlobalGeneration;
+
+    CachingCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+      this.scope = CacheScope.of(callOptions);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void onHalfClose() {
+      ReqT request = request();
+      String collectionName = ShardRoutingChannel.collectionName(request);
+      if (!(request instanceof Message) || collectionName == null) {
+        startAttempt();
+        return;
+      }
+      Key key = new Key(methodName(), serialize((Message) request), scope);
+      long generation = generation(collectionName).get();
+      long globalGeneration = QueryCachingChannel.this.globalGeneration.get();
+      Entry entry = cache.getIfPresent(key);
+      boolean hit =
+          entry != null
+              && entry.generation == generation
+              && entry.globalGeneration == globalGeneration;
+      accessed(methodName(), collectionName, hit);
+      if (hit) {
+        complete((RespT) entry.response);
+        return;
+      }
+      this.key = key;
+      this.generation = generation;
+      this.startGlobalGeneration = globalGeneration;
+      startAttempt();
+    }
+
+    @Override
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      Key key = this.key;
+      RespT response = attempt.response();
+      if (status.isOk() && key != null && response != null) {
+        // served only while no change started since the request did
+        cache.put(key, new Entry(response, generation, startGlobalGeneration));
+      }
+      commit(attempt, status, trailers);
+    }
+  }
+
+  /** A change of points or collections, invalidating cached responses when it starts and ends. */
+  private final class InvalidatingCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final String method;
+    @Nullable private volatile String collectionName;
+
+    InvalidatingCall(ClientCall<ReqT, RespT> delegate, String method) {
+      super(delegate);
+      this.method = method;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      super.start(
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              invalidate(method, collectionName);
+              super.onClose(status, trailers);
+            }
+          },
+          headers);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      collectionName = ShardRoutingChannel.collectionName(message);
+      invalidate(method, collectionName);
+      super.sendMessage(message);
+    }
+  }
+}
@@ -0,0 +1,362 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ReadConsistency;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * Coalesces concurrent queries into batch queries.
+ *
+ * <p>Queries for the same collection with the same read consistency and server-side timeout are
+ * gathered for a short window and sent as a single {@link QdrantClient#queryBatchAsync} call. The
+ * batch is sent early when it reaches the configured size. The results of the batch are handed
+ * back to the caller of each query. Queries from different callers are never merged, each keeps its
+ * own limit, filter and parameters.
+ *
+ * <pre>{@code
+ * try (QueryCoalescer coalescer = QueryCoalescer.newBuilder(client).build()) {
+ *   ListenableFuture<List<ScoredPoint>> points = coalescer.queryAsync(request);
+ * }
+ * }</pre>
+ */
+public class QueryCoalescer implements AutoCloseable {
+  private final QdrantClient client;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  @Nullable private final Duration timeout;
+  private final ScheduledExecutorService scheduler;
+  private final boolean shutdownSchedulerOnClose;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<BatchKey, Batch> pending = new HashMap<>();
+  private boolean closed;
+
+  private QueryCoalescer(Builder builder) {
+    this.client = builder.client;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.windowNanos = builder.window.toNanos();
+    this.timeout = builder.timeout;
+    if (builder.scheduler != null) {
+      this.scheduler = builder.scheduler;
+      this.shutdownSchedulerOnClose = false;
+    } else {
+      this.scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("qdrant-query-coalescer-%d")
+                  .build());
+      this.shutdownSchedulerOnClose = true;
+    }
+  }
+
+  /**
+   * Creates a new builder to build a query coalescer.
+   *
+   * @param client The client used to send batch queries.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client) {
+    return new Builder(client);
+  }
+
+  /**
+   * Adds a query to the batch of its collection.
+   *
+   * @param request the query request
+   * @return a new instance of {@link ListenableFuture}
+   * @throws IllegalStateException if the coalescer has been closed.
+   */
+  public ListenableFuture<List<ScoredPoint>> queryAsync(QueryPoints request) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    SettableFuture<List<ScoredPoint>> future = SettableFuture.create();
+    BatchKey key = new BatchKey(request);
+    Batch full = null;
+
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Query coalescer has been closed");
+      }
+      Batch batch = pending.get(key);
+      if (batch == null) {
+        batch = new Batch(key);
+        pending.put(key, batch);
+        Batch scheduled = batch;
+        batch.windowTask =
+            scheduler.schedule(() -> flush(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+      }
+      batch.add(request, future);
+      if (batch.size() >= maxBatchSize) {
+        full = take(batch);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (full != null) {
+      send(full);
+    }
+    return future;
+  }
+
+  /** Sends all pending batches without waiting for their window to elapse. */
+  public void flush() {
+    List<Batch> batches;
+    lock.lock();
+    try {
+      batches = new ArrayList<>(pending.values());
+      for (Batch batch : batches) {
+        take(batch);
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (Batch batch : batches) {
+      send(batch);
+    }
+  }
+
+  /** Sends all pending batches. Queries added after the coalescer is closed are rejected. */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+
+    flush();
+    if (shutdownSchedulerOnClose) {
+      scheduler.shutdown();
+    }
+  }
+
+  private void flush(Batch batch) {
+    lock.lock();
+    try {
+      if (pending.get(batch.key) != batch) {
+        return;
+      }
+      take(batch);
+    } finally {
+      lock.unlock();
+    }
+    send(batch);
+  }
+
+  private Batch take(Batch batch) {
+    pending.remove(batch.key);
+    if (batch.windowTask != null) {
+      batch.windowTask.cancel(false);
+      batch.windowTask = null;
+    }
+    return batch;
+  }
+
+  private void send(Batch batch) {
+    if (batch.size() == 1) {
+      ListenableFuture<List<ScoredPoint>> future;
+      try {
+        future = client.queryAsync(batch.queries.get(0), timeout);
+      } catch (RuntimeException e) {
+        future = Futures.immediateFailedFuture(e);
+      }
+      batch.futures.get(0).setFuture(future);
+      return;
+    }
+
+    ListenableFuture<List<BatchResult>> future;
+    try {
+      future =
+          client.queryBatchAsync(
+              batch.key.collectionName, batch.queries, batch.key.readConsistency, timeout);
+    } catch (RuntimeException e) {
+      future = Futures.immediateFailedFuture(e);
+    }
+    Futures.addCallback(
+        future,
+        new FutureCallback<List<BatchResult>>() {
+          @Override
+          public void onSuccess(List<BatchResult> results) {
+            batch.complete(results);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            batch.fail(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  /** Queries that can share a batch request. */
+  private static final class BatchKey {
+    private final String collectionName;
+    @Nullable private final ReadConsistency readConsistency;
+    @Nullable private final Long serverTimeout;
+
+    BatchKey(QueryPoints request) {
+      this.collectionName = request.getCollectionName();
+      this.readConsistency = request.hasReadConsistency() ? request.getReadConsistency() : null;
+      this.serverTimeout = request.hasTimeout() ? request.getTimeout() : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof BatchKey)) {
+        return false;
+      }
+      BatchKey other = (BatchKey) o;
+      return collectionName.equals(other.collectionName)
+          && Objects.equals(readConsistency, other.readConsistency)
+          && Objects.equals(serverTimeout, other.serverTimeout);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(collectionName, readConsistency, serverTimeout);
+    }
+  }
+
+  private static final class Batch {
+    private final BatchKey key;
+    private final List<QueryPoints> queries = new ArrayList<>();
+    private final List<SettableFuture<List<ScoredPoint>>> futures = new ArrayList<>();
+    @Nullable private ScheduledFuture<?> windowTask;
+
+    Batch(BatchKey key) {
+      this.key = key;
+    }
+
+    void add(QueryPoints query, SettableFuture<List<ScoredPoint>> future) {
+      queries.add(query);
+      futures.add(future);
+    }
+
+    int size() {
+      return queries.size();
+    }
+
+    void complete(List<BatchResult> results) {
+      if (results.size() != futures.size()) {
+        fail(
+            new QdrantException(
+                "Expected "
+                    + futures.size()
+                    + " batch results from '"
+                    + key.collectionName
+                    + "' but got "
+                    + results.size()));
+        return;
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        futures.get(i).set(results.get(i).getResultList());
+      }
+    }
+
+    void fail(Throwable t) {
+      for (SettableFuture<List<ScoredPoint>> future : futures) {
+        future.setException(t);
+      }
+    }
+  }
+
+  /** builder for {@link QueryCoalescer} */
+  public static class Builder {
+    private final QdrantClient client;
+    private int maxBatchSize = 64;
+    private Duration window = Duration.ofMillis(2);
+    @Nullable private Duration timeout;
+    @Nullable private ScheduledExecutorService scheduler;
+
+    Builder(QdrantClient client) {
+      this.client = client;
+    }
+
+    /**
+     * Sets the maximum number of queries in a batch. Defaults to 64.
+     *
+     * @param maxBatchSize The maximum number of queries.
+     * @return this
+     */
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      Preconditions.checkArgument(maxBatchSize > 0, "Max batch size must be positive");
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the time a batch gathers queries, starting with its first query. Defaults to 2
+     * milliseconds.
+     *
+     * @param window The window.
+     * @return this
+     */
+    public Builder withWindow(Duration window) {
+      Preconditions.checkArgument(!window.isNegative(), "Window must not be negative");
+      this.window = window;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each batch request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Sets the scheduler used to send batches when their window elapses. The scheduler is not
+     * shutdown when the coalescer is closed. By default, the coalescer uses its own single thread.
+     *
+     * @param scheduler The scheduler.
+     * @return this
+     */
+    public Builder withScheduler(ScheduledExecutorService scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link QueryCoalescer}
+     *
+     * @return a new instance of {@link QueryCoalescer}
+     */
+    public QueryCoalescer build() {
+      return new QueryCoalescer(this);
+    }
+  }
+}
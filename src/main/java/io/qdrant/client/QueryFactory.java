@@ -20,6 +20,7 @@
 import io.qdrant.client.grpc.Points.Rrf;
 import io.qdrant.client.grpc.Points.Sample;
 import io.qdrant.client.grpc.Points.VectorInput;
+import java.nio.FloatBuffer;
 import java.util.List;
 import java.util.UUID;
 
@@ -140,6 +141,28 @@ public static Query nearest(float... values) {
     return Query.newBuilder().setNearest(vectorInput(values)).build();
   }
 
+  /**
+   * Creates a {@link Query} from a slice of an array of floats
+   *
+   * @param values The array containing the values.
+   * @param offset The index of the first value.
+   * @param length The number of values.
+   * @return A new instance of {@link Query}
+   */
+  public static Query nearest(float[] values, int offset, int length) {
+    return Query.newBuilder().setNearest(vectorInput(values, offset, length)).build();
+  }
+
+  /**
+   * Creates a {@link Query} from the remaining floats of a buffer
+   *
+   * @param values The buffer containing the values.
+   * @return A new instance of {@link Query}
+   */
+  public static Query nearest(FloatBuffer values) {
+    return Query.newBuilder().setNearest(vectorInput(values)).build();
+  }
+
   /**
    * Creates a {@link Query} from a list of floats and integers as indices
    *
@@ -151,6 +174,35 @@ public static Query nearest(List<Float> values, List<Integer> indices) {
     return Query.newBuilder().setNearest(vectorInput(values, indices)).build();
   }
 
+  /**
+   * Creates a {@link Query} from an array of floats and an array of integers as indices
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @return A new instance of {@link Query}
+   */
+  public static Query nearest(float[] values, int[] indices) {
+    return Query.newBuilder().setNearest(vectorInput(values, indices)).build();
+  }
+
+  /**
+   * Creates a {@link Query} from a slice of an array of floats and the same slice of an array of
+   * integers as indices. Optionally, the slices are first sorted by index in place.
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @param offset The index of the first value and index.
+   * @param length The number of values and indices.
+   * @param sortIndices Whether to sort the slices by index in place and reject duplicate indices.
+   * @return A new instance of {@link Query}
+   */
+  public static Query nearest(
+      float[] values, int[] indices, int offset, int length, boolean sortIndices) {
+    return Query.newBuilder()
+        .setNearest(vectorInput(values, indices, offset, length, sortIndices))
+        .build();
+  }
+
   /**
    * Creates a {@link Query} from a nested array of floats representing a multi vector
    *
@@ -0,0 +1,333 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * A unary call that can be attempted several times on a channel. The request is buffered until the
+ * call is half closed, and is then sent by every attempt started by the subclass. The response of
+ * each attempt is buffered until the subclass commits to an attempt, whose response is delivered to
+ * the listener of the call. Attempts still in flight when committing are cancelled.
+ *
+ * <p>Attempts are started in the context of the call, and with a copy of its headers. A call
+ * completed without an attempt is delivered on the executor of the call when it has one, as the
+ * responses of attempts are.
+ */
+abstract class ReplayingCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+  private final Channel channel;
+  private final MethodDescriptor<ReqT, RespT> method;
+  private final CallOptions callOptions;
+  private final Context context;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final List<Attempt> attempts = new ArrayList<>();
+
+  @Nullable private Listener<RespT> listener;
+  @Nullable private Metadata headers;
+  @Nullable private ReqT message;
+  private int requested;
+  private boolean halfClosed;
+  private boolean cancelled;
+  private boolean committed;
+
+  ReplayingCall(Channel channel, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    this.channel = channel;
+    this.method = method;
+    this.callOptions = callOptions;
+    this.context = Context.current();
+  }
+
+  /** Called once the whole request is buffered, to start the first attempt. */
+  abstract void onHalfClose();
+
+  /**
+   * Called when an attempt closes, before anything is delivered to the listener of the call. The
+   * subclass either commits to the attempt, or starts or waits for another one.
+   */
+  abstract void onAttemptClosed(Attempt attempt, Status status, Metadata trailers);
+
+  /**
+   * Called when the caller cancels the call. Attempts in flight are then cancelled and closed as
+   * usual, and no more attempts can be started.
+   */
+  void onCancel() {}
+
+  /**
+   * Starts a new attempt sending the buffered request.
+   *
+   * @return the attempt, or null if the call is already committed or cancelled
+   */
+  @Nullable
+  final Attempt startAttempt() {
+    Attempt attempt;
+    lock.lock();
+    try {
+      if (committed || cancelled) {
+        return null;
+      }
+      Preconditions.checkState(halfClosed, "Attempts start after the call is half closed");
+      Context previous = context.attach();
+      try {
+        attempt = new Attempt(channel.newCall(method, callOptions), attempts.size());
+      } finally {
+        context.detach(previous);
+      }
+      attempts.add(attempt);
+    } finally {
+      lock.unlock();
+    }
+
+    Metadata attemptHeaders = new Metadata();
+    attemptHeaders.merge(headers);
+    attempt.call.start(attempt, attemptHeaders);
+    if (requested > 0) {
+      attempt.call.request(requested);
+    }
+    attempt.call.sendMessage(message);
+    attempt.call.halfClose();
+    return attempt;
+  }
+
+  /**
+   * Commits to an attempt, delivering its response to the listener of the call and cancelling the
+   * other attempts in flight. Only the first commit is delivered.
+   */
+  final void commit(Attempt attempt, Status status, Metadata trailers) {
+    List<Attempt> others = new ArrayList<>();
+    lock.lock();
+    try {
+      if (committed) {
+        return;
+      }
+      committed = true;
+      for (Attempt other : attempts) {
+        if (other != attempt && !other.closed) {
+          others.add(other);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    for (Attempt other : others) {
+      other.call.cancel("Another attempt completed", null);
+    }
+    if (attempt.headers != null) {
+      listener.onHeaders(attempt.headers);
+    }
+    for (RespT response : attempt.responses) {
+      listener.onMessage(response);
+    }
+    listener.onClose(status, trailers);
+  }
+
+  /**
+   * Completes the call with the given status without committing to an attempt, such as when the
+   * call is rejected before its first attempt. Does nothing if the call is already completed.
+   */
+  final void abort(Status status) {
+    closeWithoutAttempt(null, status);
+  }
+
+  /**
+   * Completes the call successfully with the given response without committing to an attempt, such
+   * as when the response is cached. Does nothing if the call is already completed.
+   */
+  final void complete(RespT response) {
+    closeWithoutAttempt(response, Status.OK);
+  }
+
+  private void closeWithoutAttempt(@Nullable RespT response, Status status) {
+    lock.lock();
+    try {
+      if (committed) {
+        return;
+      }
+      committed = true;
+    } finally {
+      lock.unlock();
+    }
+    deliver(
+        () -> {
+          if (response != null) {
+            listener.onHeaders(new Metadata());
+            listener.onMessage(response);
+          }
+          listener.onClose(status, new Metadata());
+        });
+  }
+
+  /** Runs a delivery to the listener on the executor of the call, or right away without one. */
+  private void deliver(Runnable delivery) {
+    Executor executor = callOptions.getExecutor();
+    if (executor != null) {
+      executor.execute(delivery);
+    } else {
+      delivery.run();
+    }
+  }
+
+  /** Gets whether any attempt other than the given one is still in flight. */
+  final boolean hasOtherAttemptsInFlight(Attempt attempt) {
+    lock.lock();
+    try {
+      for (Attempt other : attempts) {
+        if (other != attempt && !other.closed) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Replaces the request sent by the attempts started afterwards. */
+  final void replaceRequest(ReqT request) {
+    this.message = request;
+  }
+
+  /** Gets the request of the call, once it is sent by the caller. */
+  @Nullable
+  final ReqT request() {
+    return message;
+  }
+
+  /** Gets the full name of the method of the call. */
+  final String methodName() {
+    return method.getFullMethodName();
+  }
+
+  @Override
+  public final void start(Listener<RespT> responseListener, Metadata headers) {
+    this.listener = responseListener;
+    this.headers = headers;
+  }
+
+  @Override
+  public final void request(int numMessages) {
+    List<Attempt> inFlight = new ArrayList<>();
+    lock.lock();
+    try {
+      requested += numMessages;
+      for (Attempt attempt : attempts) {
+        if (!attempt.closed) {
+          inFlight.add(attempt);
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (Attempt attempt : inFlight) {
+      attempt.call.request(numMessages);
+    }
+  }
+
+  @Override
+  public final void sendMessage(ReqT message) {
+    Preconditions.checkState(this.message == null, "Only unary calls can be replayed");
+    this.message = message;
+  }
+
+  @Override
+  public final void halfClose() {
+    lock.lock();
+    try {
+      halfClosed = true;
+    } finally {
+      lock.unlock();
+    }
+    onHalfClose();
+  }
+
+  @Override
+  public final void cancel(@Nullable String message, @Nullable Throwable cause) {
+    onCancel();
+    List<Attempt> inFlight = new ArrayList<>();
+    lock.lock();
+    try {
+      cancelled = true;
+      for (Attempt attempt : attempts) {
+        if (!attempt.closed) {
+          inFlight.add(attempt);
+        }
+      }
+      if (inFlight.isEmpty()) {
+        if (committed || listener == null) {
+          return;
+        }
+        committed = true;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (inFlight.isEmpty()) {
+      Status status = Status.CANCELLED;
+      if (message != null) {
+        status = status.withDescription(message);
+      }
+      Status cancelled = cause != null ? status.withCause(cause) : status;
+      deliver(() -> listener.onClose(cancelled, new Metadata()));
+      return;
+    }
+    // the attempts close as cancelled, and the subclass commits to one of them
+    for (Attempt attempt : inFlight) {
+      attempt.call.cancel(message, cause);
+    }
+  }
+
+  /** An attempt of the call, buffering its response. */
+  final class Attempt extends Listener<RespT> {
+    final ClientCall<ReqT, RespT> call;
+    /** The number of attempts started before this one. */
+    final int index;
+
+    final long startNanos = System.nanoTime();
+    private final List<RespT> responses = new ArrayList<>(1);
+    @Nullable private Metadata headers;
+    private volatile boolean closed;
+
+    Attempt(ClientCall<ReqT, RespT> call, int index) {
+      this.call = call;
+      this.index = index;
+    }
+
+    /** Gets the last response of the attempt, or null if it has none. */
+    @Nullable
+    RespT response() {
+      return responses.isEmpty() ? null : responses.get(responses.size() - 1);
+    }
+
+    @Override
+    public void onHeaders(Metadata headers) {
+      this.headers = headers;
+    }
+
+    @Override
+    public void onMessage(RespT message) {
+      responses.add(message);
+    }
+
+    @Override
+    public void onClose(Status status, Metadata trailers) {
+      lock.lock();
+      try {
+        closed = true;
+      } finally {
+        lock.unlock();
+      }
+      onAttemptClosed(this, status, trailers);
+    }
+  }
+}
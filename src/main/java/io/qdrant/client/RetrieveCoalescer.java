@@ -0,0 +1,355 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.GetPoints;
+import io.qdrant.client.grpc.Points.ReadConsistency;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import io.qdrant.client.grpc.Points.WithVectorsSelector;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * Coalesces concurrent retrieves of points by id into a single retrieve.
+ *
+ * <p>Retrieves with the same options, i.e. equal {@link GetPoints} requests apart from their ids,
+ * are gathered for a short window and sent as one request with the union of their ids. The batch
+ * is sent early when it reaches the configured number of distinct ids. Each caller receives the
+ * retrieved points for its own ids, in the order it requested them.
+ *
+ * <pre>{@code
+ * try (RetrieveCoalescer coalescer = RetrieveCoalescer.newBuilder(client).build()) {
+ *   ListenableFuture<List<RetrievedPoint>> points =
+ *       coalescer.retrieveAsync(
+ *           "my_collection", ImmutableList.of(id(1)), enable(true), enable(false), null);
+ * }
+ * }</pre>
+ */
+public class RetrieveCoalescer implements AutoCloseable {
+  private final QdrantClient client;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  @Nullable private final Duration timeout;
+  private final ScheduledExecutorService scheduler;
+  private final boolean shutdownSchedulerOnClose;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<GetPoints, Batch> pending = new HashMap<>();
+  private boolean closed;
+
+  private RetrieveCoalescer(Builder builder) {
+    this.client = builder.client;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.windowNanos = builder.window.toNanos();
+    this.timeout = builder.timeout;
+    if (builder.scheduler != null) {
+      this.scheduler = builder.scheduler;
+      this.shutdownSchedulerOnClose = false;
+    } else {
+      this.scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("qdrant-retrieve-coalescer-%d")
+                  .build());
+      this.shutdownSchedulerOnClose = true;
+    }
+  }
+
+  /**
+   * Creates a new builder to build a retrieve coalescer.
+   *
+   * @param client The client used to send retrieves.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client) {
+    return new Builder(client);
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param collectionName The name of the collection.
+   * @param ids The list of ids of points to retrieve
+   * @param payloadSelector Options for specifying which payload to include or not.
+   * @param vectorsSelector Options for specifying which vectors to include into response.
+   * @param readConsistency Options for specifying read consistency guarantees.
+   * @return a new instance of {@link ListenableFuture}
+   * @throws IllegalStateException if the coalescer has been closed.
+   */
+  public ListenableFuture<List<RetrievedPoint>> retrieveAsync(
+      String collectionName,
+      List<PointId> ids,
+      WithPayloadSelector payloadSelector,
+      WithVectorsSelector vectorsSelector,
+      @Nullable ReadConsistency readConsistency) {
+    GetPoints.Builder requestBuilder =
+        GetPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllIds(ids)
+            .setWithPayload(payloadSelector)
+            .setWithVectors(vectorsSelector);
+    if (readConsistency != null) {
+      requestBuilder.setReadConsistency(readConsistency);
+    }
+    return retrieveAsync(requestBuilder.build());
+  }
+
+  /**
+   * Retrieves points.
+   *
+   * @param request The get points request
+   * @return a new instance of {@link ListenableFuture}
+   * @throws IllegalStateException if the coalescer has been closed.
+   */
+  public ListenableFuture<List<RetrievedPoint>> retrieveAsync(GetPoints request) {
+    Preconditions.checkArgument(
+        !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+    SettableFuture<List<RetrievedPoint>> future = SettableFuture.create();
+    GetPoints key = request.toBuilder().clearIds().build();
+    Batch full = null;
+
+    lock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Retrieve coalescer has been closed");
+      }
+      Batch batch = pending.get(key);
+      if (batch == null) {
+        batch = new Batch(key);
+        pending.put(key, batch);
+        Batch scheduled = batch;
+        batch.windowTask =
+            scheduler.schedule(() -> flush(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+      }
+      batch.add(request.getIdsList(), future);
+      if (batch.ids.size() >= maxBatchSize) {
+        full = take(batch);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (full != null) {
+      send(full);
+    }
+    return future;
+  }
+
+  /** Sends all pending retrieves without waiting for their window to elapse. */
+  public void flush() {
+    List<Batch> batches;
+    lock.lock();
+    try {
+      batches = new ArrayList<>(pending.values());
+      for (Batch batch : batches) {
+        take(batch);
+      }
+    } finally {
+      lock.unlock();
+    }
+    for (Batch batch : batches) {
+      send(batch);
+    }
+  }
+
+  /** Sends all pending retrieves. Retrieves added after the coalescer is closed are rejected. */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    } finally {
+      lock.unlock();
+    }
+
+    flush();
+    if (shutdownSchedulerOnClose) {
+      scheduler.shutdown();
+    }
+  }
+
+  private void flush(Batch batch) {
+    lock.lock();
+    try {
+      if (pending.get(batch.key) != batch) {
+        return;
+      }
+      take(batch);
+    } finally {
+      lock.unlock();
+    }
+    send(batch);
+  }
+
+  private Batch take(Batch batch) {
+    pending.remove(batch.key);
+    if (batch.windowTask != null) {
+      batch.windowTask.cancel(false);
+      batch.windowTask = null;
+    }
+    return batch;
+  }
+
+  private void send(Batch batch) {
+    GetPoints request = batch.key.toBuilder().addAllIds(batch.ids).build();
+    ListenableFuture<List<RetrievedPoint>> future;
+    try {
+      future = client.retrieveAsync(request, timeout);
+    } catch (RuntimeException e) {
+      future = Futures.immediateFailedFuture(e);
+    }
+    Futures.addCallback(
+        future,
+        new FutureCallback<List<RetrievedPoint>>() {
+          @Override
+          public void onSuccess(List<RetrievedPoint> points) {
+            batch.complete(points);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            batch.fail(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private static final class Batch {
+    private final GetPoints key;
+    private final Set<PointId> ids = new LinkedHashSet<>();
+    private final List<List<PointId>> requestedIds = new ArrayList<>();
+    private final List<SettableFuture<List<RetrievedPoint>>> futures = new ArrayList<>();
+    @Nullable private ScheduledFuture<?> windowTask;
+
+    Batch(GetPoints key) {
+      this.key = key;
+    }
+
+    void add(List<PointId> pointIds, SettableFuture<List<RetrievedPoint>> future) {
+      ids.addAll(pointIds);
+      requestedIds.add(pointIds);
+      futures.add(future);
+    }
+
+    void complete(List<RetrievedPoint> points) {
+      // the server returns UUIDs in canonical form, whatever their form in the request
+      Map<PointId, RetrievedPoint> pointsById = new HashMap<>(points.size() * 2);
+      for (RetrievedPoint point : points) {
+        pointsById.put(PointIdFactory.canonical(point.getId()), point);
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        Set<PointId> distinctIds = new LinkedHashSet<>();
+        for (PointId id : requestedIds.get(i)) {
+          distinctIds.add(PointIdFactory.canonical(id));
+        }
+        List<RetrievedPoint> result = new ArrayList<>(distinctIds.size());
+        for (PointId id : distinctIds) {
+          RetrievedPoint point = pointsById.get(id);
+          if (point != null) {
+            result.add(point);
+          }
+        }
+        futures.get(i).set(result);
+      }
+    }
+
+    void fail(Throwable t) {
+      for (SettableFuture<List<RetrievedPoint>> future : futures) {
+        future.setException(t);
+      }
+    }
+  }
+
+  /** builder for {@link RetrieveCoalescer} */
+  public static class Builder {
+    private final QdrantClient client;
+    private int maxBatchSize = 256;
+    private Duration window = Duration.ofMillis(2);
+    @Nullable private Duration timeout;
+    @Nullable private ScheduledExecutorService scheduler;
+
+    Builder(QdrantClient client) {
+      this.client = client;
+    }
+
+    /**
+     * Sets the number of distinct ids at which a batch is sent without waiting for its window to
+     * elapse. Defaults to 256.
+     *
+     * @param maxBatchSize The maximum number of ids.
+     * @return this
+     */
+    public Builder withMaxBatchSize(int maxBatchSize) {
+      Preconditions.checkArgument(maxBatchSize > 0, "Max batch size must be positive");
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Sets the time a batch gathers retrieves, starting with its first retrieve. Defaults to 2
+     * milliseconds.
+     *
+     * @param window The window.
+     * @return this
+     */
+    public Builder withWindow(Duration window) {
+      Preconditions.checkArgument(!window.isNegative(), "Window must not be negative");
+      this.window = window;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each batch request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Sets the scheduler used to send batches when their window elapses. The scheduler is not
+     * shutdown when the coalescer is closed. By default, the coalescer uses its own single thread.
+     *
+     * @param scheduler The scheduler.
+     * @return this
+     */
+    public Builder withScheduler(ScheduledExecutorService scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link RetrieveCoalescer}
+     *
+     * @return a new instance of {@link RetrieveCoalescer}
+     */
+    public RetrieveCoalescer build() {
+      return new RetrieveCoalescer(this);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Policy for retrying calls failing with a transient error, such as {@link Status.Code#UNAVAILABLE}
+ * while a node restarts. A failed call is sent again after an exponential backoff with full jitter,
+ * up to the maximum number of attempts, and as long as the backoff ends before the deadline of the
+ * call.
+ *
+ * <p>Only operations that are safe to apply twice are retried, since a failed attempt may still
+ * have been applied by the server: reads, upserts, updates of vectors, and deletes and payload
+ * changes of points selected by id. Operations that could have a different effect when applied
+ * again are never retried, such as deletes and payload changes of points selected by a filter,
+ * which could then apply to points written in the meantime, changes of aliases, which another
+ * client could have changed in the meantime, and the creation of collections and snapshots.
+ *
+ * <pre>{@code
+ * QdrantGrpcClient grpcClient =
+ *     QdrantGrpcClient.newBuilder("localhost", 6334, false)
+ *         .withRetry(RetryPolicy.newBuilder().withMaxAttempts(5).build())
+ *         .build();
+ * }</pre>
+ */
+public final class RetryPolicy {
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final double backoffMultiplier;
+  private final Set<Status.Code> retryableStatusCodes;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.backoffMultiplier = builder.backoffMultiplier;
+    this.retryableStatusCodes = builder.retryableStatusCodes;
+  }
+
+  /**
+   * Creates a new builder to build a retry policy.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  int maxAttempts() {
+    return maxAttempts;
+  }
+
+  Set<Status.Code> retryableStatusCodes() {
+    return retryableStatusCodes;
+  }
+
+  /**
+   * Gets the upper bound of the backoff before a retry, from which the actual backoff is drawn at
+   * random.
+   *
+   * @param retry The number of the retry, starting at 1.
+   */
+  long backoffNanos(int retry) {
+    double backoff = initialBackoff.toNanos() * Math.pow(backoffMultiplier, retry - 1);
+    return (long) Math.min(backoff, maxBackoff.toNanos());
+  }
+
+  /** builder for {@link RetryPolicy} */
+  public static class Builder {
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+    private double backoffMultiplier = 2;
+    private Set<Status.Code> retryableStatusCodes = ImmutableSet.of(Status.Code.UNAVAILABLE);
+
+    Builder() {}
+
+    /**
+     * Sets the maximum number of attempts of a call, including the first one. Defaults to 5.
+     *
+     * @param maxAttempts The maximum number of attempts, at least 1.
+     * @return this
+     */
+    public Builder withMaxAttempts(int maxAttempts) {
+      Preconditions.checkArgument(maxAttempts >= 1, "Max attempts must be at least 1");
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the backoff before the first retry. Each retry waits a random time up to the backoff,
+     * which grows by the backoff multiplier with each retry. Defaults to 100 milliseconds.
+     *
+     * @param initialBackoff The backoff before the first retry.
+     * @return this
+     */
+    public Builder withInitialBackoff(Duration initialBackoff) {
+      Preconditions.checkArgument(
+          !initialBackoff.isNegative() && !initialBackoff.isZero(),
+          "Initial backoff must be positive");
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the upper bound of the backoff between retries. Defaults to 5 seconds.
+     *
+     * @param maxBackoff The maximum backoff.
+     * @return this
+     */
+    public Builder withMaxBackoff(Duration maxBackoff) {
+      Preconditions.checkArgument(
+          !maxBackoff.isNegative() && !maxBackoff.isZero(), "Max backoff must be positive");
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets the factor by which the backoff grows with each retry. Defaults to 2.
+     *
+     * @param backoffMultiplier The backoff multiplier, at least 1.
+     * @return this
+     */
+    public Builder withBackoffMultiplier(double backoffMultiplier) {
+      Preconditions.checkArgument(backoffMultiplier >= 1, "Backoff multiplier must be at least 1");
+      this.backoffMultiplier = backoffMultiplier;
+      return this;
+    }
+
+    /**
+     * Sets the status codes of the failures to retry. Defaults to {@link Status.Code#UNAVAILABLE}.
+     * Note that {@link Status.Code#RESOURCE_EXHAUSTED} is also the status of a request or response
+     * larger than the maximum message size, which fails again on every attempt.
+     *
+     * @param retryableStatusCodes The status codes to retry.
+     * @return this
+     */
+    public Builder withRetryableStatusCodes(Status.Code... retryableStatusCodes) {
+      this.retryableStatusCodes = ImmutableSet.copyOf(retryableStatusCodes);
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link RetryPolicy}
+     *
+     * @return a new instance of {@link RetryPolicy}
+     */
+    public RetryPolicy build() {
+      Preconditions.checkArgument(
+          initialBackoff.compareTo(maxBackoff) <= 0,
+          "Initial backoff must not be greater than max backoff");
+      return new RetryPolicy(this);
+    }
+  }
+}
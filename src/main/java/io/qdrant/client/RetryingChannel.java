@@ -0,0 +1,215 @@
+package io.qdrant.client;
+
+import com.google.common.collect.ImmutableSet;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.Points.ClearPayloadPoints;
+import io.qdrant.client.grpc.Points.DeletePayloadPoints;
+import io.qdrant.client.grpc.Points.DeletePointVectors;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.PointsSelector;
+import io.qdrant.client.grpc.Points.SetPayloadPoints;
+import io.qdrant.client.grpc.PointsGrpc;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.SnapshotsGrpc;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Channel} retrying calls failing with a transient error according to a {@link
+ * RetryPolicy}. Only calls that are safe to apply twice are retried.
+ */
+final class RetryingChannel extends Channel {
+  private static final Logger logger = LoggerFactory.getLogger(RetryingChannel.class);
+
+  /** The methods that are safe to apply twice, whatever their request. */
+  static final Set<String> IDEMPOTENT_METHODS =
+      ImmutableSet.of(
+          PointsGrpc.getUpsertMethod().getFullMethodName(),
+          PointsGrpc.getUpdateVectorsMethod().getFullMethodName(),
+          PointsGrpc.getGetMethod().getFullMethodName(),
+          PointsGrpc.getSearchMethod().getFullMethodName(),
+          PointsGrpc.getSearchBatchMethod().getFullMethodName(),
+          PointsGrpc.getSearchGroupsMethod().getFullMethodName(),
+          PointsGrpc.getScrollMethod().getFullMethodName(),
+          PointsGrpc.getRecommendMethod().getFullMethodName(),
+          PointsGrpc.getRecommendBatchMethod().getFullMethodName(),
+          PointsGrpc.getRecommendGroupsMethod().getFullMethodName(),
+          PointsGrpc.getDiscoverMethod().getFullMethodName(),
+          PointsGrpc.getDiscoverBatchMethod().getFullMethodName(),
+          PointsGrpc.getCountMethod().getFullMethodName(),
+          PointsGrpc.getQueryMethod().getFullMethodName(),
+          PointsGrpc.getQueryBatchMethod().getFullMethodName(),
+          PointsGrpc.getQueryGroupsMethod().getFullMethodName(),
+          PointsGrpc.getFacetMethod().getFullMethodName(),
+          PointsGrpc.getSearchMatrixPairsMethod().getFullMethodName(),
+          PointsGrpc.getSearchMatrixOffsetsMethod().getFullMethodName(),
+          CollectionsGrpc.getGetMethod().getFullMethodName(),
+          CollectionsGrpc.getListMethod().getFullMethodName(),
+          CollectionsGrpc.getListCollectionAliasesMethod().getFullMethodName(),
+          CollectionsGrpc.getListAliasesMethod().getFullMethodName(),
+          CollectionsGrpc.getCollectionClusterInfoMethod().getFullMethodName(),
+          CollectionsGrpc.getCollectionExistsMethod().getFullMethodName(),
+          CollectionsGrpc.getListShardKeysMethod().getFullMethodName(),
+          SnapshotsGrpc.getListMethod().getFullMethodName(),
+          SnapshotsGrpc.getListFullMethod().getFullMethodName(),
+          QdrantGrpc.getHealthCheckMethod().getFullMethodName());
+
+  private final Channel delegate;
+  private final RetryPolicy policy;
+  private final ScheduledExecutorService scheduler;
+  @Nullable private final ClientMetrics metrics;
+
+  RetryingChannel(
+      Channel delegate,
+      RetryPolicy policy,
+      ScheduledExecutorService scheduler,
+      @Nullable ClientMetrics metrics) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.scheduler = scheduler;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    if (policy.maxAttempts() == 1 || method.getType() != MethodDescriptor.MethodType.UNARY) {
+      return delegate.newCall(method, callOptions);
+    }
+    return new RetryingCall<>(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return delegate.authority();
+  }
+
+  /**
+   * Gets whether a request is safe to apply twice. Requests changing points are safe when they
+   * select points by id, but not by filter, since applying them again could change points written
+   * in the meantime.
+   */
+  static boolean isIdempotent(String method, @Nullable Object request) {
+    if (IDEMPOTENT_METHODS.contains(method)) {
+      return true;
+    }
+    if (request instanceof DeletePoints) {
+      return selectsIds(((DeletePoints) request).getPoints());
+    }
+    if (request instanceof SetPayloadPoints) {
+      SetPayloadPoints setPayload = (SetPayloadPoints) request;
+      return setPayload.hasPointsSelector() && selectsIds(setPayload.getPointsSelector());
+    }
+    if (request instanceof DeletePayloadPoints) {
+      DeletePayloadPoints deletePayload = (DeletePayloadPoints) request;
+      return deletePayload.hasPointsSelector() && selectsIds(deletePayload.getPointsSelector());
+    }
+    if (request instanceof ClearPayloadPoints) {
+      return selectsIds(((ClearPayloadPoints) request).getPoints());
+    }
+    if (request instanceof DeletePointVectors) {
+      DeletePointVectors deleteVectors = (DeletePointVectors) request;
+      return deleteVectors.hasPointsSelector() && selectsIds(deleteVectors.getPointsSelector());
+    }
+    return false;
+  }
+
+  private static boolean selectsIds(PointsSelector selector) {
+    return selector.hasPoints();
+  }
+
+  @Nullable
+  private static Deadline earliest(@Nullable Deadline first, @Nullable Deadline second) {
+    if (first == null) {
+      return second;
+    }
+    return second != null ? first.minimum(second) : first;
+  }
+
+  /** A call sent again after a backoff when an attempt fails with a transient error. */
+  private final class RetryingCall<ReqT, RespT> extends ReplayingCall<ReqT, RespT> {
+    @Nullable private final Deadline deadline;
+    private volatile boolean idempotent;
+    @Nullable private volatile ScheduledFuture<?> retry;
+
+    RetryingCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      super(delegate, method, callOptions);
+      this.deadline = earliest(callOptions.getDeadline(), Context.current().getDeadline());
+    }
+
+    @Override
+    void onHalfClose() {
+      idempotent = isIdempotent(methodName(), request());
+      startAttempt();
+    }
+
+    @Override
+    void onAttemptClosed(Attempt attempt, Status status, Metadata trailers) {
+      int attempts = attempt.index + 1;
+      if (status.isOk()
+          || !idempotent
+          || attempts >= policy.maxAttempts()
+          || !policy.retryableStatusCodes().contains(status.getCode())) {
+        commit(attempt, status, trailers);
+        return;
+      }
+      long backoffNanos = ThreadLocalRandom.current().nextLong(policy.backoffNanos(attempts) + 1);
+      if (deadline != null && deadline.timeRemaining(TimeUnit.NANOSECONDS) <= backoffNanos) {
+        // the retry could not complete before the deadline
+        commit(attempt, status, trailers);
+        return;
+      }
+      retried(status.getCode());
+      try {
+        retry =
+            scheduler.schedule(
+                () -> {
+                  if (startAttempt() == null) {
+                    // cancelled during the backoff, completes if not completed already
+                    commit(attempt, status, trailers);
+                  }
+                },
+                backoffNanos,
+                TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // the client is closed
+        commit(attempt, status, trailers);
+      }
+    }
+
+    @Override
+    void onCancel() {
+      ScheduledFuture<?> retry = this.retry;
+      if (retry != null) {
+        retry.cancel(false);
+      }
+    }
+
+    private void retried(Status.Code code) {
+      if (metrics == null) {
+        return;
+      }
+      String collectionName = ShardRoutingChannel.collectionName(request());
+      try {
+        metrics.callRetried(methodName(), collectionName != null ? collectionName : "", code);
+      } catch (RuntimeException e) {
+        logger.warn("Recording the retry of a call to {} failed", methodName(), e);
+      }
+    }
+  }
+}
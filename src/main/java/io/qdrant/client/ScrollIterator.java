@@ -0,0 +1,328 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Iterates over all points matched by a scroll request, fetching the following pages in the
+ * background.
+ *
+ * <p>As soon as a page arrives, the next page is requested, until the configured number of pages is
+ * buffered ahead of the consumer. Consuming a page makes room for another one. Iterating is thus
+ * limited by throughput rather than by the round trip of each page. The page size is the limit of
+ * the request.
+ *
+ * <pre>{@code
+ * try (ScrollIterator points = ScrollIterator.newBuilder(client, request).build()) {
+ *   while (points.hasNext()) {
+ *     export(points.next());
+ *   }
+ * }
+ * }</pre>
+ */
+public class ScrollIterator implements Iterator<RetrievedPoint>, AutoCloseable {
+  private final QdrantClient client;
+  private final ScrollPoints request;
+  private final int prefetchPages;
+  @Nullable private final Duration timeout;
+  @Nullable private final Long endId;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pageAvailable = lock.newCondition();
+  private final ArrayDeque<List<RetrievedPoint>> pages = new ArrayDeque<>();
+  @Nullable private PointId offset;
+  @Nullable private ListenableFuture<ScrollResponse> inFlight;
+  @Nullable private Throwable failure;
+  private boolean exhausted;
+  private boolean closed;
+
+  private Iterator<RetrievedPoint> current = Collections.emptyIterator();
+
+  private ScrollIterator(Builder builder) {
+    this.client = builder.client;
+    this.request = builder.request;
+    this.prefetchPages = builder.prefetchPages;
+    this.timeout = builder.timeout;
+    this.endId = builder.endId;
+    this.offset = request.hasOffset() ? request.getOffset() : null;
+    lock.lock();
+    try {
+      fetch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Creates a new builder to build a scroll iterator.
+   *
+   * @param client The client used to send scroll requests.
+   * @param request The scroll request. Its offset is the first point and its limit is the page
+   *     size.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, ScrollPoints request) {
+    return new Builder(client, request);
+  }
+
+  /**
+   * Returns a sequential stream over the remaining points. Closing the stream closes this iterator.
+   *
+   * @return a new instance of {@link Stream}
+   */
+  public Stream<RetrievedPoint> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(this::close);
+  }
+
+  /**
+   * Returns whether there are more points, waiting for the next page if needed.
+   *
+   * @return whether there are more points
+   * @throws QdrantException if fetching a page failed or the wait was interrupted.
+   */
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      List<RetrievedPoint> page = takePage();
+      if (page == null) {
+        return false;
+      }
+      current = page.iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public RetrievedPoint next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /**
+   * Takes the remaining points of the current page, or the next page, waiting for it if needed.
+   *
+   * @return the points, or <code>null</code> if there are no more points
+   */
+  @Nullable
+  List<RetrievedPoint> nextPage() {
+    if (current.hasNext()) {
+      List<RetrievedPoint> rest = new ArrayList<>();
+      current.forEachRemaining(rest::add);
+      return rest;
+    }
+    return takePage();
+  }
+
+  /** Stops fetching pages and cancels the request in flight, if any. */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      pages.clear();
+      if (inFlight != null) {
+        inFlight.cancel(true);
+        inFlight = null;
+      }
+      pageAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    current = Collections.emptyIterator();
+  }
+
+  @Nullable
+  private List<RetrievedPoint> takePage() {
+    lock.lock();
+    try {
+      while (pages.isEmpty()) {
+        if (closed) {
+          return null;
+        }
+        if (failure != null) {
+          throw new QdrantException(
+              "Scroll on '" + request.getCollectionName() + "' failed", failure);
+        }
+        if (exhausted && inFlight == null) {
+          return null;
+        }
+        pageAvailable.await();
+      }
+      List<RetrievedPoint> page = pages.poll();
+      fetch();
+      return page;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QdrantException(
+          "Interrupted while waiting for scroll on '" + request.getCollectionName() + "'", e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Requests the next page if there is one and room to buffer it. Must hold the lock. */
+  private void fetch() {
+    if (closed || exhausted || failure != null || inFlight != null) {
+      return;
+    }
+    if (pages.size() >= prefetchPages) {
+      return;
+    }
+
+    ScrollPoints.Builder pageRequest = request.toBuilder();
+    if (offset != null) {
+      pageRequest.setOffset(offset);
+    }
+    ListenableFuture<ScrollResponse> future;
+    try {
+      future = client.scrollAsync(pageRequest.build(), timeout);
+    } catch (RuntimeException e) {
+      future = Futures.immediateFailedFuture(e);
+    }
+    inFlight = future;
+    ListenableFuture<ScrollResponse> sent = future;
+    Futures.addCallback(
+        future,
+        new FutureCallback<ScrollResponse>() {
+          @Override
+          public void onSuccess(ScrollResponse response) {
+            lock.lock();
+            try {
+              if (inFlight != sent) {
+                return;
+              }
+              inFlight = null;
+              List<RetrievedPoint> page = response.getResultList();
+              int end = 0;
+              while (end < page.size() && isBeforeEnd(page.get(end).getId())) {
+                end++;
+              }
+              if (end > 0) {
+                pages.add(end == page.size() ? page : page.subList(0, end));
+              }
+              if (end == page.size()
+                  && response.hasNextPageOffset()
+                  && isBeforeEnd(response.getNextPageOffset())) {
+                offset = response.getNextPageOffset();
+              } else {
+                exhausted = true;
+              }
+              fetch();
+              pageAvailable.signalAll();
+            } finally {
+              lock.unlock();
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            lock.lock();
+            try {
+              if (inFlight != sent) {
+                return;
+              }
+              inFlight = null;
+              failure = t;
+              pageAvailable.signalAll();
+            } finally {
+              lock.unlock();
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private boolean isBeforeEnd(PointId id) {
+    if (endId == null) {
+      return true;
+    }
+    // points are scrolled in id order, with all numeric ids before UUIDs
+    return id.hasNum() && Long.compareUnsigned(id.getNum(), endId) < 0;
+  }
+
+  /** builder for {@link ScrollIterator} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final ScrollPoints request;
+    private int prefetchPages = 2;
+    @Nullable private Duration timeout;
+    @Nullable private Long endId;
+
+    Builder(QdrantClient client, ScrollPoints request) {
+      Preconditions.checkArgument(
+          !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.request = request;
+    }
+
+    /**
+     * Sets the maximum number of pages fetched ahead of the consumer. Defaults to 2.
+     *
+     * @param prefetchPages The number of pages.
+     * @return this
+     */
+    public Builder withPrefetchPages(int prefetchPages) {
+      Preconditions.checkArgument(prefetchPages > 0, "Prefetch pages must be positive");
+      this.prefetchPages = prefetchPages;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each page request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Sets the numeric id at which iterating stops, exclusive. Only applies to requests ordered by
+     * id, i.e. without order by.
+     *
+     * @param endId The end id.
+     * @return this
+     */
+    Builder withEndId(long endId) {
+      this.endId = endId;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link ScrollIterator} and requests the first page.
+     *
+     * @return a new instance of {@link ScrollIterator}
+     */
+    public ScrollIterator build() {
+      return new ScrollIterator(this);
+    }
+  }
+}
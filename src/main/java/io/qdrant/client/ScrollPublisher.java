@@ -0,0 +1,267 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A Reactive Streams {@link Publisher} of all points matched by a scroll request, fetching pages as
+ * subscribers request points.
+ *
+ * <p>A page is requested only when a subscriber has requested more points than were received, and
+ * a single page is in flight per subscription, so a slow subscriber slows down scrolling instead of
+ * buffering points. The page size is the limit of the request. Each subscription scrolls from the
+ * offset of the request, and cancelling it cancels the page in flight.
+ *
+ * <p>The publisher requires {@code org.reactivestreams:reactive-streams} on the classpath. With
+ * Project Reactor:
+ *
+ * <pre>{@code
+ * Flux.from(ScrollPublisher.newBuilder(client, request).build())
+ *     .buffer(100)
+ *     .concatMap(points -> export(points))
+ *     .blockLast();
+ * }</pre>
+ *
+ * <p>{@code org.reactivestreams.FlowAdapters} adapts it to a {@link java.util.concurrent.Flow}
+ * publisher.
+ */
+public class ScrollPublisher implements Publisher<RetrievedPoint> {
+  private final QdrantClient client;
+  private final ScrollPoints request;
+  @Nullable private final Duration timeout;
+
+  private ScrollPublisher(Builder builder) {
+    this.client = builder.client;
+    this.request = builder.request;
+    this.timeout = builder.timeout;
+  }
+
+  /**
+   * Creates a new builder to build a scroll publisher.
+   *
+   * @param client The client used to send scroll requests.
+   * @param request The scroll request. Its offset is the first point and its limit is the page
+   *     size.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, ScrollPoints request) {
+    return new Builder(client, request);
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super RetrievedPoint> subscriber) {
+    Preconditions.checkNotNull(subscriber, "Subscriber must not be null");
+    ScrollSubscription subscription = new ScrollSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * The scroll of a subscriber. Points are emitted by a single thread at a time, the one draining,
+   * while pages are received on gRPC threads.
+   */
+  private final class ScrollSubscription implements Subscription {
+    private final Subscriber<? super RetrievedPoint> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Queue<List<RetrievedPoint>> pages = new ConcurrentLinkedQueue<>();
+    private Iterator<RetrievedPoint> current = Collections.emptyIterator();
+    @Nullable private volatile PointId offset;
+    @Nullable private volatile ListenableFuture<ScrollResponse> inFlight;
+    @Nullable private volatile Throwable failure;
+    private volatile boolean exhausted;
+    private volatile boolean cancelled;
+    private boolean terminated;
+
+    ScrollSubscription(Subscriber<? super RetrievedPoint> subscriber) {
+      this.subscriber = subscriber;
+      this.offset = request.hasOffset() ? request.getOffset() : null;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure =
+            new IllegalArgumentException("Requested points must be positive, but was " + n);
+        exhausted = true;
+      } else {
+        long previous;
+        long next;
+        do {
+          previous = requested.get();
+          next = previous + n < 0 ? Long.MAX_VALUE : previous + n;
+        } while (!requested.compareAndSet(previous, next));
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      ListenableFuture<ScrollResponse> future = inFlight;
+      if (future != null) {
+        future.cancel(true);
+      }
+      drain();
+    }
+
+    /**
+     * Emits buffered points while there is demand, then completes, fails, or fetches the next page.
+     * Only one thread drains at a time, and a thread arriving while another drains makes it loop
+     * once more.
+     */
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        if (terminated || cancelled) {
+          pages.clear();
+          current = Collections.emptyIterator();
+          terminated = true;
+          return;
+        }
+
+        long demand = requested.get();
+        long emitted = 0;
+        while (emitted != demand && !cancelled) {
+          RetrievedPoint point = poll();
+          if (point == null) {
+            break;
+          }
+          subscriber.onNext(point);
+          emitted++;
+        }
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+
+        // read before the buffer, as a page is buffered before its request is no longer in flight
+        boolean idle = inFlight == null;
+        Throwable failure = this.failure;
+        if (!cancelled && !current.hasNext() && pages.isEmpty()) {
+          if (failure != null) {
+            terminated = true;
+            subscriber.onError(failure);
+            return;
+          }
+          if (idle && exhausted) {
+            terminated = true;
+            subscriber.onComplete();
+            return;
+          }
+          if (idle && requested.get() > 0) {
+            fetch();
+          }
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    @Nullable
+    private RetrievedPoint poll() {
+      while (!current.hasNext()) {
+        List<RetrievedPoint> page = pages.poll();
+        if (page == null) {
+          return null;
+        }
+        current = page.iterator();
+      }
+      return current.next();
+    }
+
+    /** Requests the next page. Only called while draining. */
+    private void fetch() {
+      ScrollPoints.Builder pageRequest = request.toBuilder();
+      PointId offset = this.offset;
+      if (offset != null) {
+        pageRequest.setOffset(offset);
+      }
+      ListenableFuture<ScrollResponse> future;
+      try {
+        future = client.scrollAsync(pageRequest.build(), timeout);
+      } catch (RuntimeException e) {
+        future = Futures.immediateFailedFuture(e);
+      }
+      inFlight = future;
+      Futures.addCallback(
+          future,
+          new FutureCallback<ScrollResponse>() {
+            @Override
+            public void onSuccess(ScrollResponse response) {
+              if (!response.getResultList().isEmpty()) {
+                pages.add(response.getResultList());
+              }
+              if (response.hasNextPageOffset()) {
+                ScrollSubscription.this.offset = response.getNextPageOffset();
+              } else {
+                exhausted = true;
+              }
+              inFlight = null;
+              drain();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+              failure = t;
+              inFlight = null;
+              drain();
+            }
+          },
+          MoreExecutors.directExecutor());
+    }
+  }
+
+  /** builder for {@link ScrollPublisher} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final ScrollPoints request;
+    @Nullable private Duration timeout;
+
+    Builder(QdrantClient client, ScrollPoints request) {
+      Preconditions.checkArgument(
+          !request.getCollectionName().isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.request = request;
+    }
+
+    /**
+     * Sets the timeout of each page request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link ScrollPublisher}
+     *
+     * @return a new instance of {@link ScrollPublisher}
+     */
+    public ScrollPublisher build() {
+      return new ScrollPublisher(this);
+    }
+  }
+}
@@ -0,0 +1,399 @@
+package io.qdrant.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import io.grpc.Attributes;
+import io.grpc.CallCredentials;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.qdrant.client.grpc.Collections.CollectionClusterInfoRequest;
+import io.qdrant.client.grpc.Collections.CollectionClusterInfoResponse;
+import io.qdrant.client.grpc.Collections.LocalShardInfo;
+import io.qdrant.client.grpc.Collections.RemoteShardInfo;
+import io.qdrant.client.grpc.Collections.ReplicaState;
+import io.qdrant.client.grpc.Collections.ShardKey;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.Points.ShardKeySelector;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Channel} that sends requests carrying a shard key selector directly to a peer holding
+ * active replicas of the selected shards, saving the hop through the peer that would otherwise
+ * forward the request.
+ *
+ * <p>The shard topology of each collection is fetched with the collection cluster info API, cached
+ * for a time-to-live and dropped when a routed request fails with a status that indicates a stale
+ * topology. Requests without a shard key selector, requests for collections whose topology is not
+ * yet known and requests for which no peer holds all selected shards go to the default channel.
+ */
+final class ShardRoutingChannel extends Channel {
+  private static final Logger logger = LoggerFactory.getLogger(ShardRoutingChannel.class);
+  private static final String COLLECTION_NAME_FIELD = "collection_name";
+  private static final String SHARD_KEY_SELECTOR_FIELD = "shard_key_selector";
+
+  private final Channel defaultChannel;
+  private final Map<Long, ManagedChannel> peerChannels;
+  @Nullable private final CallCredentials callCredentials;
+  private final long topologyTtlNanos;
+  private final Map<String, Topology> topologies = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  ShardRoutingChannel(
+      Channel defaultChannel,
+      Map<Long, ManagedChannel> peerChannels,
+      @Nullable CallCredentials callCredentials,
+      Duration topologyTtl) {
+    this.defaultChannel = defaultChannel;
+    this.peerChannels = new HashMap<>(peerChannels);
+    this.callCredentials = callCredentials;
+    this.topologyTtlNanos = topologyTtl.toNanos();
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    if (!isRoutable(method)) {
+      return defaultChannel.newCall(method, callOptions);
+    }
+    return new RoutingCall<>(method, callOptions);
+  }
+
+  @Override
+  public String authority() {
+    return defaultChannel.authority();
+  }
+
+  /**
+   * Drops the cached topology of a collection, so that it is fetched again on the next request.
+   *
+   * @param collectionName The name of the collection.
+   */
+  void invalidate(String collectionName) {
+    if (topologies.remove(collectionName) != null) {
+      logger.debug("Invalidated shard topology of '{}'", collectionName);
+    }
+  }
+
+  /**
+   * Selects the channel for a request.
+   *
+   * @param message The request message.
+   * @return the channel of a peer holding all selected shards, or the default channel
+   */
+  Channel select(Object message) {
+    String collectionName = collectionName(message);
+    ShardKeySelector selector = shardKeySelector(message);
+    if (collectionName == null || selector == null || selector.getShardKeysCount() == 0) {
+      return defaultChannel;
+    }
+
+    Topology topology = topologies.get(collectionName);
+    if (topology == null || System.nanoTime() - topology.fetchedAtNanos > topologyTtlNanos) {
+      refresh(collectionName);
+    }
+    if (topology == null) {
+      return defaultChannel;
+    }
+
+    List<Long> peers = topology.peersHolding(selector.getShardKeysList());
+    peers.removeIf(peer -> !peerChannels.containsKey(peer));
+    if (peers.isEmpty()) {
+      return defaultChannel;
+    }
+    return peerChannels.get(peers.get(ThreadLocalRandom.current().nextInt(peers.size())));
+  }
+
+  private void refresh(String collectionName) {
+    if (!refreshing.add(collectionName)) {
+      return;
+    }
+    CollectionClusterInfoRequest request =
+        CollectionClusterInfoRequest.newBuilder().setCollectionName(collectionName).build();
+    Futures.addCallback(
+        CollectionsGrpc.newFutureStub(defaultChannel)
+            .withCallCredentials(callCredentials)
+            .withDeadlineAfter(10, TimeUnit.SECONDS)
+            .collectionClusterInfo(request),
+        new FutureCallback<CollectionClusterInfoResponse>() {
+          @Override
+          public void onSuccess(CollectionClusterInfoResponse response) {
+            topologies.put(collectionName, Topology.of(response));
+            refreshing.remove(collectionName);
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            logger.debug("Fetching shard topology of '{}' failed", collectionName, t);
+            refreshing.remove(collectionName);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  private static boolean isRoutable(MethodDescriptor<?, ?> method) {
+    if (!(method.getRequestMarshaller() instanceof MethodDescriptor.PrototypeMarshaller)) {
+      return false;
+    }
+    Object prototype =
+        ((MethodDescriptor.PrototypeMarshaller<?>) method.getRequestMarshaller())
+            .getMessagePrototype();
+    if (!(prototype instanceof Message)) {
+      return false;
+    }
+    Descriptors.Descriptor descriptor = ((Message) prototype).getDescriptorForType();
+    return descriptor.findFieldByName(COLLECTION_NAME_FIELD) != null
+        && descriptor.findFieldByName(SHARD_KEY_SELECTOR_FIELD) != null;
+  }
+
+  /** Reads the collection name of a request, or null if it has none. */
+  @Nullable
+  static String collectionName(Object message) {
+    if (!(message instanceof Message)) {
+      return null;
+    }
+    Message proto = (Message) message;
+    Descriptors.FieldDescriptor field =
+        proto.getDescriptorForType().findFieldByName(COLLECTION_NAME_FIELD);
+    if (field == null || field.isRepeated()) {
+      return null;
+    }
+    Object value = proto.getField(field);
+    return value instanceof String && !((String) value).isEmpty() ? (String) value : null;
+  }
+
+  @Nullable
+  private static ShardKeySelector shardKeySelector(Object message) {
+    if (!(message instanceof Message)) {
+      return null;
+    }
+    Message proto = (Message) message;
+    Descriptors.FieldDescriptor field =
+        proto.getDescriptorForType().findFieldByName(SHARD_KEY_SELECTOR_FIELD);
+    if (field == null || field.isRepeated() || !proto.hasField(field)) {
+      return null;
+    }
+    Object value = proto.getField(field);
+    return value instanceof ShardKeySelector ? (ShardKeySelector) value : null;
+  }
+
+  private static boolean indicatesStaleTopology(Status status) {
+    switch (status.getCode()) {
+      case UNAVAILABLE:
+      case NOT_FOUND:
+      case FAILED_PRECONDITION:
+      case INTERNAL:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** The active replicas of the shards of a collection, grouped by shard key. */
+  private static final class Topology {
+    private final long fetchedAtNanos = System.nanoTime();
+    private final Map<ShardKey, Set<Integer>> shardsByKey = new HashMap<>();
+    private final Map<Integer, Set<Long>> peersByShard = new HashMap<>();
+
+    static Topology of(CollectionClusterInfoResponse response) {
+      Topology topology = new Topology();
+      for (LocalShardInfo shard : response.getLocalShardsList()) {
+        if (shard.hasShardKey() && shard.getState() == ReplicaState.Active) {
+          topology.add(shard.getShardKey(), shard.getShardId(), response.getPeerId());
+        }
+      }
+      for (RemoteShardInfo shard : response.getRemoteShardsList()) {
+        if (shard.hasShardKey() && shard.getState() == ReplicaState.Active) {
+          topology.add(shard.getShardKey(), shard.getShardId(), shard.getPeerId());
+        }
+      }
+      return topology;
+    }
+
+    private void add(ShardKey shardKey, int shardId, long peerId) {
+      shardsByKey.computeIfAbsent(shardKey, k -> new HashSet<>()).add(shardId);
+      peersByShard.computeIfAbsent(shardId, k -> new HashSet<>()).add(peerId);
+    }
+
+    /** Gets the peers holding an active replica of every shard of the given shard keys. */
+    List<Long> peersHolding(List<ShardKey> shardKeys) {
+      Set<Long> peers = null;
+      for (ShardKey shardKey : shardKeys) {
+        Set<Integer> shards = shardsByKey.get(shardKey);
+        if (shards == null) {
+          return new ArrayList<>();
+        }
+        for (Integer shard : shards) {
+          Set<Long> holders = peersByShard.get(shard);
+          if (peers == null) {
+            peers = new HashSet<>(holders);
+          } else {
+            peers.retainAll(holders);
+          }
+        }
+      }
+      return peers == null ? new ArrayList<>() : new ArrayList<>(peers);
+    }
+  }
+
+  /**
+   * A call that defers choosing its channel until the request message is known. Calls made before
+   * the first message is sent are recorded and replayed on the chosen channel.
+   */
+  private final class RoutingCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final CallOptions callOptions;
+    private final Context context = Context.current();
+    private final ReentrantLock lock = new ReentrantLock();
+    @Nullable private volatile ClientCall<ReqT, RespT> delegate;
+    @Nullable private Listener<RespT> listener;
+    @Nullable private Metadata headers;
+    @Nullable private Boolean messageCompression;
+    @Nullable private String collectionName;
+    private int requested;
+
+    RoutingCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+      this.method = method;
+      this.callOptions = callOptions;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      this.listener = responseListener;
+      this.headers = headers;
+    }
+
+    @Override
+    public void request(int numMessages) {
+      ClientCall<ReqT, RespT> call = delegate;
+      if (call == null) {
+        lock.lock();
+        try {
+          call = delegate;
+          if (call == null) {
+            requested += numMessages;
+            return;
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+      call.request(numMessages);
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+      ClientCall<ReqT, RespT> call = delegate;
+      if (call == null) {
+        collectionName = collectionName(message);
+        call = open(select(message));
+      }
+      call.sendMessage(message);
+    }
+
+    @Override
+    public void halfClose() {
+      open(defaultChannel).halfClose();
+    }
+
+    @Override
+    public void cancel(@Nullable String message, @Nullable Throwable cause) {
+      open(defaultChannel).cancel(message, cause);
+    }
+
+    @Override
+    public void setMessageCompression(boolean enabled) {
+      ClientCall<ReqT, RespT> call = delegate;
+      if (call == null) {
+        messageCompression = enabled;
+      } else {
+        call.setMessageCompression(enabled);
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      ClientCall<ReqT, RespT> call = delegate;
+      return call != null && call.isReady();
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      ClientCall<ReqT, RespT> call = delegate;
+      return call != null ? call.getAttributes() : Attributes.EMPTY;
+    }
+
+    /** Creates the delegate call on the channel if it does not exist yet and replays the calls. */
+    private ClientCall<ReqT, RespT> open(Channel channel) {
+      ClientCall<ReqT, RespT> call = delegate;
+      if (call != null) {
+        return call;
+      }
+      lock.lock();
+      try {
+        call = delegate;
+        if (call != null) {
+          return call;
+        }
+        Context previous = context.attach();
+        try {
+          call = channel.newCall(method, callOptions);
+        } finally {
+          context.detach(previous);
+        }
+        if (listener != null && headers != null) {
+          call.start(new InvalidatingListener(listener), headers);
+        }
+        if (messageCompression != null) {
+          call.setMessageCompression(messageCompression);
+        }
+        if (requested > 0) {
+          call.request(requested);
+        }
+        delegate = call;
+        return call;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Drops the topology of the collection when the call fails because it may be stale. */
+    private final class InvalidatingListener
+        extends ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT> {
+      InvalidatingListener(Listener<RespT> delegate) {
+        super(delegate);
+      }
+
+      @Override
+      public void onClose(Status status, Metadata trailers) {
+        String name = collectionName;
+        if (name != null && indicatesStaleTopology(status)) {
+          invalidate(name);
+        }
+        super.onClose(status, trailers);
+      }
+    }
+  }
+}
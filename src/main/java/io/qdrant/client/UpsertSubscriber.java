@@ -0,0 +1,346 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.WriteOrdering;
+import io.qdrant.client.grpc.Points.WriteOrderingType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A Reactive Streams {@link Subscriber} upserting the points it receives into a collection in
+ * batches, keeping a bounded number of batches in flight.
+ *
+ * <p>The subscriber requests as many points as fit in its batches in flight, and requests the
+ * points of a batch again once the batch is upserted, so at most {@code parallelism} batches are
+ * held in memory and the upstream is only asked for points the server can take. Failed batches are
+ * not retried; a {@link RetryPolicy} of the client retries transient failures.
+ *
+ * <p>A subscriber can only be subscribed once. Its result completes with the number of upserted
+ * points once the upstream completes and all batches are upserted, or fails with the first failure
+ * of the upstream or of a batch, which cancels the upstream. Cancelling the result cancels the
+ * upstream too. The subscriber requires {@code org.reactivestreams:reactive-streams} on the
+ * classpath. With Project Reactor:
+ *
+ * <pre>{@code
+ * UpsertSubscriber subscriber =
+ *     UpsertSubscriber.newBuilder(client, "my_collection").withBatchSize(256).build();
+ * points.subscribe(subscriber);
+ * long upserted = subscriber.result().get();
+ * }</pre>
+ */
+public class UpsertSubscriber implements Subscriber<PointStruct> {
+  private final QdrantClient client;
+  private final String collectionName;
+  private final int parallelism;
+  private final int batchSize;
+  private final boolean wait;
+  @Nullable private final WriteOrderingType ordering;
+  @Nullable private final Duration timeout;
+
+  private final SettableFuture<Long> result = SettableFuture.create();
+  private final ReentrantLock lock = new ReentrantLock();
+  @Nullable private Subscription subscription;
+  private List<PointStruct> batch;
+  private int inFlight;
+  private long upserted;
+  private boolean upstreamDone;
+  private boolean failed;
+
+  private UpsertSubscriber(Builder builder) {
+    this.client = builder.client;
+    this.collectionName = builder.collectionName;
+    this.parallelism = builder.parallelism;
+    this.batchSize = builder.batchSize;
+    this.wait = builder.wait;
+    this.ordering = builder.ordering;
+    this.timeout = builder.timeout;
+    this.batch = new ArrayList<>(batchSize);
+    result.addListener(this::onResultDone, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Creates a new builder to build an upsert subscriber.
+   *
+   * @param client The client used to send upsert requests.
+   * @param collectionName The name of the collection to upsert points into.
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder(QdrantClient client, String collectionName) {
+    return new Builder(client, collectionName);
+  }
+
+  /**
+   * Gets the result of the upsert.
+   *
+   * @return a future that completes with the number of upserted points, or fails with the first
+   *     failure of the upstream or of a batch.
+   */
+  public ListenableFuture<Long> result() {
+    return result;
+  }
+
+  @Override
+  public void onSubscribe(Subscription subscription) {
+    Preconditions.checkNotNull(subscription, "Subscription must not be null");
+    lock.lock();
+    try {
+      if (this.subscription != null || result.isDone()) {
+        subscription.cancel();
+        return;
+      }
+      this.subscription = subscription;
+    } finally {
+      lock.unlock();
+    }
+    subscription.request((long) parallelism * batchSize);
+  }
+
+  @Override
+  public void onNext(PointStruct point) {
+    Preconditions.checkNotNull(point, "Point must not be null");
+    List<PointStruct> full = null;
+    lock.lock();
+    try {
+      if (failed) {
+        return;
+      }
+      batch.add(point);
+      if (batch.size() >= batchSize) {
+        full = takeBatch();
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (full != null) {
+      send(full);
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    Preconditions.checkNotNull(t, "Throwable must not be null");
+    lock.lock();
+    try {
+      upstreamDone = true;
+      failed = true;
+    } finally {
+      lock.unlock();
+    }
+    result.setException(t);
+  }
+
+  @Override
+  public void onComplete() {
+    List<PointStruct> last = null;
+    boolean completed = false;
+    long total;
+    lock.lock();
+    try {
+      upstreamDone = true;
+      if (failed) {
+        return;
+      }
+      if (!batch.isEmpty()) {
+        last = takeBatch();
+      } else {
+        completed = inFlight == 0;
+      }
+      total = upserted;
+    } finally {
+      lock.unlock();
+    }
+    if (last != null) {
+      send(last);
+    } else if (completed) {
+      result.set(total);
+    }
+  }
+
+  /** Takes the current batch to send it. Must hold the lock. */
+  private List<PointStruct> takeBatch() {
+    List<PointStruct> full = batch;
+    batch = new ArrayList<>(batchSize);
+    inFlight++;
+    return full;
+  }
+
+  private void send(List<PointStruct> points) {
+    UpsertPoints.Builder request =
+        UpsertPoints.newBuilder()
+            .setCollectionName(collectionName)
+            .addAllPoints(points)
+            .setWait(wait);
+    if (ordering != null) {
+      request.setOrdering(WriteOrdering.newBuilder().setType(ordering).build());
+    }
+
+    ListenableFuture<UpdateResult> future;
+    try {
+      future = client.upsertAsync(request.build(), timeout);
+    } catch (RuntimeException e) {
+      future = Futures.immediateFailedFuture(e);
+    }
+    Futures.addCallback(
+        future,
+        new FutureCallback<UpdateResult>() {
+          @Override
+          public void onSuccess(UpdateResult updateResult) {
+            boolean completed;
+            boolean requestMore;
+            long total;
+            Subscription subscription;
+            lock.lock();
+            try {
+              inFlight--;
+              upserted += points.size();
+              completed = upstreamDone && !failed && inFlight == 0;
+              requestMore = !upstreamDone && !failed;
+              total = upserted;
+              subscription = UpsertSubscriber.this.subscription;
+            } finally {
+              lock.unlock();
+            }
+            if (completed) {
+              result.set(total);
+            } else if (requestMore && subscription != null) {
+              subscription.request(points.size());
+            }
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            boolean cancelUpstream;
+            Subscription subscription;
+            lock.lock();
+            try {
+              cancelUpstream = !upstreamDone && !failed;
+              failed = true;
+              subscription = UpsertSubscriber.this.subscription;
+            } finally {
+              lock.unlock();
+            }
+            if (cancelUpstream && subscription != null) {
+              subscription.cancel();
+            }
+            result.setException(t);
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Stops batching and requesting points once the result is cancelled, and cancels the upstream.
+   */
+  private void onResultDone() {
+    if (!result.isCancelled()) {
+      return;
+    }
+    Subscription subscription;
+    lock.lock();
+    try {
+      failed = true;
+      subscription = this.subscription;
+    } finally {
+      lock.unlock();
+    }
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  /** builder for {@link UpsertSubscriber} */
+  public static class Builder {
+    private final QdrantClient client;
+    private final String collectionName;
+    private int parallelism = 4;
+    private int batchSize = 64;
+    private boolean wait = true;
+    @Nullable private WriteOrderingType ordering;
+    @Nullable private Duration timeout;
+
+    Builder(QdrantClient client, String collectionName) {
+      Preconditions.checkArgument(!collectionName.isEmpty(), "Collection name must not be empty");
+      this.client = client;
+      this.collectionName = collectionName;
+    }
+
+    /**
+     * Sets the maximum number of batches in flight. Defaults to 4.
+     *
+     * @param parallelism The maximum number of batches in flight.
+     * @return this
+     */
+    public Builder withParallelism(int parallelism) {
+      Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the number of points in each batch. Defaults to 64.
+     *
+     * @param batchSize The number of points.
+     * @return this
+     */
+    public Builder withBatchSize(int batchSize) {
+      Preconditions.checkArgument(batchSize > 0, "Batch size must be positive");
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    /**
+     * Sets whether each request waits for the changes to be applied. Defaults to <code>true</code>.
+     *
+     * @param wait Whether to wait.
+     * @return this
+     */
+    public Builder withWait(boolean wait) {
+      this.wait = wait;
+      return this;
+    }
+
+    /**
+     * Sets the write ordering guarantees of each request.
+     *
+     * @param ordering The write ordering.
+     * @return this
+     */
+    public Builder withOrdering(@Nullable WriteOrderingType ordering) {
+      this.ordering = ordering;
+      return this;
+    }
+
+    /**
+     * Sets the timeout of each request.
+     *
+     * @param timeout The timeout.
+     * @return this
+     */
+    public Builder withTimeout(@Nullable Duration timeout) {
+      this.timeout = timeout;
+      return this;
+    }
+
+    /**
+     * Builds a new instance of {@link UpsertSubscriber}
+     *
+     * @return a new instance of {@link UpsertSubscriber}
+     */
+    public UpsertSubscriber build() {
+      return new UpsertSubscriber(this);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 package io.qdrant.client;
 
-import com.google.common.primitives.Floats;
+import com.google.common.base.Preconditions;
 import io.qdrant.client.grpc.Points.DenseVector;
 import io.qdrant.client.grpc.Points.Document;
 import io.qdrant.client.grpc.Points.Image;
@@ -8,7 +8,9 @@
 import io.qdrant.client.grpc.Points.MultiDenseVector;
 import io.qdrant.client.grpc.Points.SparseVector;
 import io.qdrant.client.grpc.Points.Vector;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,9 +37,30 @@ public static Vector vector(List<Float> values) {
    * @return A new instance of {@link Vector}
    */
   public static Vector vector(float... values) {
-    return Vector.newBuilder()
-        .setDense(DenseVector.newBuilder().addAllData(Floats.asList(values)).build())
-        .build();
+    return Vector.newBuilder().setDense(denseVector(values, 0, values.length)).build();
+  }
+
+  /**
+   * Creates a vector from a slice of an array of floats, without boxing the values
+   *
+   * @param values The array containing the values.
+   * @param offset The index of the first value.
+   * @param length The number of values.
+   * @return A new instance of {@link Vector}
+   */
+  public static Vector vector(float[] values, int offset, int length) {
+    return Vector.newBuilder().setDense(denseVector(values, offset, length)).build();
+  }
+
+  /**
+   * Creates a vector from the remaining floats of a buffer, without boxing the values. The position
+   * of the buffer is left unchanged.
+   *
+   * @param values The buffer containing the values.
+   * @return A new instance of {@link Vector}
+   */
+  public static Vector vector(FloatBuffer values) {
+    return Vector.newBuilder().setDense(denseVector(values)).build();
   }
 
   /**
@@ -53,6 +76,41 @@ public static Vector vector(List<Float> vector, List<Integer> indices) {
         .build();
   }
 
+  /**
+   * Creates a sparse vector from an array of floats and an array of integers as indices, without
+   * boxing them
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @return A new instance of {@link Vector}
+   */
+  public static Vector vector(float[] values, int[] indices) {
+    Preconditions.checkArgument(
+        values.length == indices.length, "Values and indices must have the same length");
+    return Vector.newBuilder()
+        .setSparse(sparseVector(values, indices, 0, values.length, false))
+        .build();
+  }
+
+  /**
+   * Creates a sparse vector from a slice of an array of floats and the same slice of an array of
+   * integers as indices, without boxing them. Optionally, the slices are first sorted by index in
+   * place.
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @param offset The index of the first value and index.
+   * @param length The number of values and indices.
+   * @param sortIndices Whether to sort the slices by index in place and reject duplicate indices.
+   * @return A new instance of {@link Vector}
+   */
+  public static Vector vector(
+      float[] values, int[] indices, int offset, int length, boolean sortIndices) {
+    return Vector.newBuilder()
+        .setSparse(sparseVector(values, indices, offset, length, sortIndices))
+        .build();
+  }
+
   /**
    * Creates a vector from a document for cloud inference.
    *
@@ -108,10 +166,103 @@ public static Vector multiVector(List<List<Float>> vectors) {
   public static Vector multiVector(float[][] vectors) {
     List<DenseVector> denseVectors = new ArrayList<>();
     for (float[] vector : vectors) {
-      denseVectors.add(DenseVector.newBuilder().addAllData(Floats.asList(vector)).build());
+      denseVectors.add(denseVector(vector, 0, vector.length));
     }
     return Vector.newBuilder()
         .setMultiDense(MultiDenseVector.newBuilder().addAllVectors(denseVectors).build())
         .build();
   }
+
+  /**
+   * Creates a dense vector from a slice of an array of floats. The values are appended one by one
+   * to the primitive list of the builder, as wrapping the array in a list would box each of them.
+   *
+   * @param values The array containing the values.
+   * @param offset The index of the first value.
+   * @param length The number of values.
+   * @return A new instance of {@link DenseVector}
+   */
+  static DenseVector denseVector(float[] values, int offset, int length) {
+    Preconditions.checkPositionIndexes(offset, offset + length, values.length);
+    DenseVector.Builder builder = DenseVector.newBuilder();
+    for (int i = offset; i < offset + length; i++) {
+      builder.addData(values[i]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a dense vector from the remaining floats of a buffer, leaving its position unchanged.
+   *
+   * @param values The buffer containing the values.
+   * @return A new instance of {@link DenseVector}
+   */
+  static DenseVector denseVector(FloatBuffer values) {
+    if (values.hasArray()) {
+      return denseVector(
+          values.array(), values.arrayOffset() + values.position(), values.remaining());
+    }
+    DenseVector.Builder builder = DenseVector.newBuilder();
+    for (int i = values.position(); i < values.limit(); i++) {
+      builder.addData(values.get(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates a sparse vector from slices of an array of floats and an array of indices. The values
+   * and indices are appended one by one to the primitive lists of the builder.
+   *
+   * @param values The array containing the values.
+   * @param indices The array containing the indices.
+   * @param offset The index of the first value and index.
+   * @param length The number of values and indices.
+   * @param sortIndices Whether to sort the slices by index in place and reject duplicate indices.
+   * @return A new instance of {@link SparseVector}
+   */
+  static SparseVector sparseVector(
+      float[] values, int[] indices, int offset, int length, boolean sortIndices) {
+    Preconditions.checkPositionIndexes(offset, offset + length, values.length);
+    Preconditions.checkPositionIndexes(offset, offset + length, indices.length);
+    if (sortIndices) {
+      sortByIndex(values, indices, offset, length);
+    }
+    SparseVector.Builder builder = SparseVector.newBuilder();
+    for (int i = offset; i < offset + length; i++) {
+      builder.addValues(values[i]);
+      builder.addIndices(indices[i]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Sorts slices of an array of values and an array of indices by index, comparing indices as
+   * unsigned like the server does. Slices that are already sorted, the common case, are only
+   * scanned. Otherwise each pair is packed into a long so that both arrays are sorted together.
+   */
+  private static void sortByIndex(float[] values, int[] indices, int offset, int length) {
+    int end = offset + length;
+    boolean sorted = true;
+    for (int i = offset + 1; i < end && sorted; i++) {
+      sorted = Integer.compareUnsigned(indices[i - 1], indices[i]) < 0;
+    }
+    if (!sorted) {
+      long[] pairs = new long[length];
+      for (int i = 0; i < length; i++) {
+        // flipping the sign bit makes signed order of the high half match unsigned order
+        pairs[i] =
+            ((long) (indices[offset + i] ^ Integer.MIN_VALUE) << 32)
+                | (Float.floatToRawIntBits(values[offset + i]) & 0xFFFFFFFFL);
+      }
+      Arrays.sort(pairs);
+      for (int i = 0; i < length; i++) {
+        indices[offset + i] = (int) (pairs[i] >>> 32) ^ Integer.MIN_VALUE;
+        values[offset + i] = Float.intBitsToFloat((int) pairs[i]);
+      }
+    }
+    for (int i = offset + 1; i < end; i++) {
+      Preconditions.checkArgument(
+          indices[i - 1] != indices[i], "Duplicate sparse vector index %s", indices[i]);
+    }
+  }
 }
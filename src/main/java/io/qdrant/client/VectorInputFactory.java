@@ -1,8 +1,10 @@
 package io.qdrant.client;
 
 import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorFactory.denseVector;
+import static io.qdrant.client.VectorFactory.sparseVector;
 
-import com.google.common.primitives.Floats;
+import com.google.common.base.Preconditions;
 import io.qdrant.client.grpc.Common.PointId;
 import io.qdrant.client.grpc.Points.DenseVector;
 import io.qdrant.client.grpc.Points.Document;
@@ -11,6 +13,7 @@
 import io.qdrant.client.grpc.Points.MultiDenseVector;
 import io.qdrant.client.grpc.Points.SparseVector;
 import io.qdrant.client.grpc.Points.VectorInput;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -37,9 +40,30 @@ public static VectorInput vectorInput(List<Float> values) {
    * @return A new instance of {@link VectorInput}
    */
   public static VectorInput vectorInput(float... values) {
-    return VectorInput.newBuilder()
-        .setDense(DenseVector.newBuilder().addAllData(Floats.asList(values)))
-        .build();
+    return VectorInput.newBuilder().setDense(denseVector(values, 0, values.length)).build();
+  }
+
+  /**
+   * Creates a {@link VectorInput} from a slice of an array of floats, without boxing the values
+   *
+   * @param values The array containing the values.
+   * @param offset The index of the first value.
+   * @param length The number of values.
+   * @return A new instance of {@link VectorInput}
+   */
+  public static VectorInput vectorInput(float[] values, int offset, int length) {
+    return VectorInput.newBuilder().setDense(denseVector(values, offset, length)).build();
+  }
+
+  /**
+   * Creates a {@link VectorInput} from the remaining floats of a buffer, without boxing the values.
+   * The position of the buffer is left unchanged.
+   *
+   * @param values The buffer containing the values.
+   * @return A new instance of {@link VectorInput}
+   */
+  public static VectorInput vectorInput(FloatBuffer values) {
+    return VectorInput.newBuilder().setDense(denseVector(values)).build();
   }
 
   /**
@@ -55,6 +79,41 @@ public static VectorInput vectorInput(List<Float> vector, List<Integer> indices)
         .build();
   }
 
+  /**
+   * Creates a {@link VectorInput} from an array of floats and an array of integers as indices,
+   * without boxing them
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @return A new instance of {@link VectorInput}
+   */
+  public static VectorInput vectorInput(float[] values, int[] indices) {
+    Preconditions.checkArgument(
+        values.length == indices.length, "Values and indices must have the same length");
+    return VectorInput.newBuilder()
+        .setSparse(sparseVector(values, indices, 0, values.length, false))
+        .build();
+  }
+
+  /**
+   * Creates a {@link VectorInput} from a slice of an array of floats and the same slice of an array
+   * of integers as indices, without boxing them. Optionally, the slices are first sorted by index
+   * in place.
+   *
+   * @param values The array of floats representing the vector.
+   * @param indices The array of integers representing the indices.
+   * @param offset The index of the first value and index.
+   * @param length The number of values and indices.
+   * @param sortIndices Whether to sort the slices by index in place and reject duplicate indices.
+   * @return A new instance of {@link VectorInput}
+   */
+  public static VectorInput vectorInput(
+      float[] values, int[] indices, int offset, int length, boolean sortIndices) {
+    return VectorInput.newBuilder()
+        .setSparse(sparseVector(values, indices, offset, length, sortIndices))
+        .build();
+  }
+
   /**
    * Creates a {@link VectorInput} from a nested list of floats representing a multi vector
    *
@@ -80,7 +139,7 @@ public static VectorInput multiVectorInput(List<List<Float>> vectors) {
   public static VectorInput multiVectorInput(float[][] vectors) {
     List<DenseVector> denseVectors = new ArrayList<>();
     for (float[] vector : vectors) {
-      denseVectors.add(DenseVector.newBuilder().addAllData(Floats.asList(vector)).build());
+      denseVectors.add(denseVector(vector, 0, vector.length));
     }
     return VectorInput.newBuilder()
         .setMultiDense(MultiDenseVector.newBuilder().addAllVectors(denseVectors).build())
@@ -1,12 +1,18 @@
 package io.qdrant.client;
 
+import com.google.common.base.Preconditions;
 import io.qdrant.client.grpc.Points.DenseVector;
 import io.qdrant.client.grpc.Points.MultiDenseVector;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
 import io.qdrant.client.grpc.Points.SparseIndices;
 import io.qdrant.client.grpc.Points.SparseVector;
 import io.qdrant.client.grpc.Points.VectorOutput;
+import io.qdrant.client.grpc.Points.VectorsOutput;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /** Helper methods for extracting vector data from {@link VectorOutput}. */
 public final class VectorOutputHelper {
@@ -100,4 +106,200 @@ public static MultiDenseVector getMultiVector(VectorOutput vectorOutput) {
 
     return null;
   }
+
+  /**
+   * Returns the values of the dense vector from the VectorOutput. The values are read from the
+   * primitive list of the message, without boxing them or building an intermediate DenseVector.
+   *
+   * @param vectorOutput the VectorOutput to extract from
+   * @return the values if a dense vector is available, null otherwise
+   */
+  public static float[] getDenseVectorData(VectorOutput vectorOutput) {
+    if (vectorOutput == null) {
+      return null;
+    }
+
+    int size = getDenseVectorSize(vectorOutput);
+    if (size < 0) {
+      return null;
+    }
+    float[] data = new float[size];
+    copyDenseVectorData(vectorOutput, data, 0);
+    return data;
+  }
+
+  /**
+   * Returns the values of the unnamed dense vector of a scored point.
+   *
+   * @param point the ScoredPoint to extract from
+   * @return the values if an unnamed dense vector is available, null otherwise
+   */
+  public static float[] getDenseVectorData(ScoredPoint point) {
+    return getDenseVectorData(getVectorOutput(point.getVectors(), null));
+  }
+
+  /**
+   * Returns the values of a named dense vector of a scored point.
+   *
+   * @param point the ScoredPoint to extract from
+   * @param vectorName the name of the vector
+   * @return the values if the named dense vector is available, null otherwise
+   */
+  public static float[] getDenseVectorData(ScoredPoint point, String vectorName) {
+    return getDenseVectorData(getVectorOutput(point.getVectors(), vectorName));
+  }
+
+  /**
+   * Returns the values of the unnamed dense vector of a retrieved point.
+   *
+   * @param point the RetrievedPoint to extract from
+   * @return the values if an unnamed dense vector is available, null otherwise
+   */
+  public static float[] getDenseVectorData(RetrievedPoint point) {
+    return getDenseVectorData(getVectorOutput(point.getVectors(), null));
+  }
+
+  /**
+   * Returns the values of a named dense vector of a retrieved point.
+   *
+   * @param point the RetrievedPoint to extract from
+   * @param vectorName the name of the vector
+   * @return the values if the named dense vector is available, null otherwise
+   */
+  public static float[] getDenseVectorData(RetrievedPoint point, String vectorName) {
+    return getDenseVectorData(getVectorOutput(point.getVectors(), vectorName));
+  }
+
+  /**
+   * Returns the number of values of the dense vector from the VectorOutput.
+   *
+   * @param vectorOutput the VectorOutput to inspect
+   * @return the number of values if a dense vector is available, -1 otherwise
+   */
+  public static int getDenseVectorSize(VectorOutput vectorOutput) {
+    if (vectorOutput.getDataCount() > 0) {
+      return vectorOutput.getDataCount();
+    }
+    if (vectorOutput.hasDense()) {
+      return vectorOutput.getDense().getDataCount();
+    }
+    return -1;
+  }
+
+  /**
+   * Copies the values of the dense vector from the VectorOutput into an array, so that a single
+   * array can be reused across many results.
+   *
+   * @param vectorOutput the VectorOutput to extract from
+   * @param destination the array to copy the values to
+   * @param offset the index in the array of the first value
+   * @return the number of values copied, -1 if no dense vector is available
+   * @throws IndexOutOfBoundsException if the values do not fit in the array from the offset
+   */
+  public static int copyDenseVectorData(
+      VectorOutput vectorOutput, float[] destination, int offset) {
+    int size = getDenseVectorSize(vectorOutput);
+    if (size < 0) {
+      return -1;
+    }
+    Preconditions.checkPositionIndexes(offset, offset + size, destination.length);
+    if (vectorOutput.getDataCount() > 0) {
+      for (int i = 0; i < size; i++) {
+        destination[offset + i] = vectorOutput.getData(i);
+      }
+    } else {
+      DenseVector dense = vectorOutput.getDense();
+      for (int i = 0; i < size; i++) {
+        destination[offset + i] = dense.getData(i);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Copies the values of the dense vector from the VectorOutput into a buffer, from its current
+   * position, which is advanced past the copied values.
+   *
+   * @param vectorOutput the VectorOutput to extract from
+   * @param destination the buffer to copy the values to
+   * @return the number of values copied, -1 if no dense vector is available
+   * @throws IllegalArgumentException if the values do not fit in the remaining buffer
+   */
+  public static int copyDenseVectorData(VectorOutput vectorOutput, FloatBuffer destination) {
+    int size = getDenseVectorSize(vectorOutput);
+    if (size < 0) {
+      return -1;
+    }
+    Preconditions.checkArgument(
+        destination.remaining() >= size,
+        "Buffer has %s remaining floats, vector has %s",
+        destination.remaining(),
+        size);
+    if (destination.hasArray()) {
+      copyDenseVectorData(
+          vectorOutput, destination.array(), destination.arrayOffset() + destination.position());
+      destination.position(destination.position() + size);
+    } else if (vectorOutput.getDataCount() > 0) {
+      for (int i = 0; i < size; i++) {
+        destination.put(vectorOutput.getData(i));
+      }
+    } else {
+      DenseVector dense = vectorOutput.getDense();
+      for (int i = 0; i < size; i++) {
+        destination.put(dense.getData(i));
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the values of the multi vector from the VectorOutput, one array per vector. The values
+   * are read from the primitive lists of the message, without boxing them or building intermediate
+   * DenseVectors.
+   *
+   * @param vectorOutput the VectorOutput to extract from
+   * @return the values if a multi vector is available, null otherwise
+   */
+  public static float[][] getMultiVectorData(VectorOutput vectorOutput) {
+    if (vectorOutput == null) {
+      return null;
+    }
+
+    int size = vectorOutput.getDataCount();
+    if (size > 0) {
+      int vectorsCount = vectorOutput.getVectorsCount();
+      if (vectorsCount > 0) {
+        int vectorSize = size / vectorsCount;
+        float[][] vectors = new float[vectorsCount][vectorSize];
+        for (int i = 0; i < vectorsCount; i++) {
+          for (int j = 0; j < vectorSize; j++) {
+            vectors[i][j] = vectorOutput.getData(i * vectorSize + j);
+          }
+        }
+        return vectors;
+      }
+    }
+
+    if (vectorOutput.hasMultiDense()) {
+      MultiDenseVector multiDense = vectorOutput.getMultiDense();
+      float[][] vectors = new float[multiDense.getVectorsCount()][];
+      for (int i = 0; i < vectors.length; i++) {
+        DenseVector vector = multiDense.getVectors(i);
+        vectors[i] = new float[vector.getDataCount()];
+        for (int j = 0; j < vectors[i].length; j++) {
+          vectors[i][j] = vector.getData(j);
+        }
+      }
+      return vectors;
+    }
+
+    return null;
+  }
+
+  private static VectorOutput getVectorOutput(VectorsOutput vectors, @Nullable String vectorName) {
+    if (vectorName == null) {
+      return vectors.hasVector() ? vectors.getVector() : null;
+    }
+    return vectors.hasVectors() ? vectors.getVectors().getVectorsMap().get(vectorName) : null;
+  }
 }
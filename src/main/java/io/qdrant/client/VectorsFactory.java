@@ -8,6 +8,7 @@
 import io.qdrant.client.grpc.Points.NamedVectors;
 import io.qdrant.client.grpc.Points.Vector;
 import io.qdrant.client.grpc.Points.Vectors;
+import java.nio.FloatBuffer;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,28 @@ public static Vectors vectors(float... values) {
     return Vectors.newBuilder().setVector(vector(values)).build();
   }
 
+  /**
+   * Creates a vector from a slice of an array of floats
+   *
+   * @param values The array containing the values.
+   * @param offset The index of the first value.
+   * @param length The number of values.
+   * @return a new instance of {@link Vectors}
+   */
+  public static Vectors vectors(float[] values, int offset, int length) {
+    return Vectors.newBuilder().setVector(vector(values, offset, length)).build();
+  }
+
+  /**
+   * Creates a vector from the remaining floats of a buffer
+   *
+   * @param values The buffer containing the values.
+   * @return a new instance of {@link Vectors}
+   */
+  public static Vectors vectors(FloatBuffer values) {
+    return Vectors.newBuilder().setVector(vector(values)).build();
+  }
+
   /**
    * Creates a vector
    *
@@ -0,0 +1,202 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpdateStatus;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class BulkUpserterTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void addFromManyThreads() throws Exception {
+    List<ListenableFuture<UpdateResult>> results = new ArrayList<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, testName)
+            .withMaxBatchSize(10)
+            .withMaxInFlightRequests(2)
+            .build()) {
+      List<Future<ListenableFuture<UpdateResult>>> adds = new ArrayList<>();
+      for (int i = 0; i < 105; i++) {
+        PointStruct point = point(i);
+        adds.add(executor.submit(() -> upserter.add(point)));
+      }
+      for (Future<ListenableFuture<UpdateResult>> add : adds) {
+        results.add(add.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    for (ListenableFuture<UpdateResult> result : results) {
+      assertEquals(UpdateStatus.Completed, result.get().getStatus());
+    }
+    assertEquals(105, client.countAsync(testName).get());
+  }
+
+  @Test
+  public void flushesLingeringBatch() throws Exception {
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, testName)
+            .withMaxBatchSize(100)
+            .withLinger(Duration.ofMillis(10))
+            .build()) {
+      UpdateResult result = upserter.add(point(1)).get(5, TimeUnit.SECONDS);
+      assertEquals(UpdateStatus.Completed, result.getStatus());
+    }
+  }
+
+  @Test
+  public void flushesOnBatchBytes() throws Exception {
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, testName)
+            .withMaxBatchSize(100)
+            .withMaxBatchBytes(1)
+            .withLinger(Duration.ofMinutes(1))
+            .build()) {
+      UpdateResult result = upserter.add(point(1)).get(5, TimeUnit.SECONDS);
+      assertEquals(UpdateStatus.Completed, result.getStatus());
+    }
+  }
+
+  @Test
+  public void closeWaitsForBatchesWaitingForPermit() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, testName)
+            .withMaxBatchSize(1)
+            .withMaxInFlightRequests(1)
+            .build()) {
+      List<Future<ListenableFuture<UpdateResult>>> adds = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        PointStruct point = point(i);
+        adds.add(executor.submit(() -> upserter.add(point)));
+      }
+      for (Future<ListenableFuture<UpdateResult>> add : adds) {
+        add.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(40, client.countAsync(testName).get());
+  }
+
+  @Test
+  public void sendsBatchesInOrder() throws Exception {
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, testName)
+            .withMaxBatchSize(2)
+            .withMaxInFlightRequests(1)
+            .withLinger(Duration.ofMillis(1))
+            .build()) {
+      for (int i = 0; i < 50; i++) {
+        // lingering batches are flushed in between full batches
+        if (i % 5 == 0) {
+          Thread.sleep(2);
+        }
+        upserter.add(
+            PointStruct.newBuilder()
+                .setId(id(1))
+                .setVectors(vectors(1.0f, 2.0f))
+                .putPayload("index", value(i))
+                .build());
+      }
+    }
+
+    List<RetrievedPoint> points = client.retrieveAsync(testName, id(1), null).get();
+    assertEquals(49, points.get(0).getPayloadMap().get("index").getIntegerValue());
+  }
+
+  @Test
+  public void failsPointsOfFailedBatch() throws Exception {
+    List<ListenableFuture<UpdateResult>> results = new ArrayList<>();
+    try (BulkUpserter upserter =
+        BulkUpserter.newBuilder(client, "missing").withMaxBatchSize(5).build()) {
+      for (int i = 0; i < 7; i++) {
+        results.add(upserter.add(point(i)));
+      }
+    }
+
+    for (ListenableFuture<UpdateResult> result : results) {
+      ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+      StatusRuntimeException cause =
+          assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+      assertEquals(Status.Code.NOT_FOUND, cause.getStatus().getCode());
+    }
+  }
+
+  @Test
+  public void rejectsPointsAfterClose() {
+    BulkUpserter upserter = BulkUpserter.newBuilder(client, testName).build();
+    upserter.close();
+    assertThrows(IllegalStateException.class, () -> upserter.add(point(1)));
+  }
+
+  private static PointStruct point(long id) {
+    return PointStruct.newBuilder().setId(id(id)).setVectors(vectors(1.0f + id, 2.0f)).build();
+  }
+}
@@ -0,0 +1,104 @@
+package io.qdrant.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckReply;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChannelPoolTest {
+  private Server server;
+  private List<ManagedChannel> channels;
+  private ChannelPool pool;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    String name = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(new HeldHealthChecks())
+            .build()
+            .start();
+    channels = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      channels.add(InProcessChannelBuilder.forName(name).directExecutor().build());
+    }
+    pool = new ChannelPool(channels);
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    for (ManagedChannel channel : channels) {
+      channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void spreadsCallsRoundRobinBetweenTies() {
+    healthCheck();
+    healthCheck();
+    healthCheck();
+    assertOutstanding(1, 1, 1);
+
+    healthCheck();
+    assertOutstanding(2, 1, 1);
+    healthCheck();
+    assertOutstanding(2, 2, 1);
+  }
+
+  @Test
+  public void sendsCallsToLeastLoadedChannel() throws Exception {
+    healthCheck();
+    ListenableFuture<HealthCheckReply> second = healthCheck();
+    healthCheck();
+    assertOutstanding(1, 1, 1);
+
+    second.cancel(true);
+    awaitOutstanding(1, 0, 1);
+
+    healthCheck();
+    assertOutstanding(1, 1, 1);
+    healthCheck();
+    assertOutstanding(1, 2, 1);
+    healthCheck();
+    assertOutstanding(1, 2, 2);
+  }
+
+  private ListenableFuture<HealthCheckReply> healthCheck() {
+    return QdrantGrpc.newFutureStub(pool).healthCheck(HealthCheckRequest.getDefaultInstance());
+  }
+
+  private void assertOutstanding(int... expected) {
+    assertArrayEquals(expected, pool.outstandingCalls());
+  }
+
+  private void awaitOutstanding(int... expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!Arrays.equals(expected, pool.outstandingCalls()) && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertOutstanding(expected);
+  }
+
+  /** Health service holding every call open until the server shuts down. */
+  private static final class HeldHealthChecks extends QdrantGrpc.QdrantImplBase {
+    @Override
+    public void healthCheck(
+        HealthCheckRequest request, StreamObserver<HealthCheckReply> responseObserver) {}
+  }
+}
@@ -0,0 +1,161 @@
+package io.qdrant.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.ListCollectionsRequest;
+import io.qdrant.client.grpc.Collections.ListCollectionsResponse;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientMetricsTest {
+  private FakeQdrantServer server;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    server = FakeQdrantServer.newBuilder().build();
+  }
+
+  @AfterEach
+  public void teardown() {
+    server.close();
+  }
+
+  @Test
+  public void reportsCalls() throws Exception {
+    RecordingMetrics metrics = new RecordingMetrics();
+    try (QdrantClient client = newClient(metrics)) {
+      client
+          .createCollectionAsync(
+              "test", VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+          .get();
+      client.countAsync("test").get();
+      assertThrows(ExecutionException.class, () -> client.countAsync("missing").get());
+    }
+
+    assertEquals(3, metrics.started.get());
+    assertEquals(
+        List.of(
+            "qdrant.Collections/Create test OK",
+            "qdrant.Points/Count test OK",
+            "qdrant.Points/Count missing NOT_FOUND"),
+        metrics.completed);
+  }
+
+  @Test
+  public void reportsCallsFailingToStart() {
+    RecordingMetrics metrics = new RecordingMetrics();
+    Channel channel =
+        ClientInterceptors.intercept(
+            new Channel() {
+              @Override
+              public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+                  MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+                return new ClientCall<ReqT, RespT>() {
+                  @Override
+                  public void start(Listener<RespT> listener, Metadata headers) {
+                    throw new IllegalStateException("Channel is shut down");
+                  }
+
+                  @Override
+                  public void request(int numMessages) {}
+
+                  @Override
+                  public void cancel(String message, Throwable cause) {}
+
+                  @Override
+                  public void halfClose() {}
+
+                  @Override
+                  public void sendMessage(ReqT message) {}
+                };
+              }
+
+              @Override
+              public String authority() {
+                return "localhost";
+              }
+            },
+            new MetricsInterceptor(metrics));
+    ClientCall<ListCollectionsRequest, ListCollectionsResponse> call =
+        channel.newCall(CollectionsGrpc.getListMethod(), CallOptions.DEFAULT);
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> call.start(new ClientCall.Listener<ListCollectionsResponse>() {}, new Metadata()));
+    assertEquals(1, metrics.started.get());
+    assertEquals(List.of("qdrant.Collections/List  UNKNOWN"), metrics.completed);
+  }
+
+  @Test
+  public void recordsWithMicrometer() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    try (QdrantClient client = newClient(new MicrometerClientMetrics(registry))) {
+      client.listCollectionsAsync().get();
+      client.listCollectionsAsync().get();
+    }
+
+    Timer calls =
+        registry
+            .find("qdrant.client.calls")
+            .tag("method", "qdrant.Collections/List")
+            .tag("collection", "")
+            .tag("status", "OK")
+            .timer();
+    assertNotNull(calls);
+    assertEquals(2, calls.count());
+    assertEquals(
+        0,
+        registry
+            .find("qdrant.client.calls.active")
+            .tag("method", "qdrant.Collections/List")
+            .gauge()
+            .value());
+  }
+
+  private QdrantClient newClient(ClientMetrics metrics) {
+    return new QdrantClient(
+        QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+            .withMetrics(metrics)
+            .build());
+  }
+
+  private static class RecordingMetrics implements ClientMetrics {
+    final AtomicInteger started = new AtomicInteger();
+    final List<String> completed = new ArrayList<>();
+
+    @Override
+    public void callStarted(String method) {
+      started.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void callCompleted(
+        String method,
+        String collectionName,
+        Status.Code code,
+        long latencyNanos,
+        long requestBytes,
+        long responseBytes) {
+      completed.add(method + " " + collectionName + " " + code);
+    }
+  }
+}
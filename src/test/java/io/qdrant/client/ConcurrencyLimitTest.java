@@ -0,0 +1,263 @@
+package io.qdrant.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.CountResponse;
+import io.qdrant.client.grpc.Points.CountResult;
+import io.qdrant.client.grpc.PointsGrpc;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckReply;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitTest {
+  private final BlockingQueue<StreamObserver<CountResponse>> held = new LinkedBlockingQueue<>();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private Server server;
+  private String serverName;
+  private QdrantClient client;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    serverName = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(serverName).addService(new HeldPoints()).build().start();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    if (client != null) {
+      client.close();
+    }
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void queuesCallsBeyondLimit() throws Exception {
+    client = newClient(fixedLimit(2).withMaxQueueSize(10).build());
+
+    List<ListenableFuture<Long>> counts = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      counts.add(client.countAsync("test"));
+    }
+
+    StreamObserver<CountResponse> first = take();
+    StreamObserver<CountResponse> second = take();
+    assertNull(held.poll(100, TimeUnit.MILLISECONDS));
+
+    // completing a call starts the next one waiting
+    complete(first);
+    StreamObserver<CountResponse> third = take();
+    assertNull(held.poll(100, TimeUnit.MILLISECONDS));
+
+    complete(second);
+    complete(third);
+    complete(take());
+    complete(take());
+    for (ListenableFuture<Long> count : counts) {
+      assertEquals(1, count.get());
+    }
+  }
+
+  @Test
+  public void rejectsCallsWhenQueueIsFull() throws Exception {
+    client = newClient(fixedLimit(1).withMaxQueueSize(0).build());
+
+    ListenableFuture<Long> first = client.countAsync("test");
+    StreamObserver<CountResponse> observer = take();
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> client.countAsync("test").get());
+    assertInstanceOf(StatusRuntimeException.class, e.getCause());
+    assertEquals(
+        Status.Code.RESOURCE_EXHAUSTED,
+        ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+
+    complete(observer);
+    assertEquals(1, first.get());
+  }
+
+  @Test
+  public void cancelledCallLeavesQueue() throws Exception {
+    client = newClient(fixedLimit(1).withMaxQueueSize(1).build());
+
+    ListenableFuture<Long> first = client.countAsync("test");
+    StreamObserver<CountResponse> observer = take();
+    ListenableFuture<Long> queued = client.countAsync("test");
+    queued.cancel(true);
+
+    // the cancelled call neither holds a permit nor a place in the queue
+    ListenableFuture<Long> next = client.countAsync("test");
+    complete(observer);
+    assertEquals(1, first.get());
+    complete(take());
+    assertEquals(1, next.get());
+  }
+
+  @Test
+  public void adaptsLimit() throws Exception {
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).build();
+    try {
+      ConcurrencyLimitingChannel limitingChannel =
+          new ConcurrencyLimitingChannel(
+              channel,
+              ConcurrencyLimitPolicy.newBuilder().withInitialLimit(20).withMinLimit(4).build(),
+              scheduler);
+      PointsGrpc.PointsFutureStub stub = PointsGrpc.newFutureStub(limitingChannel);
+
+      ListenableFuture<CountResponse> failed =
+          stub.count(CountPoints.newBuilder().setCollectionName("test").build());
+      take().onError(Status.UNAVAILABLE.asRuntimeException());
+      assertThrows(ExecutionException.class, failed::get);
+      assertEquals(18, limitingChannel.limit());
+
+      // the calls of the next window use at least half of the limit, growing it once
+      List<ListenableFuture<CountResponse>> counts = new ArrayList<>();
+      List<StreamObserver<CountResponse>> observers = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        counts.add(stub.count(CountPoints.newBuilder().setCollectionName("test").build()));
+        observers.add(take());
+      }
+      for (StreamObserver<CountResponse> observer : observers) {
+        complete(observer);
+      }
+      for (ListenableFuture<CountResponse> count : counts) {
+        count.get();
+      }
+      assertEquals(19, limitingChannel.limit());
+    } finally {
+      channel.shutdownNow();
+    }
+  }
+
+  @Test
+  public void growsLimitOncePerWindow() throws Exception {
+    try (FakeQdrantServer fakeServer =
+        FakeQdrantServer.newBuilder().withLatency(Duration.ofMillis(50)).build()) {
+      ManagedChannel channel = fakeServer.newChannel();
+      try {
+        ConcurrencyLimitingChannel limitingChannel =
+            new ConcurrencyLimitingChannel(
+                channel,
+                ConcurrencyLimitPolicy.newBuilder().withInitialLimit(20).build(),
+                scheduler);
+        QdrantGrpc.QdrantFutureStub stub = QdrantGrpc.newFutureStub(limitingChannel);
+
+        // the calls complete together, after the same round trip
+        List<ListenableFuture<HealthCheckReply>> replies = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+          replies.add(stub.healthCheck(HealthCheckRequest.getDefaultInstance()));
+        }
+        for (ListenableFuture<HealthCheckReply> reply : replies) {
+          reply.get();
+        }
+        assertEquals(21, limitingChannel.limit());
+      } finally {
+        channel.shutdownNow();
+      }
+    }
+  }
+
+  @Test
+  public void failsQueuedCallsAtDeadline() throws Exception {
+    try (FakeQdrantServer fakeServer =
+        FakeQdrantServer.newBuilder().withLatency(Duration.ofMillis(500)).build()) {
+      ManagedChannel channel = fakeServer.newChannel();
+      try {
+        ConcurrencyLimitingChannel limitingChannel =
+            new ConcurrencyLimitingChannel(
+                channel,
+                ConcurrencyLimitPolicy.newBuilder()
+                    .withMinLimit(1)
+                    .withInitialLimit(2)
+                    .withMaxLimit(2)
+                    .build(),
+                scheduler);
+        QdrantGrpc.QdrantFutureStub stub = QdrantGrpc.newFutureStub(limitingChannel);
+        ListenableFuture<HealthCheckReply> first =
+            stub.healthCheck(HealthCheckRequest.getDefaultInstance());
+        ListenableFuture<HealthCheckReply> second =
+            stub.healthCheck(HealthCheckRequest.getDefaultInstance());
+
+        // a blocking caller waiting for a permit returns at its deadline
+        StatusRuntimeException e =
+            assertThrows(
+                StatusRuntimeException.class,
+                () ->
+                    QdrantGrpc.newBlockingStub(limitingChannel)
+                        .withDeadlineAfter(50, TimeUnit.MILLISECONDS)
+                        .healthCheck(HealthCheckRequest.getDefaultInstance()));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+        assertFalse(first.isDone());
+
+        // the expired call never reached the server, so the limit does not shrink
+        first.get();
+        second.get();
+        assertEquals(2, limitingChannel.limit());
+      } finally {
+        channel.shutdownNow();
+      }
+    }
+  }
+
+  private static ConcurrencyLimitPolicy.Builder fixedLimit(int limit) {
+    return ConcurrencyLimitPolicy.newBuilder()
+        .withMinLimit(limit)
+        .withInitialLimit(limit)
+        .withMaxLimit(limit);
+  }
+
+  private QdrantClient newClient(ConcurrencyLimitPolicy policy) {
+    return new QdrantClient(
+        QdrantGrpcClient.newBuilder(
+                InProcessChannelBuilder.forName(serverName).build(), true, false)
+            .withConcurrencyLimit(policy)
+            .build());
+  }
+
+  private StreamObserver<CountResponse> take() throws InterruptedException {
+    StreamObserver<CountResponse> observer = held.poll(5, TimeUnit.SECONDS);
+    assertNotNull(observer);
+    return observer;
+  }
+
+  private static void complete(StreamObserver<CountResponse> observer) {
+    observer.onNext(
+        CountResponse.newBuilder().setResult(CountResult.newBuilder().setCount(1).build()).build());
+    observer.onCompleted();
+  }
+
+  /** Points service holding counts until the test completes them. */
+  private class HeldPoints extends PointsGrpc.PointsImplBase {
+    @Override
+    public void count(CountPoints request, StreamObserver<CountResponse> responseObserver) {
+      held.add(responseObserver);
+    }
+  }
+}
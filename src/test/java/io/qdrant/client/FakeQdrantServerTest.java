@@ -0,0 +1,252 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.ConditionFactory.matchKeyword;
+import static io.qdrant.client.ConditionFactory.range;
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Common.Range;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.SnapshotsService.SnapshotDescription;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FakeQdrantServerTest {
+  private FakeQdrantServer server;
+  private QdrantClient client;
+
+  @AfterEach
+  public void teardown() {
+    if (client != null) {
+      client.close();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void searchesNearestPoints() throws Exception {
+    start(FakeQdrantServer.newBuilder());
+    createCollection(Distance.Euclid);
+    upsertPoints(10);
+
+    List<ScoredPoint> points =
+        client
+            .searchAsync(
+                SearchPoints.newBuilder()
+                    .setCollectionName("test")
+                    .addAllVector(List.of(3.1f, 3.1f))
+                    .setLimit(3)
+                    .build())
+            .get();
+
+    assertEquals(List.of(id(2), id(3), id(1)), ids(points));
+    assertTrue(points.get(0).getScore() < points.get(1).getScore());
+  }
+
+  @Test
+  public void queriesWithFilter() throws Exception {
+    start(FakeQdrantServer.newBuilder());
+    createCollection(Distance.Cosine);
+    upsertPoints(10);
+
+    List<ScoredPoint> points =
+        client
+            .queryAsync(
+                QueryPoints.newBuilder()
+                    .setCollectionName("test")
+                    .setQuery(nearest(1.0f, 1.0f))
+                    .setFilter(
+                        Filter.newBuilder()
+                            .addMust(matchKeyword("parity", "even"))
+                            .addMust(range("number", Range.newBuilder().setGte(4).build())))
+                    .setLimit(10)
+                    .build())
+            .get();
+
+    assertEquals(
+        List.of(4L, 6L, 8L),
+        ids(points).stream().map(PointId::getNum).sorted().collect(Collectors.toList()));
+
+    Filter filter =
+        Filter.newBuilder()
+            .addMust(matchKeyword("parity", "odd"))
+            .addMust(range("number", Range.newBuilder().setLt(7).build()))
+            .build();
+    assertEquals(3, client.countAsync("test", filter, true).get());
+  }
+
+  @Test
+  public void scrollsPages() throws Exception {
+    start(FakeQdrantServer.newBuilder());
+    createCollection(Distance.Cosine);
+    upsertPoints(5);
+
+    ScrollResponse first =
+        client
+            .scrollAsync(ScrollPoints.newBuilder().setCollectionName("test").setLimit(3).build())
+            .get();
+    ScrollResponse second =
+        client
+            .scrollAsync(
+                ScrollPoints.newBuilder()
+                    .setCollectionName("test")
+                    .setLimit(3)
+                    .setOffset(first.getNextPageOffset())
+                    .build())
+            .get();
+
+    assertEquals(3, first.getResultCount());
+    assertEquals(id(3), first.getNextPageOffset());
+    assertEquals(2, second.getResultCount());
+    assertFalse(second.hasNextPageOffset());
+    assertEquals("even", first.getResult(0).getPayloadMap().get("parity").getStringValue());
+  }
+
+  @Test
+  public void deletesAndRetrievesPoints() throws Exception {
+    start(FakeQdrantServer.newBuilder());
+    createCollection(Distance.Dot);
+    upsertPoints(3);
+
+    client.deleteAsync("test", List.of(id(1))).get();
+    List<RetrievedPoint> points =
+        client.retrieveAsync("test", List.of(id(0), id(1), id(2)), true, true, null).get();
+
+    assertEquals(
+        List.of(id(0), id(2)),
+        points.stream().map(RetrievedPoint::getId).collect(Collectors.toList()));
+    assertEquals(2, points.get(1).getVectors().getVector().getDense().getDataCount());
+  }
+
+  @Test
+  public void managesCollectionsAndSnapshots() throws Exception {
+    start(FakeQdrantServer.newBuilder().withVersion("1.2.3"));
+    createCollection(Distance.Cosine);
+
+    assertEquals("1.2.3", client.healthCheckAsync().get().getVersion());
+    assertTrue(client.collectionExistsAsync("test").get());
+    assertEquals(List.of("test"), client.listCollectionsAsync().get());
+
+    SnapshotDescription snapshot = client.createSnapshotAsync("test").get();
+    assertEquals(List.of(snapshot), client.listSnapshotAsync("test").get());
+    client.deleteSnapshotAsync("test", snapshot.getName()).get();
+    assertTrue(client.listSnapshotAsync("test").get().isEmpty());
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> client.countAsync("missing").get());
+    assertEquals(Status.Code.NOT_FOUND, status(exception));
+  }
+
+  @Test
+  public void injectsLatency() throws Exception {
+    start(FakeQdrantServer.newBuilder().withLatency(Duration.ofMillis(200)));
+    createCollection(Distance.Cosine);
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> client.countAsync("test", Duration.ofMillis(50)).get());
+    assertEquals(Status.Code.DEADLINE_EXCEEDED, status(exception));
+    assertEquals(0, client.countAsync("test", Duration.ofSeconds(5)).get());
+  }
+
+  @Test
+  public void injectsErrors() throws Exception {
+    start(FakeQdrantServer.newBuilder().withErrorRate(1, Status.Code.RESOURCE_EXHAUSTED));
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> client.listCollectionsAsync().get());
+    assertEquals(Status.Code.RESOURCE_EXHAUSTED, status(exception));
+  }
+
+  @Test
+  public void repeatsSeededErrorsOfSequentialCalls() throws Exception {
+    List<Boolean> first = failures(FakeQdrantServer.newBuilder().withSeed(42));
+    List<Boolean> second = failures(FakeQdrantServer.newBuilder().withSeed(42));
+
+    assertEquals(first, second);
+    assertTrue(first.contains(true));
+    assertTrue(first.contains(false));
+  }
+
+  private List<Boolean> failures(FakeQdrantServer.Builder builder) throws Exception {
+    try (FakeQdrantServer seeded = builder.withErrorRate(0.5, Status.Code.UNAVAILABLE).build();
+        QdrantClient seededClient =
+            new QdrantClient(
+                QdrantGrpcClient.newBuilder(seeded.newChannel(), true, false).build())) {
+      List<Boolean> failures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        try {
+          seededClient.listCollectionsAsync().get();
+          failures.add(false);
+        } catch (ExecutionException e) {
+          failures.add(true);
+        }
+      }
+      return failures;
+    }
+  }
+
+  private void start(FakeQdrantServer.Builder builder) throws Exception {
+    server = builder.build();
+    client =
+        new QdrantClient(QdrantGrpcClient.newBuilder(server.newChannel(), true, false).build());
+  }
+
+  private void createCollection(Distance distance) throws Exception {
+    client
+        .createCollectionAsync(
+            "test", VectorParams.newBuilder().setDistance(distance).setSize(2).build())
+        .get();
+  }
+
+  private void upsertPoints(int count) throws Exception {
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      points.add(
+          PointStruct.newBuilder()
+              .setId(id(i))
+              .setVectors(vectors(i + 1.0f, i + 1.0f))
+              .putPayload("number", value(i))
+              .putPayload("parity", value(i % 2 == 0 ? "even" : "odd"))
+              .build());
+    }
+    client.upsertAsync("test", points).get();
+  }
+
+  private static List<PointId> ids(List<ScoredPoint> points) {
+    return points.stream().map(ScoredPoint::getId).collect(Collectors.toList());
+  }
+
+  private static Status.Code status(ExecutionException exception) {
+    StatusRuntimeException cause =
+        assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+    return cause.getStatus().getCode();
+  }
+}
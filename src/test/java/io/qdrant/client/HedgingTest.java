@@ -0,0 +1,149 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Server;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.CountResponse;
+import io.qdrant.client.grpc.Points.CountResult;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.PointsOperationResponse;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HedgingTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final AtomicInteger calls = new AtomicInteger();
+  private Server server;
+  private String serverName;
+  private QdrantClient client;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    serverName = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(serverName)
+            .addService(new SlowFirstCallPoints())
+            .build()
+            .start();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    client.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void hedgesSlowRead() throws Exception {
+    client = newClient(HedgingPolicy.newBuilder(Duration.ofMillis(50)).build());
+
+    long start = System.nanoTime();
+    long count = client.countAsync("test").get();
+
+    // the hedge answered, long before the first attempt would have
+    assertEquals(2, count);
+    assertEquals(2, calls.get());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  public void doesNotHedgeFastRead() throws Exception {
+    client = newClient(HedgingPolicy.newBuilder(Duration.ofSeconds(10)).build());
+    calls.set(1);
+
+    assertEquals(2, client.countAsync("test").get());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void doesNotHedgeWrites() throws Exception {
+    client = newClient(HedgingPolicy.newBuilder(Duration.ofMillis(50)).build());
+
+    client
+        .upsertAsync(
+            "test",
+            List.of(PointStruct.newBuilder().setId(id(1)).setVectors(vectors(1.0f)).build()))
+        .get();
+
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void limitsHedgesToBudget() throws Exception {
+    client = newClient(HedgingPolicy.newBuilder(Duration.ZERO).withMaxHedgeRatio(0).build());
+
+    for (int i = 0; i < 12; i++) {
+      calls.set(0);
+      client.countAsync("test").get();
+    }
+
+    // the budget allows 10 hedges, so the last read waited for its slow first attempt
+    assertEquals(1, calls.get());
+  }
+
+  private QdrantClient newClient(HedgingPolicy policy) {
+    return new QdrantClient(
+        QdrantGrpcClient.newBuilder(
+                InProcessChannelBuilder.forName(serverName).build(), true, false)
+            .withHedging(policy)
+            .build());
+  }
+
+  /**
+   * Points service answering the first call after a second, and the next calls right away. Each
+   * count returns the number of the call answering it.
+   */
+  private class SlowFirstCallPoints extends PointsGrpc.PointsImplBase {
+    @Override
+    public void count(CountPoints request, StreamObserver<CountResponse> responseObserver) {
+      int call = calls.incrementAndGet();
+      CountResponse response =
+          CountResponse.newBuilder().setResult(CountResult.newBuilder().setCount(call)).build();
+      respond(responseObserver, response, call == 1 ? 1000 : 0);
+    }
+
+    @Override
+    public void upsert(
+        UpsertPoints request, StreamObserver<PointsOperationResponse> responseObserver) {
+      int call = calls.incrementAndGet();
+      PointsOperationResponse response =
+          PointsOperationResponse.newBuilder()
+              .setResult(UpdateResult.getDefaultInstance())
+              .build();
+      respond(responseObserver, response, call == 1 ? 200 : 0);
+    }
+
+    private <T> void respond(StreamObserver<T> responseObserver, T response, long delayMillis) {
+      scheduler.schedule(
+          () -> {
+            try {
+              responseObserver.onNext(response);
+              responseObserver.onCompleted();
+            } catch (StatusRuntimeException e) {
+              // cancelled by the client
+            }
+          },
+          delayMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package io.qdrant.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Context;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetadataCacheTest {
+  private static final VectorParams VECTOR_PARAMS =
+      VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build();
+
+  private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+  private FakeQdrantServer server;
+  private QdrantClient client;
+  private QdrantClient otherClient;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    server = FakeQdrantServer.newBuilder().build();
+    otherClient =
+        new QdrantClient(QdrantGrpcClient.newBuilder(server.newChannel(), true, false).build());
+  }
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    otherClient.close();
+    server.close();
+  }
+
+  @Test
+  public void cachesMetadata() throws Exception {
+    start(MetadataCachePolicy.newBuilder().build());
+    otherClient.createCollectionAsync("test", VECTOR_PARAMS).get();
+
+    assertTrue(client.collectionExistsAsync("test").get());
+    assertTrue(client.collectionExistsAsync("test").get());
+    assertEquals(
+        client.getCollectionInfoAsync("test").get(), client.getCollectionInfoAsync("test").get());
+
+    assertEquals(2, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void separatesCallersWithDifferentHeaders() throws Exception {
+    start(MetadataCachePolicy.newBuilder().build());
+
+    assertFalse(existsWithApiKey("first"));
+    assertFalse(existsWithApiKey("second"));
+    assertFalse(existsWithApiKey("first"));
+
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesOnChange() throws Exception {
+    start(MetadataCachePolicy.newBuilder().build());
+
+    assertFalse(client.collectionExistsAsync("test").get());
+    client.createCollectionAsync("test", VECTOR_PARAMS).get();
+    assertTrue(client.collectionExistsAsync("test").get());
+    client.deleteCollectionAsync("test").get();
+    assertFalse(client.collectionExistsAsync("test").get());
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(3, metrics.cacheMisses());
+  }
+
+  @Test
+  public void refreshesInBackground() throws Exception {
+    start(
+        MetadataCachePolicy.newBuilder()
+            .withRefreshAfter(Duration.ofMillis(50))
+            .withTimeToLive(Duration.ofMinutes(1))
+            .build());
+
+    assertFalse(client.collectionExistsAsync("test").get());
+    otherClient.createCollectionAsync("test", VECTOR_PARAMS).get();
+    Thread.sleep(100);
+
+    // served from the cache while refreshing, until the refreshed entry is served
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    boolean exists = false;
+    while (!exists && System.nanoTime() < deadline) {
+      exists = client.collectionExistsAsync("test").get();
+    }
+    assertTrue(exists);
+    assertEquals(1, metrics.cacheMisses());
+  }
+
+  @Test
+  public void refreshesEntriesServedToBlockingClient() throws Exception {
+    start(
+        MetadataCachePolicy.newBuilder()
+            .withRefreshAfter(Duration.ofMillis(50))
+            .withTimeToLive(Duration.ofMinutes(1))
+            .build());
+    QdrantBlockingClient blockingClient = new QdrantBlockingClient(client.grpcClient());
+
+    assertFalse(blockingClient.collectionExists("test"));
+    otherClient.createCollectionAsync("test", VECTOR_PARAMS).get();
+    Thread.sleep(100);
+
+    // the refresh outlives the blocking call serving the entry
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    boolean exists = false;
+    while (!exists && System.nanoTime() < deadline) {
+      exists = blockingClient.collectionExists("test");
+    }
+    assertTrue(exists);
+    assertEquals(1, metrics.cacheMisses());
+  }
+
+  @Test
+  public void expiresEntries() throws Exception {
+    start(
+        MetadataCachePolicy.newBuilder()
+            .withRefreshAfter(Duration.ofMillis(25))
+            .withTimeToLive(Duration.ofMillis(50))
+            .build());
+
+    assertFalse(client.collectionExistsAsync("test").get());
+    otherClient.createCollectionAsync("test", VECTOR_PARAMS).get();
+    Thread.sleep(100);
+
+    assertTrue(client.collectionExistsAsync("test").get());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  private boolean existsWithApiKey(String apiKey) throws Exception {
+    return RequestHeaders.withHeader(Context.current(), "api-key", apiKey)
+        .call(() -> client.collectionExistsAsync("test"))
+        .get();
+  }
+
+  private void start(MetadataCachePolicy policy) {
+    client =
+        new QdrantClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                .withMetrics(metrics)
+                .withMetadataCache(policy)
+                .build());
+  }
+}
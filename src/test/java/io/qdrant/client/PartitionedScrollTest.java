@@ -0,0 +1,147 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.ConditionFactory.matchKeyword;
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class PartitionedScrollTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      points.add(point(id(i), i % 2 == 0 ? "even" : "odd"));
+    }
+    points.add(point(id(UUID.randomUUID()), "even"));
+    client.upsertAsync(testName, points).get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void streamsIdRangePartitions() {
+    PartitionedScroll scroll =
+        PartitionedScroll.newBuilder(client, scroll(4))
+            .withIdBoundaries(10, 20)
+            .withParallelism(2)
+            .build();
+
+    assertEquals(3, scroll.partitionCount());
+    try (Stream<RetrievedPoint> points = scroll.stream()) {
+      List<PointId> ids = points.map(RetrievedPoint::getId).collect(Collectors.toList());
+      assertEquals(31, ids.size());
+      assertEquals(31, new HashSet<>(ids).size());
+    }
+  }
+
+  @Test
+  public void scrollsSinglePartition() {
+    PartitionedScroll scroll =
+        PartitionedScroll.newBuilder(client, scroll(3)).withIdBoundaries(10, 20).build();
+
+    List<PointId> ids = new ArrayList<>();
+    try (ScrollIterator points = scroll.partition(1)) {
+      points.forEachRemaining(point -> ids.add(point.getId()));
+    }
+
+    assertEquals(10, ids.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(id(10 + i), ids.get(i));
+    }
+  }
+
+  @Test
+  public void streamsFilterPartitions() {
+    PartitionedScroll scroll =
+        PartitionedScroll.newBuilder(client, scroll(4))
+            .withFilters(
+                ImmutableList.of(
+                    Filter.newBuilder().addMust(matchKeyword("parity", "even")).build(),
+                    Filter.newBuilder().addMust(matchKeyword("parity", "odd")).build()))
+            .build();
+
+    try (Stream<RetrievedPoint> points = scroll.stream()) {
+      Set<PointId> ids = points.map(RetrievedPoint::getId).collect(Collectors.toSet());
+      assertEquals(31, ids.size());
+    }
+  }
+
+  @Test
+  public void rejectsSecondPartitioning() {
+    PartitionedScroll.Builder builder =
+        PartitionedScroll.newBuilder(client, scroll(4)).withIdBoundaries(10);
+    assertThrows(
+        IllegalStateException.class,
+        () -> builder.withFilters(ImmutableList.of(Filter.getDefaultInstance())));
+  }
+
+  private ScrollPoints scroll(int limit) {
+    return ScrollPoints.newBuilder().setCollectionName(testName).setLimit(limit).build();
+  }
+
+  private static PointStruct point(PointId id, String parity) {
+    return PointStruct.newBuilder()
+        .setId(id)
+        .setVectors(vectors(1.0f, 2.0f))
+        .putAllPayload(ImmutableMap.of("parity", value(parity)))
+        .build();
+  }
+}
@@ -0,0 +1,221 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.ConditionFactory.matchKeyword;
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ValueFactory.value;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.grpc.Context;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class PointCacheTest {
+  private static final UUID POINT_UUID = UUID.randomUUID();
+
+  private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+  private FakeQdrantServer server;
+  private QdrantClient client;
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @ParameterizedTest
+  @EnumSource(PointCachePolicy.Storage.class)
+  public void servesCachedPoints(PointCachePolicy.Storage storage) throws Exception {
+    start(storage);
+
+    List<RetrievedPoint> first = retrieve(id(1), id(2));
+    List<RetrievedPoint> second = retrieve(id(2), id(1));
+
+    assertEquals(List.of(first.get(1), first.get(0)), second);
+    assertEquals(2, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void retrievesOnlyMissingPoints() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    retrieve(id(1));
+    List<RetrievedPoint> points = retrieve(id(1), id(2), id(3));
+
+    // point 3 does not exist, and is retrieved again every time
+    assertEquals(List.of(id(1), id(2)), ids(points));
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(3, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesChangedPoints() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    retrieve(id(1), id(2));
+    client.setPayloadAsync("test", Map.of("color", value("blue")), id(1), true, null, null).get();
+    List<RetrievedPoint> points = retrieve(id(1), id(2));
+
+    assertEquals("blue", points.get(0).getPayloadMap().get("color").getStringValue());
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(3, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesPointsChangedByFilter() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    retrieve(id(1), id(2));
+    Filter filter = Filter.newBuilder().addMust(matchKeyword("color", "red")).build();
+    client.setPayloadAsync("test", Map.of("color", value("blue")), filter, true, null, null).get();
+    List<RetrievedPoint> points = retrieve(id(1), id(2));
+
+    assertEquals("blue", points.get(1).getPayloadMap().get("color").getStringValue());
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(4, metrics.cacheMisses());
+  }
+
+  @Test
+  public void distinguishesSelections() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    retrieve(id(1));
+    List<RetrievedPoint> points =
+        client.retrieveAsync("test", List.of(id(1)), false, true, null).get();
+
+    assertEquals(0, points.get(0).getPayloadCount());
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void matchesUuidsInAnyForm() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+    PointId uppercase = PointId.newBuilder().setUuid(POINT_UUID.toString().toUpperCase()).build();
+
+    List<RetrievedPoint> first = retrieve(id(POINT_UUID));
+    assertEquals(first, retrieve(uppercase));
+    client
+        .setPayloadAsync("test", Map.of("color", value("blue")), uppercase, true, null, null)
+        .get();
+    retrieve(id(POINT_UUID));
+
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesPointsOnAliasChange() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    client.createAliasAsync("current", "test").get();
+    assertEquals("green", color(retrieve("current", id(1)).get(0)));
+    client.createAliasAsync("current", "next").get();
+    assertEquals("yellow", color(retrieve("current", id(1)).get(0)));
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void keepsPointsRetrievedThroughAliasOnChangeThroughCollection() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    client.createAliasAsync("current", "test").get();
+    retrieve("current", id(1));
+    client.setPayloadAsync("test", Map.of("color", value("blue")), id(1), true, null, null).get();
+
+    // points are cached per name, changes through another name are not seen until they expire
+    assertEquals("green", color(retrieve("current", id(1)).get(0)));
+    assertEquals("blue", color(retrieve(id(1)).get(0)));
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void separatesCallersWithDifferentHeaders() throws Exception {
+    start(PointCachePolicy.Storage.OBJECTS);
+
+    List<RetrievedPoint> first = retrieveWithApiKey("first");
+    retrieveWithApiKey("second");
+    assertEquals(first, retrieveWithApiKey("first"));
+
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  private void start(PointCachePolicy.Storage storage) throws Exception {
+    server =
+        FakeQdrantServer.newBuilder()
+            .withCollection(
+                "test",
+                VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build(),
+                List.of(
+                    PointStruct.newBuilder()
+                        .setId(id(1))
+                        .setVectors(vectors(1.0f, 1.0f))
+                        .putPayload("color", value("green"))
+                        .build(),
+                    PointStruct.newBuilder()
+                        .setId(id(2))
+                        .setVectors(vectors(2.0f, 2.0f))
+                        .putPayload("color", value("red"))
+                        .build(),
+                    PointStruct.newBuilder()
+                        .setId(id(POINT_UUID))
+                        .setVectors(vectors(3.0f, 3.0f))
+                        .putPayload("color", value("white"))
+                        .build()))
+            .withCollection(
+                "next",
+                VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build(),
+                List.of(
+                    PointStruct.newBuilder()
+                        .setId(id(1))
+                        .setVectors(vectors(1.0f, 1.0f))
+                        .putPayload("color", value("yellow"))
+                        .build()))
+            .build();
+    client =
+        new QdrantClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                .withMetrics(metrics)
+                .withPointCache(PointCachePolicy.newBuilder().withStorage(storage).build())
+                .build());
+  }
+
+  private List<RetrievedPoint> retrieve(PointId... ids) throws Exception {
+    return retrieve("test", ids);
+  }
+
+  private List<RetrievedPoint> retrieve(String collectionName, PointId... ids) throws Exception {
+    return client.retrieveAsync(collectionName, List.of(ids), null).get();
+  }
+
+  private List<RetrievedPoint> retrieveWithApiKey(String apiKey) throws Exception {
+    return RequestHeaders.withHeader(Context.current(), "api-key", apiKey)
+        .call(() -> client.retrieveAsync("test", List.of(id(1)), null))
+        .get();
+  }
+
+  private static String color(RetrievedPoint point) {
+    return point.getPayloadMap().get("color").getStringValue();
+  }
+
+  private static List<PointId> ids(List<RetrievedPoint> points) {
+    return points.stream().map(RetrievedPoint::getId).collect(Collectors.toList());
+  }
+}
@@ -11,8 +11,10 @@
 import static io.qdrant.client.ValueFactory.value;
 import static io.qdrant.client.VectorFactory.vector;
 import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.grpc.Grpc;
@@ -28,6 +30,7 @@
 import io.qdrant.client.grpc.Common.Filter;
 import io.qdrant.client.grpc.Points;
 import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.DenseVector;
 import io.qdrant.client.grpc.Points.DiscoverPoints;
 import io.qdrant.client.grpc.Points.Fusion;
 import io.qdrant.client.grpc.Points.PointGroup;
@@ -52,7 +55,9 @@
 import io.qdrant.client.grpc.Points.SearchPoints;
 import io.qdrant.client.grpc.Points.UpdateResult;
 import io.qdrant.client.grpc.Points.UpdateStatus;
+import io.qdrant.client.grpc.Points.VectorOutput;
 import io.qdrant.client.grpc.Points.VectorsOutput;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -129,6 +134,26 @@ public void retrieve_with_vector_without_payload()
         VectorsOutput.VectorsOptionsCase.VECTOR, point.getVectors().getVectorsOptionsCase());
   }
 
+  @Test
+  public void retrieve_dense_vector_data() throws ExecutionException, InterruptedException {
+    createAndSeedCollection(testName);
+
+    List<RetrievedPoint> points = client.retrieveAsync(testName, id(8), false, true, null).get();
+
+    RetrievedPoint point = points.get(0);
+    VectorOutput vectorOutput = point.getVectors().getVector();
+    DenseVector dense = VectorOutputHelper.getDenseVector(vectorOutput);
+    float[] data = VectorOutputHelper.getDenseVectorData(point);
+    assertArrayEquals(new float[] {dense.getData(0), dense.getData(1)}, data);
+    assertNull(VectorOutputHelper.getDenseVectorData(point, "missing"));
+
+    FloatBuffer buffer = FloatBuffer.allocate(4);
+    buffer.put(0f);
+    assertEquals(2, VectorOutputHelper.copyDenseVectorData(vectorOutput, buffer));
+    assertEquals(3, buffer.position());
+    assertEquals(data[1], buffer.get(2));
+  }
+
   @Test
   public void setPayload() throws ExecutionException, InterruptedException {
     createAndSeedCollection(testName);
@@ -0,0 +1,198 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class PointsUploaderTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void uploadPoints() throws Exception {
+    List<Long> progress = new CopyOnWriteArrayList<>();
+    long uploaded =
+        client
+            .uploadPointsAsync(testName, points(105).iterator(), 3, 10, progress::add)
+            .get(30, TimeUnit.SECONDS);
+
+    assertEquals(105, uploaded);
+    assertEquals(105, client.countAsync(testName).get());
+    assertEquals(105, progress.get(progress.size() - 1));
+    for (int i = 1; i < progress.size(); i++) {
+      assertTrue(progress.get(i) > progress.get(i - 1));
+    }
+  }
+
+  @Test
+  public void uploadEmptyIterator() throws Exception {
+    long uploaded =
+        client
+            .uploadPointsAsync(testName, new ArrayList<PointStruct>().iterator(), 2, 10)
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals(0, uploaded);
+  }
+
+  @Test
+  public void uploadFailsOnInvalidPoints() {
+    List<PointStruct> points = points(20);
+    points.add(
+        PointStruct.newBuilder().setId(id(20)).setVectors(vectors(1.0f, 2.0f, 3.0f)).build());
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                PointsUploader.newBuilder(client, testName)
+                    .withBatchSize(10)
+                    .withParallelism(2)
+                    .build()
+                    .upload(points.iterator())
+                    .get(30, TimeUnit.SECONDS));
+    Throwable cause = exception.getCause();
+    assertInstanceOf(StatusRuntimeException.class, cause);
+    assertEquals(
+        Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) cause).getStatus().getCode());
+  }
+
+  @Test
+  public void uploadFailsWhenIteratorThrows() {
+    Iterator<PointStruct> points =
+        new Iterator<PointStruct>() {
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return true;
+          }
+
+          @Override
+          public PointStruct next() {
+            if (next == 15) {
+              throw new IllegalStateException("source failed");
+            }
+            return point(next++);
+          }
+        };
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class,
+            () -> client.uploadPointsAsync(testName, points, 2, 10).get(30, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, exception.getCause());
+  }
+
+  @Test
+  public void stopsRetryingWhenCancelled() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ClientMetrics metrics =
+        new ClientMetrics() {
+          @Override
+          public void callStarted(String method) {
+            calls.incrementAndGet();
+          }
+
+          @Override
+          public void callCompleted(
+              String method,
+              String collectionName,
+              Status.Code code,
+              long latencyNanos,
+              long requestBytes,
+              long responseBytes) {}
+        };
+    try (FakeQdrantServer server =
+            FakeQdrantServer.newBuilder().withErrorRate(1, Status.Code.UNAVAILABLE).build();
+        QdrantClient fakeClient =
+            new QdrantClient(
+                QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                    .withMetrics(metrics)
+                    .build())) {
+      ListenableFuture<Long> upload =
+          PointsUploader.newBuilder(fakeClient, testName)
+              .withInitialBackoff(Duration.ofMillis(400))
+              .build()
+              .upload(points(10).iterator());
+      while (calls.get() == 0) {
+        Thread.sleep(10);
+      }
+      // let the first attempt fail and its retry wait for its backoff
+      Thread.sleep(100);
+      upload.cancel(false);
+      Thread.sleep(500);
+
+      assertEquals(1, calls.get());
+    }
+  }
+
+  private static List<PointStruct> points(int count) {
+    List<PointStruct> points = new ArrayList<>();
+    LongStream.range(0, count).forEach(i -> points.add(point(i)));
+    return points;
+  }
+
+  private static PointStruct point(long id) {
+    return PointStruct.newBuilder().setId(id(id)).setVectors(vectors(1.0f + id, 2.0f)).build();
+  }
+}
@@ -0,0 +1,116 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QdrantBlockingClientTest {
+  private static final VectorParams VECTOR_PARAMS =
+      VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build();
+
+  private FakeQdrantServer server;
+  private QdrantBlockingClient client;
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  public void managesCollections() throws Exception {
+    start(FakeQdrantServer.newBuilder().build(), null);
+
+    assertFalse(client.collectionExists("test"));
+    client.createCollection("test", VECTOR_PARAMS);
+    assertTrue(client.collectionExists("test"));
+    assertEquals(List.of("test"), client.listCollections());
+    assertEquals(0, client.getCollectionInfo("test").getPointsCount());
+    client.deleteCollection("test");
+    assertFalse(client.collectionExists("test"));
+  }
+
+  @Test
+  public void managesPoints() throws Exception {
+    start(FakeQdrantServer.newBuilder().build(), null);
+    client.createCollection("test", VECTOR_PARAMS);
+
+    client.upsert("test", List.of(point(1, 1.0f), point(2, 2.0f)));
+    assertEquals(2, client.count("test"));
+    assertEquals(2, client.retrieve("test", List.of(id(1), id(2)), true, false, null).size());
+
+    List<ScoredPoint> points =
+        client.query(
+            QueryPoints.newBuilder()
+                .setCollectionName("test")
+                .setQuery(nearest(1.9f, 1.9f))
+                .setLimit(1)
+                .build());
+    assertEquals(id(2), points.get(0).getId());
+
+    client.delete("test", List.of(id(2)));
+    assertEquals(1, client.count("test"));
+  }
+
+  @Test
+  public void failsWithStatus() throws Exception {
+    start(FakeQdrantServer.newBuilder().build(), null);
+
+    StatusRuntimeException exception =
+        assertThrows(StatusRuntimeException.class, () -> client.getCollectionInfo("test"));
+    assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+    assertThrows(QdrantException.class, () -> client.deleteCollection("test"));
+  }
+
+  @Test
+  public void timesOut() throws Exception {
+    start(FakeQdrantServer.newBuilder().withLatency(Duration.ofSeconds(5)).build(), null);
+
+    StatusRuntimeException exception =
+        assertThrows(StatusRuntimeException.class, () -> client.healthCheck(Duration.ofMillis(50)));
+    assertEquals(Status.Code.DEADLINE_EXCEEDED, exception.getStatus().getCode());
+  }
+
+  @Test
+  public void usesTimeoutOfGrpcClient() throws Exception {
+    start(
+        FakeQdrantServer.newBuilder().withLatency(Duration.ofSeconds(5)).build(),
+        Duration.ofMillis(50));
+
+    StatusRuntimeException exception =
+        assertThrows(StatusRuntimeException.class, () -> client.healthCheck());
+    assertEquals(Status.Code.DEADLINE_EXCEEDED, exception.getStatus().getCode());
+  }
+
+  private void start(FakeQdrantServer server, Duration timeout) {
+    this.server = server;
+    client =
+        new QdrantBlockingClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                .withTimeout(timeout)
+                .build());
+  }
+
+  private static PointStruct point(int id, float coordinate) {
+    return PointStruct.newBuilder()
+        .setId(id(id))
+        .setVectors(vectors(coordinate, coordinate))
+        .build();
+  }
+}
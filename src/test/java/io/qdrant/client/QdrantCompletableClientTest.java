@@ -0,0 +1,135 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QdrantCompletableClientTest {
+  private static final VectorParams VECTOR_PARAMS =
+      VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build();
+
+  private FakeQdrantServer server;
+  private QdrantCompletableClient client;
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  public void managesCollections() throws Exception {
+    start(FakeQdrantServer.newBuilder().build());
+
+    assertFalse(client.collectionExistsAsync("test").get());
+    client.createCollectionAsync("test", VECTOR_PARAMS).get();
+    assertTrue(client.collectionExistsAsync("test").get());
+    assertEquals(List.of("test"), client.listCollectionsAsync().get());
+    assertEquals(0, client.getCollectionInfoAsync("test").get().getPointsCount());
+    client.deleteCollectionAsync("test").get();
+    assertFalse(client.collectionExistsAsync("test").get());
+  }
+
+  @Test
+  public void managesPoints() throws Exception {
+    start(FakeQdrantServer.newBuilder().build());
+    client.createCollectionAsync("test", VECTOR_PARAMS).get();
+
+    client.upsertAsync("test", List.of(point(1, 1.0f), point(2, 2.0f))).get();
+    assertEquals(2, client.countAsync("test").get());
+    assertEquals(
+        2, client.retrieveAsync("test", List.of(id(1), id(2)), true, false, null).get().size());
+
+    List<ScoredPoint> points =
+        client
+            .queryAsync(
+                QueryPoints.newBuilder()
+                    .setCollectionName("test")
+                    .setQuery(nearest(1.9f, 1.9f))
+                    .setLimit(1)
+                    .build())
+            .get();
+    assertEquals(id(2), points.get(0).getId());
+
+    client.deleteAsync("test", List.of(id(2))).get();
+    assertEquals(1, client.countAsync("test").get());
+  }
+
+  @Test
+  public void failsWithStatus() throws Exception {
+    start(FakeQdrantServer.newBuilder().build());
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> client.getCollectionInfoAsync("test").get());
+    StatusRuntimeException cause =
+        assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+    assertEquals(Status.Code.NOT_FOUND, cause.getStatus().getCode());
+  }
+
+  @Test
+  public void failsWhenTransformFails() throws Exception {
+    start(FakeQdrantServer.newBuilder().build());
+
+    // the fake server answers a delete of a missing collection with a false result
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> client.deleteCollectionAsync("test").get());
+    assertInstanceOf(QdrantException.class, exception.getCause());
+  }
+
+  @Test
+  public void timesOut() throws Exception {
+    start(FakeQdrantServer.newBuilder().withLatency(Duration.ofSeconds(5)).build());
+
+    ExecutionException exception =
+        assertThrows(
+            ExecutionException.class, () -> client.healthCheckAsync(Duration.ofMillis(50)).get());
+    StatusRuntimeException cause =
+        assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+    assertEquals(Status.Code.DEADLINE_EXCEEDED, cause.getStatus().getCode());
+  }
+
+  @Test
+  public void cancelsCall() throws Exception {
+    start(FakeQdrantServer.newBuilder().withLatency(Duration.ofSeconds(5)).build());
+
+    CompletableFuture<?> future = client.healthCheckAsync();
+    assertTrue(future.cancel(true));
+
+    assertTrue(future.isCancelled());
+    assertThrows(CancellationException.class, future::get);
+  }
+
+  private void start(FakeQdrantServer server) {
+    this.server = server;
+    client =
+        new QdrantCompletableClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false).build());
+  }
+
+  private static PointStruct point(int id, float coordinate) {
+    return PointStruct.newBuilder()
+        .setId(id(id))
+        .setVectors(vectors(coordinate, coordinate))
+        .build();
+  }
+}
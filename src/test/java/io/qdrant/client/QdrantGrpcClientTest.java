@@ -1,11 +1,25 @@
 package io.qdrant.client;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.Grpc;
 import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.ListCollectionsRequest;
 import io.qdrant.client.grpc.QdrantOuterClass;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,4 +59,156 @@ void healthCheck() throws ExecutionException, InterruptedException {
     assertNotNull(healthCheckReply.getTitle());
     assertNotNull(healthCheckReply.getVersion());
   }
+
+  @Test
+  void healthCheckWithChannelPool() throws ExecutionException, InterruptedException {
+    try (QdrantGrpcClient pooledClient =
+        QdrantGrpcClient.newBuilder(
+                QDRANT_CONTAINER.getHost(), QDRANT_CONTAINER.getMappedPort(6334), false)
+            .withChannelPoolSize(3)
+            .build()) {
+      assertEquals(3, pooledClient.channels().size());
+
+      List<ListenableFuture<QdrantOuterClass.HealthCheckReply>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        futures.add(
+            pooledClient
+                .qdrant()
+                .healthCheck(QdrantOuterClass.HealthCheckRequest.getDefaultInstance()));
+      }
+      for (QdrantOuterClass.HealthCheckReply reply : Futures.allAsList(futures).get()) {
+        assertNotNull(reply.getVersion());
+      }
+    }
+  }
+
+  @Test
+  void channelPoolSizeRequiresHost() {
+    ManagedChannel channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    try {
+      assertThrows(
+          IllegalStateException.class,
+          () -> QdrantGrpcClient.newBuilder(channel).withChannelPoolSize(2));
+    } finally {
+      channel.shutdownNow();
+    }
+  }
+
+  @Test
+  void completesOnExecutor() throws ExecutionException, InterruptedException {
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("application-%d").build());
+    try (QdrantGrpcClient executorClient =
+        QdrantGrpcClient.newBuilder(
+                QDRANT_CONTAINER.getHost(), QDRANT_CONTAINER.getMappedPort(6334), false)
+            .withExecutor(executor)
+            .build()) {
+      String thread =
+          Futures.transform(
+                  executorClient
+                      .qdrant()
+                      .healthCheck(QdrantOuterClass.HealthCheckRequest.getDefaultInstance()),
+                  reply -> Thread.currentThread().getName(),
+                  MoreExecutors.directExecutor())
+              .get();
+
+      assertEquals("application-0", thread);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void completesCacheHitsOnExecutor() throws ExecutionException, InterruptedException {
+    ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("application-%d").build());
+    try (QdrantGrpcClient executorClient =
+        QdrantGrpcClient.newBuilder(
+                QDRANT_CONTAINER.getHost(), QDRANT_CONTAINER.getMappedPort(6334), false)
+            .withMetadataCache(MetadataCachePolicy.newBuilder().build())
+            .withExecutor(executor)
+            .build()) {
+      ListCollectionsRequest request = ListCollectionsRequest.getDefaultInstance();
+      executorClient.collections().list(request).get();
+      // answered from the cache, without a call to the server
+      String thread =
+          Futures.transform(
+                  executorClient.collections().list(request),
+                  response -> Thread.currentThread().getName(),
+                  MoreExecutors.directExecutor())
+              .get();
+
+      assertEquals("application-0", thread);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void healthCheckWithNettyTransport() throws ExecutionException, InterruptedException {
+    try (QdrantGrpcClient nettyClient =
+        QdrantGrpcClient.newBuilder(
+                QDRANT_CONTAINER.getHost(), QDRANT_CONTAINER.getMappedPort(6334), false)
+            .withChannelPoolSize(2)
+            .withEventLoopThreads(2)
+            .withNativeTransport(true)
+            .withPooledDirectBuffers(true)
+            .build()) {
+      for (int i = 0; i < 4; i++) {
+        QdrantOuterClass.HealthCheckReply reply =
+            nettyClient
+                .qdrant()
+                .healthCheck(QdrantOuterClass.HealthCheckRequest.getDefaultInstance())
+                .get();
+        assertNotNull(reply.getVersion());
+      }
+    }
+  }
+
+  @Test
+  void closeStopsEventLoopThreads() throws InterruptedException {
+    QdrantGrpcClient nettyClient =
+        QdrantGrpcClient.newBuilder(
+                QDRANT_CONTAINER.getHost(), QDRANT_CONTAINER.getMappedPort(6334), false)
+            .withEventLoopThreads(1)
+            .build();
+    nettyClient.close();
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (eventLoopThreadAlive() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertFalse(eventLoopThreadAlive());
+  }
+
+  @Test
+  void nettyTransportRequiresHost() {
+    ManagedChannel channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    try {
+      assertThrows(
+          IllegalStateException.class,
+          () -> QdrantGrpcClient.newBuilder(channel).withEventLoopThreads(2));
+      assertThrows(
+          IllegalStateException.class,
+          () -> QdrantGrpcClient.newBuilder(channel).withNativeTransport(true));
+      assertThrows(
+          IllegalStateException.class,
+          () -> QdrantGrpcClient.newBuilder(channel).withPooledDirectBuffers(true));
+    } finally {
+      channel.shutdownNow();
+    }
+  }
+
+  private static boolean eventLoopThreadAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(thread -> thread.getName().startsWith("qdrant-client-event-loop"));
+  }
 }
@@ -0,0 +1,167 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.grpc.Context;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCacheTest {
+  private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+  private FakeQdrantServer server;
+  private QdrantClient client;
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  public void answersIdenticalQueriesFromCache() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    List<ScoredPoint> first = client.queryAsync(query(1, 5)).get();
+    List<ScoredPoint> second = client.queryAsync(query(1, 10)).get();
+
+    // the timeout is not part of the request cached
+    assertEquals(first, second);
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(1, metrics.cacheMisses());
+  }
+
+  @Test
+  public void distinguishesRequests() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    assertEquals(1, client.queryAsync(query(1, 5)).get().size());
+    assertEquals(2, client.queryAsync(query(2, 5)).get().size());
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void separatesCallersWithDifferentHeaders() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    List<ScoredPoint> first = queryWithApiKey("first");
+    queryWithApiKey("second");
+    assertEquals(first, queryWithApiKey("first"));
+
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesOnWrite() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    assertEquals(id(2), client.queryAsync(query(1, 5)).get().get(0).getId());
+    upsert(3, 3.0f);
+    assertEquals(id(3), client.queryAsync(query(1, 5)).get().get(0).getId());
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void invalidatesOnAliasChange() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    client.createAliasAsync("current", "test").get();
+    assertEquals(id(2), client.queryAsync(query("current", 1, 5)).get().get(0).getId());
+    client.createAliasAsync("current", "next").get();
+    assertEquals(id(3), client.queryAsync(query("current", 1, 5)).get().get(0).getId());
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void keepsResultsQueriedThroughAliasOnWriteThroughCollection() throws Exception {
+    start(QueryCachePolicy.newBuilder().build());
+
+    client.createAliasAsync("current", "test").get();
+    client.queryAsync(query("current", 1, 5)).get();
+    upsert(3, 3.0f);
+
+    // results are cached per name, writes through another name are not seen until they expire
+    assertEquals(id(2), client.queryAsync(query("current", 1, 5)).get().get(0).getId());
+    assertEquals(id(3), client.queryAsync(query(1, 5)).get().get(0).getId());
+    assertEquals(1, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  @Test
+  public void expiresEntries() throws Exception {
+    start(QueryCachePolicy.newBuilder().withTimeToLive(Duration.ofMillis(50)).build());
+
+    client.queryAsync(query(1, 5)).get();
+    Thread.sleep(100);
+    client.queryAsync(query(1, 5)).get();
+
+    assertEquals(0, metrics.cacheHits());
+    assertEquals(2, metrics.cacheMisses());
+  }
+
+  private void start(QueryCachePolicy policy) throws Exception {
+    server =
+        FakeQdrantServer.newBuilder()
+            .withCollection(
+                "test",
+                VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build(),
+                List.of(point(1, 1.0f), point(2, 2.0f)))
+            .withCollection(
+                "next",
+                VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build(),
+                List.of(point(3, 3.0f)))
+            .build();
+    client =
+        new QdrantClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                .withMetrics(metrics)
+                .withQueryCache(policy)
+                .build());
+  }
+
+  private void upsert(int id, float coordinate) throws Exception {
+    client.upsertAsync("test", List.of(point(id, coordinate))).get();
+  }
+
+  private static PointStruct point(int id, float coordinate) {
+    return PointStruct.newBuilder()
+        .setId(id(id))
+        .setVectors(vectors(coordinate, coordinate))
+        .build();
+  }
+
+  private List<ScoredPoint> queryWithApiKey(String apiKey) throws Exception {
+    return RequestHeaders.withHeader(Context.current(), "api-key", apiKey)
+        .call(() -> client.queryAsync(query(1, 5)))
+        .get();
+  }
+
+  private static QueryPoints query(int limit, long timeout) {
+    return query("test", limit, timeout);
+  }
+
+  private static QueryPoints query(String collectionName, int limit, long timeout) {
+    return QueryPoints.newBuilder()
+        .setCollectionName(collectionName)
+        .setQuery(nearest(2.6f, 2.6f))
+        .setLimit(limit)
+        .setTimeout(timeout)
+        .build();
+  }
+}
@@ -0,0 +1,117 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.QueryFactory.nearest;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class QueryCoalescerTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Euclid).setSize(2).build())
+        .get();
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      points.add(
+          PointStruct.newBuilder().setId(id(i)).setVectors(vectors((float) i, 0.0f)).build());
+    }
+    client.upsertAsync(testName, points).get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void coalescesQueries() throws Exception {
+    List<ListenableFuture<List<ScoredPoint>>> results = new ArrayList<>();
+    try (QueryCoalescer coalescer =
+        QueryCoalescer.newBuilder(client)
+            .withWindow(Duration.ofMillis(50))
+            .withMaxBatchSize(4)
+            .build()) {
+      for (int i = 0; i < 10; i++) {
+        results.add(coalescer.queryAsync(query(i)));
+      }
+    }
+
+    for (int i = 0; i < 10; i++) {
+      List<ScoredPoint> points = results.get(i).get(5, TimeUnit.SECONDS);
+      assertEquals(1, points.size());
+      assertEquals(id(i), points.get(0).getId());
+    }
+  }
+
+  @Test
+  public void sendsBatchAfterWindow() throws Exception {
+    try (QueryCoalescer coalescer =
+        QueryCoalescer.newBuilder(client).withWindow(Duration.ofMillis(10)).build()) {
+      ListenableFuture<List<ScoredPoint>> first = coalescer.queryAsync(query(3));
+      ListenableFuture<List<ScoredPoint>> second = coalescer.queryAsync(query(7));
+
+      assertEquals(id(3), first.get(5, TimeUnit.SECONDS).get(0).getId());
+      assertEquals(id(7), second.get(5, TimeUnit.SECONDS).get(0).getId());
+    }
+  }
+
+  @Test
+  public void rejectsQueriesAfterClose() {
+    QueryCoalescer coalescer = QueryCoalescer.newBuilder(client).build();
+    coalescer.close();
+    assertThrows(IllegalStateException.class, () -> coalescer.queryAsync(query(1)));
+  }
+
+  private QueryPoints query(int i) {
+    return QueryPoints.newBuilder()
+        .setCollectionName(testName)
+        .setQuery(nearest((float) i, 0.0f))
+        .setLimit(1)
+        .build();
+  }
+}
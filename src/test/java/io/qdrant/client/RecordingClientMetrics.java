@@ -0,0 +1,58 @@
+package io.qdrant.client;
+
+import io.grpc.Status;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ClientMetrics} counting the hits and misses of the caches of a client, for tests
+ * asserting which calls were answered without the server.
+ *
+ * <pre>{@code
+ * RecordingClientMetrics metrics = new RecordingClientMetrics();
+ * QdrantClient client =
+ *     new QdrantClient(
+ *         QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+ *             .withMetrics(metrics)
+ *             .withQueryCache(QueryCachePolicy.newBuilder().build())
+ *             .build());
+ * }</pre>
+ */
+public final class RecordingClientMetrics implements ClientMetrics {
+  private final AtomicInteger cacheHits = new AtomicInteger();
+  private final AtomicInteger cacheMisses = new AtomicInteger();
+
+  @Override
+  public void callStarted(String method) {}
+
+  @Override
+  public void callCompleted(
+      String method,
+      String collectionName,
+      Status.Code code,
+      long latencyNanos,
+      long requestBytes,
+      long responseBytes) {}
+
+  @Override
+  public void cacheAccessed(String method, String collectionName, boolean hit) {
+    (hit ? cacheHits : cacheMisses).incrementAndGet();
+  }
+
+  /**
+   * Gets the number of lookups answered from a cache.
+   *
+   * @return the number of cache hits
+   */
+  public int cacheHits() {
+    return cacheHits.get();
+  }
+
+  /**
+   * Gets the number of lookups not answered from a cache.
+   *
+   * @return the number of cache misses
+   */
+  public int cacheMisses() {
+    return cacheMisses.get();
+  }
+}
@@ -0,0 +1,167 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static io.qdrant.client.WithPayloadSelectorFactory.enable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class RetrieveCoalescerTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      points.add(
+          PointStruct.newBuilder().setId(id(i)).setVectors(vectors(1.0f + i, 2.0f)).build());
+    }
+    client.upsertAsync(testName, points).get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void coalescesRetrieves() throws Exception {
+    ListenableFuture<List<RetrievedPoint>> first;
+    ListenableFuture<List<RetrievedPoint>> second;
+    ListenableFuture<List<RetrievedPoint>> missing;
+    try (RetrieveCoalescer coalescer =
+        RetrieveCoalescer.newBuilder(client).withWindow(Duration.ofMillis(50)).build()) {
+      first = retrieve(coalescer, ImmutableList.of(id(3), id(1)));
+      second = retrieve(coalescer, ImmutableList.of(id(1), id(5), id(5)));
+      missing = retrieve(coalescer, ImmutableList.of(id(42)));
+    }
+
+    List<RetrievedPoint> firstPoints = first.get(5, TimeUnit.SECONDS);
+    assertEquals(2, firstPoints.size());
+    assertEquals(id(3), firstPoints.get(0).getId());
+    assertEquals(id(1), firstPoints.get(1).getId());
+
+    List<RetrievedPoint> secondPoints = second.get(5, TimeUnit.SECONDS);
+    assertEquals(2, secondPoints.size());
+    assertEquals(id(1), secondPoints.get(0).getId());
+    assertEquals(id(5), secondPoints.get(1).getId());
+
+    assertTrue(missing.get(5, TimeUnit.SECONDS).isEmpty());
+  }
+
+  @Test
+  public void separatesIncompatibleSelectors() throws Exception {
+    try (RetrieveCoalescer coalescer =
+        RetrieveCoalescer.newBuilder(client).withWindow(Duration.ofMillis(10)).build()) {
+      ListenableFuture<List<RetrievedPoint>> withVectors =
+          coalescer.retrieveAsync(
+              testName,
+              ImmutableList.of(id(2)),
+              enable(false),
+              WithVectorsSelectorFactory.enable(true),
+              null);
+      ListenableFuture<List<RetrievedPoint>> withoutVectors =
+          retrieve(coalescer, ImmutableList.of(id(2)));
+
+      assertTrue(withVectors.get(5, TimeUnit.SECONDS).get(0).hasVectors());
+      assertFalse(withoutVectors.get(5, TimeUnit.SECONDS).get(0).hasVectors());
+    }
+  }
+
+  @Test
+  public void sendsBatchOnMaxBatchSize() throws Exception {
+    try (RetrieveCoalescer coalescer =
+        RetrieveCoalescer.newBuilder(client)
+            .withWindow(Duration.ofMinutes(1))
+            .withMaxBatchSize(2)
+            .build()) {
+      List<RetrievedPoint> points =
+          retrieve(coalescer, ImmutableList.of(id(1), id(2))).get(5, TimeUnit.SECONDS);
+      assertEquals(2, points.size());
+    }
+  }
+
+  @Test
+  public void matchesUuidsInAnyForm() throws Exception {
+    UUID uuid = UUID.randomUUID();
+    client
+        .upsertAsync(
+            testName,
+            ImmutableList.of(
+                PointStruct.newBuilder().setId(id(uuid)).setVectors(vectors(1.0f, 2.0f)).build()))
+        .get();
+    PointId uppercase = PointId.newBuilder().setUuid(uuid.toString().toUpperCase()).build();
+    PointId simple = PointId.newBuilder().setUuid(uuid.toString().replace("-", "")).build();
+
+    try (RetrieveCoalescer coalescer =
+        RetrieveCoalescer.newBuilder(client).withWindow(Duration.ofMillis(10)).build()) {
+      List<RetrievedPoint> points =
+          retrieve(coalescer, ImmutableList.of(uppercase, simple)).get(5, TimeUnit.SECONDS);
+
+      // the server returns the canonical form of the UUID
+      assertEquals(1, points.size());
+      assertEquals(id(uuid), points.get(0).getId());
+    }
+  }
+
+  @Test
+  public void rejectsRetrievesAfterClose() {
+    RetrieveCoalescer coalescer = RetrieveCoalescer.newBuilder(client).build();
+    coalescer.close();
+    assertThrows(IllegalStateException.class, () -> retrieve(coalescer, ImmutableList.of(id(1))));
+  }
+
+  private ListenableFuture<List<RetrievedPoint>> retrieve(
+      RetrieveCoalescer coalescer, List<PointId> ids) {
+    return coalescer.retrieveAsync(
+        testName, ids, enable(true), WithVectorsSelectorFactory.enable(false), null);
+  }
+}
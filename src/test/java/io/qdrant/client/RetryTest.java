@@ -0,0 +1,243 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.ConditionFactory.matchKeyword;
+import static io.qdrant.client.PointIdFactory.id;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Collections.AliasOperations;
+import io.qdrant.client.grpc.Collections.ChangeAliases;
+import io.qdrant.client.grpc.Collections.CollectionOperationResponse;
+import io.qdrant.client.grpc.Collections.CreateAlias;
+import io.qdrant.client.grpc.Collections.DeleteAlias;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.CountResponse;
+import io.qdrant.client.grpc.Points.CountResult;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.PointsOperationResponse;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RetryTest {
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicInteger retries = new AtomicInteger();
+  private Server server;
+  private String serverName;
+  private QdrantClient client;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    serverName = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(serverName)
+            .addService(new FlakyPoints())
+            .addService(new FlakyCollections())
+            .build()
+            .start();
+    client = newClient(RetryPolicy.newBuilder(), null);
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    client.close();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void retriesUnavailable() throws Exception {
+    failures.set(2);
+
+    assertEquals(3, client.countAsync("test").get());
+    assertEquals(3, calls.get());
+    assertEquals(2, retries.get());
+  }
+
+  @Test
+  public void stopsAtMaxAttempts() {
+    failures.set(10);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> client.countAsync("test").get());
+    assertInstanceOf(StatusRuntimeException.class, e.getCause());
+    assertEquals(
+        Status.Code.UNAVAILABLE, ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void retriesDeleteByIds() throws Exception {
+    failures.set(1);
+
+    client.deleteAsync("test", List.of(id(1), id(2))).get();
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void doesNotRetryDeleteByFilter() {
+    failures.set(1);
+
+    Filter filter = Filter.newBuilder().addMust(matchKeyword("color", "red")).build();
+    assertThrows(ExecutionException.class, () -> client.deleteAsync("test", filter).get());
+    assertEquals(1, calls.get());
+    assertEquals(0, retries.get());
+  }
+
+  @Test
+  public void doesNotRetryAliasChanges() {
+    failures.set(1);
+    assertThrows(ExecutionException.class, () -> client.deleteAliasAsync("alias").get());
+    assertEquals(1, calls.get());
+
+    calls.set(0);
+    failures.set(1);
+    assertThrows(ExecutionException.class, () -> client.createAliasAsync("alias", "test").get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void doesNotRetryPastDeadline() throws Exception {
+    client.close();
+    client =
+        newClient(
+            RetryPolicy.newBuilder()
+                .withInitialBackoff(Duration.ofSeconds(10))
+                .withMaxBackoff(Duration.ofSeconds(10))
+                .withBackoffMultiplier(1),
+            Duration.ofMillis(100));
+    failures.set(10);
+
+    long start = System.nanoTime();
+    assertThrows(ExecutionException.class, () -> client.countAsync("test").get());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  public void classifiesIdempotency() {
+    String delete = PointsGrpc.getDeleteMethod().getFullMethodName();
+    String updateAliases = CollectionsGrpc.getUpdateAliasesMethod().getFullMethodName();
+
+    assertTrue(
+        RetryingChannel.isIdempotent(PointsGrpc.getUpsertMethod().getFullMethodName(), null));
+    assertFalse(
+        RetryingChannel.isIdempotent(PointsGrpc.getUpdateBatchMethod().getFullMethodName(), null));
+    assertFalse(
+        RetryingChannel.isIdempotent(CollectionsGrpc.getCreateMethod().getFullMethodName(), null));
+    assertFalse(
+        RetryingChannel.isIdempotent(
+            delete, DeletePoints.newBuilder().setCollectionName("test").build()));
+    assertFalse(
+        RetryingChannel.isIdempotent(
+            updateAliases,
+            ChangeAliases.newBuilder()
+                .addActions(
+                    AliasOperations.newBuilder()
+                        .setDeleteAlias(DeleteAlias.newBuilder().setAliasName("old").build())
+                        .build())
+                .build()));
+    assertFalse(
+        RetryingChannel.isIdempotent(
+            updateAliases,
+            ChangeAliases.newBuilder()
+                .addActions(
+                    AliasOperations.newBuilder()
+                        .setCreateAlias(
+                            CreateAlias.newBuilder()
+                                .setAliasName("new")
+                                .setCollectionName("test")
+                                .build())
+                        .build())
+                .build()));
+  }
+
+  private QdrantClient newClient(RetryPolicy.Builder policy, Duration timeout) {
+    ClientMetrics metrics =
+        new ClientMetrics() {
+          @Override
+          public void callStarted(String method) {}
+
+          @Override
+          public void callCompleted(
+              String method,
+              String collectionName,
+              Status.Code code,
+              long latencyNanos,
+              long requestBytes,
+              long responseBytes) {}
+
+          @Override
+          public void callRetried(String method, String collectionName, Status.Code code) {
+            retries.incrementAndGet();
+          }
+        };
+    return new QdrantClient(
+        QdrantGrpcClient.newBuilder(
+                InProcessChannelBuilder.forName(serverName).build(), true, false)
+            .withTimeout(timeout)
+            .withMetrics(metrics)
+            .withRetry(
+                policy
+                    .withMaxAttempts(3)
+                    .withInitialBackoff(Duration.ofMillis(1))
+                    .withMaxBackoff(Duration.ofMillis(10))
+                    .build())
+            .build());
+  }
+
+  /** Fails with UNAVAILABLE while there are failures left, and answers otherwise. */
+  private <T> void respond(StreamObserver<T> responseObserver, T response) {
+    calls.incrementAndGet();
+    if (failures.getAndDecrement() > 0) {
+      responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+      return;
+    }
+    responseObserver.onNext(response);
+    responseObserver.onCompleted();
+  }
+
+  private class FlakyPoints extends PointsGrpc.PointsImplBase {
+    @Override
+    public void count(CountPoints request, StreamObserver<CountResponse> responseObserver) {
+      CountResult result = CountResult.newBuilder().setCount(calls.get() + 1).build();
+      respond(responseObserver, CountResponse.newBuilder().setResult(result).build());
+    }
+
+    @Override
+    public void delete(
+        DeletePoints request, StreamObserver<PointsOperationResponse> responseObserver) {
+      respond(
+          responseObserver,
+          PointsOperationResponse.newBuilder()
+              .setResult(UpdateResult.getDefaultInstance())
+              .build());
+    }
+  }
+
+  private class FlakyCollections extends CollectionsGrpc.CollectionsImplBase {
+    @Override
+    public void updateAliases(
+        ChangeAliases request, StreamObserver<CollectionOperationResponse> responseObserver) {
+      respond(responseObserver, CollectionOperationResponse.newBuilder().setResult(true).build());
+    }
+  }
+}
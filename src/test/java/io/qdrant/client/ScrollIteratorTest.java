@@ -0,0 +1,136 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class ScrollIteratorTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE);
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel =
+        Grpc.newChannelBuilder(
+                QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+            .build();
+    QdrantGrpcClient grpcClient = QdrantGrpcClient.newBuilder(channel).build();
+    client = new QdrantClient(grpcClient);
+    client
+        .createCollectionAsync(
+            testName, VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void iteratesAllPages() throws Exception {
+    upsertPoints(25);
+
+    List<PointId> ids = new ArrayList<>();
+    try (ScrollIterator points =
+        ScrollIterator.newBuilder(client, scroll(4)).withPrefetchPages(3).build()) {
+      while (points.hasNext()) {
+        ids.add(points.next().getId());
+      }
+      assertThrows(NoSuchElementException.class, points::next);
+    }
+
+    assertEquals(25, ids.size());
+    for (int i = 0; i < 25; i++) {
+      assertEquals(id(i), ids.get(i));
+    }
+  }
+
+  @Test
+  public void streamsAllPages() throws Exception {
+    upsertPoints(10);
+
+    try (Stream<RetrievedPoint> points = client.scrollStream(scroll(3))) {
+      List<PointId> ids = points.map(RetrievedPoint::getId).collect(Collectors.toList());
+      assertEquals(10, ids.size());
+    }
+  }
+
+  @Test
+  public void iteratesEmptyCollection() {
+    try (ScrollIterator points = client.scrollIterator(scroll(4))) {
+      assertFalse(points.hasNext());
+    }
+  }
+
+  @Test
+  public void stopsAfterClose() throws Exception {
+    upsertPoints(10);
+
+    ScrollIterator points = client.scrollIterator(scroll(2));
+    assertTrue(points.hasNext());
+    points.next();
+    points.close();
+    assertFalse(points.hasNext());
+  }
+
+  @Test
+  public void failsOnMissingCollection() {
+    try (ScrollIterator points =
+        client.scrollIterator(
+            ScrollPoints.newBuilder().setCollectionName(testName + "_missing").build())) {
+      assertThrows(QdrantException.class, points::hasNext);
+    }
+  }
+
+  private ScrollPoints scroll(int limit) {
+    return ScrollPoints.newBuilder().setCollectionName(testName).setLimit(limit).build();
+  }
+
+  private void upsertPoints(int count) throws Exception {
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      points.add(
+          PointStruct.newBuilder().setId(id(i)).setVectors(vectors(1.0f + i, 2.0f)).build());
+    }
+    client.upsertAsync(testName, points).get();
+  }
+}
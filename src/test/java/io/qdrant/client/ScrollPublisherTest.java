@@ -0,0 +1,185 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+class ScrollPublisherTest {
+  private final AtomicInteger scrolls = new AtomicInteger();
+  private FakeQdrantServer server;
+  private QdrantClient client;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    ClientMetrics metrics =
+        new ClientMetrics() {
+          @Override
+          public void callStarted(String method) {
+            if (method.equals(PointsGrpc.getScrollMethod().getFullMethodName())) {
+              scrolls.incrementAndGet();
+            }
+          }
+
+          @Override
+          public void callCompleted(
+              String method,
+              String collectionName,
+              Status.Code code,
+              long latencyNanos,
+              long requestBytes,
+              long responseBytes) {}
+        };
+    server = FakeQdrantServer.newBuilder().build();
+    client =
+        new QdrantClient(
+            QdrantGrpcClient.newBuilder(server.newChannel(), true, false)
+                .withMetrics(metrics)
+                .build());
+    client
+        .createCollectionAsync(
+            "test", VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      points.add(PointStruct.newBuilder().setId(id(i)).setVectors(vectors(1.0f, 2.0f)).build());
+    }
+    client.upsertAsync("test", points).get();
+  }
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  public void publishesAllPoints() throws Exception {
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher("test").subscribe(subscriber);
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    subscriber.done.get(5, TimeUnit.SECONDS);
+
+    List<Long> ids =
+        subscriber.points.stream().map(p -> p.getId().getNum()).collect(Collectors.toList());
+    List<Long> expected = new ArrayList<>();
+    for (long i = 0; i < 25; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, ids);
+    assertEquals(3, scrolls.get());
+  }
+
+  @Test
+  public void fetchesPagesOnDemand() throws Exception {
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher("test").subscribe(subscriber);
+    assertEquals(0, scrolls.get());
+
+    subscriber.subscription.request(5);
+    subscriber.awaitPoints(5);
+    assertEquals(1, scrolls.get());
+
+    subscriber.subscription.request(5);
+    subscriber.awaitPoints(10);
+    assertEquals(1, scrolls.get());
+
+    subscriber.subscription.request(1);
+    subscriber.awaitPoints(11);
+    assertEquals(2, scrolls.get());
+
+    subscriber.subscription.cancel();
+    assertEquals(2, scrolls.get());
+  }
+
+  @Test
+  public void failsWithScroll() {
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher("missing").subscribe(subscriber);
+
+    subscriber.subscription.request(1);
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> subscriber.done.get(5, TimeUnit.SECONDS));
+    StatusRuntimeException cause =
+        assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+    assertEquals(Status.Code.NOT_FOUND, cause.getStatus().getCode());
+  }
+
+  @Test
+  public void failsOnNonPositiveRequest() {
+    TestSubscriber subscriber = new TestSubscriber();
+    publisher("test").subscribe(subscriber);
+
+    subscriber.subscription.request(0);
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> subscriber.done.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+  }
+
+  private ScrollPublisher publisher(String collectionName) {
+    ScrollPoints request =
+        ScrollPoints.newBuilder().setCollectionName(collectionName).setLimit(10).build();
+    return ScrollPublisher.newBuilder(client, request).build();
+  }
+
+  /** Subscriber recording points, requesting only when told to. */
+  private static final class TestSubscriber implements Subscriber<RetrievedPoint> {
+    private final List<RetrievedPoint> points = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private Subscription subscription;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(RetrievedPoint point) {
+      points.add(point);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      done.completeExceptionally(t);
+    }
+
+    @Override
+    public void onComplete() {
+      done.complete(null);
+    }
+
+    void awaitPoints(int count) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (points.size() < count && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertEquals(count, points.size());
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.ShardKeyFactory.shardKey;
+import static io.qdrant.client.ShardKeySelectorFactory.shardKeySelector;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.grpc.Channel;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.CreateShardKey;
+import io.qdrant.client.grpc.Collections.CreateShardKeyRequest;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.ShardingMethod;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.UpdateStatus;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.qdrant.QdrantContainer;
+
+@Testcontainers
+class ShardRoutingTest {
+  @Container
+  private static final QdrantContainer QDRANT_CONTAINER =
+      new QdrantContainer(DockerImage.QDRANT_IMAGE).withEnv("QDRANT__CLUSTER__ENABLED", "true");
+
+  private QdrantClient client;
+  private ManagedChannel channel;
+  private ManagedChannel peerChannel;
+  private long peerId;
+  private String testName;
+
+  @BeforeEach
+  public void setup(TestInfo testInfo) throws Exception {
+    testName = testInfo.getDisplayName().replace("()", "");
+    channel = newChannel();
+    peerChannel = newChannel();
+    client = new QdrantClient(QdrantGrpcClient.newBuilder(channel).build());
+    client
+        .createCollectionAsync(
+            CreateCollection.newBuilder()
+                .setCollectionName(testName)
+                .setVectorsConfig(
+                    VectorsConfig.newBuilder()
+                        .setParams(
+                            VectorParams.newBuilder()
+                                .setDistance(Distance.Cosine)
+                                .setSize(2)
+                                .build())
+                        .build())
+                .setShardingMethod(ShardingMethod.Custom)
+                .build())
+        .get();
+    client
+        .createShardKeyAsync(
+            CreateShardKeyRequest.newBuilder()
+                .setCollectionName(testName)
+                .setRequest(CreateShardKey.newBuilder().setShardKey(shardKey("tenant")).build())
+                .build())
+        .get();
+    peerId = client.getCollectionClusterInfoAsync(testName).get().getPeerId();
+  }
+
+  @AfterEach
+  public void teardown() throws Exception {
+    List<String> collectionNames = client.listCollectionsAsync().get();
+    for (String collectionName : collectionNames) {
+      client.deleteCollectionAsync(collectionName).get();
+    }
+    client.close();
+    channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    peerChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void selectsPeerHoldingShardKey() throws Exception {
+    ShardRoutingChannel routingChannel =
+        new ShardRoutingChannel(
+            channel, Collections.singletonMap(peerId, peerChannel), null, Duration.ofMinutes(1));
+    UpsertPoints routed = upsert().setShardKeySelector(shardKeySelector("tenant")).build();
+
+    assertSame(channel, routingChannel.select(upsert().build()));
+    assertSame(peerChannel, awaitSelection(routingChannel, routed, peerChannel));
+    assertSame(
+        channel,
+        routingChannel.select(upsert().setShardKeySelector(shardKeySelector("other")).build()));
+
+    routingChannel.invalidate(testName);
+    assertSame(channel, routingChannel.select(routed));
+  }
+
+  @Test
+  public void upsertWithShardRouting() throws Exception {
+    try (QdrantClient routingClient =
+        new QdrantClient(
+            QdrantGrpcClient.newBuilder(channel)
+                .withShardRouting(Collections.singletonMap(peerId, peerChannel))
+                .build())) {
+      for (int i = 0; i < 3; i++) {
+        assertEquals(
+            UpdateStatus.Completed,
+            routingClient
+                .upsertAsync(upsert().setShardKeySelector(shardKeySelector("tenant")).build())
+                .get()
+                .getStatus());
+      }
+    }
+
+    assertEquals(1, client.countAsync(testName).get());
+  }
+
+  private UpsertPoints.Builder upsert() {
+    return UpsertPoints.newBuilder()
+        .setCollectionName(testName)
+        .setWait(true)
+        .addPoints(PointStruct.newBuilder().setId(id(1)).setVectors(vectors(1.0f, 2.0f)).build());
+  }
+
+  private static Channel awaitSelection(
+      ShardRoutingChannel routingChannel, Object message, Channel expected)
+      throws InterruptedException {
+    Channel selected = routingChannel.select(message);
+    for (int i = 0; i < 50 && selected != expected; i++) {
+      Thread.sleep(100);
+      selected = routingChannel.select(message);
+    }
+    return selected;
+  }
+
+  private static ManagedChannel newChannel() {
+    return Grpc.newChannelBuilder(
+            QDRANT_CONTAINER.getGrpcHostAddress(), InsecureChannelCredentials.create())
+        .build();
+  }
+}
@@ -0,0 +1,205 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.PointIdFactory.id;
+import static io.qdrant.client.VectorsFactory.vectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Points.PointStruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+class UpsertSubscriberTest {
+  private FakeQdrantServer server;
+  private QdrantClient client;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    server = FakeQdrantServer.newBuilder().build();
+    client =
+        new QdrantClient(QdrantGrpcClient.newBuilder(server.newChannel(), true, false).build());
+    client
+        .createCollectionAsync(
+            "test", VectorParams.newBuilder().setDistance(Distance.Cosine).setSize(2).build())
+        .get();
+  }
+
+  @AfterEach
+  public void teardown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  public void upsertsAllPoints() throws Exception {
+    ListPublisher publisher = new ListPublisher(points(95));
+    UpsertSubscriber subscriber =
+        UpsertSubscriber.newBuilder(client, "test").withBatchSize(10).withParallelism(2).build();
+
+    publisher.subscribe(subscriber);
+
+    assertEquals(95, subscriber.result().get(5, TimeUnit.SECONDS));
+    assertEquals(95, client.countAsync("test").get());
+  }
+
+  @Test
+  public void boundsDemand() throws Exception {
+    ListPublisher publisher = new ListPublisher(points(95));
+    UpsertSubscriber subscriber =
+        UpsertSubscriber.newBuilder(client, "test").withBatchSize(10).withParallelism(2).build();
+
+    publisher.subscribe(subscriber);
+    subscriber.result().get(5, TimeUnit.SECONDS);
+
+    assertEquals(20, publisher.requests.get(0));
+    for (long requested : publisher.requests.subList(1, publisher.requests.size())) {
+      assertEquals(10, requested);
+    }
+  }
+
+  @Test
+  public void upsertsNoPoints() throws Exception {
+    ListPublisher publisher = new ListPublisher(new ArrayList<>());
+    UpsertSubscriber subscriber = UpsertSubscriber.newBuilder(client, "test").build();
+
+    publisher.subscribe(subscriber);
+
+    assertEquals(0, subscriber.result().get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void failsWithBatch() {
+    ListPublisher publisher = new ListPublisher(points(95));
+    UpsertSubscriber subscriber =
+        UpsertSubscriber.newBuilder(client, "missing").withBatchSize(10).build();
+
+    publisher.subscribe(subscriber);
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> subscriber.result().get(5, TimeUnit.SECONDS));
+    StatusRuntimeException cause =
+        assertInstanceOf(StatusRuntimeException.class, exception.getCause());
+    assertEquals(Status.Code.NOT_FOUND, cause.getStatus().getCode());
+    assertTrue(publisher.cancelled);
+  }
+
+  @Test
+  public void failsWithUpstream() {
+    UpsertSubscriber subscriber = UpsertSubscriber.newBuilder(client, "test").build();
+    IllegalStateException failure = new IllegalStateException("upstream");
+
+    subscriber.onSubscribe(
+        new Subscription() {
+          @Override
+          public void request(long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    subscriber.onError(failure);
+
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> subscriber.result().get(5, TimeUnit.SECONDS));
+    assertEquals(failure, exception.getCause());
+  }
+
+  @Test
+  public void stopsWhenResultCancelled() throws Exception {
+    UpsertSubscriber subscriber =
+        UpsertSubscriber.newBuilder(client, "test").withBatchSize(10).withParallelism(1).build();
+    List<Long> requests = new CopyOnWriteArrayList<>();
+    AtomicInteger cancels = new AtomicInteger();
+
+    subscriber.onSubscribe(
+        new Subscription() {
+          @Override
+          public void request(long n) {
+            requests.add(n);
+          }
+
+          @Override
+          public void cancel() {
+            cancels.incrementAndGet();
+          }
+        });
+    subscriber.result().cancel(false);
+    // points already emitted by the upstream may still arrive after the cancellation
+    for (PointStruct point : points(10)) {
+      subscriber.onNext(point);
+    }
+    subscriber.onComplete();
+
+    assertEquals(1, cancels.get());
+    assertEquals(List.of(10L), requests);
+    assertEquals(0, client.countAsync("test").get());
+  }
+
+  private static List<PointStruct> points(int count) {
+    List<PointStruct> points = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      points.add(PointStruct.newBuilder().setId(id(i)).setVectors(vectors(1.0f, 2.0f)).build());
+    }
+    return points;
+  }
+
+  /** Publisher of a list honoring the demand of its subscriber, and recording it. */
+  private static final class ListPublisher implements Publisher<PointStruct> {
+    private final List<PointStruct> points;
+    private final List<Long> requests = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    ListPublisher(List<PointStruct> points) {
+      this.points = points;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super PointStruct> subscriber) {
+      AtomicLong requested = new AtomicLong();
+      AtomicInteger wip = new AtomicInteger();
+      AtomicInteger index = new AtomicInteger();
+      subscriber.onSubscribe(
+          new Subscription() {
+            @Override
+            public void request(long n) {
+              requests.add(n);
+              requested.addAndGet(n);
+              if (wip.getAndIncrement() != 0) {
+                return;
+              }
+              do {
+                while (requested.get() > 0 && index.get() < points.size() && !cancelled) {
+                  requested.decrementAndGet();
+                  subscriber.onNext(points.get(index.getAndIncrement()));
+                }
+                if (index.get() == points.size() && !cancelled) {
+                  index.incrementAndGet();
+                  subscriber.onComplete();
+                }
+              } while (wip.decrementAndGet() != 0);
+            }
+
+            @Override
+            public void cancel() {
+              cancelled = true;
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.qdrant.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import io.qdrant.client.grpc.Points.SparseVector;
+import io.qdrant.client.grpc.Points.Vector;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class VectorFactoryTest {
+  @Test
+  public void testDenseVector_slice() {
+    Vector vector = VectorFactory.vector(new float[] {1f, 2f, 3f, 4f}, 1, 2);
+
+    assertEquals(List.of(2f, 3f), vector.getDense().getDataList());
+    assertEquals(VectorFactory.vector(2f, 3f), vector);
+  }
+
+  @Test
+  public void testDenseVector_emptySliceAtEnd() {
+    Vector vector = VectorFactory.vector(new float[] {1f, 2f}, 2, 0);
+
+    assertEquals(List.of(), vector.getDense().getDataList());
+  }
+
+  @Test
+  public void testDenseVector_rejectsOutOfRangeSlice() {
+    float[] values = {1f, 2f, 3f, 4f};
+    assertThrows(IndexOutOfBoundsException.class, () -> VectorFactory.vector(values, 1, -1));
+    assertThrows(IndexOutOfBoundsException.class, () -> VectorFactory.vector(values, -1, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> VectorFactory.vector(values, 5, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> VectorFactory.vector(values, 3, 2));
+    assertThrows(
+        IndexOutOfBoundsException.class, () -> VectorFactory.vector(values, 1, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testDenseVector_heapBufferFromPositionToLimit() {
+    FloatBuffer buffer = FloatBuffer.wrap(new float[] {1f, 2f, 3f, 4f, 5f});
+    buffer.position(1).limit(4);
+    assertTrue(buffer.hasArray());
+
+    Vector vector = VectorFactory.vector(buffer);
+
+    assertEquals(List.of(2f, 3f, 4f), vector.getDense().getDataList());
+    assertEquals(1, buffer.position());
+    assertEquals(4, buffer.limit());
+  }
+
+  @Test
+  public void testDenseVector_slicedHeapBufferUsesArrayOffset() {
+    FloatBuffer buffer = FloatBuffer.wrap(new float[] {1f, 2f, 3f, 4f, 5f}, 1, 3).slice();
+    buffer.position(1);
+    assertEquals(1, buffer.arrayOffset());
+
+    Vector vector = VectorFactory.vector(buffer);
+
+    assertEquals(List.of(3f, 4f), vector.getDense().getDataList());
+    assertEquals(1, buffer.position());
+  }
+
+  @Test
+  public void testDenseVector_directBufferFromPositionToLimit() {
+    FloatBuffer buffer = ByteBuffer.allocateDirect(5 * Float.BYTES).asFloatBuffer();
+    buffer.put(new float[] {1f, 2f, 3f, 4f, 5f});
+    buffer.position(1).limit(4);
+    assertFalse(buffer.hasArray());
+
+    Vector vector = VectorFactory.vector(buffer);
+
+    assertEquals(List.of(2f, 3f, 4f), vector.getDense().getDataList());
+    assertEquals(1, buffer.position());
+    assertEquals(4, buffer.limit());
+  }
+
+  @Test
+  public void testDenseVector_overloadsMatchVarargs() {
+    float[] values = {0f, 1f, 2f, 0f};
+    FloatBuffer buffer = FloatBuffer.wrap(values, 1, 2);
+
+    assertEquals(VectorInputFactory.vectorInput(1f, 2f), VectorInputFactory.vectorInput(buffer));
+    assertEquals(
+        VectorInputFactory.vectorInput(1f, 2f), VectorInputFactory.vectorInput(values, 1, 2));
+    assertEquals(VectorsFactory.vectors(1f, 2f), VectorsFactory.vectors(buffer));
+    assertEquals(VectorsFactory.vectors(1f, 2f), VectorsFactory.vectors(values, 1, 2));
+    assertEquals(QueryFactory.nearest(1f, 2f), QueryFactory.nearest(buffer));
+    assertEquals(QueryFactory.nearest(1f, 2f), QueryFactory.nearest(values, 1, 2));
+    assertEquals(1, buffer.position());
+  }
+
+  @Test
+  public void testSparseVector_matchesBoxedVector() {
+    Vector vector = VectorFactory.vector(new float[] {0.5f, 0.25f}, new int[] {3, 7});
+    assertEquals(
+        VectorFactory.vector(ImmutableList.of(0.5f, 0.25f), ImmutableList.of(3, 7)), vector);
+  }
+
+  @Test
+  public void testSparseVector_sortsSliceInPlace() {
+    float[] values = {9f, 0.3f, 0.1f, 0.2f, 9f};
+    int[] indices = {-1, 30, 10, -20, -1};
+
+    SparseVector sparse = VectorFactory.vector(values, indices, 1, 3, true).getSparse();
+
+    assertArrayEquals(new int[] {-1, 10, 30, -20, -1}, indices);
+    assertArrayEquals(new float[] {9f, 0.1f, 0.3f, 0.2f, 9f}, values);
+    assertEquals(ImmutableList.of(10, 30, -20), sparse.getIndicesList());
+    assertEquals(ImmutableList.of(0.1f, 0.3f, 0.2f), sparse.getValuesList());
+  }
+
+  @Test
+  public void testSparseVector_rejectsDuplicateIndices() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> VectorFactory.vector(new float[] {1f, 2f}, new int[] {4, 4}, 0, 2, true));
+  }
+
+  @Test
+  public void testSparseVector_rejectsMismatchedLengths() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> VectorFactory.vector(new float[] {1f, 2f}, new int[] {4}));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> VectorFactory.vector(new float[] {1f, 2f}, new int[] {4}, 0, 2, false));
+  }
+}
@@ -0,0 +1,638 @@
+package io.qdrant.client;
+
+import io.grpc.Status;
+import io.qdrant.client.grpc.Collections.CollectionConfig;
+import io.qdrant.client.grpc.Collections.CollectionInfo;
+import io.qdrant.client.grpc.Collections.CollectionParams;
+import io.qdrant.client.grpc.Collections.CollectionStatus;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Common.Condition;
+import io.qdrant.client.grpc.Common.FieldCondition;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.Match;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.Common.Range;
+import io.qdrant.client.grpc.JsonWithInt.Struct;
+import io.qdrant.client.grpc.JsonWithInt.Value;
+import io.qdrant.client.grpc.Points.DenseVector;
+import io.qdrant.client.grpc.Points.NamedVectorsOutput;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.Vector;
+import io.qdrant.client.grpc.Points.VectorOutput;
+import io.qdrant.client.grpc.Points.VectorsOutput;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import io.qdrant.client.grpc.Points.WithVectorsSelector;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+/**
+ * A collection of {@link FakeQdrantServer}, held in memory and searched by brute force.
+ *
+ * <p>Only dense vectors are supported, unnamed or named. Filters support must, should, must not
+ * and min should clauses with has id, match, range, is empty, is null, nested, has vector and
+ * filter conditions. Requests using anything else fail with {@code INVALID_ARGUMENT}.
+ */
+final class FakeCollection {
+  /** Orders points like the server scrolls them: numeric ids first, then UUIDs. */
+  static final Comparator<PointId> ID_ORDER =
+      (left, right) -> {
+        if (left.hasNum() != right.hasNum()) {
+          return left.hasNum() ? -1 : 1;
+        }
+        return left.hasNum()
+            ? Long.compareUnsigned(left.getNum(), right.getNum())
+            : left.getUuid().compareTo(right.getUuid());
+      };
+
+  /** The name of the unnamed vector. */
+  private static final String DEFAULT_VECTOR = "";
+
+  private final CreateCollection config;
+  private final Map<String, VectorParams> vectorParams;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final TreeMap<PointId, StoredPoint> points = new TreeMap<>(ID_ORDER);
+
+  FakeCollection(CreateCollection config) {
+    this.config = config;
+    this.vectorParams = new HashMap<>();
+    if (config.getVectorsConfig().hasParams()) {
+      vectorParams.put(DEFAULT_VECTOR, config.getVectorsConfig().getParams());
+    } else if (config.getVectorsConfig().hasParamsMap()) {
+      vectorParams.putAll(config.getVectorsConfig().getParamsMap().getMapMap());
+    }
+  }
+
+  CollectionInfo info() {
+    lock.lock();
+    try {
+      return CollectionInfo.newBuilder()
+          .setStatus(CollectionStatus.Green)
+          .setPointsCount(points.size())
+          .setConfig(
+              CollectionConfig.newBuilder()
+                  .setParams(
+                      CollectionParams.newBuilder()
+                          .setShardNumber(1)
+                          .setVectorsConfig(config.getVectorsConfig())))
+          .build();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void upsert(List<PointStruct> upserted) {
+    List<StoredPoint> stored = new ArrayList<>(upserted.size());
+    for (PointStruct point : upserted) {
+      Map<String, float[]> vectors = new HashMap<>();
+      if (point.getVectors().hasVector()) {
+        vectors.put(DEFAULT_VECTOR, toDense(DEFAULT_VECTOR, point.getVectors().getVector()));
+      } else if (point.getVectors().hasVectors()) {
+        for (Map.Entry<String, Vector> entry :
+            point.getVectors().getVectors().getVectorsMap().entrySet()) {
+          vectors.put(entry.getKey(), toDense(entry.getKey(), entry.getValue()));
+        }
+      }
+      stored.add(new StoredPoint(point.getId(), point.getPayloadMap(), vectors));
+    }
+    lock.lock();
+    try {
+      for (StoredPoint point : stored) {
+        points.put(point.id, point);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  List<StoredPoint> get(List<PointId> ids) {
+    lock.lock();
+    try {
+      List<StoredPoint> found = new ArrayList<>(ids.size());
+      for (PointId id : ids) {
+        StoredPoint point = points.get(id);
+        if (point != null) {
+          found.add(point);
+        }
+      }
+      return found;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Selects points in id order.
+   *
+   * @param filter The filter points must match, if any.
+   * @param offset The first id, inclusive, if any.
+   * @param limit The maximum number of points.
+   * @return the points
+   */
+  List<StoredPoint> scroll(@Nullable Filter filter, @Nullable PointId offset, int limit) {
+    Predicate<StoredPoint> predicate = predicate(filter);
+    lock.lock();
+    try {
+      Collection<StoredPoint> candidates =
+          offset == null ? points.values() : points.tailMap(offset, true).values();
+      List<StoredPoint> selected = new ArrayList<>();
+      for (StoredPoint point : candidates) {
+        if (selected.size() == limit) {
+          break;
+        }
+        if (predicate.test(point)) {
+          selected.add(point);
+        }
+      }
+      return selected;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  long count(@Nullable Filter filter) {
+    return scroll(filter, null, Integer.MAX_VALUE).size();
+  }
+
+  /**
+   * Scores all points matching the filter against a vector, by brute force.
+   *
+   * @param vectorName The name of the vector, empty for the unnamed vector.
+   * @param vector The query vector.
+   * @param filter The filter points must match, if any.
+   * @param scoreThreshold The worst score to return, if any.
+   * @param offset The number of best points to skip.
+   * @param limit The maximum number of points.
+   * @return the scored points, best first
+   */
+  List<Scored> search(
+      String vectorName,
+      float[] vector,
+      @Nullable Filter filter,
+      @Nullable Float scoreThreshold,
+      int offset,
+      int limit) {
+    VectorParams params = params(vectorName);
+    Distance distance = params.getDistance();
+    checkDimensions(vectorName, vector, params);
+    float[] query = distance == Distance.Cosine ? normalize(vector) : vector;
+    boolean higherIsBetter = distance == Distance.Cosine || distance == Distance.Dot;
+
+    List<Scored> scored = new ArrayList<>();
+    for (StoredPoint point : scroll(filter, null, Integer.MAX_VALUE)) {
+      float[] candidate = point.vectors.get(vectorName);
+      if (candidate == null) {
+        continue;
+      }
+      float score = score(distance, query, candidate);
+      if (scoreThreshold != null
+          && (higherIsBetter ? score < scoreThreshold : score > scoreThreshold)) {
+        continue;
+      }
+      scored.add(new Scored(point, score));
+    }
+    Comparator<Scored> order = Comparator.comparingDouble(s -> s.score);
+    scored.sort(higherIsBetter ? order.reversed() : order);
+    if (offset >= scored.size()) {
+      return Collections.emptyList();
+    }
+    return new ArrayList<>(scored.subList(offset, Math.min(scored.size(), offset + limit)));
+  }
+
+  /**
+   * Deletes points.
+   *
+   * @param ids The ids of the points, if selected by id.
+   * @param filter The filter of the points, if selected by filter.
+   */
+  void delete(@Nullable List<PointId> ids, @Nullable Filter filter) {
+    List<StoredPoint> selected = select(ids, filter);
+    lock.lock();
+    try {
+      for (StoredPoint point : selected) {
+        points.remove(point.id);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Updates the payload of points.
+   *
+   * @param ids The ids of the points, if selected by id.
+   * @param filter The filter of the points, if selected by filter.
+   * @param update Computes the new payload from the current one.
+   */
+  void updatePayload(
+      @Nullable List<PointId> ids,
+      @Nullable Filter filter,
+      Function<Map<String, Value>, Map<String, Value>> update) {
+    List<StoredPoint> selected = select(ids, filter);
+    lock.lock();
+    try {
+      for (StoredPoint point : selected) {
+        if (points.containsKey(point.id)) {
+          Map<String, Value> payload = update.apply(new LinkedHashMap<>(point.payload));
+          points.put(point.id, new StoredPoint(point.id, payload, point.vectors));
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<StoredPoint> select(@Nullable List<PointId> ids, @Nullable Filter filter) {
+    return ids != null ? get(ids) : scroll(filter, null, Integer.MAX_VALUE);
+  }
+
+  private VectorParams params(String vectorName) {
+    VectorParams params = vectorParams.get(vectorName);
+    if (params == null) {
+      throw Status.INVALID_ARGUMENT
+          .withDescription(
+              vectorName.isEmpty()
+                  ? "Wrong input: Collection has no unnamed vector"
+                  : "Wrong input: Not existing vector name error: " + vectorName)
+          .asRuntimeException();
+    }
+    return params;
+  }
+
+  private float[] toDense(String vectorName, Vector vector) {
+    float[] data;
+    if (vector.hasDense()) {
+      DenseVector dense = vector.getDense();
+      data = new float[dense.getDataCount()];
+      for (int i = 0; i < data.length; i++) {
+        data[i] = dense.getData(i);
+      }
+    } else if (vector.getDataCount() > 0 && !vector.hasIndices() && !vector.hasVectorsCount()) {
+      data = new float[vector.getDataCount()];
+      for (int i = 0; i < data.length; i++) {
+        data[i] = vector.getData(i);
+      }
+    } else {
+      throw unsupported("Only dense vectors are supported");
+    }
+    VectorParams params = params(vectorName);
+    checkDimensions(vectorName, data, params);
+    return params.getDistance() == Distance.Cosine ? normalize(data) : data;
+  }
+
+  private static void checkDimensions(String vectorName, float[] vector, VectorParams params) {
+    if (vector.length != params.getSize()) {
+      throw Status.INVALID_ARGUMENT
+          .withDescription(
+              "Wrong input: Vector dimension error: expected dim: "
+                  + params.getSize()
+                  + ", got "
+                  + vector.length
+                  + (vectorName.isEmpty() ? "" : " for vector " + vectorName))
+          .asRuntimeException();
+    }
+  }
+
+  private static float[] normalize(float[] vector) {
+    double norm = 0;
+    for (float value : vector) {
+      norm += value * value;
+    }
+    norm = Math.sqrt(norm);
+    if (norm == 0) {
+      return vector;
+    }
+    float[] normalized = new float[vector.length];
+    for (int i = 0; i < vector.length; i++) {
+      normalized[i] = (float) (vector[i] / norm);
+    }
+    return normalized;
+  }
+
+  private static float score(Distance distance, float[] query, float[] candidate) {
+    double score = 0;
+    for (int i = 0; i < query.length; i++) {
+      switch (distance) {
+        case Euclid:
+          double difference = query[i] - candidate[i];
+          score += difference * difference;
+          break;
+        case Manhattan:
+          score += Math.abs(query[i] - candidate[i]);
+          break;
+        default:
+          score += query[i] * candidate[i];
+      }
+    }
+    return (float) (distance == Distance.Euclid ? Math.sqrt(score) : score);
+  }
+
+  private static Predicate<StoredPoint> predicate(@Nullable Filter filter) {
+    if (filter == null) {
+      return point -> true;
+    }
+    return point -> matches(filter, point.id, point.payload, point.vectors.keySet());
+  }
+
+  private static boolean matches(
+      Filter filter, PointId id, Map<String, Value> payload, Set<String> vectorNames) {
+    for (Condition condition : filter.getMustList()) {
+      if (!matches(condition, id, payload, vectorNames)) {
+        return false;
+      }
+    }
+    for (Condition condition : filter.getMustNotList()) {
+      if (matches(condition, id, payload, vectorNames)) {
+        return false;
+      }
+    }
+    if (filter.getShouldCount() > 0) {
+      boolean any = false;
+      for (Condition condition : filter.getShouldList()) {
+        if (matches(condition, id, payload, vectorNames)) {
+          any = true;
+          break;
+        }
+      }
+      if (!any) {
+        return false;
+      }
+    }
+    if (filter.hasMinShould()) {
+      long matched = 0;
+      for (Condition condition : filter.getMinShould().getConditionsList()) {
+        if (matches(condition, id, payload, vectorNames)) {
+          matched++;
+        }
+      }
+      if (matched < filter.getMinShould().getMinCount()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(
+      Condition condition, PointId id, Map<String, Value> payload, Set<String> vectorNames) {
+    switch (condition.getConditionOneOfCase()) {
+      case FIELD:
+        return matches(condition.getField(), payload);
+      case IS_EMPTY:
+        return values(payload, condition.getIsEmpty().getKey()).stream()
+            .allMatch(value -> value.getKindCase() == Value.KindCase.NULL_VALUE);
+      case IS_NULL:
+        return values(payload, condition.getIsNull().getKey()).stream()
+            .anyMatch(value -> value.getKindCase() == Value.KindCase.NULL_VALUE);
+      case HAS_ID:
+        return new HashSet<>(condition.getHasId().getHasIdList()).contains(id);
+      case FILTER:
+        return matches(condition.getFilter(), id, payload, vectorNames);
+      case NESTED:
+        for (Value value : values(payload, condition.getNested().getKey())) {
+          if (value.hasStructValue()
+              && matches(
+                  condition.getNested().getFilter(),
+                  id,
+                  value.getStructValue().getFieldsMap(),
+                  Collections.emptySet())) {
+            return true;
+          }
+        }
+        return false;
+      case HAS_VECTOR:
+        return vectorNames.contains(condition.getHasVector().getHasVector());
+      default:
+        throw unsupported("Unsupported condition " + condition.getConditionOneOfCase());
+    }
+  }
+
+  private static boolean matches(FieldCondition condition, Map<String, Value> payload) {
+    List<Value> values = values(payload, condition.getKey());
+    if (condition.hasMatch()) {
+      return matches(condition.getMatch(), values);
+    }
+    if (condition.hasRange()) {
+      Range range = condition.getRange();
+      for (Value value : values) {
+        Double number = number(value);
+        if (number != null) {
+          if ((!range.hasLt() || number < range.getLt())
+              && (!range.hasGt() || number > range.getGt())
+              && (!range.hasLte() || number <= range.getLte())
+              && (!range.hasGte() || number >= range.getGte())) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+    throw unsupported("Unsupported field condition on " + condition.getKey());
+  }
+
+  private static boolean matches(Match match, List<Value> values) {
+    switch (match.getMatchValueCase()) {
+      case KEYWORD:
+        return values.stream().anyMatch(v -> match.getKeyword().equals(string(v)));
+      case INTEGER:
+        return values.stream().anyMatch(v -> Long.valueOf(match.getInteger()).equals(integer(v)));
+      case BOOLEAN:
+        return values.stream()
+            .anyMatch(
+                v ->
+                    v.getKindCase() == Value.KindCase.BOOL_VALUE
+                        && v.getBoolValue() == match.getBoolean());
+      case TEXT:
+        return values.stream()
+            .anyMatch(v -> string(v) != null && string(v).contains(match.getText()));
+      case KEYWORDS:
+        return values.stream()
+            .anyMatch(v -> match.getKeywords().getStringsList().contains(string(v)));
+      case INTEGERS:
+        return values.stream()
+            .anyMatch(v -> match.getIntegers().getIntegersList().contains(integer(v)));
+      case EXCEPT_KEYWORDS:
+        return values.stream()
+            .noneMatch(v -> match.getExceptKeywords().getStringsList().contains(string(v)));
+      case EXCEPT_INTEGERS:
+        return values.stream()
+            .noneMatch(v -> match.getExceptIntegers().getIntegersList().contains(integer(v)));
+      default:
+        throw unsupported("Unsupported match " + match.getMatchValueCase());
+    }
+  }
+
+  @Nullable
+  private static String string(Value value) {
+    return value.getKindCase() == Value.KindCase.STRING_VALUE ? value.getStringValue() : null;
+  }
+
+  @Nullable
+  private static Long integer(Value value) {
+    return value.getKindCase() == Value.KindCase.INTEGER_VALUE ? value.getIntegerValue() : null;
+  }
+
+  @Nullable
+  private static Double number(Value value) {
+    switch (value.getKindCase()) {
+      case INTEGER_VALUE:
+        return (double) value.getIntegerValue();
+      case DOUBLE_VALUE:
+        return value.getDoubleValue();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Resolves a payload key, which may be a path through objects separated by dots. Arrays on the
+   * path are flattened, so a key matches any of their elements.
+   */
+  private static List<Value> values(Map<String, Value> payload, String key) {
+    List<Value> current = new ArrayList<>();
+    current.add(
+        Value.newBuilder().setStructValue(Struct.newBuilder().putAllFields(payload)).build());
+    for (String segment : key.split("\\.")) {
+      String field =
+          segment.endsWith("[]") ? segment.substring(0, segment.length() - 2) : segment;
+      List<Value> next = new ArrayList<>();
+      for (Value value : current) {
+        if (value.hasStructValue() && value.getStructValue().getFieldsMap().containsKey(field)) {
+          flatten(value.getStructValue().getFieldsMap().get(field), next);
+        }
+      }
+      current = next;
+    }
+    return current;
+  }
+
+  private static void flatten(Value value, List<Value> values) {
+    if (value.hasListValue()) {
+      for (Value element : value.getListValue().getValuesList()) {
+        flatten(element, values);
+      }
+    } else {
+      values.add(value);
+    }
+  }
+
+  static RuntimeException unsupported(String description) {
+    return Status.INVALID_ARGUMENT
+        .withDescription(description + " by the fake server")
+        .asRuntimeException();
+  }
+
+  /** A point as stored, with its vectors normalized for cosine distance. */
+  static final class StoredPoint {
+    final PointId id;
+    final Map<String, Value> payload;
+    final Map<String, float[]> vectors;
+
+    StoredPoint(PointId id, Map<String, Value> payload, Map<String, float[]> vectors) {
+      this.id = id;
+      this.payload = Collections.unmodifiableMap(new LinkedHashMap<>(payload));
+      this.vectors = vectors;
+    }
+
+    RetrievedPoint toRetrieved(
+        @Nullable WithPayloadSelector withPayload, @Nullable WithVectorsSelector withVectors) {
+      return RetrievedPoint.newBuilder()
+          .setId(id)
+          .putAllPayload(selectPayload(withPayload))
+          .setVectors(selectVectors(withVectors))
+          .build();
+    }
+
+    ScoredPoint toScored(
+        float score,
+        @Nullable WithPayloadSelector withPayload,
+        @Nullable WithVectorsSelector withVectors) {
+      return ScoredPoint.newBuilder()
+          .setId(id)
+          .setScore(score)
+          .putAllPayload(selectPayload(withPayload))
+          .setVectors(selectVectors(withVectors))
+          .build();
+    }
+
+    private Map<String, Value> selectPayload(@Nullable WithPayloadSelector selector) {
+      if (selector == null) {
+        return Collections.emptyMap();
+      }
+      switch (selector.getSelectorOptionsCase()) {
+        case ENABLE:
+          return selector.getEnable() ? payload : Collections.emptyMap();
+        case INCLUDE:
+          Map<String, Value> included = new LinkedHashMap<>();
+          for (String field : selector.getInclude().getFieldsList()) {
+            if (payload.containsKey(field)) {
+              included.put(field, payload.get(field));
+            }
+          }
+          return included;
+        case EXCLUDE:
+          Map<String, Value> remaining = new LinkedHashMap<>(payload);
+          remaining.keySet().removeAll(selector.getExclude().getFieldsList());
+          return remaining;
+        default:
+          return Collections.emptyMap();
+      }
+    }
+
+    private VectorsOutput selectVectors(@Nullable WithVectorsSelector selector) {
+      if (selector == null
+          || vectors.isEmpty()
+          || (selector.getSelectorOptionsCase() == WithVectorsSelector.SelectorOptionsCase.ENABLE
+              && !selector.getEnable())
+          || selector.getSelectorOptionsCase()
+              == WithVectorsSelector.SelectorOptionsCase.SELECTOROPTIONS_NOT_SET) {
+        return VectorsOutput.getDefaultInstance();
+      }
+      if (vectors.containsKey(DEFAULT_VECTOR)) {
+        return VectorsOutput.newBuilder().setVector(output(vectors.get(DEFAULT_VECTOR))).build();
+      }
+      NamedVectorsOutput.Builder named = NamedVectorsOutput.newBuilder();
+      for (Map.Entry<String, float[]> entry : vectors.entrySet()) {
+        if (selector.getSelectorOptionsCase() == WithVectorsSelector.SelectorOptionsCase.ENABLE
+            || selector.getInclude().getNamesList().contains(entry.getKey())) {
+          named.putVectors(entry.getKey(), output(entry.getValue()));
+        }
+      }
+      return VectorsOutput.newBuilder().setVectors(named).build();
+    }
+
+    private static VectorOutput output(float[] vector) {
+      DenseVector.Builder dense = DenseVector.newBuilder();
+      for (float value : vector) {
+        dense.addData(value);
+      }
+      return VectorOutput.newBuilder().setDense(dense).build();
+    }
+  }
+
+  /** A point scored against a query vector. */
+  static final class Scored {
+    final StoredPoint point;
+    final float score;
+
+    Scored(StoredPoint point, float score) {
+      this.point = point;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,358 @@
+package io.qdrant.client;
+
+import static io.qdrant.client.FakeCollection.unsupported;
+import static io.qdrant.client.FakeQdrantServer.respond;
+
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Common.Filter;
+import io.qdrant.client.grpc.Common.PointId;
+import io.qdrant.client.grpc.JsonWithInt.Value;
+import io.qdrant.client.grpc.Points.BatchResult;
+import io.qdrant.client.grpc.Points.ClearPayloadPoints;
+import io.qdrant.client.grpc.Points.CountPoints;
+import io.qdrant.client.grpc.Points.CountResponse;
+import io.qdrant.client.grpc.Points.CountResult;
+import io.qdrant.client.grpc.Points.DeletePayloadPoints;
+import io.qdrant.client.grpc.Points.DeletePoints;
+import io.qdrant.client.grpc.Points.DenseVector;
+import io.qdrant.client.grpc.Points.GetPoints;
+import io.qdrant.client.grpc.Points.GetResponse;
+import io.qdrant.client.grpc.Points.PointsOperationResponse;
+import io.qdrant.client.grpc.Points.PointsSelector;
+import io.qdrant.client.grpc.Points.Query;
+import io.qdrant.client.grpc.Points.QueryBatchPoints;
+import io.qdrant.client.grpc.Points.QueryBatchResponse;
+import io.qdrant.client.grpc.Points.QueryPoints;
+import io.qdrant.client.grpc.Points.QueryResponse;
+import io.qdrant.client.grpc.Points.ScoredPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import io.qdrant.client.grpc.Points.SearchBatchPoints;
+import io.qdrant.client.grpc.Points.SearchBatchResponse;
+import io.qdrant.client.grpc.Points.SearchPoints;
+import io.qdrant.client.grpc.Points.SearchResponse;
+import io.qdrant.client.grpc.Points.SetPayloadPoints;
+import io.qdrant.client.grpc.Points.UpdateResult;
+import io.qdrant.client.grpc.Points.UpdateStatus;
+import io.qdrant.client.grpc.Points.UpsertPoints;
+import io.qdrant.client.grpc.Points.VectorInput;
+import io.qdrant.client.grpc.Points.WithPayloadSelector;
+import io.qdrant.client.grpc.Points.WithVectorsSelector;
+import io.qdrant.client.grpc.PointsGrpc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Points service of {@link FakeQdrantServer}. Implements upserting, deleting, retrieving,
+ * counting, scrolling, searching, querying and payload updates. Other methods are unimplemented.
+ */
+final class FakePointsService extends PointsGrpc.PointsImplBase {
+  private static final int DEFAULT_LIMIT = 10;
+  private static final WithPayloadSelector WITH_PAYLOAD =
+      WithPayloadSelector.newBuilder().setEnable(true).build();
+
+  private final Function<String, FakeCollection> collections;
+  private final AtomicLong operationId = new AtomicLong();
+
+  FakePointsService(Function<String, FakeCollection> collections) {
+    this.collections = collections;
+  }
+
+  @Override
+  public void upsert(UpsertPoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          collections.apply(request.getCollectionName()).upsert(request.getPointsList());
+          return completed();
+        });
+  }
+
+  @Override
+  public void delete(DeletePoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          FakeCollection collection = collections.apply(request.getCollectionName());
+          PointsSelector selector = request.getPoints();
+          collection.delete(ids(selector), filter(selector));
+          return completed();
+        });
+  }
+
+  @Override
+  public void get(GetPoints request, StreamObserver<GetResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          FakeCollection collection = collections.apply(request.getCollectionName());
+          GetResponse.Builder response = GetResponse.newBuilder();
+          for (FakeCollection.StoredPoint point : collection.get(request.getIdsList())) {
+            response.addResult(
+                point.toRetrieved(
+                    request.hasWithPayload() ? request.getWithPayload() : WITH_PAYLOAD,
+                    request.hasWithVectors() ? request.getWithVectors() : null));
+          }
+          return response.build();
+        });
+  }
+
+  @Override
+  public void count(CountPoints request, StreamObserver<CountResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          FakeCollection collection = collections.apply(request.getCollectionName());
+          long count = collection.count(request.hasFilter() ? request.getFilter() : null);
+          return CountResponse.newBuilder()
+              .setResult(CountResult.newBuilder().setCount(count))
+              .build();
+        });
+  }
+
+  @Override
+  public void scroll(ScrollPoints request, StreamObserver<ScrollResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          if (request.hasOrderBy()) {
+            throw unsupported("Order by");
+          }
+          FakeCollection collection = collections.apply(request.getCollectionName());
+          int limit = request.hasLimit() ? request.getLimit() : DEFAULT_LIMIT;
+          // one more point than the limit gives the offset of the next page
+          List<FakeCollection.StoredPoint> points =
+              collection.scroll(
+                  request.hasFilter() ? request.getFilter() : null,
+                  request.hasOffset() ? request.getOffset() : null,
+                  limit + 1);
+          ScrollResponse.Builder response = ScrollResponse.newBuilder();
+          for (int i = 0; i < Math.min(limit, points.size()); i++) {
+            FakeCollection.StoredPoint point = points.get(i);
+            response.addResult(
+                point.toRetrieved(
+                    request.hasWithPayload() ? request.getWithPayload() : WITH_PAYLOAD,
+                    request.hasWithVectors() ? request.getWithVectors() : null));
+          }
+          if (points.size() > limit) {
+            response.setNextPageOffset(points.get(limit).id);
+          }
+          return response.build();
+        });
+  }
+
+  @Override
+  public void search(SearchPoints request, StreamObserver<SearchResponse> observer) {
+    respond(observer, () -> SearchResponse.newBuilder().addAllResult(search(request)).build());
+  }
+
+  @Override
+  public void searchBatch(
+      SearchBatchPoints request, StreamObserver<SearchBatchResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          SearchBatchResponse.Builder response = SearchBatchResponse.newBuilder();
+          for (SearchPoints search : request.getSearchPointsList()) {
+            response.addResult(BatchResult.newBuilder().addAllResult(search(search)).build());
+          }
+          return response.build();
+        });
+  }
+
+  @Override
+  public void query(QueryPoints request, StreamObserver<QueryResponse> observer) {
+    respond(observer, () -> QueryResponse.newBuilder().addAllResult(query(request)).build());
+  }
+
+  @Override
+  public void queryBatch(QueryBatchPoints request, StreamObserver<QueryBatchResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          QueryBatchResponse.Builder response = QueryBatchResponse.newBuilder();
+          for (QueryPoints query : request.getQueryPointsList()) {
+            response.addResult(BatchResult.newBuilder().addAllResult(query(query)).build());
+          }
+          return response.build();
+        });
+  }
+
+  @Override
+  public void setPayload(
+      SetPayloadPoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          if (request.hasKey()) {
+            throw unsupported("Setting a nested payload key");
+          }
+          updatePayload(
+              request.getCollectionName(),
+              request.getPointsSelector(),
+              payload -> {
+                payload.putAll(request.getPayloadMap());
+                return payload;
+              });
+          return completed();
+        });
+  }
+
+  @Override
+  public void overwritePayload(
+      SetPayloadPoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          if (request.hasKey()) {
+            throw unsupported("Overwriting a nested payload key");
+          }
+          Map<String, Value> overwritten = request.getPayloadMap();
+          updatePayload(
+              request.getCollectionName(), request.getPointsSelector(), payload -> overwritten);
+          return completed();
+        });
+  }
+
+  @Override
+  public void deletePayload(
+      DeletePayloadPoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          updatePayload(
+              request.getCollectionName(),
+              request.getPointsSelector(),
+              payload -> {
+                payload.keySet().removeAll(request.getKeysList());
+                return payload;
+              });
+          return completed();
+        });
+  }
+
+  @Override
+  public void clearPayload(
+      ClearPayloadPoints request, StreamObserver<PointsOperationResponse> observer) {
+    respond(
+        observer,
+        () -> {
+          updatePayload(
+              request.getCollectionName(),
+              request.getPoints(),
+              payload -> {
+                payload.clear();
+                return payload;
+              });
+          return completed();
+        });
+  }
+
+  private List<ScoredPoint> search(SearchPoints request) {
+    FakeCollection collection = collections.apply(request.getCollectionName());
+    float[] vector = new float[request.getVectorCount()];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = request.getVector(i);
+    }
+    List<FakeCollection.Scored> scored =
+        collection.search(
+            request.hasVectorName() ? request.getVectorName() : "",
+            vector,
+            request.hasFilter() ? request.getFilter() : null,
+            request.hasScoreThreshold() ? request.getScoreThreshold() : null,
+            request.hasOffset() ? (int) request.getOffset() : 0,
+            (int) request.getLimit());
+    return toScored(
+        scored,
+        request.hasWithPayload() ? request.getWithPayload() : null,
+        request.hasWithVectors() ? request.getWithVectors() : null);
+  }
+
+  private List<ScoredPoint> query(QueryPoints request) {
+    if (request.getPrefetchCount() > 0) {
+      throw unsupported("Prefetch");
+    }
+    FakeCollection collection = collections.apply(request.getCollectionName());
+    Filter filter = request.hasFilter() ? request.getFilter() : null;
+    int offset = request.hasOffset() ? (int) request.getOffset() : 0;
+    int limit = request.hasLimit() ? (int) request.getLimit() : DEFAULT_LIMIT;
+    WithPayloadSelector withPayload = request.hasWithPayload() ? request.getWithPayload() : null;
+    WithVectorsSelector withVectors = request.hasWithVectors() ? request.getWithVectors() : null;
+
+    if (!request.hasQuery()) {
+      List<FakeCollection.StoredPoint> points = collection.scroll(filter, null, offset + limit);
+      List<ScoredPoint> result = new ArrayList<>();
+      for (int i = offset; i < points.size(); i++) {
+        result.add(points.get(i).toScored(1.0f, withPayload, withVectors));
+      }
+      return result;
+    }
+
+    Query query = request.getQuery();
+    if (query.getVariantCase() != Query.VariantCase.NEAREST
+        || query.getNearest().getVariantCase() != VectorInput.VariantCase.DENSE) {
+      throw unsupported("Only nearest queries with a dense vector are supported");
+    }
+    DenseVector dense = query.getNearest().getDense();
+    float[] vector = new float[dense.getDataCount()];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = dense.getData(i);
+    }
+    List<FakeCollection.Scored> scored =
+        collection.search(
+            request.hasUsing() ? request.getUsing() : "",
+            vector,
+            filter,
+            request.hasScoreThreshold() ? request.getScoreThreshold() : null,
+            offset,
+            limit);
+    return toScored(scored, withPayload, withVectors);
+  }
+
+  private void updatePayload(
+      String collectionName,
+      PointsSelector selector,
+      Function<Map<String, Value>, Map<String, Value>> update) {
+    collections.apply(collectionName).updatePayload(ids(selector), filter(selector), update);
+  }
+
+  private PointsOperationResponse completed() {
+    return PointsOperationResponse.newBuilder()
+        .setResult(
+            UpdateResult.newBuilder()
+                .setOperationId(operationId.incrementAndGet())
+                .setStatus(UpdateStatus.Completed))
+        .build();
+  }
+
+  private static List<ScoredPoint> toScored(
+      List<FakeCollection.Scored> scored,
+      @Nullable WithPayloadSelector withPayload,
+      @Nullable WithVectorsSelector withVectors) {
+    List<ScoredPoint> points = new ArrayList<>(scored.size());
+    for (FakeCollection.Scored point : scored) {
+      points.add(point.point.toScored(point.score, withPayload, withVectors));
+    }
+    return points;
+  }
+
+  @Nullable
+  private static List<PointId> ids(PointsSelector selector) {
+    if (!selector.hasPoints() && !selector.hasFilter()) {
+      throw Status.INVALID_ARGUMENT
+          .withDescription("Points selector must select points or a filter")
+          .asRuntimeException();
+    }
+    return selector.hasPoints() ? selector.getPoints().getIdsList() : null;
+  }
+
+  @Nullable
+  private static Filter filter(PointsSelector selector) {
+    return selector.hasFilter() ? selector.getFilter() : null;
+  }
+}
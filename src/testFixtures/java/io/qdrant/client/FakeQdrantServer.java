@@ -0,0 +1,542 @@
+package io.qdrant.client;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Timestamp;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.qdrant.client.grpc.Collections.AliasOperations;
+import io.qdrant.client.grpc.Collections.ChangeAliases;
+import io.qdrant.client.grpc.Collections.CollectionDescription;
+import io.qdrant.client.grpc.Collections.CollectionExists;
+import io.qdrant.client.grpc.Collections.CollectionExistsRequest;
+import io.qdrant.client.grpc.Collections.CollectionExistsResponse;
+import io.qdrant.client.grpc.Collections.CollectionOperationResponse;
+import io.qdrant.client.grpc.Collections.CreateCollection;
+import io.qdrant.client.grpc.Collections.DeleteCollection;
+import io.qdrant.client.grpc.Collections.GetCollectionInfoRequest;
+import io.qdrant.client.grpc.Collections.GetCollectionInfoResponse;
+import io.qdrant.client.grpc.Collections.ListCollectionsRequest;
+import io.qdrant.client.grpc.Collections.ListCollectionsResponse;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.Collections.VectorsConfig;
+import io.qdrant.client.grpc.CollectionsGrpc;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.QdrantGrpc;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckReply;
+import io.qdrant.client.grpc.QdrantOuterClass.HealthCheckRequest;
+import io.qdrant.client.grpc.SnapshotsGrpc;
+import io.qdrant.client.grpc.SnapshotsService.CreateFullSnapshotRequest;
+import io.qdrant.client.grpc.SnapshotsService.CreateSnapshotRequest;
+import io.qdrant.client.grpc.SnapshotsService.CreateSnapshotResponse;
+import io.qdrant.client.grpc.SnapshotsService.DeleteFullSnapshotRequest;
+import io.qdrant.client.grpc.SnapshotsService.DeleteSnapshotRequest;
+import io.qdrant.client.grpc.SnapshotsService.DeleteSnapshotResponse;
+import io.qdrant.client.grpc.SnapshotsService.ListFullSnapshotsRequest;
+import io.qdrant.client.grpc.SnapshotsService.ListSnapshotsRequest;
+import io.qdrant.client.grpc.SnapshotsService.ListSnapshotsResponse;
+import io.qdrant.client.grpc.SnapshotsService.SnapshotDescription;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * An in-process Qdrant server for tests and load tests that should not depend on Docker or the
+ * network. Collections are held in memory and searched by brute force, see {@link
+ * FakeCollection} for the supported subset of vectors and filters.
+ *
+ * <p>The server implements the collections, points, snapshots and health check services well
+ * enough for {@link QdrantClient} to create collections and aliases, upsert, delete, retrieve,
+ * count, scroll, search and query points, and update payloads. Latency and errors can be injected
+ * into every call, to test timeouts, retries and behaviour under load without a real deployment.
+ *
+ * <pre>{@code
+ * try (FakeQdrantServer server =
+ *     FakeQdrantServer.newBuilder().withLatency(Duration.ofMillis(5)).build()) {
+ *   QdrantClient client =
+ *       new QdrantClient(QdrantGrpcClient.newBuilder(server.newChannel(), true).build());
+ *   ...
+ * }
+ * }</pre>
+ */
+public final class FakeQdrantServer implements AutoCloseable {
+  private final Map<String, FakeCollection> collections = new ConcurrentHashMap<>();
+  private final Map<String, String> aliases = new ConcurrentHashMap<>();
+  private final Map<String, List<SnapshotDescription>> snapshots = new ConcurrentHashMap<>();
+  private final AtomicLong snapshotId = new AtomicLong();
+  private final String name;
+  private final String version;
+  private final Duration latency;
+  private final Duration latencyJitter;
+  private final double errorRate;
+  private final Status.Code errorCode;
+  @Nullable private final Long seed;
+  private final AtomicLong calls = new AtomicLong();
+  private final ScheduledExecutorService scheduler;
+  private final Server server;
+
+  private FakeQdrantServer(Builder builder) throws IOException {
+    this.name = InProcessServerBuilder.generateName();
+    this.version = builder.version;
+    this.latency = builder.latency;
+    this.latencyJitter = builder.latencyJitter;
+    this.errorRate = builder.errorRate;
+    this.errorCode = builder.errorCode;
+    this.seed = builder.seed;
+    for (Map.Entry<CreateCollection, List<PointStruct>> entry : builder.collections.entrySet()) {
+      FakeCollection collection = new FakeCollection(entry.getKey());
+      collection.upsert(entry.getValue());
+      collections.put(entry.getKey().getCollectionName(), collection);
+    }
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("qdrant-fake-server-%d")
+                .setDaemon(true)
+                .build());
+    FaultInjector faultInjector = new FaultInjector();
+    FakePointsService points = new FakePointsService(this::collection);
+    this.server =
+        InProcessServerBuilder.forName(name)
+            .addService(ServerInterceptors.intercept(new FakeCollectionsService(), faultInjector))
+            .addService(ServerInterceptors.intercept(points, faultInjector))
+            .addService(ServerInterceptors.intercept(new FakeSnapshotsService(), faultInjector))
+            .addService(ServerInterceptors.intercept(new FakeQdrantService(), faultInjector))
+            .build()
+            .start();
+  }
+
+  /**
+   * Creates a new builder to build a fake server.
+   *
+   * @return a new instance of {@link Builder}
+   */
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a new channel connected to this server. The caller owns the channel and is responsible
+   * for shutting it down, for example by passing {@code shutdownChannelOnClose} when building a
+   * {@link QdrantGrpcClient}.
+   *
+   * @return a new instance of {@link ManagedChannel}
+   */
+  public ManagedChannel newChannel() {
+    return InProcessChannelBuilder.forName(name).build();
+  }
+
+  /** Shuts down the server, failing calls in flight. */
+  @Override
+  public void close() {
+    server.shutdownNow();
+    scheduler.shutdownNow();
+    try {
+      server.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private FakeCollection collection(String collectionName) {
+    FakeCollection collection =
+        collections.get(aliases.getOrDefault(collectionName, collectionName));
+    if (collection == null) {
+      throw notFound("Collection `" + collectionName + "` doesn't exist!");
+    }
+    return collection;
+  }
+
+  private SnapshotDescription createSnapshot(String snapshotName) {
+    Instant now = Instant.now();
+    return SnapshotDescription.newBuilder()
+        .setName(snapshotName + "-" + snapshotId.incrementAndGet() + ".snapshot")
+        .setCreationTime(
+            Timestamp.newBuilder().setSeconds(now.getEpochSecond()).setNanos(now.getNano()))
+        .build();
+  }
+
+  private static StatusRuntimeException notFound(String description) {
+    return Status.NOT_FOUND.withDescription(description).asRuntimeException();
+  }
+
+  /**
+   * Completes a unary call with the response supplied, or with the status of the {@link
+   * StatusRuntimeException} thrown by the supplier.
+   */
+  static <T> void respond(StreamObserver<T> observer, Supplier<T> response) {
+    T value;
+    try {
+      value = response.get();
+    } catch (StatusRuntimeException e) {
+      observer.onError(e);
+      return;
+    }
+    observer.onNext(value);
+    observer.onCompleted();
+  }
+
+  /** builder for {@link FakeQdrantServer} */
+  public static class Builder {
+    private String version = "1.18.0";
+    private Duration latency = Duration.ZERO;
+    private Duration latencyJitter = Duration.ZERO;
+    private double errorRate;
+    private Status.Code errorCode = Status.Code.UNAVAILABLE;
+    @Nullable private Long seed;
+    private final Map<CreateCollection, List<PointStruct>> collections = new LinkedHashMap<>();
+
+    Builder() {}
+
+    /**
+     * Sets the version reported by the health check. Defaults to {@code 1.18.0}.
+     *
+     * @param version The server version
+     * @return this
+     */
+    public Builder withVersion(String version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * Sets the latency added to every call before it completes. Defaults to none.
+     *
+     * @param latency The latency of every call
+     * @return this
+     */
+    public Builder withLatency(Duration latency) {
+      Preconditions.checkArgument(!latency.isNegative(), "Latency must not be negative");
+      this.latency = latency;
+      return this;
+    }
+
+    /**
+     * Sets the upper bound of a uniformly distributed random latency added to every call on top of
+     * the fixed latency. Defaults to none.
+     *
+     * @param latencyJitter The maximum random latency of every call
+     * @return this
+     */
+    public Builder withLatencyJitter(Duration latencyJitter) {
+      Preconditions.checkArgument(
+          !latencyJitter.isNegative(), "Latency jitter must not be negative");
+      this.latencyJitter = latencyJitter;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of calls failed with the given status code instead of being served.
+     * Failed calls are still delayed by the configured latency. Defaults to none.
+     *
+     * @param errorRate The fraction of calls to fail, between 0 and 1
+     * @param errorCode The status code to fail calls with
+     * @return this
+     */
+    public Builder withErrorRate(double errorRate, Status.Code errorCode) {
+      Preconditions.checkArgument(
+          errorRate >= 0 && errorRate <= 1, "Error rate must be between 0 and 1");
+      Preconditions.checkArgument(errorCode != Status.Code.OK, "Error code must not be OK");
+      this.errorRate = errorRate;
+      this.errorCode = errorCode;
+      return this;
+    }
+
+    /**
+     * Sets the seed of the random latency and errors. The randomness of each call is derived from
+     * the seed and the number of calls received before it, so the n-th call received gets the same
+     * latency and error on every run. Which call is the n-th depends on the order in which
+     * concurrent calls arrive, so faults are only reproducible per call for sequential calls.
+     *
+     * @param seed The random seed
+     * @return this
+     */
+    public Builder withSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Adds a collection with a single unnamed vector, holding the given points when the server
+     * starts.
+     *
+     * @param collectionName The name of the collection
+     * @param vectorParams The parameters of the vector
+     * @param points The points of the collection
+     * @return this
+     */
+    public Builder withCollection(
+        String collectionName, VectorParams vectorParams, List<PointStruct> points) {
+      collections.put(
+          CreateCollection.newBuilder()
+              .setCollectionName(collectionName)
+              .setVectorsConfig(VectorsConfig.newBuilder().setParams(vectorParams).build())
+              .build(),
+          new ArrayList<>(points));
+      return this;
+    }
+
+    /**
+     * Builds and starts a new fake server.
+     *
+     * @return a new instance of {@link FakeQdrantServer}
+     * @throws IOException if the server fails to start
+     */
+    public FakeQdrantServer build() throws IOException {
+      return new FakeQdrantServer(this);
+    }
+  }
+
+  /** Gets the randomness of the next call received, derived from the seed if there is one. */
+  private Random callRandom() {
+    long call = calls.getAndIncrement();
+    return seed != null ? new Random(seed + call * 0x9E3779B97F4A7C15L) : new Random();
+  }
+
+  /** Delays the completion of calls and fails a fraction of them. */
+  private final class FaultInjector implements ServerInterceptor {
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+        ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+      Random random = callRandom();
+      long delayNanos = latency.toNanos();
+      if (!latencyJitter.isZero()) {
+        delayNanos += (long) (random.nextDouble() * latencyJitter.toNanos());
+      }
+      if (errorRate > 0 && random.nextDouble() < errorRate) {
+        Status status = Status.fromCode(errorCode).withDescription("Injected by the fake server");
+        scheduler.schedule(
+            () -> call.close(status, new Metadata()), delayNanos, TimeUnit.NANOSECONDS);
+        return new ServerCall.Listener<ReqT>() {};
+      }
+      if (delayNanos == 0) {
+        return next.startCall(call, headers);
+      }
+      long delay = delayNanos;
+      return next.startCall(
+          new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+              scheduler.schedule(
+                  () -> super.close(status, trailers), delay, TimeUnit.NANOSECONDS);
+            }
+          },
+          headers);
+    }
+  }
+
+  private final class FakeCollectionsService extends CollectionsGrpc.CollectionsImplBase {
+    @Override
+    public void create(
+        CreateCollection request, StreamObserver<CollectionOperationResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            if (request.getCollectionName().isEmpty()) {
+              throw Status.INVALID_ARGUMENT
+                  .withDescription("Collection name must not be empty")
+                  .asRuntimeException();
+            }
+            FakeCollection collection = new FakeCollection(request);
+            if (collections.putIfAbsent(request.getCollectionName(), collection) != null) {
+              throw Status.INVALID_ARGUMENT
+                  .withDescription(
+                      "Wrong input: Collection `"
+                          + request.getCollectionName()
+                          + "` already exists!")
+                  .asRuntimeException();
+            }
+            return CollectionOperationResponse.newBuilder().setResult(true).build();
+          });
+    }
+
+    @Override
+    public void delete(
+        DeleteCollection request, StreamObserver<CollectionOperationResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            boolean deleted = collections.remove(request.getCollectionName()) != null;
+            return CollectionOperationResponse.newBuilder().setResult(deleted).build();
+          });
+    }
+
+    @Override
+    public void get(
+        GetCollectionInfoRequest request, StreamObserver<GetCollectionInfoResponse> observer) {
+      respond(
+          observer,
+          () ->
+              GetCollectionInfoResponse.newBuilder()
+                  .setResult(collection(request.getCollectionName()).info())
+                  .build());
+    }
+
+    @Override
+    public void list(
+        ListCollectionsRequest request, StreamObserver<ListCollectionsResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            ListCollectionsResponse.Builder response = ListCollectionsResponse.newBuilder();
+            for (String collectionName : collections.keySet()) {
+              response.addCollections(
+                  CollectionDescription.newBuilder().setName(collectionName).build());
+            }
+            return response.build();
+          });
+    }
+
+    @Override
+    public void updateAliases(
+        ChangeAliases request, StreamObserver<CollectionOperationResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            for (AliasOperations action : request.getActionsList()) {
+              if (action.hasCreateAlias()) {
+                aliases.put(
+                    action.getCreateAlias().getAliasName(),
+                    action.getCreateAlias().getCollectionName());
+              } else if (action.hasRenameAlias()) {
+                String collectionName =
+                    aliases.remove(action.getRenameAlias().getOldAliasName());
+                if (collectionName != null) {
+                  aliases.put(action.getRenameAlias().getNewAliasName(), collectionName);
+                }
+              } else if (action.hasDeleteAlias()) {
+                aliases.remove(action.getDeleteAlias().getAliasName());
+              }
+            }
+            return CollectionOperationResponse.newBuilder().setResult(true).build();
+          });
+    }
+
+    @Override
+    public void collectionExists(
+        CollectionExistsRequest request, StreamObserver<CollectionExistsResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            boolean exists = collections.containsKey(request.getCollectionName());
+            return CollectionExistsResponse.newBuilder()
+                .setResult(CollectionExists.newBuilder().setExists(exists))
+                .build();
+          });
+    }
+  }
+
+  /**
+   * Snapshots service, recording snapshot descriptions without any data. Full snapshots are kept
+   * under an empty collection name.
+   */
+  private final class FakeSnapshotsService extends SnapshotsGrpc.SnapshotsImplBase {
+    @Override
+    public void create(
+        CreateSnapshotRequest request, StreamObserver<CreateSnapshotResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            collection(request.getCollectionName());
+            return create(request.getCollectionName(), request.getCollectionName());
+          });
+    }
+
+    @Override
+    public void list(ListSnapshotsRequest request, StreamObserver<ListSnapshotsResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            collection(request.getCollectionName());
+            return list(request.getCollectionName());
+          });
+    }
+
+    @Override
+    public void delete(
+        DeleteSnapshotRequest request, StreamObserver<DeleteSnapshotResponse> observer) {
+      respond(
+          observer,
+          () -> {
+            collection(request.getCollectionName());
+            return delete(request.getCollectionName(), request.getSnapshotName());
+          });
+    }
+
+    @Override
+    public void createFull(
+        CreateFullSnapshotRequest request, StreamObserver<CreateSnapshotResponse> observer) {
+      respond(observer, () -> create("", "full-snapshot"));
+    }
+
+    @Override
+    public void listFull(
+        ListFullSnapshotsRequest request, StreamObserver<ListSnapshotsResponse> observer) {
+      respond(observer, () -> list(""));
+    }
+
+    @Override
+    public void deleteFull(
+        DeleteFullSnapshotRequest request, StreamObserver<DeleteSnapshotResponse> observer) {
+      respond(observer, () -> delete("", request.getSnapshotName()));
+    }
+
+    private CreateSnapshotResponse create(String collectionName, String snapshotName) {
+      SnapshotDescription snapshot = createSnapshot(snapshotName);
+      snapshots.computeIfAbsent(collectionName, k -> new CopyOnWriteArrayList<>()).add(snapshot);
+      return CreateSnapshotResponse.newBuilder().setSnapshotDescription(snapshot).build();
+    }
+
+    private ListSnapshotsResponse list(String collectionName) {
+      List<SnapshotDescription> descriptions =
+          snapshots.getOrDefault(collectionName, new ArrayList<>());
+      return ListSnapshotsResponse.newBuilder().addAllSnapshotDescriptions(descriptions).build();
+    }
+
+    private DeleteSnapshotResponse delete(String collectionName, String snapshotName) {
+      List<SnapshotDescription> descriptions = snapshots.get(collectionName);
+      if (descriptions == null
+          || !descriptions.removeIf(snapshot -> snapshot.getName().equals(snapshotName))) {
+        throw notFound("Snapshot `" + snapshotName + "` doesn't exist!");
+      }
+      return DeleteSnapshotResponse.getDefaultInstance();
+    }
+  }
+
+  private final class FakeQdrantService extends QdrantGrpc.QdrantImplBase {
+    @Override
+    public void healthCheck(HealthCheckRequest request, StreamObserver<HealthCheckReply> observer) {
+      respond(
+          observer,
+          () ->
+              HealthCheckReply.newBuilder()
+                  .setTitle("qdrant - vector search engine")
+                  .setVersion(version)
+                  .build());
+    }
+  }
+}